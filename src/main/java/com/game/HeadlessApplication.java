@@ -0,0 +1,119 @@
+package com.game;
+
+import com.game.core.GameEngine;
+import com.game.core.HeadlessRunner;
+import com.game.core.InputRecording;
+import com.game.core.WanderScript;
+import com.game.persistence.DatabaseManager;
+import com.game.utils.AssetDirectoryManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * Runs the simulation without a window or JavaFX toolkit, for soak and load tests on machines
+ * without a display.
+ *
+ * Options:
+ * <pre>
+ *   --ticks N           Stop after N ticks
+ *   --seconds N         Stop after N seconds of wall time
+ *   --unbounded         Run ticks back to back instead of at the tick rate
+ *   --players N         Simulated players wandering the world besides the main one
+ *   --seed N            Seed for the simulated players
+ *   --replay FILE       Replay recorded input for the main player and stop when it ends
+ *   --report-seconds N  Interval between reports, 10 by default
+ * </pre>
+ * Without --ticks, --seconds or --replay the run lasts until the process is stopped. World seed,
+ * tick rate and input recording are chosen with the same system properties as in the game.
+ */
+public class HeadlessApplication {
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessApplication.class);
+
+    private long ticks;
+    private double seconds;
+    private boolean unbounded;
+    private int players;
+    private long seed = 1;
+    private Path replay;
+    private double reportSeconds = 10;
+
+    public static void main(String[] args) {
+        HeadlessApplication application = new HeadlessApplication();
+        try {
+            application.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+        }
+        application.run();
+    }
+
+    void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks" -> ticks = Long.parseLong(value(args, ++i));
+                case "--seconds" -> seconds = Double.parseDouble(value(args, ++i));
+                case "--unbounded" -> unbounded = true;
+                case "--players" -> players = Integer.parseInt(value(args, ++i));
+                case "--seed" -> seed = Long.parseLong(value(args, ++i));
+                case "--replay" -> replay = Path.of(value(args, ++i));
+                case "--report-seconds" -> reportSeconds = Double.parseDouble(value(args, ++i));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (ticks < 0 || seconds < 0 || players < 0 || !(reportSeconds > 0)) {
+            throw new IllegalArgumentException("Limits, players and report interval must not be negative");
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private void run() {
+        logger.info("Starting headless run...");
+
+        // The world does not need the database, but persistence is part of what a soak run exercises
+        DatabaseManager databaseManager = new DatabaseManager();
+        try {
+            databaseManager.initialize();
+        } catch (SQLException e) {
+            logger.error("Failed to initialize database, continuing without it", e);
+        }
+
+        GameEngine engine = new GameEngine(databaseManager, AssetDirectoryManager.getDefaultAssetsDirectory(), true);
+        if (replay != null) {
+            try {
+                engine.setReplay(InputRecording.load(replay));
+            } catch (IOException e) {
+                logger.error("Failed to load input recording {}", replay, e);
+                databaseManager.close();
+                return;
+            }
+        }
+        engine.start(false);
+
+        try {
+            HeadlessRunner runner = new HeadlessRunner(engine);
+            if (!engine.isReplaying()) {
+                runner.setMainScript(new WanderScript(seed, 60, 600));
+            }
+            runner.addWanderers(players, seed);
+
+            HeadlessRunner.Report result = runner.run(ticks, Math.round(seconds * 1_000_000_000L), unbounded,
+                                                      Math.round(reportSeconds * 1_000_000_000L),
+                                                      report -> logger.info("{}", report.format()));
+            logger.info("Headless run finished: {}", result.format());
+        } finally {
+            engine.stop();
+            databaseManager.close();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.game.core;
+
+/**
+ * Biome of a chunk, chosen from the world seed so every run of a seed has the same map.
+ * The share of plains is set by {@link WorldConfig#biomePlainsFraction()}.
+ */
+public enum Biome {
+    PLAINS,
+    FOREST;
+
+    public static Biome of(WorldConfig config, int chunkX, int chunkY) {
+        long hash = WorldUtils.mix(config.seed(), chunkX, chunkY);
+        double roll = (hash >>> 11) * 0x1.0p-53;
+        return roll < config.biomePlainsFraction() ? PLAINS : FOREST;
+    }
+}
@@ -2,11 +2,14 @@ package com.game.core;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class Chunk {
     private final int chunkX, chunkY;
     private final WorldConfig config;
     private final List<Entity> entities;
+    private volatile int version;
+    private Consumer<Chunk> changeListener;
     
     public Chunk(int chunkX, int chunkY, WorldConfig config) {
         this.chunkX = chunkX;
@@ -17,13 +20,41 @@ public class Chunk {
     
     public void addEntity(Entity entity) {
         entities.add(entity);
+        markChanged();
+    }
+    
+    public boolean removeEntity(Entity entity) {
+        boolean removed = entities.remove(entity);
+        if (removed) {
+            markChanged();
+        }
+        return removed;
+    }
+    
+    private void markChanged() {
+        version++;
+        if (changeListener != null) {
+            changeListener.accept(this);
+        }
+    }
+    
+    /**
+     * Set by the owning world once the chunk is published to its cache
+     */
+    void setChangeListener(Consumer<Chunk> changeListener) {
+        this.changeListener = changeListener;
     }
     
     public List<Entity> getEntities() {
         return entities;
     }
     
+    /**
+     * @return Counter incremented on every entity change, for cache invalidation
+     */
+    public int getVersion() { return version; }
+    
     public int getChunkX() { return chunkX; }
     public int getChunkY() { return chunkY; }
     public WorldConfig getConfig() { return config; }
-} 
\ No newline at end of file
+}
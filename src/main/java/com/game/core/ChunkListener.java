@@ -0,0 +1,18 @@
+package com.game.core;
+
+/**
+ * Receives notifications when chunks enter the world cache or their content changes.
+ * Callbacks run on the thread that loaded or modified the chunk.
+ */
+public interface ChunkListener {
+    
+    /**
+     * Called once after a chunk has been generated and added to the world cache
+     */
+    void onChunkLoaded(Chunk chunk);
+    
+    /**
+     * Called after entities in a loaded chunk were added or removed
+     */
+    void onChunkChanged(Chunk chunk);
+}
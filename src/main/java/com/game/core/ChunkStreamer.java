@@ -0,0 +1,73 @@
+package com.game.core;
+
+import java.util.Arrays;
+
+/**
+ * Loads the chunks around positions in the world, e.g. around every player when there is no
+ * renderer loading the visible ones.
+ *
+ * Each caller slot remembers the chunk it was last centered on, so positions that stay within
+ * a chunk cost a comparison rather than a round of chunk lookups. Like the visible area, the
+ * loaded square is clamped to the world bounds.
+ */
+public class ChunkStreamer {
+    private final World world;
+    private final int radius;
+    private final int chunkPixelSize;
+    private final int chunkCount;
+    // Packed center chunk per slot, -1 before the first load
+    private long[] centers = new long[0];
+    private long loaded;
+
+    /**
+     * @param radius Chunks loaded in every direction of the center chunk
+     */
+    public ChunkStreamer(World world, int radius) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius must not be negative: " + radius);
+        }
+        this.world = world;
+        this.radius = radius;
+        this.chunkPixelSize = world.getConfig().chunkSize() * world.getConfig().tileSize();
+        this.chunkCount = world.getConfig().chunkCount();
+    }
+
+    /**
+     * Load the chunks around a position
+     * @param slot Index of the caller, e.g. the player, whose last center is remembered
+     * @return Number of chunks generated by this call
+     */
+    public int loadAround(int slot, double x, double y) {
+        int centerX = Math.min(chunkCount - 1, Math.max(0, (int) Math.floor(x / chunkPixelSize)));
+        int centerY = Math.min(chunkCount - 1, Math.max(0, (int) Math.floor(y / chunkPixelSize)));
+        long center = ((long) centerX << 32) | centerY;
+        if (slot >= centers.length) {
+            int size = centers.length;
+            centers = Arrays.copyOf(centers, Math.max(slot + 1, size * 2));
+            Arrays.fill(centers, size, centers.length, -1);
+        }
+        if (centers[slot] == center) {
+            return 0;
+        }
+        centers[slot] = center;
+
+        int generated = 0;
+        for (int chunkY = Math.max(0, centerY - radius); chunkY <= Math.min(chunkCount - 1, centerY + radius); chunkY++) {
+            for (int chunkX = Math.max(0, centerX - radius); chunkX <= Math.min(chunkCount - 1, centerX + radius); chunkX++) {
+                if (world.getLoadedChunk(chunkX, chunkY) == null) {
+                    world.loadChunk(chunkX, chunkY);
+                    generated++;
+                }
+            }
+        }
+        loaded += generated;
+        return generated;
+    }
+
+    /**
+     * @return Chunks generated by this streamer so far
+     */
+    public long getLoadedCount() {
+        return loaded;
+    }
+}
@@ -0,0 +1,76 @@
+package com.game.core;
+
+/**
+ * Accumulator that turns variable frame times into a whole number of fixed simulation ticks.
+ *
+ * Each frame adds its duration; every full tick length in the accumulator is one tick to
+ * simulate. The remainder, as a fraction of a tick, is the interpolation factor between
+ * the previous and the current simulation state for rendering. After a long stall at most
+ * {@code maxStepsPerFrame} ticks are run and the rest of the backlog is dropped, so a slow
+ * frame cannot snowball into ever more catch-up work.
+ */
+public class FixedTimestep {
+    public static final double DEFAULT_TICK_RATE = 60;
+    public static final int DEFAULT_MAX_STEPS_PER_FRAME = 5;
+
+    private final long stepNanos;
+    private final double stepSeconds;
+    private final int maxStepsPerFrame;
+    private long accumulator;
+    private long droppedNanos;
+
+    public FixedTimestep() {
+        this(DEFAULT_TICK_RATE, DEFAULT_MAX_STEPS_PER_FRAME);
+    }
+
+    /**
+     * @param tickRate Simulation ticks per second
+     * @param maxStepsPerFrame Most ticks run for a single frame
+     */
+    public FixedTimestep(double tickRate, int maxStepsPerFrame) {
+        if (!(tickRate > 0)) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+        }
+        if (maxStepsPerFrame <= 0) {
+            throw new IllegalArgumentException("Max steps per frame must be positive: " + maxStepsPerFrame);
+        }
+        this.stepNanos = Math.max(1, Math.round(1_000_000_000L / tickRate));
+        this.stepSeconds = stepNanos / 1_000_000_000.0;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * Add a frame's duration
+     * @return Number of ticks to simulate for this frame
+     */
+    public int advance(long frameNanos) {
+        accumulator += Math.max(0, frameNanos);
+        int steps = (int) Math.min(maxStepsPerFrame, accumulator / stepNanos);
+        accumulator -= steps * stepNanos;
+        if (accumulator >= stepNanos) {
+            // Too far behind to catch up; keep the partial tick and forget the rest
+            long remainder = accumulator % stepNanos;
+            droppedNanos += accumulator - remainder;
+            accumulator = remainder;
+        }
+        return steps;
+    }
+
+    /**
+     * @return Fraction of a tick accumulated since the last simulated tick, in [0, 1)
+     */
+    public double getAlpha() {
+        return accumulator / (double) stepNanos;
+    }
+
+    public double getStepSeconds() {
+        return stepSeconds;
+    }
+
+    /**
+     * @return Simulation time skipped because frames fell too far behind
+     */
+    public long getDroppedNanos() {
+        return droppedNanos;
+    }
+}
@@ -1,19 +1,38 @@
 package com.game.core;
 
+import com.game.ecs.Component;
+import com.game.ecs.EntityStore;
+import com.game.ecs.MovementSystem;
+import com.game.ecs.SystemAccess;
+import com.game.ecs.SystemScheduler;
+import com.game.mobs.MobSystem;
+import com.game.mobs.SpawnTable;
+import com.game.pathfinding.PathfindingService;
 import com.game.persistence.DatabaseManager;
 import com.game.rendering.Renderer;
 import com.game.rendering.Camera;
+import com.game.rendering.CanvasLayers;
+import com.game.rendering.FrameChangeTracker;
+import com.game.rendering.ParticleEmitter;
+import com.game.rendering.RenderBackend;
+import com.game.rendering.ResolutionScaler;
+import com.game.rendering.SoftwareRenderBackend;
 import com.game.utils.AssetManager;
 import com.game.utils.AssetDirectoryManager;
 import com.game.logging.GameLogger;
 import javafx.scene.Scene;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.input.KeyCode;
+import javafx.scene.paint.Color;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.game.core.InputManager.MovementInput;
@@ -21,35 +40,139 @@ import static com.game.core.InputManager.MovementInput;
 public class GameEngine {
     private static final Logger logger = LoggerFactory.getLogger(GameEngine.class);
     
+    /**
+     * System property selecting the render backend: "canvas" (default) or "software"
+     */
+    public static final String RENDER_BACKEND_PROPERTY = "game.renderBackend";
+    
+    /**
+     * System property turning dynamic resolution scaling of the world layers on ("true", default) or off
+     */
+    public static final String DYNAMIC_RESOLUTION_PROPERTY = "game.dynamicResolution";
+    
+    /**
+     * System property running the simulation on its own thread ("true", default) or on the JavaFX thread
+     */
+    public static final String SIMULATION_THREAD_PROPERTY = "game.simulationThread";
+    
+    /**
+     * System property with the world seed; defaults to the {@link WorldConfig} default
+     */
+    public static final String SEED_PROPERTY = "game.seed";
+    
+    /**
+     * System property with a file the session's input is recorded to when the engine stops
+     */
+    public static final String RECORD_INPUT_PROPERTY = "game.recordInput";
+    
+    /**
+     * System property with a recorded input file to replay instead of live input
+     */
+    public static final String REPLAY_INPUT_PROPERTY = "game.replayInput";
+    
+    /**
+     * System property spawning mobs around the players ("true", default) or leaving the world empty
+     */
+    public static final String MOBS_PROPERTY = "game.mobs";
+    
+    // Dust kicked up while the player walks, particles per second
+    private static final double FOOTSTEP_RATE = 30;
+    private static final Color FOOTSTEP_COLOR = Color.rgb(150, 130, 100, 0.7);
+    
+    // Shared state outside the entity store that systems declare access to
+    private static final String INPUT_RESOURCE = "input";
+    private static final String CAMERA_RESOURCE = "camera";
+    private static final String WORLD_RESOURCE = "world";
+    
+    // Chunks loaded around each player in headless runs, about what a window shows at default zoom
+    private static final int HEADLESS_CHUNK_RADIUS = 1;
+    
+    // Path searches run beside the simulation and render threads, so they get what is left
+    private static final int PATHFINDING_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    
     private final DatabaseManager databaseManager;
     private final AtomicBoolean running;
     private final AtomicBoolean debugMode;
     private final GameLogger gameLogger;
     private final Path assetsDirectory;
+    // Simulation only: no assets, rendering, game loop or simulation thread
+    private final boolean headless;
     
     private GameLoop gameLoop;
+    private SimulationThread simulationThread;
+    // Work handed between the simulation and the render thread, run by the receiving side
+    private final Queue<Runnable> simulationCommands = new ConcurrentLinkedQueue<>();
+    private final Queue<Runnable> renderCommands = new ConcurrentLinkedQueue<>();
+    private long lastSnapshotTick;
+    private double tickRate = FixedTimestep.DEFAULT_TICK_RATE;
+    // Ticks simulated since start; recorded input is keyed by it
+    private long simulatedTicks;
+    private InputRecorder inputRecorder;
+    private Path recordingFile;
+    private InputRecording replay;
+    private InputEventQueue.Handler replayHandler;
+    private int replayIndex;
+    private long replayStartNanos;
+    private long replaySimulationNanos;
+    private volatile boolean replayFinished;
     private InputManager inputManager;
     private AssetManager assetManager;
     private Renderer renderer;
-    private GraphicsContext graphicsContext;
+    private RenderBackend renderBackend;
+    private final FrameChangeTracker frameChangeTracker = new FrameChangeTracker();
+    private final ResolutionScaler resolutionScaler = new ResolutionScaler();
+    // Whether the previous pulse drew anything, so the current pulse interval measures rendering
+    private boolean lastFrameDrew;
+    private long lastAssetVersion;
+    private long lastLightingVersion;
+    private boolean particlesWereActive;
+    private long lastAnimationTick;
+    private CanvasLayers canvasLayers;
     private double canvasWidth = 1200;
     private double canvasHeight = 800;
     
     // Game systems
     private World world;
+    // Started by the first getPathfinding call
+    private PathfindingService pathfinding;
+    // Dynamic entities and the systems run on them every tick
+    private EntityStore entities;
+    private SystemScheduler systems;
+    // Null when mobs are turned off
+    private MobSystem mobs;
     private Player player;
     private Camera camera;
+    // Interpolated between the last two simulation ticks; what is drawn and clicked on
+    private Player renderPlayer;
+    private Camera renderCamera;
+    private ParticleEmitter footsteps;
+    private double lastPlayerX;
+    private double lastPlayerY;
+    // Further players steered by their own input, e.g. simulated ones in headless runs
+    private final List<Player> extraPlayers = new ArrayList<>();
+    private final List<InputManager> extraInputs = new ArrayList<>();
     
     public GameEngine(DatabaseManager databaseManager) {
         this(databaseManager, AssetDirectoryManager.getDefaultAssetsDirectory());
     }
     
     public GameEngine(DatabaseManager databaseManager, Path assetsDirectory) {
+        this(databaseManager, assetsDirectory, false);
+    }
+    
+    /**
+     * @param headless Only simulate: nothing is rendered and no JavaFX toolkit is needed. The caller
+     *                 drives {@link #update} itself and chunks are loaded around every player instead
+     *                 of by the renderer.
+     */
+    public GameEngine(DatabaseManager databaseManager, Path assetsDirectory, boolean headless) {
         this.databaseManager = databaseManager;
         this.assetsDirectory = assetsDirectory;
+        this.headless = headless;
         this.running = new AtomicBoolean(false);
         this.debugMode = new AtomicBoolean(false);
         this.gameLogger = new GameLogger(this::isDebugMode);
+        this.resolutionScaler.setEnabled(Boolean.parseBoolean(System.getProperty(DYNAMIC_RESOLUTION_PROPERTY, "true")));
     }
     
     public void start() {
@@ -66,6 +189,9 @@ public class GameEngine {
             initializeSystems();
             
             if (startGameLoop && gameLoop != null) {
+                if (simulationThread != null) {
+                    simulationThread.start();
+                }
                 gameLoop.start();
             }
             
@@ -86,7 +212,11 @@ public class GameEngine {
             if (gameLoop != null) {
                 gameLoop.stop();
             }
+            if (simulationThread != null) {
+                simulationThread.stop();
+            }
             
+            finishRecording();
             cleanupSystems();
             
             gameLogger.info(() -> {
@@ -103,25 +233,113 @@ public class GameEngine {
         });
         
         // Initialize asset manager with specified assets directory
-        assetManager = new AssetManager(assetsDirectory);
+        if (!headless) {
+            assetManager = new AssetManager(assetsDirectory);
+        }
         
         // Initialize input system
         inputManager = new InputManager();
         
+        // A replay brings the world config and tick rate it was recorded with
+        if (replay == null) {
+            replay = replayFromProperty();
+        }
+        WorldConfig config = replay != null ? replay.getConfig() : worldConfigFromProperty();
+        tickRate = replay != null ? replay.getTickRate() : GameLoop.tickRateFromProperty();
+        
         // Initialize world
-        world = new World(databaseManager);
+        stopPathfinding();
+        world = new World(databaseManager, config);
         
         // Initialize player with world config for wrapping
-        player = new Player(0, 0, world.getConfig());
+        entities = new EntityStore();
+        player = new Player(entities, 0, 0, world.getConfig());
+        extraPlayers.clear();
+        extraInputs.clear();
         
         // Initialize camera with world config for wrapping
         camera = new Camera(canvasWidth, canvasHeight);
+        renderPlayer = new Player(0, 0, world.getConfig());
+        renderCamera = new Camera(canvasWidth, canvasHeight);
         
-        // Initialize renderer with asset manager
-        renderer = new Renderer(assetManager, world.getConfig());
+        if (!headless) {
+            // Initialize renderer with asset manager
+            renderer = new Renderer(assetManager, world.getConfig());
+            renderer.getMinimap().attach(world);
+            renderer.getLighting().attach(world);
+            renderBackend = createRenderBackend();
+            
+            // Footstep dust follows the player and only emits while it moves
+            footsteps = ParticleEmitter.at(player.getX(), player.getY(),
+                                           renderer.getParticles().registerColor(FOOTSTEP_COLOR));
+            footsteps.setSpeed(15, 0.5);
+            footsteps.setSpawnRadius(player.getSize() / 4);
+            renderer.getParticles().addEmitter(footsteps);
+        }
+        lastPlayerX = player.getX();
+        lastPlayerY = player.getY();
+        
+        // Input steers the players, every entity moves by its velocity, then the camera follows
+        systems = new SystemScheduler();
+        systems.add("Steering", SystemAccess.none()
+                        .readsResource(INPUT_RESOURCE, CAMERA_RESOURCE)
+                        .writes(Component.VELOCITY, Component.HEADING),
+                    this::steerPlayers);
+        if (Boolean.parseBoolean(System.getProperty(MOBS_PROPERTY, "true"))) {
+            mobs = new MobSystem(entities, world.getConfig(), SpawnTable.defaults());
+            mobs.addFocus(player);
+            systems.add(mobs);
+        }
+        systems.add(new MovementSystem(entities, world.getConfig().worldSize()));
+        systems.add("Camera", SystemAccess.none()
+                        .reads(Component.POSITION)
+                        .writesResource(CAMERA_RESOURCE),
+                    deltaTime -> {
+                        camera.update(deltaTime);
+                        camera.follow(player.getX(), player.getY(), deltaTime);
+                    });
+        if (headless) {
+            // Without a renderer nothing loads the chunks players walk into
+            ChunkStreamer streamer = new ChunkStreamer(world, HEADLESS_CHUNK_RADIUS);
+            systems.add("Chunks", SystemAccess.none()
+                            .reads(Component.POSITION)
+                            .writesResource(WORLD_RESOURCE),
+                        deltaTime -> {
+                            streamer.loadAround(0, player.getX(), player.getY());
+                            for (int i = 0; i < extraPlayers.size(); i++) {
+                                Player extra = extraPlayers.get(i);
+                                streamer.loadAround(i + 1, extra.getX(), extra.getY());
+                            }
+                        });
+            
+            gameLogger.debug(() -> {
+                logger.debug("Game systems initialized headless");
+                return "Game systems initialized headless";
+            });
+            initializeInputRecording(tickRate);
+            return;
+        }
         
         // Initialize game loop
-        gameLoop = new GameLoop(this);
+        gameLoop = new GameLoop(this, new FixedTimestep(tickRate, FixedTimestep.DEFAULT_MAX_STEPS_PER_FRAME));
+        
+        // The simulation may tick on its own thread; input then reaches it through a queue
+        if (Boolean.parseBoolean(System.getProperty(SIMULATION_THREAD_PROPERTY, "true"))) {
+            simulationThread = new SimulationThread(new SimulationThread.Simulation() {
+                @Override
+                public void update(double deltaTime) {
+                    simulate(deltaTime);
+                }
+                
+                @Override
+                public void snapshot(SimulationSnapshot into, long tick, long nanos) {
+                    into.set(tick, player, camera, nanos);
+                }
+            }, new FixedTimestep(tickRate, FixedTimestep.DEFAULT_MAX_STEPS_PER_FRAME));
+            inputManager.setQueued(true);
+        }
+        
+        initializeInputRecording(tickRate);
         
         gameLogger.debug(() -> {
             logger.debug("Game systems initialized");
@@ -129,6 +347,129 @@ public class GameEngine {
         });
     }
     
+    private void initializeInputRecording(double tickRate) {
+        // Either replay recorded input or optionally record the live input
+        simulatedTicks = 0;
+        if (replay != null) {
+            startReplay();
+        } else {
+            String recordTo = System.getProperty(RECORD_INPUT_PROPERTY);
+            if (recordTo != null && !recordTo.isBlank()) {
+                startRecording(Path.of(recordTo), tickRate);
+            }
+        }
+    }
+    
+    private void steerPlayers(double deltaTime) {
+        player.steer(deltaTime, inputManager, camera);
+        for (int i = 0; i < extraPlayers.size(); i++) {
+            extraPlayers.get(i).steer(deltaTime, extraInputs.get(i), camera);
+        }
+    }
+    
+    private WorldConfig worldConfigFromProperty() {
+        WorldConfig config = new WorldConfig();
+        String seed = System.getProperty(SEED_PROPERTY);
+        if (seed == null) {
+            return config;
+        }
+        try {
+            return config.withSeed(Integer.parseInt(seed.trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid seed '{}', using {}", seed, config.seed());
+            return config;
+        }
+    }
+    
+    private InputRecording replayFromProperty() {
+        String file = System.getProperty(REPLAY_INPUT_PROPERTY);
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        try {
+            return InputRecording.load(Path.of(file));
+        } catch (IOException e) {
+            gameLogger.error(() -> {
+                logger.error("Failed to load input recording {}", file, e);
+                return "Failed to load input recording: " + e.getMessage();
+            });
+            return null;
+        }
+    }
+    
+    private void startRecording(Path file, double tickRate) {
+        recordingFile = file;
+        inputRecorder = new InputRecorder(world.getConfig(), tickRate, () -> simulatedTicks, System.nanoTime());
+        inputManager.setRecorder(inputRecorder);
+        gameLogger.info(() -> {
+            logger.info("Recording input to {}", file);
+            return "Recording input to " + file;
+        });
+    }
+    
+    private void finishRecording() {
+        if (inputRecorder == null) {
+            return;
+        }
+        InputRecording recording = inputRecorder.finish(simulatedTicks);
+        inputManager.setRecorder(null);
+        inputRecorder = null;
+        try {
+            recording.save(recordingFile);
+            gameLogger.info(() -> {
+                logger.info("Recorded {} input events over {} ticks to {}", recording.getEventCount(),
+                            recording.getTicks(), recordingFile);
+                return "Recorded " + recording.getEventCount() + " input events to " + recordingFile;
+            });
+        } catch (IOException e) {
+            gameLogger.error(() -> {
+                logger.error("Failed to save input recording {}", recordingFile, e);
+                return "Failed to save input recording: " + e.getMessage();
+            });
+        }
+    }
+    
+    private void startReplay() {
+        replayIndex = 0;
+        replayStartNanos = 0;
+        replaySimulationNanos = 0;
+        replayFinished = false;
+        replayHandler = inputManager::replayEvent;
+        inputManager.setLiveInput(false);
+        gameLogger.info(() -> {
+            logger.info("Replaying {} input events over {} ticks with seed {}", replay.getEventCount(),
+                        replay.getTicks(), replay.getConfig().seed());
+            return "Replaying " + replay.getEventCount() + " input events over " + replay.getTicks() + " ticks";
+        });
+    }
+    
+    private void finishReplay() {
+        replayFinished = true;
+        inputManager.setLiveInput(true);
+        long wallNanos = System.nanoTime() - replayStartNanos;
+        double tickMillis = replaySimulationNanos / 1_000_000.0 / simulatedTicks;
+        double playerX = player.getX();
+        double playerY = player.getY();
+        gameLogger.info(() -> {
+            String message = String.format("Replay finished after %d ticks in %.1f ms, %.3f ms per tick, player at (%.1f, %.1f)",
+                                           simulatedTicks, wallNanos / 1_000_000.0, tickMillis, playerX, playerY);
+            logger.info(message);
+            return message;
+        });
+    }
+    
+    private RenderBackend createRenderBackend() {
+        String backend = System.getProperty(RENDER_BACKEND_PROPERTY, "canvas");
+        if ("software".equalsIgnoreCase(backend)) {
+            gameLogger.info(() -> {
+                logger.info("Using software render backend");
+                return "Using software render backend";
+            });
+            return new SoftwareRenderBackend(renderer, assetManager, world.getConfig());
+        }
+        return renderer;
+    }
+    
     private void cleanupSystems() {
         // Cleanup core game systems
         gameLogger.debug(() -> {
@@ -137,7 +478,18 @@ public class GameEngine {
         });
         
         // TODO: Cleanup input system
-        // TODO: Cleanup rendering system
+        
+        // Stop render threads owned by the backend
+        if (renderBackend != null) {
+            renderBackend.shutdown();
+        }
+        
+        if (assetManager != null) {
+            assetManager.close();
+        }
+        
+        stopPathfinding();
+        
         // TODO: Cleanup world system
         // TODO: Cleanup entity system
         
@@ -191,6 +543,11 @@ public class GameEngine {
     
     public void toggleDebugInfo() {
         boolean newDebugMode = debugMode.getAndSet(!debugMode.get());
+        // The debug overlay shows the render statistics
+        if (renderer != null) {
+            renderer.setStatsVisible(!newDebugMode);
+            frameChangeTracker.requestRedraw();
+        }
         gameLogger.info(() -> {
             logger.info("Debug mode toggled: {}", !newDebugMode);
             return "Debug mode toggled: " + !newDebugMode;
@@ -198,11 +555,31 @@ public class GameEngine {
     }
     
     public void showPerformanceInfo() {
+        if (renderer == null) {
+            return;
+        }
+        double fps = gameLoop != null ? gameLoop.getCurrentFps() : 0;
+        String[] lines = renderer.getStats().summaryLines();
+        String[] systemLines = systems != null ? systems.summaryLines() : new String[0];
+        double resolutionScale = resolutionScaler.getScale();
+        // Redraw counts cover the time since the previous report
+        String redrawLine = frameChangeTracker.summaryLine();
+        frameChangeTracker.resetStatistics();
+        long droppedInput = inputManager.getDroppedEvents();
         gameLogger.info(() -> {
-            logger.info("Performance info requested");
-            return "Performance info requested";
+            StringBuilder report = new StringBuilder("Performance: ").append(fps).append(" FPS, resolution scale ")
+                .append(resolutionScale);
+            report.append(System.lineSeparator()).append("  ").append(redrawLine);
+            report.append(System.lineSeparator()).append("  Input: ").append(droppedInput).append(" events dropped");
+            for (String line : lines) {
+                report.append(System.lineSeparator()).append("  ").append(line);
+            }
+            for (String line : systemLines) {
+                report.append(System.lineSeparator()).append("  ").append(line);
+            }
+            logger.info("{}", report);
+            return report.toString();
         });
-        // TODO: Implement performance monitoring
     }
     
     public String getGameStateJson() {
@@ -229,27 +606,109 @@ public class GameEngine {
     public void update(double deltaTime) {
         if (!running.get()) return;
         
+        simulate(deltaTime);
+        if (!headless) {
+            updateEffects(deltaTime, player);
+        }
+    }
+    
+    /**
+     * Advance the game state by one tick; runs on the simulation thread when there is one
+     */
+    private void simulate(double deltaTime) {
+        long tickStart = System.nanoTime();
+        
+        // Requests from the render thread and queued input apply between ticks
+        Runnable command;
+        while ((command = simulationCommands.poll()) != null) {
+            command.run();
+        }
+        // Recorded input takes effect in the tick it was recorded in, in place of live input
+        if (replay != null && !replayFinished) {
+            if (simulatedTicks == 0) {
+                replayStartNanos = tickStart;
+            }
+            replayIndex = replay.deliver(replayIndex, simulatedTicks, replayStartNanos, replayHandler);
+        }
+        inputManager.processEvents();
+        
+        // The state before this tick is the starting point of render interpolation
+        player.savePrevious();
+        camera.savePrevious();
+        
         // Handle input (including zoom) BEFORE updating input manager
-        handleInput();
+        handleInput(deltaTime);
         
         // Update input (this resets mouseWheelDelta)
         inputManager.update(deltaTime);
         
-        // Update player
-        player.update(deltaTime, inputManager, camera);
-        
-        // Update camera
-        camera.update(deltaTime);
-        camera.follow(player.getX(), player.getY());
+        // Update player, all other dynamic entities and the camera
+        systems.update(deltaTime);
         
         // Debug: Log player and camera positions
         // Debug logging removed for performance
         
-        // Clear just pressed keys after handling input
+        // Clear just pressed keys after handling input; the steering system only reads input,
+        // so the other players' input is advanced here too
         inputManager.clearJustPressedKeys();
+        for (int i = 0; i < extraInputs.size(); i++) {
+            extraInputs.get(i).update(deltaTime);
+            extraInputs.get(i).clearJustPressedKeys();
+        }
+        
+        simulatedTicks++;
+        if (replay != null && !replayFinished) {
+            replaySimulationNanos += System.nanoTime() - tickStart;
+            if (simulatedTicks >= replay.getTicks()) {
+                finishReplay();
+            }
+        }
+    }
+    
+    /**
+     * Advance the purely visual systems owned by the renderer; always runs on the render thread
+     * @param source Simulated player the effects follow
+     */
+    private void updateEffects(double deltaTime, Player source) {
+        // Advance the day/night cycle
+        renderer.getLighting().update(deltaTime);
+        
+        // Advance the shared clock of all sprite animations
+        renderer.getAnimationClock().update(deltaTime);
+        
+        // Emit footstep dust while moving, then advance all particles
+        boolean moved = source.getX() != lastPlayerX || source.getY() != lastPlayerY;
+        lastPlayerX = source.getX();
+        lastPlayerY = source.getY();
+        footsteps.setPosition(source.getX(), source.getY());
+        footsteps.setRate(moved ? FOOTSTEP_RATE : 0);
+        renderer.getParticles().update(deltaTime);
+    }
+    
+    private void runOnSimulation(Runnable command) {
+        if (isSimulationThreaded()) {
+            simulationCommands.add(command);
+        } else {
+            command.run();
+        }
+    }
+    
+    private void runOnRender(Runnable command) {
+        if (isSimulationThreaded()) {
+            renderCommands.add(command);
+        } else {
+            command.run();
+        }
     }
     
-    private void handleInput() {
+    /**
+     * @return true if the simulation is ticking on its own thread rather than in the game loop
+     */
+    public boolean isSimulationThreaded() {
+        return simulationThread != null && simulationThread.isRunning();
+    }
+    
+    private void handleInput(double deltaTime) {
         // Camera controls - use justPressed to avoid multiple triggers
         if (inputManager.isKeyJustPressed(KeyCode.P)) {
             // Toggle camera mode
@@ -270,28 +729,40 @@ public class GameEngine {
                 return "Camera rotation reset";
             });
         }
-        if (inputManager.isKeyJustPressed(KeyCode.L)) {
+        // Window and renderer toggles belong to the render thread
+        if (inputManager.isKeyJustPressed(KeyCode.L) && !headless) {
             // Toggle log window
-            gameLogger.toggleWindow();
-            gameLogger.info(() -> {
-                logger.info("Log window toggled: {}", gameLogger.isWindowVisible());
-                return "Log window toggled: " + (gameLogger.isWindowVisible() ? "ON" : "OFF");
+            runOnRender(() -> {
+                gameLogger.toggleWindow();
+                gameLogger.info(() -> {
+                    logger.info("Log window toggled: {}", gameLogger.isWindowVisible());
+                    return "Log window toggled: " + (gameLogger.isWindowVisible() ? "ON" : "OFF");
+                });
             });
         }
         if (inputManager.isKeyJustPressed(KeyCode.G)) {
             // Toggle grid visibility
             if (renderer != null) {
-                renderer.toggleGrid();
+                runOnRender(renderer::toggleGrid);
+            }
+        }
+        if (inputManager.isKeyJustPressed(KeyCode.M)) {
+            // Toggle minimap
+            if (renderer != null) {
+                runOnRender(() -> {
+                    renderer.getMinimap().toggleVisible();
+                    frameChangeTracker.requestRedraw();
+                });
             }
         }
         
         // Camera rotation in fixed-angle mode
         MovementInput movementInput = inputManager.getMovementInput();
         if (movementInput.cameraLeft()) {
-            camera.rotateCamera(-camera.getRotationSpeed() * (1.0 / 60.0)); // Using fixed delta for consistency
+            camera.rotateCamera(-camera.getRotationSpeed() * deltaTime);
         }
         if (movementInput.cameraRight()) {
-            camera.rotateCamera(camera.getRotationSpeed() * (1.0 / 60.0));
+            camera.rotateCamera(camera.getRotationSpeed() * deltaTime);
         }
         
         // Zoom
@@ -304,11 +775,116 @@ public class GameEngine {
     }
     
     public void render() {
+        render(1.0);
+    }
+    
+    /**
+     * Draw the state between the last two simulation ticks
+     * @param alpha Fraction of a tick elapsed since the last one, 0 draws the previous tick's state
+     */
+    public void render(double alpha) {
         if (!running.get()) return;
         
-        if (renderer != null && graphicsContext != null) {
-            renderer.render(graphicsContext, canvasWidth, canvasHeight, world, player, camera);
+        render(player, camera, alpha);
+    }
+    
+    /**
+     * Draw the latest state published by the simulation thread
+     * @param now Current {@link System#nanoTime()}
+     */
+    public void renderLatestSnapshot(long now) {
+        if (!running.get() || simulationThread == null) return;
+        
+        // A mouse move held back by a full input queue is not followed by another event
+        inputManager.flushEvents();
+        
+        SimulationSnapshot snapshot = simulationThread.getLatest();
+        if (snapshot == null) return;
+        
+        // Visual effects follow the simulation by the ticks it ran since the last frame
+        long ticks = snapshot.tick() - lastSnapshotTick;
+        if (ticks > 0) {
+            lastSnapshotTick = snapshot.tick();
+            updateEffects(ticks * simulationThread.getTimestep().getStepSeconds(), snapshot.player());
+        }
+        
+        render(snapshot.player(), snapshot.camera(), simulationThread.getAlpha(snapshot, now));
+    }
+    
+    private void render(Player sourcePlayer, Camera sourceCamera, double alpha) {
+        Runnable command;
+        while ((command = renderCommands.poll()) != null) {
+            command.run();
+        }
+        
+        if (renderBackend == null || canvasLayers == null) return;
+        
+        renderPlayer.interpolate(sourcePlayer, alpha);
+        renderCamera.interpolate(sourceCamera, alpha);
+        
+        // A frame finished off-thread still has to be presented
+        if (renderBackend.hasPendingFrame()) {
+            frameChangeTracker.requestRedraw();
+        }
+        
+        // Asset variants loaded in the background replace their placeholders
+        long assetVersion = assetManager.getVersion();
+        if (assetVersion != lastAssetVersion) {
+            lastAssetVersion = assetVersion;
+            frameChangeTracker.requestRedraw();
+        }
+        
+        // Lighting changes (time of day, light sources) are drawn on the world layer
+        long lightingVersion = renderer.getLighting().getVersion();
+        if (lightingVersion != lastLightingVersion) {
+            lastLightingVersion = lightingVersion;
+            frameChangeTracker.requestRedraw();
+        }
+        
+        // Animated sprites are part of the world layer, redraw it when their frames advance
+        long animationTick = renderer.getAnimationClock().getTick();
+        if (animationTick != lastAnimationTick) {
+            lastAnimationTick = animationTick;
+            if (renderer.isAnimating()) {
+                frameChangeTracker.requestRedraw();
+            }
+        }
+        
+        // Live particles move every frame; one more overlay frame clears the last ones
+        boolean particlesActive = renderer.getParticles().isActive();
+        if (particlesActive || particlesWereActive) {
+            frameChangeTracker.requestOverlay();
         }
+        particlesWereActive = particlesActive;
+        
+        // HUD text is rebuilt at its own throttled rate
+        renderer.updateHud(System.nanoTime(), renderPlayer, renderCamera);
+        
+        // Skip redraws entirely when nothing visible changed since the last frame
+        FrameChangeTracker.FrameChange change = frameChangeTracker.evaluate(
+            canvasWidth, canvasHeight, renderCamera, renderPlayer,
+            renderer.getGridHighlight(), renderer.isGridVisible(), world.getVersion(),
+            renderer.getHudOverlay().getVersion());
+        boolean drew = change != FrameChangeTracker.FrameChange.NONE;
+        if (drew) {
+            // Only the layers reached by the change are redrawn, the rest keep the previous frame
+            renderBackend.render(canvasLayers, change, world, renderPlayer, renderCamera);
+        }
+        
+        // Trade world resolution for frame rate when drawn frames come slower than the target.
+        // Canvas calls only queue commands; the pulse after a drawn frame waits for the render
+        // thread to rasterize them, so the interval up to it includes the fill-rate cost. Pulses
+        // after frames that drew nothing measure no rendering and are left out of the samples.
+        if (gameLoop != null && lastFrameDrew && resolutionScaler.recordFrame(gameLoop.getLastFrameNanos())) {
+            double scale = resolutionScaler.getScale();
+            canvasLayers.setResolutionScale(scale);
+            frameChangeTracker.requestRedraw();
+            gameLogger.debug(() -> {
+                logger.debug("Resolution scale changed to {}", scale);
+                return "Resolution scale: " + scale;
+            });
+        }
+        lastFrameDrew = drew;
     }
     
     public void handleMouseMoved(double x, double y) {
@@ -321,7 +897,10 @@ public class GameEngine {
     
     public void handleMousePressed(double x, double y) {
         // Convert screen coordinates to world coordinates
-        if (camera != null && player != null) {
+        if (renderCamera != null && renderPlayer != null) {
+            // Clicks refer to what is on screen, i.e. the interpolated state
+            Camera camera = renderCamera;
+            Player player = renderPlayer;
             javafx.geometry.Point2D worldPos = camera.screenToWorld(x, y, player.getAngle());
             
             // Wrap world coordinates using WorldUtils
@@ -385,7 +964,8 @@ public class GameEngine {
         canvasWidth = width;
         canvasHeight = height;
         if (camera != null) {
-            camera.resize(width, height);
+            renderCamera.resize(width, height);
+            runOnSimulation(() -> camera.resize(width, height));
         }
         gameLogger.debug(() -> {
             logger.debug("Canvas resized to: {}x{}", width, height);
@@ -393,11 +973,12 @@ public class GameEngine {
         });
     }
     
-    public void setGraphicsContext(GraphicsContext gc) {
-        this.graphicsContext = gc;
+    public void setCanvasLayers(CanvasLayers layers) {
+        this.canvasLayers = layers;
+        frameChangeTracker.requestRedraw();
         gameLogger.debug(() -> {
-            logger.debug("Graphics context set");
-            return "Graphics context set";
+            logger.debug("Canvas layers set");
+            return "Canvas layers set";
         });
     }
     
@@ -415,6 +996,116 @@ public class GameEngine {
         return assetManager;
     }
     
+    public EntityStore getEntities() {
+        return entities;
+    }
+    
+    public SystemScheduler getSystems() {
+        return systems;
+    }
+    
+    public FrameChangeTracker getFrameChangeTracker() {
+        return frameChangeTracker;
+    }
+    
+    /**
+     * Replay recorded input instead of live input; takes effect when the engine starts
+     */
+    public void setReplay(InputRecording recording) {
+        this.replay = recording;
+    }
+    
+    /**
+     * @return true if recorded input replaces live input
+     */
+    public boolean isReplaying() {
+        return replay != null;
+    }
+    
+    /**
+     * @return true once every tick of the replayed recording has run
+     */
+    public boolean isReplayFinished() {
+        return replayFinished;
+    }
+    
+    /**
+     * @return Ticks simulated since the engine started; read on the simulation thread or after it stopped
+     */
+    public long getSimulatedTicks() {
+        return simulatedTicks;
+    }
+    
+    /**
+     * Add a player steered by its own input, moving through the same world as the main one.
+     * Call after {@link #start} on the thread ticking the simulation.
+     */
+    public Player addPlayer(double x, double y, InputManager input) {
+        Player added = new Player(entities, x, y, world.getConfig());
+        extraPlayers.add(added);
+        extraInputs.add(input);
+        if (mobs != null) {
+            mobs.addFocus(added);
+        }
+        return added;
+    }
+    
+    /**
+     * @return Mobs around the players, null when turned off with {@link #MOBS_PROPERTY}
+     */
+    public MobSystem getMobs() {
+        return mobs;
+    }
+    
+    public List<Player> getExtraPlayers() {
+        return extraPlayers;
+    }
+    
+    /**
+     * @return Simulation ticks per second, the recorded rate when replaying
+     */
+    public double getTickRate() {
+        return tickRate;
+    }
+    
+    public boolean isHeadless() {
+        return headless;
+    }
+    
+    /**
+     * @return Path searches over the world's tiles, for NPCs and click-to-move. Started on
+     * first use, so until something searches, chunk loads and edits pay nothing for it
+     */
+    public synchronized PathfindingService getPathfinding() {
+        if (pathfinding == null && world != null) {
+            pathfinding = new PathfindingService(world, PATHFINDING_THREADS);
+        }
+        return pathfinding;
+    }
+    
+    private synchronized void stopPathfinding() {
+        if (pathfinding != null) {
+            pathfinding.close();
+            pathfinding = null;
+        }
+    }
+    
+    public World getWorld() {
+        return world;
+    }
+    
+    public Player getPlayer() {
+        return player;
+    }
+    
+    public SimulationThread getSimulationThread() {
+        return simulationThread;
+    }
+    
+    public ResolutionScaler getResolutionScaler() {
+        return resolutionScaler;
+    }
+    
     public GameLogger getGameLogger() {
         return gameLogger;
     }
@@ -4,17 +4,47 @@ import javafx.animation.AnimationTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Drives the engine from JavaFX pulses: the simulation advances in fixed ticks, rendering
+ * happens once per pulse and interpolates between the last two ticks. When the simulation
+ * runs on its own thread, pulses only render its latest snapshot.
+ */
 public class GameLoop extends AnimationTimer {
     private static final Logger logger = LoggerFactory.getLogger(GameLoop.class);
     
+    /**
+     * System property with the simulation tick rate in ticks per second
+     */
+    public static final String TICK_RATE_PROPERTY = "game.tickRate";
+    
     private final GameEngine gameEngine;
+    private final FixedTimestep timestep;
     private long lastUpdateTime;
+    private long lastFrameNanos;
     private int frameCount;
     private long lastFpsUpdate;
     private double currentFps;
     
     public GameLoop(GameEngine gameEngine) {
+        this(gameEngine, new FixedTimestep(tickRateFromProperty(), FixedTimestep.DEFAULT_MAX_STEPS_PER_FRAME));
+    }
+    
+    public GameLoop(GameEngine gameEngine, FixedTimestep timestep) {
         this.gameEngine = gameEngine;
+        this.timestep = timestep;
+    }
+    
+    static double tickRateFromProperty() {
+        String value = System.getProperty(TICK_RATE_PROPERTY);
+        if (value == null) {
+            return FixedTimestep.DEFAULT_TICK_RATE;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid tick rate '{}', using {}", value, FixedTimestep.DEFAULT_TICK_RATE);
+            return FixedTimestep.DEFAULT_TICK_RATE;
+        }
     }
     
     @Override
@@ -24,18 +54,26 @@ public class GameLoop extends AnimationTimer {
             return;
         }
         
-        // Calculate delta time in seconds
-        double deltaTime = (now - lastUpdateTime) / 1_000_000_000.0;
+        lastFrameNanos = now - lastUpdateTime;
         lastUpdateTime = now;
         
         // Update FPS counter
         updateFps(now);
         
-        // Update game systems
-        gameEngine.update(deltaTime);
+        // A simulation thread ticks on its own; the pulse only draws what it published
+        if (gameEngine.isSimulationThreaded()) {
+            gameEngine.renderLatestSnapshot(now);
+            return;
+        }
+        
+        // Update game systems in fixed ticks, independent of the display rate
+        int steps = timestep.advance(lastFrameNanos);
+        for (int i = 0; i < steps; i++) {
+            gameEngine.update(timestep.getStepSeconds());
+        }
         
-        // Render frame
-        gameEngine.render();
+        // Render frame between the last two ticks
+        gameEngine.render(timestep.getAlpha());
     }
     
     private void updateFps(long now) {
@@ -55,4 +93,15 @@ public class GameLoop extends AnimationTimer {
     public double getCurrentFps() {
         return currentFps;
     }
+    
+    /**
+     * @return Time between the last two pulses in nanoseconds
+     */
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+    
+    public FixedTimestep getTimestep() {
+        return timestep;
+    }
 } 
\ No newline at end of file
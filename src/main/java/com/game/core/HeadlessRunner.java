@@ -0,0 +1,214 @@
+package com.game.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Drives a headless {@link GameEngine} for soak and load tests.
+ *
+ * Ticks run either back to back or paced at the engine's tick rate like the game loop does.
+ * Before every tick the input scripts are applied: one for the main player and one for each
+ * simulated player, which walk the world on their own. A replay set on the engine replaces the
+ * main player's script. At a fixed interval the runner reports tick throughput, the slowest
+ * tick, chunk loads, heap usage and garbage collections, so long runs can be watched for
+ * slowdowns and leaks.
+ */
+public class HeadlessRunner {
+    private static final Logger logger = LoggerFactory.getLogger(HeadlessRunner.class);
+
+    // Wanderers keep a direction for 1 to 10 seconds at 60 ticks per second
+    private static final int WANDER_MIN_TICKS = 60;
+    private static final int WANDER_MAX_TICKS = 600;
+
+    /**
+     * State of a run at a report
+     * @param ticks Ticks run since the start
+     * @param seconds Wall time since the start
+     * @param ticksPerSecond Ticks per second since the previous report
+     * @param maxTickMillis Slowest tick since the previous report
+     * @param chunksLoaded Chunks generated since the start
+     * @param chunksInMemory Chunks held by the world
+     * @param heapUsedBytes Heap in use
+     * @param gcCount Collections since the start
+     * @param gcMillis Time spent collecting since the start
+     */
+    public record Report(long ticks, double seconds, double ticksPerSecond, double maxTickMillis,
+                         long chunksLoaded, int chunksInMemory, long heapUsedBytes, long gcCount, long gcMillis) {
+
+        public String format() {
+            return String.format("%d ticks in %.1f s: %.1f ticks/s, slowest %.2f ms, %d chunks loaded (%d in memory), "
+                                 + "heap %.1f MB, %d GCs in %d ms",
+                                 ticks, seconds, ticksPerSecond, maxTickMillis, chunksLoaded, chunksInMemory,
+                                 heapUsedBytes / (1024.0 * 1024.0), gcCount, gcMillis);
+        }
+    }
+
+    private final GameEngine engine;
+    private final FixedTimestep timestep;
+    private final List<InputManager> scriptedInputs = new ArrayList<>();
+    private final List<InputScript> scripts = new ArrayList<>();
+    private final AtomicLong chunksLoaded = new AtomicLong();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final long gcCountAtStart;
+    private final long gcMillisAtStart;
+    private long ticks;
+
+    /**
+     * @param engine Engine started headless
+     */
+    public HeadlessRunner(GameEngine engine) {
+        if (!engine.isRunning() || !engine.isHeadless()) {
+            throw new IllegalStateException("Engine must be started headless");
+        }
+        this.engine = engine;
+        this.timestep = new FixedTimestep(engine.getTickRate(), FixedTimestep.DEFAULT_MAX_STEPS_PER_FRAME);
+        this.gcCountAtStart = gcCount();
+        this.gcMillisAtStart = gcMillis();
+        engine.getWorld().addChunkListener(new ChunkListener() {
+            @Override
+            public void onChunkLoaded(Chunk chunk) {
+                chunksLoaded.incrementAndGet();
+            }
+
+            @Override
+            public void onChunkChanged(Chunk chunk) {
+            }
+        });
+    }
+
+    /**
+     * Steer the main player with a script; ignored while the engine replays recorded input
+     */
+    public void setMainScript(InputScript script) {
+        scriptedInputs.add(engine.getInputManager());
+        scripts.add(script);
+    }
+
+    /**
+     * Add players that wander the world on their own, spread around random positions
+     * @param seed Seed for their start positions and paths
+     */
+    public void addWanderers(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double worldSize = engine.getWorld().getConfig().worldSize();
+        for (int i = 0; i < count; i++) {
+            InputManager input = new InputManager();
+            engine.addPlayer(random.nextDouble(worldSize), random.nextDouble(worldSize), input);
+            scriptedInputs.add(input);
+            scripts.add(new WanderScript(random.nextLong(), WANDER_MIN_TICKS, WANDER_MAX_TICKS));
+        }
+        logger.info("Added {} wandering players", count);
+    }
+
+    /**
+     * Run until a limit is reached or a replay ends
+     * @param maxTicks Ticks to run, 0 for no limit
+     * @param maxNanos Wall time to run, 0 for no limit
+     * @param unbounded Run ticks back to back instead of at the tick rate
+     * @param reportNanos Interval between reports
+     * @param reporter Receives the reports, including a final one
+     * @return The final report
+     */
+    public Report run(long maxTicks, long maxNanos, boolean unbounded, long reportNanos, Consumer<Report> reporter) {
+        double stepSeconds = timestep.getStepSeconds();
+        long start = System.nanoTime();
+        long last = start;
+        long lastReport = start;
+        long ticksAtReport = ticks;
+        long maxTickNanos = 0;
+        boolean replaying = engine.isReplaying();
+
+        while (!limitReached(maxTicks, maxNanos, start, replaying)) {
+            int steps = 1;
+            if (!unbounded) {
+                // Pace like the game loop, sleeping until the next tick is due
+                long now = System.nanoTime();
+                steps = timestep.advance(now - last);
+                last = now;
+                if (steps == 0) {
+                    LockSupport.parkNanos(Math.round((1 - timestep.getAlpha()) * stepSeconds * 1_000_000_000L));
+                    continue;
+                }
+            }
+            for (int i = 0; i < steps; i++) {
+                long tickStart = System.nanoTime();
+                tick(stepSeconds, replaying);
+                maxTickNanos = Math.max(maxTickNanos, System.nanoTime() - tickStart);
+            }
+
+            long now = System.nanoTime();
+            if (now - lastReport >= reportNanos) {
+                reporter.accept(report(now - start, ticks - ticksAtReport, now - lastReport, maxTickNanos));
+                lastReport = now;
+                ticksAtReport = ticks;
+                maxTickNanos = 0;
+            }
+        }
+
+        long now = System.nanoTime();
+        Report report = report(now - start, ticks - ticksAtReport, now - lastReport, maxTickNanos);
+        reporter.accept(report);
+        return report;
+    }
+
+    private boolean limitReached(long maxTicks, long maxNanos, long start, boolean replaying) {
+        if (maxTicks > 0 && ticks >= maxTicks) {
+            return true;
+        }
+        if (maxNanos > 0 && System.nanoTime() - start >= maxNanos) {
+            return true;
+        }
+        return replaying && engine.isReplayFinished();
+    }
+
+    private void tick(double stepSeconds, boolean replaying) {
+        long tick = engine.getSimulatedTicks();
+        for (int i = 0; i < scripts.size(); i++) {
+            InputManager input = scriptedInputs.get(i);
+            if (!(replaying && input == engine.getInputManager())) {
+                scripts.get(i).apply(tick, input);
+            }
+        }
+        engine.update(stepSeconds);
+        ticks++;
+    }
+
+    private Report report(long elapsedNanos, long intervalTicks, long intervalNanos, long maxTickNanos) {
+        double ticksPerSecond = intervalNanos > 0 ? intervalTicks * 1_000_000_000.0 / intervalNanos : 0;
+        return new Report(ticks, elapsedNanos / 1_000_000_000.0, ticksPerSecond, maxTickNanos / 1_000_000.0,
+                          chunksLoaded.get(), engine.getWorld().getChunkCache().size(),
+                          memory.getHeapMemoryUsage().getUsed(), gcCount() - gcCountAtStart,
+                          gcMillis() - gcMillisAtStart);
+    }
+
+    private long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+}
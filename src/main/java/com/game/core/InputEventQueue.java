@@ -0,0 +1,186 @@
+package com.game.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free single-producer, single-consumer ring buffer of timestamped input events.
+ *
+ * The UI thread offers events as they arrive and the simulation thread drains them at the
+ * start of a tick. Events are stored field by field in preallocated arrays, so neither
+ * side allocates. When the consumer falls behind, the UI thread is never blocked; instead
+ * the buffer fills up in stages. Mouse moves stop at half the capacity and are coalesced
+ * into the latest position, which is queued once there is room again. Presses and scrolls
+ * stop at three quarters and are dropped and counted. The last quarter is kept for release
+ * events, so a key or button is never left held because its release was crowded out.
+ */
+public final class InputEventQueue {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    public enum Type {
+        KEY_PRESSED,
+        KEY_RELEASED,
+        MOUSE_MOVED,
+        MOUSE_PRESSED,
+        MOUSE_RELEASED,
+        SCROLL
+    }
+
+    /**
+     * Receives drained events
+     */
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * @param keyCode Ordinal of the key code for key events, -1 otherwise
+         * @param y Scroll delta for scroll events
+         * @param nanos {@link System#nanoTime()} when the event was offered
+         */
+        void onEvent(Type type, int keyCode, double x, double y, long nanos);
+    }
+
+    private static final Type[] TYPES = Type.values();
+
+    private final int mask;
+    // Free slots kept for the events that may still be queued once others no longer fit
+    private final int moveReserve;
+    private final int releaseReserve;
+    private final byte[] types;
+    private final int[] keyCodes;
+    private final double[] xs;
+    private final double[] ys;
+    private final long[] timestamps;
+
+    // Next slot to write, published with release semantics after the slot is filled
+    private final AtomicLong head = new AtomicLong();
+    // Next slot to read, published after the slot was read so the producer may reuse it
+    private final AtomicLong tail = new AtomicLong();
+    // Owned by the producer
+    private long dropped;
+    // Latest mouse move that did not fit, queued ahead of the next event that does
+    private boolean movePending;
+    private double pendingMoveX, pendingMoveY;
+    private long pendingMoveNanos;
+
+    public InputEventQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Events buffered at most; rounded up to a power of two
+     */
+    public InputEventQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.moveReserve = size / 2;
+        this.releaseReserve = size / 4;
+        this.types = new byte[size];
+        this.keyCodes = new int[size];
+        this.xs = new double[size];
+        this.ys = new double[size];
+        this.timestamps = new long[size];
+    }
+
+    /**
+     * Add an event; producer thread only
+     * @return false if the buffer was too full and the event was dropped; mouse moves are
+     *         coalesced instead and always accepted
+     */
+    public boolean offer(Type type, int keyCode, double x, double y, long nanos) {
+        long h = head.get();
+        int free = capacity() - (int) (h - tail.get());
+        if (movePending && free > moveReserve) {
+            // The coalesced move happened before this event, keep the order
+            write(h++, Type.MOUSE_MOVED, -1, pendingMoveX, pendingMoveY, pendingMoveNanos);
+            free--;
+            movePending = false;
+        }
+
+        boolean accepted = free > reserveFor(type);
+        if (accepted) {
+            write(h++, type, keyCode, x, y, nanos);
+        } else if (type == Type.MOUSE_MOVED) {
+            // Only the latest position matters
+            movePending = true;
+            pendingMoveX = x;
+            pendingMoveY = y;
+            pendingMoveNanos = nanos;
+            accepted = true;
+        } else {
+            dropped++;
+        }
+        head.lazySet(h);
+        return accepted;
+    }
+
+    /**
+     * Queue the coalesced mouse move if there is room again, e.g. once per frame while no new
+     * events arrive; producer thread only
+     */
+    public void flush() {
+        if (movePending) {
+            long h = head.get();
+            if (capacity() - (int) (h - tail.get()) > moveReserve) {
+                write(h, Type.MOUSE_MOVED, -1, pendingMoveX, pendingMoveY, pendingMoveNanos);
+                movePending = false;
+                head.lazySet(h + 1);
+            }
+        }
+    }
+
+    private int reserveFor(Type type) {
+        return switch (type) {
+            case MOUSE_MOVED -> moveReserve;
+            case KEY_RELEASED, MOUSE_RELEASED -> 0;
+            default -> releaseReserve;
+        };
+    }
+
+    private void write(long index, Type type, int keyCode, double x, double y, long nanos) {
+        int slot = (int) (index & mask);
+        types[slot] = (byte) type.ordinal();
+        keyCodes[slot] = keyCode;
+        xs[slot] = x;
+        ys[slot] = y;
+        timestamps[slot] = nanos;
+    }
+
+    /**
+     * Hand all available events to the handler in the order they were offered; consumer thread only
+     * @return Number of events drained
+     */
+    public int drain(Handler handler) {
+        long t = tail.get();
+        long h = head.get();
+        for (long i = t; i < h; i++) {
+            int slot = (int) (i & mask);
+            handler.onEvent(TYPES[types[slot]], keyCodes[slot], xs[slot], ys[slot], timestamps[slot]);
+        }
+        tail.lazySet(h);
+        return (int) (h - t);
+    }
+
+    /**
+     * @return Number of events waiting to be drained
+     */
+    public int size() {
+        return (int) (head.get() - tail.get());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return Events dropped because the buffer was too full, not counting coalesced mouse
+     *         moves; read on the producer thread
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+}
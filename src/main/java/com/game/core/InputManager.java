@@ -8,22 +8,167 @@ import javafx.scene.input.MouseEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
 
+/**
+ * Keyboard and mouse state for the simulation.
+ *
+ * Keys are kept in bitsets over {@link KeyCode} ordinals, so polling neither hashes nor
+ * allocates. In queued mode UI handlers only push timestamped events into an
+ * {@link InputEventQueue}; the simulation applies them with {@link #processEvents()} at the
+ * start of a tick, which gives every tick one stable view of the input.
+ */
 public class InputManager {
     private static final Logger logger = LoggerFactory.getLogger(InputManager.class);
     
-    private final Set<KeyCode> pressedKeys;
-    private final Set<KeyCode> justPressedKeys;
+    private static final int KEY_WORDS = (KeyCode.values().length + 63) / 64;
+    
+    // Every combination of movement flags, indexed by the flag bits built in getMovementInput()
+    private static final MovementInput[] MOVEMENT_INPUTS = new MovementInput[1 << 8];
+    static {
+        for (int mask = 0; mask < MOVEMENT_INPUTS.length; mask++) {
+            MOVEMENT_INPUTS[mask] = new MovementInput(
+                (mask & 1) != 0, (mask & 2) != 0, (mask & 4) != 0, (mask & 8) != 0,
+                (mask & 16) != 0, (mask & 32) != 0, (mask & 64) != 0, (mask & 128) != 0);
+        }
+    }
+    
+    private final long[] pressedKeys = new long[KEY_WORDS];
+    private final long[] justPressedKeys = new long[KEY_WORDS];
     private double mouseX, mouseY;
     private double mouseWheelDelta;
     private boolean mousePressed;
+    private long lastEventNanos;
     private Camera.CameraMode cameraMode = Camera.CameraMode.FIXED_ANGLE;
+    // Derived from the key state once per change rather than on every poll
+    private MovementInput movementInput = MOVEMENT_INPUTS[0];
+    private boolean movementInputStale;
+    
+    // Events from the UI thread waiting for the simulation thread, used when queued
+    private final InputEventQueue events;
+    private final InputEventQueue.Handler applier = this::apply;
+    private volatile boolean queued;
+    // Events from the UI are ignored while a recording is replayed
+    private volatile boolean liveInput = true;
+    // Sees every applied event, e.g. to record it
+    private InputEventQueue.Handler recorder;
     
     public InputManager() {
-        this.pressedKeys = ConcurrentHashMap.newKeySet();
-        this.justPressedKeys = ConcurrentHashMap.newKeySet();
+        this.events = new InputEventQueue();
+    }
+    
+    /**
+     * Queue events instead of applying them as they arrive. The simulation thread then applies
+     * them in order with {@link #processEvents()} at the start of a tick, so the input state never
+     * changes in the middle of one. The UI thread must be the only one handing in events.
+     */
+    public void setQueued(boolean queued) {
+        this.queued = queued;
+        if (!queued) {
+            processEvents();
+        }
+    }
+    
+    public boolean isQueued() {
+        return queued;
+    }
+    
+    /**
+     * Apply all queued events in arrival order
+     * @return Number of events applied
+     */
+    public int processEvents() {
+        return events.drain(applier);
+    }
+    
+    /**
+     * Queue the latest mouse position if it was held back while the queue was full; call on the
+     * UI thread, e.g. once per frame
+     */
+    public void flushEvents() {
+        events.flush();
+    }
+    
+    /**
+     * @return Queued events dropped because the simulation fell behind; read on the UI thread
+     */
+    public long getDroppedEvents() {
+        return events.getDroppedCount();
+    }
+    
+    /**
+     * Accept ("true", default) or ignore events from the UI, e.g. while replaying recorded input
+     */
+    public void setLiveInput(boolean liveInput) {
+        this.liveInput = liveInput;
+    }
+    
+    public boolean isLiveInput() {
+        return liveInput;
+    }
+    
+    /**
+     * Hand every applied event to the recorder after applying it, null to stop; set on the thread applying events
+     */
+    public void setRecorder(InputEventQueue.Handler recorder) {
+        this.recorder = recorder;
+    }
+    
+    /**
+     * Apply a previously recorded event right away; call on the thread applying events
+     */
+    public void replayEvent(InputEventQueue.Type type, int keyCode, double x, double y, long nanos) {
+        apply(type, keyCode, x, y, nanos);
+    }
+    
+    private void post(InputEventQueue.Type type, KeyCode keyCode, double x, double y) {
+        if (!liveInput) {
+            return;
+        }
+        int code = keyCode != null ? keyCode.ordinal() : -1;
+        long nanos = System.nanoTime();
+        if (!queued) {
+            apply(type, code, x, y, nanos);
+        } else if (!events.offer(type, code, x, y, nanos) && events.getDroppedCount() == 1) {
+            logger.warn("Input queue full, dropping presses and scrolls until the simulation catches up");
+        }
+    }
+    
+    private void apply(InputEventQueue.Type type, int keyCode, double x, double y, long nanos) {
+        lastEventNanos = nanos;
+        switch (type) {
+            case KEY_PRESSED -> {
+                setBit(pressedKeys, keyCode, true);
+                setBit(justPressedKeys, keyCode, true);
+                movementInputStale = true;
+            }
+            case KEY_RELEASED -> {
+                setBit(pressedKeys, keyCode, false);
+                movementInputStale = true;
+            }
+            case MOUSE_MOVED -> {
+                mouseX = x;
+                mouseY = y;
+            }
+            case MOUSE_PRESSED -> mousePressed = true;
+            case MOUSE_RELEASED -> mousePressed = false;
+            case SCROLL -> mouseWheelDelta = y;
+        }
+        if (recorder != null) {
+            recorder.onEvent(type, keyCode, x, y, nanos);
+        }
+    }
+    
+    private static void setBit(long[] bits, int index, boolean value) {
+        if (value) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+    
+    private static boolean getBit(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
     }
     
     public void setupInputHandling(Scene scene) {
@@ -41,43 +186,39 @@ public class InputManager {
     }
     
     public void handleKeyPressed(KeyEvent event) {
-        KeyCode keyCode = event.getCode();
-        pressedKeys.add(keyCode);
-        justPressedKeys.add(keyCode);
+        post(InputEventQueue.Type.KEY_PRESSED, event.getCode(), 0, 0);
     }
     
     public void handleKeyReleased(KeyEvent event) {
-        KeyCode keyCode = event.getCode();
-        pressedKeys.remove(keyCode);
+        post(InputEventQueue.Type.KEY_RELEASED, event.getCode(), 0, 0);
     }
     
     public void handleMouseMoved(MouseEvent event) {
-        mouseX = event.getX();
-        mouseY = event.getY();
+        post(InputEventQueue.Type.MOUSE_MOVED, null, event.getX(), event.getY());
     }
     
     public void handleMousePressed(MouseEvent event) {
-        mousePressed = true;
+        post(InputEventQueue.Type.MOUSE_PRESSED, null, event.getX(), event.getY());
     }
     
     public void handleMouseReleased(MouseEvent event) {
-        mousePressed = false;
+        post(InputEventQueue.Type.MOUSE_RELEASED, null, event.getX(), event.getY());
     }
     
     private void handleMouseScroll(javafx.scene.input.ScrollEvent event) {
-        mouseWheelDelta = event.getDeltaY();
+        handleMouseScroll(event.getDeltaY());
     }
     
     public void handleMouseScroll(double delta) {
-        mouseWheelDelta = delta;
+        post(InputEventQueue.Type.SCROLL, null, 0, delta);
     }
     
     public boolean isKeyPressed(KeyCode keyCode) {
-        return pressedKeys.contains(keyCode);
+        return getBit(pressedKeys, keyCode.ordinal());
     }
     
     public boolean isKeyJustPressed(KeyCode keyCode) {
-        return justPressedKeys.contains(keyCode);
+        return getBit(justPressedKeys, keyCode.ordinal());
     }
     
     public void update(double deltaTime) {
@@ -87,7 +228,7 @@ public class InputManager {
     
     public void clearJustPressedKeys() {
         // Clear just pressed keys - called after input handling
-        justPressedKeys.clear();
+        Arrays.fill(justPressedKeys, 0);
     }
     
     public double getMouseX() { return mouseX; }
@@ -95,48 +236,47 @@ public class InputManager {
     public double getMouseWheelDelta() { return mouseWheelDelta; }
     public boolean isMousePressed() { return mousePressed; }
     
+    /**
+     * @return {@link System#nanoTime()} at which the most recently applied event arrived
+     */
+    public long getLastEventNanos() { return lastEventNanos; }
+    
+    /**
+     * @return The queue UI events wait in while queued
+     */
+    public InputEventQueue getEventQueue() { return events; }
+    
     public void setCameraMode(Camera.CameraMode mode) {
         this.cameraMode = mode;
+        movementInputStale = true;
     }
     
     public Camera.CameraMode getCameraMode() {
         return cameraMode;
     }
     
+    /**
+     * @return Movement flags for the current key state; the same instance until keys or the camera mode change
+     */
     public MovementInput getMovementInput() {
-        MovementInput input;
-        if (cameraMode == Camera.CameraMode.FIXED_ANGLE) {
-            // Fixed-angle mode: WASD moves in fixed directions, arrow keys rotate camera
-            input = new MovementInput(
-                isKeyPressed(KeyCode.W),    // forward
-                isKeyPressed(KeyCode.S),    // backward
-                isKeyPressed(KeyCode.A),    // left
-                isKeyPressed(KeyCode.D),    // right
-                isKeyPressed(KeyCode.Q),    // strafeLeft
-                isKeyPressed(KeyCode.E),    // strafeRight
-                isKeyPressed(KeyCode.LEFT), // cameraLeft
-                isKeyPressed(KeyCode.RIGHT) // cameraRight
-            );
-        } else {
-            // Player-perspective mode: A/D rotates player, W/S moves forward/backward
-            input = new MovementInput(
-                isKeyPressed(KeyCode.W),    // forward
-                isKeyPressed(KeyCode.S),    // backward
-                isKeyPressed(KeyCode.A),    // left
-                isKeyPressed(KeyCode.D),    // right
-                isKeyPressed(KeyCode.Q),    // strafeLeft
-                isKeyPressed(KeyCode.E),    // strafeRight
-                false,                      // cameraLeft (not used in player-perspective)
-                false                       // cameraRight (not used in player-perspective)
-            );
+        if (movementInputStale) {
+            movementInputStale = false;
+            int mask = 0;
+            if (isKeyPressed(KeyCode.W)) mask |= 1;      // forward
+            if (isKeyPressed(KeyCode.S)) mask |= 2;      // backward
+            if (isKeyPressed(KeyCode.A)) mask |= 4;      // left
+            if (isKeyPressed(KeyCode.D)) mask |= 8;      // right
+            if (isKeyPressed(KeyCode.Q)) mask |= 16;     // strafeLeft
+            if (isKeyPressed(KeyCode.E)) mask |= 32;     // strafeRight
+            if (cameraMode == Camera.CameraMode.FIXED_ANGLE) {
+                // Fixed-angle mode: WASD moves in fixed directions, arrow keys rotate camera
+                if (isKeyPressed(KeyCode.LEFT)) mask |= 64;   // cameraLeft
+                if (isKeyPressed(KeyCode.RIGHT)) mask |= 128; // cameraRight
+            }
+            // Player-perspective mode: A/D rotates player, W/S moves forward/backward, no camera keys
+            movementInput = MOVEMENT_INPUTS[mask];
         }
-        
-        // Debug: Log input state
-        if (input.forward() || input.backward() || input.left() || input.right() || input.strafeLeft() || input.strafeRight()) {
-                    // Debug logging removed for performance
-        }
-        
-        return input;
+        return movementInput;
     }
     
     public record MovementInput(
@@ -149,4 +289,4 @@ public class InputManager {
         boolean cameraLeft,
         boolean cameraRight
     ) {}
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.game.core;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Collects the input events applied by an {@link InputManager} into an {@link InputRecording}.
+ *
+ * Events are tagged with the tick they take effect in, read from the simulation's tick
+ * counter, and kept in growing primitive arrays so recording does not allocate per event.
+ * The recorder is called on the thread applying input, i.e. the simulation thread.
+ */
+public class InputRecorder implements InputEventQueue.Handler {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final WorldConfig config;
+    private final double tickRate;
+    private final LongSupplier tick;
+    private final long startNanos;
+    private int count;
+    private long[] eventTicks = new long[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] keyCodes = new int[INITIAL_CAPACITY];
+    private double[] xs = new double[INITIAL_CAPACITY];
+    private double[] ys = new double[INITIAL_CAPACITY];
+    private long[] nanos = new long[INITIAL_CAPACITY];
+
+    /**
+     * @param tick Tick the next applied event takes effect in
+     * @param startNanos {@link System#nanoTime()} the recording starts at
+     */
+    public InputRecorder(WorldConfig config, double tickRate, LongSupplier tick, long startNanos) {
+        this.config = config;
+        this.tickRate = tickRate;
+        this.tick = tick;
+        this.startNanos = startNanos;
+    }
+
+    @Override
+    public void onEvent(InputEventQueue.Type type, int keyCode, double x, double y, long nanos) {
+        if (count == eventTicks.length) {
+            grow();
+        }
+        long previous = count > 0 ? this.nanos[count - 1] : 0;
+        eventTicks[count] = tick.getAsLong();
+        types[count] = (byte) type.ordinal();
+        keyCodes[count] = keyCode;
+        xs[count] = x;
+        ys[count] = y;
+        // Relative to the start and never earlier than the previous event
+        this.nanos[count] = Math.max(previous, nanos - startNanos);
+        count++;
+    }
+
+    private void grow() {
+        int capacity = eventTicks.length * 2;
+        eventTicks = Arrays.copyOf(eventTicks, capacity);
+        types = Arrays.copyOf(types, capacity);
+        keyCodes = Arrays.copyOf(keyCodes, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        nanos = Arrays.copyOf(nanos, capacity);
+    }
+
+    public int getEventCount() {
+        return count;
+    }
+
+    /**
+     * @return Everything recorded so far, ending after the given number of ticks
+     */
+    public InputRecording finish(long ticks) {
+        return new InputRecording(config, tickRate, ticks, count,
+                                  Arrays.copyOf(eventTicks, count), Arrays.copyOf(types, count),
+                                  Arrays.copyOf(keyCodes, count), Arrays.copyOf(xs, count),
+                                  Arrays.copyOf(ys, count), Arrays.copyOf(nanos, count));
+    }
+}
@@ -0,0 +1,222 @@
+package com.game.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Input of a play session, with everything needed to replay it deterministically: the world
+ * config (seed included), the tick rate, and every input event tagged with the simulation tick
+ * it was applied in.
+ *
+ * Replaying feeds each tick the events recorded for it before the tick runs, so the fixed-step
+ * simulation goes through exactly the same states whatever the frame rate, with or without a
+ * window. The binary format is a short header followed by the events, with ticks and
+ * timestamps stored as variable-length deltas; an hour of play is typically a few hundred
+ * kilobytes. Key codes are stored as {@code KeyCode} ordinals and are only stable within one
+ * JavaFX version.
+ */
+public final class InputRecording {
+    private static final int MAGIC = 0x47494E50; // "GINP"
+    private static final int VERSION = 1;
+    private static final InputEventQueue.Type[] TYPES = InputEventQueue.Type.values();
+
+    private final WorldConfig config;
+    private final double tickRate;
+    private final long ticks;
+    private final int count;
+    private final long[] eventTicks;
+    private final byte[] types;
+    private final int[] keyCodes;
+    private final double[] xs;
+    private final double[] ys;
+    private final long[] nanos;
+
+    InputRecording(WorldConfig config, double tickRate, long ticks, int count, long[] eventTicks, byte[] types,
+                   int[] keyCodes, double[] xs, double[] ys, long[] nanos) {
+        this.config = config;
+        this.tickRate = tickRate;
+        this.ticks = ticks;
+        this.count = count;
+        this.eventTicks = eventTicks;
+        this.types = types;
+        this.keyCodes = keyCodes;
+        this.xs = xs;
+        this.ys = ys;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Hand the events recorded for a tick to the handler, in recorded order
+     * @param from Index of the first event not delivered yet
+     * @param tick Tick about to run
+     * @param startNanos Replay start; event timestamps are shifted to it
+     * @return Index of the first event of a later tick
+     */
+    public int deliver(int from, long tick, long startNanos, InputEventQueue.Handler handler) {
+        int i = from;
+        while (i < count && eventTicks[i] <= tick) {
+            handler.onEvent(TYPES[types[i]], keyCodes[i], xs[i], ys[i], startNanos + nanos[i]);
+            i++;
+        }
+        return i;
+    }
+
+    public WorldConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return Simulation ticks per second the recording was made at
+     */
+    public double getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * @return Number of ticks the recorded session ran
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    public int getEventCount() {
+        return count;
+    }
+
+    /**
+     * @return Tick the event at the index was applied in
+     */
+    public long getEventTick(int index) {
+        return eventTicks[index];
+    }
+
+    public InputEventQueue.Type getEventType(int index) {
+        return TYPES[types[index]];
+    }
+
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            write(out);
+        }
+    }
+
+    public static InputRecording load(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return read(in);
+        }
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(config.seed());
+        out.writeInt(config.chunkSize());
+        out.writeInt(config.tileSize());
+        out.writeInt(config.chunkCount());
+        out.writeDouble(config.biomePlainsFraction());
+        out.writeDouble(tickRate);
+        out.writeLong(ticks);
+        out.writeInt(count);
+
+        long lastTick = 0;
+        long lastNanos = 0;
+        for (int i = 0; i < count; i++) {
+            writeVarLong(out, eventTicks[i] - lastTick);
+            writeVarLong(out, nanos[i] - lastNanos);
+            lastTick = eventTicks[i];
+            lastNanos = nanos[i];
+            InputEventQueue.Type type = TYPES[types[i]];
+            out.writeByte(types[i]);
+            switch (type) {
+                case KEY_PRESSED, KEY_RELEASED -> writeVarLong(out, keyCodes[i]);
+                case MOUSE_MOVED, MOUSE_PRESSED, MOUSE_RELEASED -> {
+                    out.writeDouble(xs[i]);
+                    out.writeDouble(ys[i]);
+                }
+                case SCROLL -> out.writeDouble(ys[i]);
+            }
+        }
+        out.flush();
+    }
+
+    public static InputRecording read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an input recording");
+        }
+        int version = in.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported input recording version: " + version);
+        }
+        WorldConfig config = new WorldConfig(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readDouble());
+        double tickRate = in.readDouble();
+        long ticks = in.readLong();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid event count: " + count);
+        }
+
+        long[] eventTicks = new long[count];
+        byte[] types = new byte[count];
+        int[] keyCodes = new int[count];
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        long[] nanos = new long[count];
+        long tick = 0;
+        long time = 0;
+        for (int i = 0; i < count; i++) {
+            tick += readVarLong(in);
+            time += readVarLong(in);
+            eventTicks[i] = tick;
+            nanos[i] = time;
+            int type = in.readUnsignedByte();
+            if (type >= TYPES.length) {
+                throw new IOException("Invalid event type: " + type);
+            }
+            types[i] = (byte) type;
+            keyCodes[i] = -1;
+            switch (TYPES[type]) {
+                case KEY_PRESSED, KEY_RELEASED -> keyCodes[i] = (int) readVarLong(in);
+                case MOUSE_MOVED, MOUSE_PRESSED, MOUSE_RELEASED -> {
+                    xs[i] = in.readDouble();
+                    ys[i] = in.readDouble();
+                }
+                case SCROLL -> ys[i] = in.readDouble();
+            }
+        }
+        return new InputRecording(config, tickRate, ticks, count, eventTicks, types, keyCodes, xs, ys, nanos);
+    }
+
+    // Deltas are non-negative and mostly small, 7 bits per byte
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length number");
+    }
+}
@@ -0,0 +1,17 @@
+package com.game.core;
+
+/**
+ * Input produced by code instead of a person, e.g. for simulated players in headless runs.
+ *
+ * Scripts hand events to an {@link InputManager} with {@link InputManager#replayEvent} before
+ * each tick. A script that only depends on the tick and its own state makes runs repeatable.
+ */
+@FunctionalInterface
+public interface InputScript {
+
+    /**
+     * Apply the input for a tick
+     * @param tick Tick about to run
+     */
+    void apply(long tick, InputManager input);
+}
@@ -1,5 +1,7 @@
 package com.game.core;
 
+import com.game.ecs.Component;
+import com.game.ecs.EntityStore;
 import com.game.rendering.Camera;
 import javafx.scene.input.KeyCode;
 import org.slf4j.Logger;
@@ -7,42 +9,125 @@ import org.slf4j.LoggerFactory;
 
 import static com.game.core.InputManager.MovementInput;
 
+/**
+ * The player character, backed by an entity with position, velocity, heading and sprite.
+ *
+ * In the game the entity lives in the engine's {@link EntityStore}: {@link #steer} turns
+ * input into a velocity and heading and the movement system moves it with every other
+ * entity. Players created without a store get a private one; {@link #update} steers and
+ * moves those on its own.
+ */
 public class Player {
     private static final Logger logger = LoggerFactory.getLogger(Player.class);
-    
-    private double x, y;
-    private double angle;
+
+    public static final String SPRITE_TYPE = "player";
+
+    private final EntityStore store;
+    private final int entity;
+    // State at the start of the current simulation tick, for interpolation
+    private double previousX, previousY, previousAngle;
     private double speed = 200.0; // pixels per second
     private double rotationSpeed = 360.0; // degrees per second (doubled for faster response)
-    private double size = 20.0;
     private boolean interacting = false;
     private final WorldConfig worldConfig;
     private final double worldSize;
 
     public Player(double startX, double startY, WorldConfig worldConfig) {
-        this.x = startX;
-        this.y = startY;
-        this.angle = 0.0;
+        this(new EntityStore(), startX, startY, worldConfig);
+    }
+
+    public Player(EntityStore store, double startX, double startY, WorldConfig worldConfig) {
+        this.store = store;
+        this.entity = store.create(Component.POSITION, Component.VELOCITY, Component.HEADING, Component.SPRITE);
+        store.set(entity, Component.POSITION, Component.X, startX);
+        store.set(entity, Component.POSITION, Component.Y, startY);
+        store.set(entity, Component.SPRITE, Component.SIZE, 20.0);
+        store.setObject(entity, Component.SPRITE, Component.TYPE, SPRITE_TYPE);
+        this.previousX = startX;
+        this.previousY = startY;
         this.worldConfig = worldConfig;
         this.worldSize = worldConfig.worldSize();
     }
-    
+
+    private Player(Player source) {
+        this(source.getX(), source.getY(), source.worldConfig);
+        copyFrom(source);
+    }
+
+    /**
+     * @return Independent copy with a private store, including the state at the start of the current tick
+     */
+    public Player copy() {
+        return new Player(this);
+    }
+
+    /**
+     * Take over another player's state, including the state at the start of the current tick,
+     * without allocating; for refilling copies made by {@link #copy()}
+     */
+    public void copyFrom(Player source) {
+        setX(source.getX());
+        setY(source.getY());
+        setAngle(source.getAngle());
+        store.set(entity, Component.VELOCITY, Component.X, source.getVelocityX());
+        store.set(entity, Component.VELOCITY, Component.Y, source.getVelocityY());
+        store.set(entity, Component.SPRITE, Component.SIZE, source.getSize());
+        this.previousX = source.previousX;
+        this.previousY = source.previousY;
+        this.previousAngle = source.previousAngle;
+        this.speed = source.speed;
+        this.rotationSpeed = source.rotationSpeed;
+        this.interacting = source.interacting;
+    }
+
+    /**
+     * Steer and move the player in one step, for players not moved by a movement system
+     */
     public void update(double deltaTime, InputManager inputManager, Camera camera) {
+        steer(deltaTime, inputManager, camera);
+        setX(WorldUtils.wrap(getX() + getVelocityX() * deltaTime, worldSize));
+        setY(WorldUtils.wrap(getY() + getVelocityY() * deltaTime, worldSize));
+    }
+
+    /**
+     * Set velocity and heading from the input; the position is left to the movement system
+     */
+    public void steer(double deltaTime, InputManager inputManager, Camera camera) {
         MovementInput input = inputManager.getMovementInput();
-        
+
         if (inputManager.getCameraMode() == Camera.CameraMode.FIXED_ANGLE) {
             // Fixed-angle mode: movement is relative to camera rotation
-            updateFixedAngleMovement(deltaTime, input, camera.getRotation());
+            steerFixedAngle(input, camera.getRotation());
         } else {
             // Player-perspective mode: A/D rotates player, W/S moves forward/backward
-            updatePlayerPerspectiveMovement(deltaTime, input);
+            steerPlayerPerspective(deltaTime, input);
         }
-        
+
         // Handle interaction input
         interacting = inputManager.isKeyPressed(KeyCode.E);
     }
-    
-    private void updateFixedAngleMovement(double deltaTime, MovementInput input, double cameraRotation) {
+
+    /**
+     * Remember the current state as the start of the next simulation tick
+     */
+    public void savePrevious() {
+        previousX = getX();
+        previousY = getY();
+        previousAngle = getAngle();
+    }
+
+    /**
+     * Set this player to the state between the source's previous and current tick, for rendering
+     * @param alpha 0 for the previous tick, 1 for the current one
+     */
+    public void interpolate(Player source, double alpha) {
+        setX(WorldUtils.interpolateWrapped(source.previousX, source.getX(), alpha, worldSize));
+        setY(WorldUtils.interpolateWrapped(source.previousY, source.getY(), alpha, worldSize));
+        setAngle(WorldUtils.interpolateAngle(source.previousAngle, source.getAngle(), alpha));
+        interacting = source.interacting;
+    }
+
+    private void steerFixedAngle(MovementInput input, double cameraRotation) {
         // Fixed-angle mode: WASD moves in fixed directions, arrow keys rotate camera
         double moveX = 0;
         double moveY = 0;
@@ -73,13 +158,6 @@ public class Player {
             moveY += Math.sin(cameraRotation);
         }
 
-        // Debug: Log input state
-        if (input.forward() || input.backward() || input.left() || input.right() || input.strafeLeft() || input.strafeRight()) {
-                    // Debug logging removed for performance
-        }
-
-
-
         // Normalize movement vector to ensure consistent speed
         double magnitude = Math.sqrt(moveX * moveX + moveY * moveY);
         if (magnitude > 0) {
@@ -87,35 +165,30 @@ public class Player {
             moveY /= magnitude;
         }
 
-        // Calculate new position
-        double newX = x + moveX * speed * deltaTime;
-        double newY = y + moveY * speed * deltaTime;
-
-        // Apply world wrapping
-        WorldUtils.Point2D wrappedPos = WorldUtils.wrapWorldCoordinates(newX, newY, worldSize);
-        x = wrappedPos.x;
-        y = wrappedPos.y;
+        setVelocity(moveX * speed, moveY * speed);
 
         // Update player angle based on movement direction (player faces movement direction)
         if (magnitude > 0) {
             // Convert movement direction to angle (0 = north, π/2 = east, π = south, -π/2 = west)
-            angle = Math.atan2(moveX, -moveY);
+            setAngle(Math.atan2(moveX, -moveY));
         }
     }
-    
-    private void updatePlayerPerspectiveMovement(double deltaTime, MovementInput input) {
+
+    private void steerPlayerPerspective(double deltaTime, MovementInput input) {
         // Handle rotation
+        double rotationAmount = Math.toRadians(rotationSpeed * deltaTime);
         if (input.left()) {
-            rotateLeft(deltaTime);
+            setAngle(getAngle() - rotationAmount);
         }
         if (input.right()) {
-            rotateRight(deltaTime);
+            setAngle(getAngle() + rotationAmount);
         }
-        
+        double angle = getAngle();
+
         // Handle movement - combine all movement inputs for proper diagonal movement
         double moveX = 0;
         double moveY = 0;
-        
+
         if (input.forward()) {
             moveX += Math.sin(angle);
             moveY -= Math.cos(angle);
@@ -132,70 +205,35 @@ public class Player {
             moveX += Math.sin(angle + Math.PI / 2); // 90 degrees to the left (E key)
             moveY -= Math.cos(angle + Math.PI / 2);
         }
-        
+
         // Normalize movement vector to ensure consistent speed
         double magnitude = Math.sqrt(moveX * moveX + moveY * moveY);
         if (magnitude > 0) {
             moveX /= magnitude;
             moveY /= magnitude;
-            
-            // Calculate new position
-            double newX = x + moveX * speed * deltaTime;
-            double newY = y + moveY * speed * deltaTime;
-            
-            // Apply world wrapping
-            WorldUtils.Point2D wrappedPos = WorldUtils.wrapWorldCoordinates(newX, newY, worldSize);
-            x = wrappedPos.x;
-            y = wrappedPos.y;
         }
+
+        setVelocity(moveX * speed, moveY * speed);
     }
-    
-    private void moveInDirection(double deltaTime, double direction) {
-        x += Math.sin(direction) * speed * deltaTime;
-        y -= Math.cos(direction) * speed * deltaTime;
-    }
-    
-    private void moveStrafeLeft(double deltaTime) {
-        double radians = angle + Math.PI / 2; // 90 degrees in radians
-        x += Math.sin(radians) * speed * deltaTime;
-        y -= Math.cos(radians) * speed * deltaTime;
-    }
-    
-    private void moveStrafeRight(double deltaTime) {
-        double radians = angle - Math.PI / 2; // -90 degrees in radians
-        x += Math.sin(radians) * speed * deltaTime;
-        y -= Math.cos(radians) * speed * deltaTime;
-    }
-    
-    private void moveForward(double deltaTime) {
-        x += Math.sin(angle) * speed * deltaTime;
-        y -= Math.cos(angle) * speed * deltaTime;
-    }
-    
-    private void moveBackward(double deltaTime) {
-        x -= Math.sin(angle) * speed * deltaTime;
-        y += Math.cos(angle) * speed * deltaTime;
-    }
-    
-    private void rotateLeft(double deltaTime) {
-        double rotationAmount = Math.toRadians(rotationSpeed * deltaTime);
-        angle -= rotationAmount;
-    }
-    
-    private void rotateRight(double deltaTime) {
-        double rotationAmount = Math.toRadians(rotationSpeed * deltaTime);
-        angle += rotationAmount;
+
+    private void setVelocity(double velocityX, double velocityY) {
+        store.set(entity, Component.VELOCITY, Component.X, velocityX);
+        store.set(entity, Component.VELOCITY, Component.Y, velocityY);
     }
-    
+
     // Getters
-    public double getX() { return x; }
-    public double getY() { return y; }
-    public double getAngle() { return angle; }
-    public double getSize() { return size; }
+    public double getX() { return store.get(entity, Component.POSITION, Component.X); }
+    public double getY() { return store.get(entity, Component.POSITION, Component.Y); }
+    public double getAngle() { return store.get(entity, Component.HEADING, Component.ANGLE); }
+    public double getVelocityX() { return store.get(entity, Component.VELOCITY, Component.X); }
+    public double getVelocityY() { return store.get(entity, Component.VELOCITY, Component.Y); }
+    public double getSize() { return store.get(entity, Component.SPRITE, Component.SIZE); }
     public boolean isInteracting() { return interacting; }
-    
+    public EntityStore getStore() { return store; }
+    public int getEntity() { return entity; }
+
     // Setters
-    public void setX(double x) { this.x = x; }
-    public void setY(double y) { this.y = y; }
-    public void setAngle(double angle) { this.angle = angle; }
-} 
\ No newline at end of file
+    public void setX(double x) { store.set(entity, Component.POSITION, Component.X, x); }
+    public void setY(double y) { store.set(entity, Component.POSITION, Component.Y, y); }
+    public void setAngle(double angle) { store.set(entity, Component.HEADING, Component.ANGLE, angle); }
+}
@@ -0,0 +1,64 @@
+package com.game.core;
+
+import com.game.rendering.Camera;
+
+/**
+ * State of the simulation after a finished tick, handed from the simulation thread to the renderer.
+ *
+ * Snapshots are the reused slots of a triple buffer: the simulation thread refills one with
+ * {@link #set} while the renderer reads another, so publishing allocates nothing once each
+ * slot has its own player and camera. The player and camera hold both the state at the start
+ * and at the end of the tick, so the renderer interpolates between them exactly as it does
+ * with the live objects. A snapshot stays unchanged until the renderer asks for the next one.
+ */
+public final class SimulationSnapshot {
+    private long tick;
+    private Player player;
+    private Camera camera;
+    private long publishedNanos;
+
+    /**
+     * Copy the simulation's state into this slot; the first time, the slot gets copies of its own
+     * @param tick Number of ticks simulated so far
+     * @param nanos {@link System#nanoTime()} when the snapshot is published
+     */
+    public void set(long tick, Player player, Camera camera, long nanos) {
+        this.tick = tick;
+        if (this.player == null) {
+            this.player = player.copy();
+            this.camera = camera.copy();
+        } else {
+            this.player.copyFrom(player);
+            this.camera.copyFrom(camera);
+        }
+        this.publishedNanos = nanos;
+    }
+
+    /**
+     * @return Number of ticks simulated so far
+     */
+    public long tick() {
+        return tick;
+    }
+
+    /**
+     * @return Player after the tick
+     */
+    public Player player() {
+        return player;
+    }
+
+    /**
+     * @return Camera after the tick
+     */
+    public Camera camera() {
+        return camera;
+    }
+
+    /**
+     * @return {@link System#nanoTime()} when the snapshot was published
+     */
+    public long publishedNanos() {
+        return publishedNanos;
+    }
+}
@@ -0,0 +1,161 @@
+package com.game.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.game.utils.TripleBuffer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the simulation in fixed ticks on its own thread, apart from rendering.
+ *
+ * After each batch of ticks the simulation's state is copied into a {@link SimulationSnapshot}
+ * slot of a {@link TripleBuffer} and published. The render thread reads the latest snapshot
+ * whenever it draws, so neither side ever waits for the other, nor allocates per snapshot:
+ * a slow tick delays the next snapshot rather than a frame, and a slow frame does not
+ * slow down the simulation.
+ */
+public class SimulationThread {
+    private static final Logger logger = LoggerFactory.getLogger(SimulationThread.class);
+
+    // Longest time stop() waits for the thread to finish its tick
+    private static final long JOIN_MILLIS = 1000;
+
+    /**
+     * Simulation driven by the thread. Both methods are called on the simulation thread only,
+     * except for the first snapshot, which is taken by {@link #start()}.
+     */
+    public interface Simulation {
+        /**
+         * Advance the simulation by one tick
+         */
+        void update(double deltaTime);
+
+        /**
+         * Copy the current state into a snapshot slot that is then handed to another thread
+         */
+        void snapshot(SimulationSnapshot into, long tick, long nanos);
+    }
+
+    private final Simulation simulation;
+    private final FixedTimestep timestep;
+    private final long stepNanos;
+    private final TripleBuffer<SimulationSnapshot> snapshots;
+    private volatile boolean published;
+    private volatile boolean running;
+    private Thread thread;
+    // Owned by the simulation thread
+    private long tick;
+
+    public SimulationThread(Simulation simulation, FixedTimestep timestep) {
+        this.simulation = simulation;
+        this.timestep = timestep;
+        this.stepNanos = Math.round(timestep.getStepSeconds() * 1_000_000_000L);
+        this.snapshots = new TripleBuffer<>(SimulationSnapshot::new);
+    }
+
+    /**
+     * Publish the initial state and start ticking
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        publish(System.nanoTime());
+        running = true;
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Simulation thread started at {} ticks per second", 1.0 / timestep.getStepSeconds());
+    }
+
+    /**
+     * Stop ticking and wait for the current tick to finish
+     */
+    public synchronized void stop() {
+        Thread stopping = thread;
+        if (stopping == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(stopping);
+        try {
+            stopping.join(JOIN_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+        logger.info("Simulation thread stopped after {} ticks", tick);
+    }
+
+    private void run() {
+        long last = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            advance(now - last, now);
+            last = now;
+
+            // Sleep until the next tick is due
+            LockSupport.parkNanos(Math.round((1 - timestep.getAlpha()) * stepNanos));
+        }
+    }
+
+    /**
+     * Run the ticks that became due and publish the resulting state
+     * @param elapsedNanos Time since the previous call
+     * @param now Current {@link System#nanoTime()}
+     * @return Number of ticks run
+     */
+    int advance(long elapsedNanos, long now) {
+        int steps = timestep.advance(elapsedNanos);
+        for (int i = 0; i < steps; i++) {
+            try {
+                simulation.update(timestep.getStepSeconds());
+            } catch (RuntimeException e) {
+                // One broken tick must not end the simulation
+                logger.error("Simulation tick {} failed", tick, e);
+            }
+            tick++;
+        }
+        if (steps > 0) {
+            publish(now);
+        }
+        return steps;
+    }
+
+    private void publish(long now) {
+        simulation.snapshot(snapshots.back(), tick, now);
+        snapshots.publish();
+        published = true;
+    }
+
+    /**
+     * Take the most recently published state. Only one thread, the renderer, may call this; the
+     * returned snapshot stays unchanged until its next call.
+     * @return The state, null before anything was published
+     */
+    public SimulationSnapshot getLatest() {
+        if (!published) {
+            return null;
+        }
+        snapshots.update();
+        return snapshots.front();
+    }
+
+    /**
+     * @return Fraction of a tick elapsed since the snapshot was published, in [0, 1]
+     */
+    public double getAlpha(SimulationSnapshot snapshot, long now) {
+        double alpha = (now - snapshot.publishedNanos()) / (double) stepNanos;
+        return Math.max(0, Math.min(1, alpha));
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public FixedTimestep getTimestep() {
+        return timestep;
+    }
+}
@@ -0,0 +1,53 @@
+package com.game.core;
+
+import javafx.scene.input.KeyCode;
+
+import java.util.SplittableRandom;
+
+/**
+ * Walks in one of eight directions for a random number of ticks, then picks another one.
+ *
+ * Directions come from a seeded generator, so the same seed always walks the same path and a
+ * group of wanderers with different seeds spreads out over the world.
+ */
+public class WanderScript implements InputScript {
+    // Key combinations for the eight directions, in the fixed-angle camera mode
+    private static final KeyCode[][] DIRECTIONS = {
+        { KeyCode.W }, { KeyCode.W, KeyCode.D }, { KeyCode.D }, { KeyCode.S, KeyCode.D },
+        { KeyCode.S }, { KeyCode.S, KeyCode.A }, { KeyCode.A }, { KeyCode.W, KeyCode.A }
+    };
+
+    private final SplittableRandom random;
+    private final int minTicks;
+    private final int maxTicks;
+    private KeyCode[] held = new KeyCode[0];
+    private long nextChange;
+
+    /**
+     * @param minTicks Fewest ticks before changing direction
+     * @param maxTicks Most ticks before changing direction
+     */
+    public WanderScript(long seed, int minTicks, int maxTicks) {
+        if (minTicks <= 0 || maxTicks < minTicks) {
+            throw new IllegalArgumentException("Invalid tick range: " + minTicks + " to " + maxTicks);
+        }
+        this.random = new SplittableRandom(seed);
+        this.minTicks = minTicks;
+        this.maxTicks = maxTicks;
+    }
+
+    @Override
+    public void apply(long tick, InputManager input) {
+        if (tick < nextChange) {
+            return;
+        }
+        for (KeyCode key : held) {
+            input.replayEvent(InputEventQueue.Type.KEY_RELEASED, key.ordinal(), 0, 0, 0);
+        }
+        held = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+        for (KeyCode key : held) {
+            input.replayEvent(InputEventQueue.Type.KEY_PRESSED, key.ordinal(), 0, 0, 0);
+        }
+        nextChange = tick + random.nextInt(minTicks, maxTicks + 1);
+    }
+}
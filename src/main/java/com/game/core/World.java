@@ -4,8 +4,11 @@ import com.game.persistence.DatabaseManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class World {
     private static final Logger logger = LoggerFactory.getLogger(World.class);
@@ -13,11 +16,19 @@ public class World {
     private final DatabaseManager databaseManager;
     private final Map<String, Chunk> chunkCache;
     private final WorldConfig config;
+    private final List<ChunkListener> chunkListeners;
+    private final AtomicLong version;
     
     public World(DatabaseManager databaseManager) {
+        this(databaseManager, new WorldConfig());
+    }
+    
+    public World(DatabaseManager databaseManager, WorldConfig config) {
         this.databaseManager = databaseManager;
         this.chunkCache = new ConcurrentHashMap<>();
-        this.config = new WorldConfig();
+        this.config = config;
+        this.chunkListeners = new CopyOnWriteArrayList<>();
+        this.version = new AtomicLong();
         
         logger.info("World initialized with seed: {}", config.seed());
     }
@@ -25,10 +36,54 @@ public class World {
     public Chunk loadChunk(int chunkX, int chunkY) {
         String chunkKey = getChunkKey(chunkX, chunkY);
         
-        return chunkCache.computeIfAbsent(chunkKey, key -> {
-            // Debug logging removed for performance
-            return generateChunk(chunkX, chunkY);
-        });
+        Chunk chunk = chunkCache.get(chunkKey);
+        if (chunk != null) {
+            return chunk;
+        }
+        
+        // Generate outside the map so listeners may safely query the world.
+        // Generation is deterministic, so losing a race only wastes work.
+        Chunk generated = generateChunk(chunkX, chunkY);
+        chunk = chunkCache.putIfAbsent(chunkKey, generated);
+        if (chunk != null) {
+            return chunk;
+        }
+        
+        generated.setChangeListener(this::notifyChunkChanged);
+        version.incrementAndGet();
+        for (ChunkListener listener : chunkListeners) {
+            listener.onChunkLoaded(generated);
+        }
+        return generated;
+    }
+    
+    /**
+     * @return The chunk if it is already loaded, without generating it
+     */
+    public Chunk getLoadedChunk(int chunkX, int chunkY) {
+        return chunkCache.get(getChunkKey(chunkX, chunkY));
+    }
+    
+    private void notifyChunkChanged(Chunk chunk) {
+        version.incrementAndGet();
+        for (ChunkListener listener : chunkListeners) {
+            listener.onChunkChanged(chunk);
+        }
+    }
+    
+    public void addChunkListener(ChunkListener listener) {
+        chunkListeners.add(listener);
+    }
+    
+    public void removeChunkListener(ChunkListener listener) {
+        chunkListeners.remove(listener);
+    }
+    
+    /**
+     * @return Counter incremented whenever a chunk is loaded or changed
+     */
+    public long getVersion() {
+        return version.get();
     }
     
     private Chunk generateChunk(int chunkX, int chunkY) {
@@ -64,6 +119,8 @@ public class World {
             chunk.addEntity(new Entity("tree", centerX, centerY));
         } else if (random < 0.04) {
             chunk.addEntity(new Entity("rock", centerX, centerY));
+        } else if (random < 0.042) {
+            chunk.addEntity(new Entity("torch", centerX, centerY));
         }
     }
     
@@ -27,6 +27,65 @@ public class WorldUtils {
         return new Point2D(wrappedX, wrappedY);
     }
     
+    /**
+     * Wrap a single coordinate like {@link #wrapWorldCoordinates}, without allocating or logging
+     * @return The coordinate, moved into [0, worldSize] if it was outside
+     */
+    public static double wrap(double value, double worldSize) {
+        if (value > worldSize || value < 0) {
+            return ((value % worldSize) + worldSize) % worldSize;
+        }
+        return value;
+    }
+    
+    /**
+     * Interpolate a coordinate the short way around the wrapping world
+     * @param alpha 0 returns from, 1 returns to
+     * @return Interpolated coordinate in [0, worldSize)
+     */
+    public static double interpolateWrapped(double from, double to, double alpha, double worldSize) {
+        double delta = to - from;
+        if (Math.abs(delta) > worldSize / 2) {
+            // Crossed the world edge, e.g. from worldSize - 1 to 1
+            delta -= Math.signum(delta) * worldSize;
+        }
+        double result = from + delta * alpha;
+        return ((result % worldSize) + worldSize) % worldSize;
+    }
+    
+    /**
+     * Signed distance from one coordinate to another the short way around the wrapping world
+     * @return Delta in [-worldSize / 2, worldSize / 2]
+     */
+    public static double wrappedDelta(double from, double to, double worldSize) {
+        double delta = to - from;
+        if (delta > worldSize / 2) {
+            delta -= worldSize;
+        } else if (delta < -worldSize / 2) {
+            delta += worldSize;
+        }
+        return delta;
+    }
+    
+    /**
+     * Well-mixed hash of a seed and a pair of coordinates, for deterministic per-chunk or per-tile randomness
+     */
+    public static long mix(long seed, int x, int y) {
+        long hash = seed * 0x9E3779B97F4A7C15L + ((long) x << 32 ^ (y & 0xFFFFFFFFL));
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+    
+    /**
+     * Interpolate an angle in radians along the shorter arc
+     * @param alpha 0 returns from, 1 returns to (up to a multiple of 2 pi)
+     */
+    public static double interpolateAngle(double from, double to, double alpha) {
+        double delta = Math.IEEEremainder(to - from, Math.PI * 2);
+        return from + delta * alpha;
+    }
+    
     /**
      * Simple Point2D class for coordinate pairs
      */
@@ -0,0 +1,167 @@
+package com.game.ecs;
+
+import java.util.Arrays;
+
+/**
+ * Storage for all entities with exactly the same set of components.
+ *
+ * Every component field is a column array with one row per entity, and rows are packed:
+ * removing an entity moves the last row into its place. Systems iterate the columns of the
+ * archetypes matching their query directly. Columns are replaced when the archetype grows,
+ * so they must be fetched again after entities were added.
+ */
+public final class Archetype {
+    private static final Component[] COMPONENTS = Component.values();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int mask;
+    // First column of each component, -1 for components this archetype lacks
+    private final int[] doubleOffset = new int[COMPONENTS.length];
+    private final int[] objectOffset = new int[COMPONENTS.length];
+    private double[][] doubles;
+    private Object[][] objects;
+    private int[] entities;
+    private int size;
+
+    Archetype(int mask) {
+        this.mask = mask;
+        int doubleColumns = 0;
+        int objectColumns = 0;
+        for (Component component : COMPONENTS) {
+            if ((mask & component.mask()) != 0) {
+                doubleOffset[component.ordinal()] = doubleColumns;
+                objectOffset[component.ordinal()] = objectColumns;
+                doubleColumns += component.getDoubleFields();
+                objectColumns += component.getObjectFields();
+            } else {
+                doubleOffset[component.ordinal()] = -1;
+                objectOffset[component.ordinal()] = -1;
+            }
+        }
+        this.doubles = new double[doubleColumns][INITIAL_CAPACITY];
+        this.objects = new Object[objectColumns][INITIAL_CAPACITY];
+        this.entities = new int[INITIAL_CAPACITY];
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    public boolean has(Component component) {
+        return (mask & component.mask()) != 0;
+    }
+
+    /**
+     * @return true if this archetype has all components of the mask
+     */
+    public boolean matches(int requiredMask) {
+        return (mask & requiredMask) == requiredMask;
+    }
+
+    /**
+     * @return Number of entities; rows [0, size) are valid
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Id of the entity in the row
+     */
+    public int entity(int row) {
+        return entities[row];
+    }
+
+    /**
+     * @return Column of a double field, indexed by row
+     */
+    public double[] doubles(Component component, int field) {
+        int offset = doubleOffset[component.ordinal()];
+        if (offset < 0 || field < 0 || field >= component.getDoubleFields()) {
+            throw new IllegalArgumentException("No double field " + field + " of " + component + " in archetype");
+        }
+        return doubles[offset + field];
+    }
+
+    /**
+     * @return Column of an object field, indexed by row
+     */
+    public Object[] objects(Component component, int field) {
+        int offset = objectOffset[component.ordinal()];
+        if (offset < 0 || field < 0 || field >= component.getObjectFields()) {
+            throw new IllegalArgumentException("No object field " + field + " of " + component + " in archetype");
+        }
+        return objects[offset + field];
+    }
+
+    /**
+     * Append a row with all fields zero or null
+     * @return Row of the entity
+     */
+    int addRow(int entity) {
+        if (size == entities.length) {
+            grow();
+        }
+        entities[size] = entity;
+        return size++;
+    }
+
+    /**
+     * Remove a row by moving the last row into it
+     * @return Id of the entity that moved into the row, or -1 if none did
+     */
+    int removeRow(int row) {
+        int last = --size;
+        int moved = -1;
+        if (row != last) {
+            for (double[] column : doubles) {
+                column[row] = column[last];
+            }
+            for (Object[] column : objects) {
+                column[row] = column[last];
+            }
+            entities[row] = entities[last];
+            moved = entities[row];
+        }
+        // Leave the freed row zeroed for the next entity and drop its references
+        for (double[] column : doubles) {
+            column[last] = 0;
+        }
+        for (Object[] column : objects) {
+            column[last] = null;
+        }
+        return moved;
+    }
+
+    /**
+     * Copy the fields of all components both archetypes have from a row of this archetype
+     */
+    void copyShared(int row, Archetype target, int targetRow) {
+        for (Component component : COMPONENTS) {
+            int from = doubleOffset[component.ordinal()];
+            int to = target.doubleOffset[component.ordinal()];
+            if (from < 0 || to < 0) {
+                continue;
+            }
+            for (int field = 0; field < component.getDoubleFields(); field++) {
+                target.doubles[to + field][targetRow] = doubles[from + field][row];
+            }
+            int objectFrom = objectOffset[component.ordinal()];
+            int objectTo = target.objectOffset[component.ordinal()];
+            for (int field = 0; field < component.getObjectFields(); field++) {
+                target.objects[objectTo + field][targetRow] = objects[objectFrom + field][row];
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = entities.length * 2;
+        entities = Arrays.copyOf(entities, capacity);
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = Arrays.copyOf(doubles[i], capacity);
+        }
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = Arrays.copyOf(objects[i], capacity);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.game.ecs;
+
+/**
+ * System whose work is a range of rows that can be split into independent jobs.
+ *
+ * Each tick the scheduler calls {@link #prepare()} once, then {@link #update(double, int, int)}
+ * for disjoint row ranges, possibly on several threads at once.
+ */
+public interface ChunkedSystem extends EntitySystem {
+    /**
+     * Prepare a tick; called before any range is updated
+     * @return Number of rows to process
+     */
+    int prepare();
+
+    /**
+     * Process rows [from, to) of the rows counted by {@link #prepare()}
+     */
+    void update(double deltaTime, int from, int to);
+
+    @Override
+    default void update(double deltaTime) {
+        update(deltaTime, 0, prepare());
+    }
+}
@@ -0,0 +1,65 @@
+package com.game.ecs;
+
+/**
+ * Components a dynamic entity can have.
+ *
+ * A component is a fixed number of double fields and object fields. Archetypes store every
+ * field in its own column, so a system reading positions touches nothing but positions.
+ */
+public enum Component {
+    // x, y in world pixels
+    POSITION(2, 0),
+    // x, y in world pixels per second
+    VELOCITY(2, 0),
+    // angle in radians, 0 facing north
+    HEADING(1, 0),
+    // size in pixels; entity type naming the image
+    SPRITE(1, 1),
+    // species index, behavior ordinal, seconds until the next decision, simulation time of the last update
+    MOB(4, 0);
+
+    // Field indices
+    public static final int X = 0;
+    public static final int Y = 1;
+    public static final int ANGLE = 0;
+    public static final int SIZE = 0;
+    public static final int TYPE = 0;
+    public static final int KIND = 0;
+    public static final int BEHAVIOR = 1;
+    public static final int TIMER = 2;
+    public static final int UPDATED = 3;
+
+    private final int doubleFields;
+    private final int objectFields;
+
+    Component(int doubleFields, int objectFields) {
+        this.doubleFields = doubleFields;
+        this.objectFields = objectFields;
+    }
+
+    public int getDoubleFields() {
+        return doubleFields;
+    }
+
+    public int getObjectFields() {
+        return objectFields;
+    }
+
+    /**
+     * @return Bit of this component in an archetype mask
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @return Archetype mask with the bits of all given components
+     */
+    public static int maskOf(Component... components) {
+        int mask = 0;
+        for (Component component : components) {
+            mask |= component.mask();
+        }
+        return mask;
+    }
+}
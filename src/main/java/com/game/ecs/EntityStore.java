@@ -0,0 +1,156 @@
+package com.game.ecs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dynamic entities stored by archetype.
+ *
+ * An entity is an int id; its components live in the row of the {@link Archetype} for its
+ * exact component set. Adding or removing a component moves the entity to another archetype.
+ * Ids of destroyed entities are reused. Static world content stays in the chunks' compact
+ * entity lists and is not stored here.
+ *
+ * Not thread-safe; a store belongs to the thread that runs the simulation.
+ */
+public class EntityStore {
+    private static final int INITIAL_IDS = 64;
+
+    private final Map<Integer, Archetype> archetypesByMask = new HashMap<>();
+    private final List<Archetype> archetypes = new ArrayList<>();
+    private final List<Archetype> archetypesView = Collections.unmodifiableList(archetypes);
+
+    // Indexed by entity id; null archetype for ids not in use
+    private Archetype[] archetypeOf = new Archetype[INITIAL_IDS];
+    private int[] rowOf = new int[INITIAL_IDS];
+    private int[] freeIds = new int[INITIAL_IDS];
+    private int freeCount;
+    private int nextId;
+    private int entityCount;
+
+    /**
+     * Create an entity with all fields of its components zero or null
+     * @return Id of the new entity
+     */
+    public int create(Component... components) {
+        int id = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+        if (id >= archetypeOf.length) {
+            archetypeOf = Arrays.copyOf(archetypeOf, archetypeOf.length * 2);
+            rowOf = Arrays.copyOf(rowOf, rowOf.length * 2);
+        }
+        Archetype archetype = archetype(Component.maskOf(components));
+        archetypeOf[id] = archetype;
+        rowOf[id] = archetype.addRow(id);
+        entityCount++;
+        return id;
+    }
+
+    public void destroy(int id) {
+        Archetype archetype = require(id);
+        detach(archetype, rowOf[id]);
+        archetypeOf[id] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[freeCount++] = id;
+        entityCount--;
+    }
+
+    public boolean isAlive(int id) {
+        return id >= 0 && id < nextId && archetypeOf[id] != null;
+    }
+
+    public boolean has(int id, Component component) {
+        return require(id).has(component);
+    }
+
+    /**
+     * Add a component with all fields zero or null; does nothing if the entity has it
+     */
+    public void add(int id, Component component) {
+        move(id, require(id).getMask() | component.mask());
+    }
+
+    /**
+     * Remove a component; does nothing if the entity lacks it
+     */
+    public void remove(int id, Component component) {
+        move(id, require(id).getMask() & ~component.mask());
+    }
+
+    public double get(int id, Component component, int field) {
+        return require(id).doubles(component, field)[rowOf[id]];
+    }
+
+    public void set(int id, Component component, int field, double value) {
+        require(id).doubles(component, field)[rowOf[id]] = value;
+    }
+
+    public Object getObject(int id, Component component, int field) {
+        return require(id).objects(component, field)[rowOf[id]];
+    }
+
+    public void setObject(int id, Component component, int field, Object value) {
+        require(id).objects(component, field)[rowOf[id]] = value;
+    }
+
+    /**
+     * @return Query over all entities having at least the given components
+     */
+    public Query query(Component... components) {
+        return new Query(this, Component.maskOf(components));
+    }
+
+    /**
+     * @return All archetypes in creation order; archetypes are never removed
+     */
+    public List<Archetype> getArchetypes() {
+        return archetypesView;
+    }
+
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    private void move(int id, int mask) {
+        Archetype from = archetypeOf[id];
+        if (from.getMask() == mask) {
+            return;
+        }
+        Archetype to = archetype(mask);
+        int row = rowOf[id];
+        int newRow = to.addRow(id);
+        from.copyShared(row, to, newRow);
+        detach(from, row);
+        archetypeOf[id] = to;
+        rowOf[id] = newRow;
+    }
+
+    private void detach(Archetype archetype, int row) {
+        int moved = archetype.removeRow(row);
+        if (moved >= 0) {
+            rowOf[moved] = row;
+        }
+    }
+
+    private Archetype archetype(int mask) {
+        Archetype archetype = archetypesByMask.get(mask);
+        if (archetype == null) {
+            archetype = new Archetype(mask);
+            archetypesByMask.put(mask, archetype);
+            archetypes.add(archetype);
+        }
+        return archetype;
+    }
+
+    private Archetype require(int id) {
+        if (!isAlive(id)) {
+            throw new IllegalArgumentException("No such entity: " + id);
+        }
+        return archetypeOf[id];
+    }
+}
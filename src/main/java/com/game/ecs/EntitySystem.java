@@ -0,0 +1,16 @@
+package com.game.ecs;
+
+/**
+ * Logic run over entities once per simulation tick
+ */
+@FunctionalInterface
+public interface EntitySystem {
+    void update(double deltaTime);
+
+    /**
+     * @return What the system reads and writes; by default it runs alone
+     */
+    default SystemAccess access() {
+        return SystemAccess.EXCLUSIVE;
+    }
+}
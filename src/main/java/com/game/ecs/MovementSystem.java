@@ -0,0 +1,63 @@
+package com.game.ecs;
+
+import com.game.core.WorldUtils;
+
+import java.util.List;
+
+/**
+ * Moves every entity with a position by its velocity, wrapping around the world edges.
+ *
+ * Rows are numbered across the matching archetypes in query order, so disjoint row ranges
+ * can be moved in parallel.
+ */
+public class MovementSystem implements ChunkedSystem {
+    private static final SystemAccess ACCESS = SystemAccess.none()
+        .reads(Component.VELOCITY)
+        .writes(Component.POSITION);
+
+    private final Query query;
+    private final double worldSize;
+    private List<Archetype> archetypes = List.of();
+
+    public MovementSystem(EntityStore store, double worldSize) {
+        this.query = store.query(Component.POSITION, Component.VELOCITY);
+        this.worldSize = worldSize;
+    }
+
+    @Override
+    public SystemAccess access() {
+        return ACCESS;
+    }
+
+    @Override
+    public int prepare() {
+        archetypes = query.archetypes();
+        return query.count();
+    }
+
+    @Override
+    public void update(double deltaTime, int from, int to) {
+        int base = 0;
+        for (int a = 0; a < archetypes.size() && base < to; a++) {
+            Archetype archetype = archetypes.get(a);
+            int size = archetype.size();
+            int start = Math.max(from - base, 0);
+            int end = Math.min(to - base, size);
+            if (start < end) {
+                move(archetype, start, end, deltaTime);
+            }
+            base += size;
+        }
+    }
+
+    private void move(Archetype archetype, int start, int end, double deltaTime) {
+        double[] x = archetype.doubles(Component.POSITION, Component.X);
+        double[] y = archetype.doubles(Component.POSITION, Component.Y);
+        double[] velocityX = archetype.doubles(Component.VELOCITY, Component.X);
+        double[] velocityY = archetype.doubles(Component.VELOCITY, Component.Y);
+        for (int i = start; i < end; i++) {
+            x[i] = WorldUtils.wrap(x[i] + velocityX[i] * deltaTime, worldSize);
+            y[i] = WorldUtils.wrap(y[i] + velocityY[i] * deltaTime, worldSize);
+        }
+    }
+}
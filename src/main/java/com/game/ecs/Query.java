@@ -0,0 +1,53 @@
+package com.game.ecs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The archetypes of a store that have all components of a mask.
+ *
+ * Matching archetypes are cached. Archetypes are only ever added to a store, so each
+ * lookup checks just the archetypes created since the previous one.
+ */
+public final class Query {
+    private final EntityStore store;
+    private final int mask;
+    private final List<Archetype> matching = new ArrayList<>();
+    private final List<Archetype> matchingView = Collections.unmodifiableList(matching);
+    private int checked;
+
+    Query(EntityStore store, int mask) {
+        this.store = store;
+        this.mask = mask;
+    }
+
+    /**
+     * @return Archetypes whose entities match the query
+     */
+    public List<Archetype> archetypes() {
+        List<Archetype> all = store.getArchetypes();
+        for (; checked < all.size(); checked++) {
+            Archetype archetype = all.get(checked);
+            if (archetype.matches(mask)) {
+                matching.add(archetype);
+            }
+        }
+        return matchingView;
+    }
+
+    /**
+     * @return Number of matching entities
+     */
+    public int count() {
+        int count = 0;
+        for (Archetype archetype : archetypes()) {
+            count += archetype.size();
+        }
+        return count;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+}
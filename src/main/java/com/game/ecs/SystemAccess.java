@@ -0,0 +1,96 @@
+package com.game.ecs;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The components and shared resources a system reads and writes during a tick.
+ *
+ * Two systems conflict when one writes something the other reads or writes; the scheduler
+ * only runs systems in parallel that do not conflict. Resources are anything outside the
+ * entity store, such as the input state or the camera, named by an arbitrary key.
+ * Instances are immutable; each method returns a new access.
+ */
+public final class SystemAccess {
+    /**
+     * Access of a system that must run alone, e.g. one that creates or destroys entities
+     */
+    public static final SystemAccess EXCLUSIVE = new SystemAccess(0, 0, Set.of(), Set.of(), true);
+
+    private static final SystemAccess NONE = new SystemAccess(0, 0, Set.of(), Set.of(), false);
+
+    private final int readMask;
+    private final int writeMask;
+    private final Set<Object> readResources;
+    private final Set<Object> writeResources;
+    private final boolean exclusive;
+
+    private SystemAccess(int readMask, int writeMask, Set<Object> readResources, Set<Object> writeResources,
+                         boolean exclusive) {
+        this.readMask = readMask;
+        this.writeMask = writeMask;
+        this.readResources = readResources;
+        this.writeResources = writeResources;
+        this.exclusive = exclusive;
+    }
+
+    /**
+     * @return Access that touches nothing yet
+     */
+    public static SystemAccess none() {
+        return NONE;
+    }
+
+    public SystemAccess reads(Component... components) {
+        return new SystemAccess(readMask | Component.maskOf(components), writeMask, readResources, writeResources,
+                                exclusive);
+    }
+
+    public SystemAccess writes(Component... components) {
+        return new SystemAccess(readMask, writeMask | Component.maskOf(components), readResources, writeResources,
+                                exclusive);
+    }
+
+    public SystemAccess readsResource(Object... resources) {
+        return new SystemAccess(readMask, writeMask, union(readResources, resources), writeResources, exclusive);
+    }
+
+    public SystemAccess writesResource(Object... resources) {
+        return new SystemAccess(readMask, writeMask, readResources, union(writeResources, resources), exclusive);
+    }
+
+    /**
+     * @return true if the two systems may not run at the same time
+     */
+    public boolean conflictsWith(SystemAccess other) {
+        if (exclusive || other.exclusive) {
+            return true;
+        }
+        return (writeMask & (other.readMask | other.writeMask)) != 0
+            || (other.writeMask & readMask) != 0
+            || overlaps(writeResources, other.readResources)
+            || overlaps(writeResources, other.writeResources)
+            || overlaps(other.writeResources, readResources);
+    }
+
+    public boolean isExclusive() {
+        return exclusive;
+    }
+
+    private static Set<Object> union(Set<Object> set, Object[] added) {
+        Set<Object> result = new HashSet<>(set);
+        for (Object resource : added) {
+            result.add(resource);
+        }
+        return Set.copyOf(result);
+    }
+
+    private static boolean overlaps(Set<Object> a, Set<Object> b) {
+        for (Object resource : a) {
+            if (b.contains(resource)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,210 @@
+package com.game.ecs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs entity systems each tick, in parallel where their declared access allows.
+ *
+ * Systems are grouped into stages when they are added: a system goes into the first stage
+ * after the last one holding a system it conflicts with, so conflicting systems always run
+ * in the order they were added. The systems of a stage run at the same time on a ForkJoin
+ * pool, and {@link ChunkedSystem}s are split into jobs of a fixed number of rows. Stages
+ * run one after another.
+ *
+ * Every job is timed; the times are summed per system and available after each tick.
+ */
+public class SystemScheduler {
+    public static final int DEFAULT_CHUNK_ROWS = 8192;
+
+    private final ForkJoinPool pool;
+    private final int chunkRows;
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<List<Entry>> stages = new ArrayList<>();
+    private final List<Job> jobs = new ArrayList<>();
+    private long[] stageNanos = new long[0];
+
+    public SystemScheduler() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_ROWS);
+    }
+
+    /**
+     * @param pool Pool running the jobs of a stage
+     * @param chunkRows Rows per job of a chunked system
+     */
+    public SystemScheduler(ForkJoinPool pool, int chunkRows) {
+        if (chunkRows <= 0) {
+            throw new IllegalArgumentException("Chunk rows must be positive: " + chunkRows);
+        }
+        this.pool = pool;
+        this.chunkRows = chunkRows;
+    }
+
+    /**
+     * Add a system with the access it declares, named after its class
+     */
+    public void add(EntitySystem system) {
+        add(system.getClass().getSimpleName(), system.access(), system);
+    }
+
+    /**
+     * Add a system with an explicit name and access, e.g. for lambdas
+     */
+    public void add(String name, SystemAccess access, EntitySystem system) {
+        Entry entry = new Entry(name, access, system);
+        int stage = 0;
+        for (int s = stages.size() - 1; s >= 0; s--) {
+            if (conflicts(stages.get(s), entry)) {
+                stage = s + 1;
+                break;
+            }
+        }
+        if (stage == stages.size()) {
+            stages.add(new ArrayList<>());
+            stageNanos = Arrays.copyOf(stageNanos, stages.size());
+        }
+        stages.get(stage).add(entry);
+        entry.stage = stage;
+        entries.add(entry);
+    }
+
+    private static boolean conflicts(List<Entry> stage, Entry entry) {
+        for (Entry other : stage) {
+            if (other.access.conflictsWith(entry.access)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Run every system for one tick
+     */
+    public void update(double deltaTime) {
+        for (int s = 0; s < stages.size(); s++) {
+            long start = System.nanoTime();
+            runStage(stages.get(s), deltaTime);
+            stageNanos[s] = System.nanoTime() - start;
+        }
+    }
+
+    private void runStage(List<Entry> stage, double deltaTime) {
+        jobs.clear();
+        for (Entry entry : stage) {
+            entry.nanos.set(0);
+            if (entry.system instanceof ChunkedSystem chunked) {
+                int rows = chunked.prepare();
+                entry.jobs = 0;
+                for (int from = 0; from < rows; from += chunkRows) {
+                    jobs.add(new Job(entry, deltaTime, from, Math.min(rows, from + chunkRows)));
+                    entry.jobs++;
+                }
+            } else {
+                jobs.add(new Job(entry, deltaTime, 0, 0));
+                entry.jobs = 1;
+            }
+        }
+
+        if (jobs.size() == 1 || pool.getParallelism() <= 1) {
+            // Nothing to run side by side
+            for (Job job : jobs) {
+                job.run();
+            }
+            return;
+        }
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[jobs.size()];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = ForkJoinTask.adapt(jobs.get(i));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    public List<EntitySystem> getSystems() {
+        List<EntitySystem> systems = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            systems.add(entry.system);
+        }
+        return systems;
+    }
+
+    /**
+     * @return Time the jobs of the system at the index took in the last tick, summed over threads
+     */
+    public long getLastNanos(int index) {
+        return entries.get(index).nanos.get();
+    }
+
+    /**
+     * @return Number of jobs the system at the index was split into in the last tick
+     */
+    public int getLastJobs(int index) {
+        return entries.get(index).jobs;
+    }
+
+    /**
+     * @return Stage the system at the index runs in
+     */
+    public int getStage(int index) {
+        return entries.get(index).stage;
+    }
+
+    public int getStageCount() {
+        return stages.size();
+    }
+
+    /**
+     * @return Wall time of the stage in the last tick
+     */
+    public long getLastStageNanos(int stage) {
+        return stageNanos[stage];
+    }
+
+    /**
+     * Format the last tick's stage and job times as text lines for the debug overlay or logs
+     */
+    public String[] summaryLines() {
+        String[] lines = new String[stages.size() + entries.size()];
+        int line = 0;
+        for (int s = 0; s < stages.size(); s++) {
+            lines[line++] = String.format("Stage %d: %.2f ms", s + 1, stageNanos[s] / 1_000_000.0);
+            for (Entry entry : stages.get(s)) {
+                lines[line++] = String.format("  %s: %.2f ms in %d job%s", entry.name,
+                                              entry.nanos.get() / 1_000_000.0, entry.jobs,
+                                              entry.jobs == 1 ? "" : "s");
+            }
+        }
+        return lines;
+    }
+
+    private static final class Entry {
+        final String name;
+        final SystemAccess access;
+        final EntitySystem system;
+        final AtomicLong nanos = new AtomicLong();
+        int jobs;
+        int stage;
+
+        Entry(String name, SystemAccess access, EntitySystem system) {
+            this.name = name;
+            this.access = access;
+            this.system = system;
+        }
+    }
+
+    private record Job(Entry entry, double deltaTime, int from, int to) implements Runnable {
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            if (entry.system instanceof ChunkedSystem chunked) {
+                chunked.update(deltaTime, from, to);
+            } else {
+                entry.system.update(deltaTime);
+            }
+            entry.nanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+}
@@ -18,6 +18,8 @@ public class EntityConfig {
         public int bladeLength = 10;
         public int bladeAngleVariation = 30;
         public double opacity = 1.0;
+        // Degrees added to every blade's angle, varied per animation frame
+        public double swayAngle = 0;
         
         public GrassConfig() {}
         
@@ -51,6 +53,10 @@ public class EntityConfig {
         public Double fixedScreenAngle = null;
         public Integer drawOffsetX = null;
         public Integer drawOffsetY = -42;
+        // Horizontal foliage sway in pixels; the foliage is narrowed by this much so it stays inside the image
+        public int swayAmplitude = 0;
+        // Position in the sway cycle in radians, varied per animation frame
+        public double swayPhase = 0;
         
         public TreeConfig() {}
         
@@ -74,6 +80,21 @@ public class EntityConfig {
         }
     }
     
+    /**
+     * Configuration for torch entities
+     */
+    public static class TorchConfig {
+        public int size = 32;
+        public int poleWidth = 4;
+        public String poleColor = "#6D4C41";
+        public String flameColor = "#FF8F00";
+        public String flameCoreColor = "#FFF176";
+        public int flameRadius = 6;
+        public double opacity = 1.0;
+        
+        public TorchConfig() {}
+    }
+    
     /**
      * Configuration for rock entities
      */
@@ -3,10 +3,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.function.IntFunction;
 
 import javax.imageio.ImageIO;
 
@@ -52,13 +54,20 @@ public class ImageGenerator {
      * Generate tree image using configurable parameters
      */
     public static BufferedImage generateTreeImage(EntityConfig.TreeConfig config) throws Exception {
-        logger.info("ImageGenerator.generateTreeImage(config) called with size={}, foliageRadius={}, imageHeight={}", 
-                   config.size, config.foliageRadius, config.imageHeight);
+        return generateTreeImage(config, 1.0);
+    }
+    
+    /**
+     * Generate tree image rasterized at a scale of its configured size
+     */
+    public static BufferedImage generateTreeImage(EntityConfig.TreeConfig config, double scale) throws Exception {
+        logger.info("ImageGenerator.generateTreeImage(config) called with size={}, foliageRadius={}, imageHeight={}, scale={}", 
+                   config.size, config.foliageRadius, config.imageHeight, scale);
         
         String svg = SvgGenerator.generateTreeSVG(config);
         int width = config.foliageRadius * 2;
         int height = config.imageHeight;
-        return SvgGenerator.svgToImage(svg, width, height);
+        return SvgGenerator.svgToImage(svg, width, height, scale);
     }
     
     /**
@@ -74,10 +83,27 @@ public class ImageGenerator {
      * Generate rock image using configurable parameters
      */
     public static BufferedImage generateRockImage(EntityConfig.RockConfig config) throws Exception {
-        logger.info("ImageGenerator.generateRockImage(config) called with size={}", config.size);
+        return generateRockImage(config, 1.0);
+    }
+    
+    /**
+     * Generate rock image rasterized at a scale of its configured size
+     */
+    public static BufferedImage generateRockImage(EntityConfig.RockConfig config, double scale) throws Exception {
+        logger.info("ImageGenerator.generateRockImage(config) called with size={}, scale={}", config.size, scale);
         
         String svg = SvgGenerator.generateRockSVG(config);
-        return SvgGenerator.svgToImage(svg, config.size, config.size);
+        return SvgGenerator.svgToImage(svg, config.size, config.size, scale);
+    }
+    
+    /**
+     * Generate torch image rasterized at a scale of its configured size
+     */
+    public static BufferedImage generateTorchImage(EntityConfig.TorchConfig config, double scale) throws Exception {
+        logger.info("ImageGenerator.generateTorchImage(config) called with size={}, scale={}", config.size, scale);
+        
+        String svg = SvgGenerator.generateTorchSVG(config);
+        return SvgGenerator.svgToImage(svg, config.size, config.size, scale);
     }
     
         /**
@@ -94,11 +120,103 @@ public class ImageGenerator {
      * Generate grass image using configurable parameters
      */
     public static BufferedImage generateGrassImage(EntityConfig.GrassConfig config) throws Exception {
-        logger.info("ImageGenerator.generateGrassImage(config) called with size={}, bladeCount={}", 
-                   config.size, config.bladeCount);
+        return generateGrassImage(config, 1.0);
+    }
+    
+    /**
+     * Generate grass image rasterized at a scale of its configured size
+     */
+    public static BufferedImage generateGrassImage(EntityConfig.GrassConfig config, double scale) throws Exception {
+        logger.info("ImageGenerator.generateGrassImage(config) called with size={}, bladeCount={}, scale={}", 
+                   config.size, config.bladeCount, scale);
         
         String svg = SvgGenerator.generateGrassSVG(config);
-        return SvgGenerator.svgToImage(svg, config.size, config.size);
+        return SvgGenerator.svgToImage(svg, config.size, config.size, scale);
+    }
+    
+    /**
+     * Generate a swaying tree animation as a horizontal strip of frames, one tree image wide each
+     */
+    public static BufferedImage generateTreeSpriteSheet(EntityConfig.TreeConfig config, int frames) {
+        return generateTreeSpriteSheet(config, frames, 1.0);
+    }
+    
+    /**
+     * Generate a swaying tree animation rasterized at a scale of its configured size
+     */
+    public static BufferedImage generateTreeSpriteSheet(EntityConfig.TreeConfig config, int frames, double scale) {
+        logger.info("ImageGenerator.generateTreeSpriteSheet(config) called with size={}, frames={}, scale={}",
+                   config.size, frames, scale);
+        
+        double phase = config.swayPhase;
+        try {
+            return generateSpriteSheet(frame -> {
+                config.swayPhase = 2 * Math.PI * frame / frames;
+                return SvgGenerator.generateTreeSVG(config);
+            }, config.foliageRadius * 2, config.imageHeight, frames, scale);
+        } finally {
+            config.swayPhase = phase;
+        }
+    }
+    
+    /**
+     * Generate a swaying grass animation as a horizontal strip of frames
+     * @param amplitude Maximum blade rotation in degrees
+     */
+    public static BufferedImage generateGrassSpriteSheet(EntityConfig.GrassConfig config, int frames, double amplitude) {
+        return generateGrassSpriteSheet(config, frames, amplitude, 1.0);
+    }
+    
+    /**
+     * Generate a swaying grass animation rasterized at a scale of its configured size
+     * @param amplitude Maximum blade rotation in degrees
+     */
+    public static BufferedImage generateGrassSpriteSheet(EntityConfig.GrassConfig config, int frames, double amplitude,
+                                                         double scale) {
+        logger.info("ImageGenerator.generateGrassSpriteSheet(config) called with size={}, frames={}, scale={}",
+                   config.size, frames, scale);
+        
+        double swayAngle = config.swayAngle;
+        try {
+            return generateSpriteSheet(frame -> {
+                config.swayAngle = amplitude * Math.sin(2 * Math.PI * frame / frames);
+                return SvgGenerator.generateGrassSVG(config);
+            }, config.size, config.size, frames, scale);
+        } finally {
+            config.swayAngle = swayAngle;
+        }
+    }
+    
+    /**
+     * Rasterize one SVG per frame side by side into a single image
+     * @param frameSvg SVG of the given frame index
+     */
+    public static BufferedImage generateSpriteSheet(IntFunction<String> frameSvg, int frameWidth, int frameHeight,
+                                                    int frames) {
+        return generateSpriteSheet(frameSvg, frameWidth, frameHeight, frames, 1.0);
+    }
+    
+    /**
+     * Rasterize one SVG per frame side by side into a single image, each frame scaled
+     * @param frameWidth Unscaled width of one frame
+     * @param frameHeight Unscaled height of one frame
+     */
+    public static BufferedImage generateSpriteSheet(IntFunction<String> frameSvg, int frameWidth, int frameHeight,
+                                                    int frames, double scale) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive: " + frames);
+        }
+        // Rounded like SvgGenerator.svgToImage, so every frame fills its cell exactly
+        int scaledWidth = Math.max(1, (int) Math.round(frameWidth * scale));
+        int scaledHeight = Math.max(1, (int) Math.round(frameHeight * scale));
+        BufferedImage sheet = new BufferedImage(scaledWidth * frames, scaledHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = sheet.createGraphics();
+        for (int frame = 0; frame < frames; frame++) {
+            g2d.drawImage(SvgGenerator.svgToImage(frameSvg.apply(frame), frameWidth, frameHeight, scale),
+                          frame * scaledWidth, 0, null);
+        }
+        g2d.dispose();
+        return sheet;
     }
     
     /**
@@ -130,20 +248,34 @@ public class ImageGenerator {
      * Generate plains background using SVG
      */
     public static BufferedImage generatePlainsBackground(int size) throws Exception {
-        logger.info("ImageGenerator.generatePlainsBackground(size={}) called", size);
+        return generatePlainsBackground(size, 1.0);
+    }
+    
+    /**
+     * Generate plains background rasterized at a scale of its layout size
+     */
+    public static BufferedImage generatePlainsBackground(int size, double scale) throws Exception {
+        logger.info("ImageGenerator.generatePlainsBackground(size={}, scale={}) called", size, scale);
         
         String svg = SvgGenerator.generatePlainsBackgroundSVG(size);
-        return SvgGenerator.svgToImage(svg, size, size);
+        return SvgGenerator.svgToImage(svg, size, size, scale);
     }
     
     /**
      * Generate desert background using SVG
      */
     public static BufferedImage generateDesertBackground(int size) throws Exception {
-        logger.info("ImageGenerator.generateDesertBackground(size={}) called", size);
+        return generateDesertBackground(size, 1.0);
+    }
+    
+    /**
+     * Generate desert background rasterized at a scale of its layout size
+     */
+    public static BufferedImage generateDesertBackground(int size, double scale) throws Exception {
+        logger.info("ImageGenerator.generateDesertBackground(size={}, scale={}) called", size, scale);
         
         String svg = SvgGenerator.generateDesertBackgroundSVG(size);
-        return SvgGenerator.svgToImage(svg, size, size);
+        return SvgGenerator.svgToImage(svg, size, size, scale);
     }
     
 }
@@ -26,13 +26,28 @@ public class SvgGenerator {
      * Parse SVG and render to BufferedImage with custom dimensions
      */
     public static BufferedImage svgToImage(String svg, int width, int height) {
+        return svgToImage(svg, width, height, 1.0);
+    }
+    
+    /**
+     * Parse SVG and render it scaled, e.g. for mip levels. The SVG is laid out in
+     * width x height user units and rasterized at width*scale x height*scale pixels.
+     */
+    public static BufferedImage svgToImage(String svg, int width, int height, double scale) {
+        int scaledWidth = Math.max(1, (int) Math.round(width * scale));
+        int scaledHeight = Math.max(1, (int) Math.round(height * scale));
         try {
-            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            BufferedImage image = new BufferedImage(scaledWidth, scaledHeight, BufferedImage.TYPE_INT_ARGB);
             Graphics2D g2d = image.createGraphics();
             
             // Enable anti-aliasing
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             
+            // Rasterize the vector shapes directly at the target resolution
+            if (scale != 1.0) {
+                g2d.scale((double) scaledWidth / width, (double) scaledHeight / height);
+            }
+            
             // Parse and render SVG elements
             parseAndRenderSvg(svg, g2d, Math.max(width, height));
             
@@ -41,7 +56,7 @@ public class SvgGenerator {
         } catch (Exception e) {
             logger.error("Failed to parse SVG: {}", e.getMessage());
             // Fallback to basic shape
-            return generateFallbackImage(Math.max(width, height));
+            return generateFallbackImage(Math.max(scaledWidth, scaledHeight));
         }
     }
     
@@ -360,6 +375,10 @@ public class SvgGenerator {
         
         double fixedAngle = config.fixedScreenAngle != null ? config.fixedScreenAngle : 0.0;
         
+        // Foliage swaying around the trunk
+        int foliageX = foliageRadius + (int) Math.round(config.swayAmplitude * Math.sin(config.swayPhase));
+        int foliageRadiusX = foliageRadius - config.swayAmplitude;
+        
         String svg = String.format(
             "<svg width=\"%d\" height=\"%d\" xmlns=\"http://www.w3.org/2000/svg\">" +
             "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"%s\" opacity=\"%.1f\" " +
@@ -371,7 +390,7 @@ public class SvgGenerator {
             width, height,
             trunkX, trunkY, trunkWidth, trunkHeight, config.trunkColor, config.opacity,
             fixedAngle, foliageRadius, foliageRadius,
-            foliageRadius, foliageRadius, foliageRadius, foliageRadius, config.foliageColor, config.opacity,
+            foliageX, foliageRadius, foliageRadiusX, foliageRadius, config.foliageColor, config.opacity,
             config.foliageBorderColor, config.foliageBorderWidth,
             fixedAngle, foliageRadius, foliageRadius
         );
@@ -416,6 +435,31 @@ public class SvgGenerator {
         return svg;
     }
     
+    /**
+     * Generate SVG for torch entity: a pole with a flame on top
+     */
+    public static String generateTorchSVG(EntityConfig.TorchConfig config) {
+        int center = config.size / 2;
+        int flameY = config.flameRadius * 2;
+        int poleTop = flameY + config.flameRadius / 2;
+
+        String svg = String.format(
+            "<svg width=\"%d\" height=\"%d\" xmlns=\"http://www.w3.org/2000/svg\">" +
+            "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"%s\" opacity=\"%.1f\"/>" +
+            "<ellipse cx=\"%d\" cy=\"%d\" rx=\"%d\" ry=\"%d\" fill=\"%s\" opacity=\"%.1f\"/>" +
+            "<ellipse cx=\"%d\" cy=\"%d\" rx=\"%d\" ry=\"%d\" fill=\"%s\" opacity=\"%.1f\"/>" +
+            "</svg>",
+            config.size, config.size,
+            center - config.poleWidth / 2, poleTop, config.poleWidth, config.size - poleTop, config.poleColor,
+            config.opacity,
+            center, flameY, config.flameRadius, config.flameRadius * 3 / 2, config.flameColor, config.opacity,
+            center, flameY + config.flameRadius / 3, config.flameRadius / 2, config.flameRadius * 3 / 4,
+            config.flameCoreColor, config.opacity
+        );
+        
+        return svg;
+    }
+    
     /**
      * Generate SVG for grass entity (matches JavaScript implementation)
      */
@@ -435,7 +479,7 @@ public class SvgGenerator {
             
             // Generate blades for this cluster
             int clusterBladeCount = config.bladeCount + (cluster % 2);
-            double baseAngle = (cluster * 137.5) * (Math.PI / 180);
+            double baseAngle = (cluster * 137.5 + config.swayAngle) * (Math.PI / 180);
             
             for (int blade = 0; blade < clusterBladeCount; blade++) {
                 // Vary the angle slightly for each blade
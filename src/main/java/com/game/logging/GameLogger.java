@@ -20,6 +20,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class GameLogger {
+    // Guarded by itself; the simulation thread logs too
     private final List<LogEntry> logs = new ArrayList<>();
     private final int maxLogs = 1000; // Keep last 1000 logs
     private final GameDebugModeProvider debugModeProvider;
@@ -108,9 +109,11 @@ public class GameLogger {
     
     private void updateTextArea(javafx.scene.control.TextArea textArea) {
         StringBuilder content = new StringBuilder();
-        for (LogEntry entry : logs) {
-            content.append("[").append(entry.getFormattedTime()).append("] ");
-            content.append(entry.message).append("\n");
+        synchronized (logs) {
+            for (LogEntry entry : logs) {
+                content.append("[").append(entry.getFormattedTime()).append("] ");
+                content.append(entry.message).append("\n");
+            }
         }
         textArea.setText(content.toString());
         textArea.setScrollTop(Double.MAX_VALUE); // Scroll to bottom
@@ -129,12 +132,14 @@ public class GameLogger {
         html.append(".timestamp { color: #666; }");
         html.append("</style></head><body>");
         
-        for (LogEntry entry : logs) {
-            html.append("<div class='log-entry'>");
-            html.append("<span class='timestamp'>[").append(entry.getFormattedTime()).append("]</span> ");
-            html.append("<span class='").append(entry.level.name().toLowerCase()).append("'>");
-            html.append(entry.message.replace("<", "&lt;").replace(">", "&gt;"));
-            html.append("</span></div>");
+        synchronized (logs) {
+            for (LogEntry entry : logs) {
+                html.append("<div class='log-entry'>");
+                html.append("<span class='timestamp'>[").append(entry.getFormattedTime()).append("]</span> ");
+                html.append("<span class='").append(entry.level.name().toLowerCase()).append("'>");
+                html.append(entry.message.replace("<", "&lt;").replace(">", "&gt;"));
+                html.append("</span></div>");
+            }
         }
         
         html.append("</body></html>");
@@ -170,18 +175,22 @@ public class GameLogger {
     }
     
     private void addLog(LogEntry entry) {
-        logs.add(entry);
-        
-        // Keep only the last maxLogs entries
-        if (logs.size() > maxLogs) {
-            logs.remove(0);
+        synchronized (logs) {
+            logs.add(entry);
+            
+            // Keep only the last maxLogs entries
+            if (logs.size() > maxLogs) {
+                logs.remove(0);
+            }
         }
         
         updateLogWindow();
     }
     
     public void clearLogs() {
-        logs.clear();
+        synchronized (logs) {
+            logs.clear();
+        }
         updateLogWindow();
     }
     
@@ -210,6 +219,8 @@ public class GameLogger {
     }
     
     public List<LogEntry> getLogs() {
-        return new ArrayList<>(logs);
+        synchronized (logs) {
+            return new ArrayList<>(logs);
+        }
     }
 } 
\ No newline at end of file
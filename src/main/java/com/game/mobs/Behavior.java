@@ -0,0 +1,13 @@
+package com.game.mobs;
+
+/**
+ * What a mob is currently doing, stored as its ordinal in the mob component
+ */
+public enum Behavior {
+    // Strolling in random directions, with pauses
+    WANDER,
+    // Running away from a nearby player
+    FLEE,
+    // Heading for a nearby player or the rest of its herd
+    FOLLOW
+}
@@ -0,0 +1,54 @@
+package com.game.mobs;
+
+import java.util.Arrays;
+
+/**
+ * Mobs of a chunk far from every player, packed into a few bytes each while they are not simulated
+ */
+final class DormantChunk {
+    private byte[] kinds = new byte[8];
+    private float[] xs = new float[8];
+    private float[] ys = new float[8];
+    private int count;
+    // Simulation time the oldest mob was frozen at
+    private double frozenTime;
+
+    void add(int kind, double x, double y, double time) {
+        if (count == 0) {
+            frozenTime = time;
+        }
+        if (count == kinds.length) {
+            kinds = Arrays.copyOf(kinds, count * 2);
+            xs = Arrays.copyOf(xs, count * 2);
+            ys = Arrays.copyOf(ys, count * 2);
+        }
+        kinds[count] = (byte) kind;
+        xs[count] = (float) x;
+        ys[count] = (float) y;
+        count++;
+    }
+
+    void clear() {
+        count = 0;
+    }
+
+    int size() {
+        return count;
+    }
+
+    int kind(int index) {
+        return kinds[index];
+    }
+
+    double x(int index) {
+        return xs[index];
+    }
+
+    double y(int index) {
+        return ys[index];
+    }
+
+    double getFrozenTime() {
+        return frozenTime;
+    }
+}
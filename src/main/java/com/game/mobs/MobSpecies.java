@@ -0,0 +1,14 @@
+package com.game.mobs;
+
+/**
+ * A kind of creature and how it behaves
+ * @param name Entity type naming the sprite
+ * @param size Sprite size in pixels
+ * @param speed Top speed in pixels per second
+ * @param fleeRadius Distance at which it runs from players, 0 if it never does
+ * @param followRadius Distance at which it approaches players, 0 if it never does
+ * @param herding Whether it stays close to others of its kind
+ */
+public record MobSpecies(String name, double size, double speed, double fleeRadius, double followRadius,
+                         boolean herding) {
+}
@@ -0,0 +1,537 @@
+package com.game.mobs;
+
+import com.game.core.Biome;
+import com.game.core.Player;
+import com.game.core.WorldConfig;
+import com.game.core.WorldUtils;
+import com.game.ecs.Archetype;
+import com.game.ecs.Component;
+import com.game.ecs.EntityStore;
+import com.game.ecs.EntitySystem;
+import com.game.ecs.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Creatures that spawn per chunk from a {@link SpawnTable} and wander, flee from or follow
+ * players, with their update rate scaled by distance to the nearest player.
+ *
+ * Chunks around the players are in one of three tiers:
+ * <ul>
+ *   <li>near: mobs decide what to do every tick</li>
+ *   <li>active: mobs decide every few ticks, staggered so each tick gets its share, and at
+ *   most a fixed number of them per tick; in between they keep their velocity</li>
+ *   <li>far: mobs are removed from the entity store and packed into a dormant chunk; when a
+ *   player comes close again the time they were away is made up in one step, as the random
+ *   walk their wandering amounts to</li>
+ * </ul>
+ * Chunks are spawned the first time a player comes close. One chunk more than the active
+ * radius is kept before freezing, so walking along a chunk border does not freeze and wake
+ * the same mobs over and over.
+ *
+ * Mobs are ordinary entities with position, velocity, heading, sprite and mob components;
+ * the movement system moves them. Neighbours for herding are found through a
+ * {@link SpatialHash} rebuilt every tick. The system creates and destroys entities and so
+ * runs exclusively.
+ */
+public class MobSystem implements EntitySystem {
+    public static final int DEFAULT_NEAR_RADIUS = 1;
+    public static final int DEFAULT_ACTIVE_RADIUS = 3;
+    public static final int DEFAULT_ACTIVE_INTERVAL = 4;
+    public static final int DEFAULT_ACTIVE_BUDGET = 2000;
+
+    private static final Component[] MOB_COMPONENTS = {
+        Component.POSITION, Component.VELOCITY, Component.HEADING, Component.SPRITE, Component.MOB
+    };
+    private static final Behavior[] BEHAVIORS = Behavior.values();
+
+    // Chunk states
+    private static final byte UNSEEN = 0;
+    private static final byte ACTIVE = 1;
+    private static final byte DORMANT = 2;
+
+    // Chunk tiers, by distance to the nearest player
+    private static final byte FAR = 0;
+    private static final byte KEPT = 1;
+    private static final byte MID = 2;
+    private static final byte NEAR = 3;
+
+    // Ticks between checks for mobs that walked into far chunks
+    private static final int FREEZE_INTERVAL = 30;
+    private static final double NEIGHBOUR_RADIUS = 200;
+    private static final int MAX_NEIGHBOURS = 16;
+    // Herding mobs close to their herd's center stop following it
+    private static final double HERD_SPACING = 60;
+    // Herds spawn within this distance of their first member
+    private static final double HERD_SPREAD = 80;
+    private static final double WANDER_SPEED = 0.4;
+    private static final double FOLLOW_SPEED = 0.7;
+    private static final double IDLE_CHANCE = 0.3;
+    private static final double MIN_DECISION_SECONDS = 1;
+    private static final double MAX_DECISION_SECONDS = 4;
+
+    private final EntityStore store;
+    private final WorldConfig config;
+    private final SpawnTable table;
+    private final long seed;
+    private final double worldSize;
+    private final int chunkCount;
+    private final double chunkPixels;
+    private final Query query;
+    private final SpatialHash neighbours;
+    private final SplittableRandom random;
+    private final List<Player> focus = new ArrayList<>();
+    private int[] focusChunks = new int[0];
+
+    private final byte[] states;
+    private final byte[] tiers;
+    private final DormantChunk[] dormant;
+    private final int[] found = new int[MAX_NEIGHBOURS];
+
+    private int nearRadius = DEFAULT_NEAR_RADIUS;
+    private int activeRadius = DEFAULT_ACTIVE_RADIUS;
+    private int activeInterval = DEFAULT_ACTIVE_INTERVAL;
+    private int activeBudget = DEFAULT_ACTIVE_BUDGET;
+
+    // Positions and kinds of all live mobs, in query order, for the neighbour queries
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private int[] kinds = new int[0];
+
+    private double time;
+    private long tick;
+    private boolean tiersStale = true;
+    private int dormantCount;
+    private int lastUpdates;
+    private long spawned;
+
+    public MobSystem(EntityStore store, WorldConfig config, SpawnTable table) {
+        this.store = store;
+        this.config = config;
+        this.table = table;
+        this.seed = config.seed();
+        this.worldSize = config.worldSize();
+        this.chunkCount = config.chunkCount();
+        this.chunkPixels = config.chunkSize() * config.tileSize();
+        this.query = store.query(MOB_COMPONENTS);
+        this.neighbours = new SpatialHash(NEIGHBOUR_RADIUS, worldSize);
+        this.random = new SplittableRandom(seed);
+        this.states = new byte[chunkCount * chunkCount];
+        this.tiers = new byte[chunkCount * chunkCount];
+        this.dormant = new DormantChunk[chunkCount * chunkCount];
+    }
+
+    /**
+     * Simulate mobs around this player too
+     */
+    public void addFocus(Player player) {
+        focus.add(player);
+        tiersStale = true;
+    }
+
+    /**
+     * @param nearRadius Chunks around a player whose mobs update every tick
+     * @param activeRadius Chunks around a player whose mobs are simulated at all
+     */
+    public void setRadii(int nearRadius, int activeRadius) {
+        if (nearRadius < 0 || activeRadius < nearRadius) {
+            throw new IllegalArgumentException("Invalid radii: near " + nearRadius + ", active " + activeRadius);
+        }
+        this.nearRadius = nearRadius;
+        this.activeRadius = activeRadius;
+        tiersStale = true;
+    }
+
+    /**
+     * @param interval Ticks between decisions of mobs outside the near chunks
+     * @param budget Most decisions of such mobs in one tick
+     */
+    public void setActiveRate(int interval, int budget) {
+        if (interval <= 0 || budget < 0) {
+            throw new IllegalArgumentException("Invalid rate: interval " + interval + ", budget " + budget);
+        }
+        this.activeInterval = interval;
+        this.activeBudget = budget;
+    }
+
+    @Override
+    public void update(double deltaTime) {
+        time += deltaTime;
+        tick++;
+
+        if (refreshTiers()) {
+            wakeChunks(deltaTime);
+            freezeFarMobs();
+        } else if (tick % FREEZE_INTERVAL == 0) {
+            freezeFarMobs();
+        }
+
+        int count = gather();
+        neighbours.build(count, xs, ys);
+        lastUpdates = decide(deltaTime);
+    }
+
+    /**
+     * Recompute the tiers when a player entered another chunk
+     * @return true if they changed
+     */
+    private boolean refreshTiers() {
+        if (focusChunks.length != focus.size()) {
+            focusChunks = new int[focus.size()];
+            tiersStale = true;
+        }
+        for (int i = 0; i < focus.size(); i++) {
+            int chunk = chunkIndex(focus.get(i).getX(), focus.get(i).getY());
+            if (chunk != focusChunks[i]) {
+                focusChunks[i] = chunk;
+                tiersStale = true;
+            }
+        }
+        if (!tiersStale) {
+            return false;
+        }
+        tiersStale = false;
+
+        Arrays.fill(tiers, FAR);
+        for (int chunk : focusChunks) {
+            int centerX = chunk % chunkCount;
+            int centerY = chunk / chunkCount;
+            int reach = Math.min(activeRadius + 1, chunkCount / 2);
+            for (int dy = -reach; dy <= reach; dy++) {
+                for (int dx = -reach; dx <= reach; dx++) {
+                    int distance = Math.max(Math.abs(dx), Math.abs(dy));
+                    byte tier = distance <= nearRadius ? NEAR : distance <= activeRadius ? MID : KEPT;
+                    int index = Math.floorMod(centerY + dy, chunkCount) * chunkCount + Math.floorMod(centerX + dx, chunkCount);
+                    if (tier > tiers[index]) {
+                        tiers[index] = tier;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void wakeChunks(double deltaTime) {
+        for (int chunk : focusChunks) {
+            int centerX = chunk % chunkCount;
+            int centerY = chunk / chunkCount;
+            int reach = Math.min(activeRadius, chunkCount / 2);
+            for (int dy = -reach; dy <= reach; dy++) {
+                for (int dx = -reach; dx <= reach; dx++) {
+                    int chunkX = Math.floorMod(centerX + dx, chunkCount);
+                    int chunkY = Math.floorMod(centerY + dy, chunkCount);
+                    int index = chunkY * chunkCount + chunkX;
+                    if (states[index] == UNSEEN) {
+                        spawn(chunkX, chunkY, deltaTime);
+                    }
+                    // Chunks never spawned can still hold mobs that wandered in and froze there
+                    if (states[index] == DORMANT || dormant[index] != null) {
+                        thaw(chunkX, chunkY, deltaTime);
+                    }
+                    states[index] = ACTIVE;
+                }
+            }
+        }
+    }
+
+    private void spawn(int chunkX, int chunkY, double deltaTime) {
+        SplittableRandom chunkRandom = new SplittableRandom(WorldUtils.mix(seed, chunkX, chunkY));
+        Biome biome = Biome.of(config, chunkX, chunkY);
+        int count = table.count(biome, chunkRandom);
+        double left = chunkX * chunkPixels;
+        double top = chunkY * chunkPixels;
+        // First position of each herding kind, where the rest of its herd gathers
+        double[] herdX = new double[table.getSpeciesCount()];
+        double[] herdY = new double[table.getSpeciesCount()];
+        boolean[] herdPlaced = new boolean[table.getSpeciesCount()];
+        for (int i = 0; i < count; i++) {
+            int kind = table.pick(biome, chunkRandom);
+            double x = left + chunkRandom.nextDouble(chunkPixels);
+            double y = top + chunkRandom.nextDouble(chunkPixels);
+            if (table.species(kind).herding()) {
+                if (herdPlaced[kind]) {
+                    x = clamp(herdX[kind] + chunkRandom.nextDouble(-HERD_SPREAD, HERD_SPREAD), left);
+                    y = clamp(herdY[kind] + chunkRandom.nextDouble(-HERD_SPREAD, HERD_SPREAD), top);
+                } else {
+                    herdX[kind] = x;
+                    herdY[kind] = y;
+                    herdPlaced[kind] = true;
+                }
+            }
+            create(kind, x, y, deltaTime);
+            spawned++;
+        }
+    }
+
+    private void thaw(int chunkX, int chunkY, double deltaTime) {
+        int index = chunkY * chunkCount + chunkX;
+        DormantChunk chunk = dormant[index];
+        if (chunk == null || chunk.size() == 0) {
+            return;
+        }
+        double left = chunkX * chunkPixels;
+        double top = chunkY * chunkPixels;
+        double elapsed = Math.max(0, time - chunk.getFrozenTime());
+        // Each wandering mob took about elapsed / mean decision time random steps. The sum of
+        // those is close to normally distributed, so one draw replaces all of them. Herds move
+        // as one so they are still together when the chunk wakes.
+        double meanDecision = (MIN_DECISION_SECONDS + MAX_DECISION_SECONDS) / 2;
+        double[] herdX = new double[table.getSpeciesCount()];
+        double[] herdY = new double[table.getSpeciesCount()];
+        boolean[] herdMoved = new boolean[table.getSpeciesCount()];
+        for (int i = 0; i < chunk.size(); i++) {
+            int kind = chunk.kind(i);
+            MobSpecies species = table.species(kind);
+            double spread = species.speed() * WANDER_SPEED * (1 - IDLE_CHANCE) * Math.sqrt(meanDecision * elapsed / 2);
+            double offsetX;
+            double offsetY;
+            if (species.herding() && herdMoved[kind]) {
+                offsetX = herdX[kind];
+                offsetY = herdY[kind];
+            } else {
+                offsetX = random.nextGaussian() * spread;
+                offsetY = random.nextGaussian() * spread;
+                if (species.herding()) {
+                    herdX[kind] = offsetX;
+                    herdY[kind] = offsetY;
+                    herdMoved[kind] = true;
+                }
+            }
+            // Dormant mobs stay in their chunk, so populations do not drift while nobody watches
+            create(kind, clamp(chunk.x(i) + offsetX, left), clamp(chunk.y(i) + offsetY, top), deltaTime);
+        }
+        dormantCount -= chunk.size();
+        chunk.clear();
+    }
+
+    private double clamp(double value, double chunkStart) {
+        return Math.max(chunkStart, Math.min(chunkStart + chunkPixels - 1, value));
+    }
+
+    private void create(int kind, double x, double y, double deltaTime) {
+        MobSpecies species = table.species(kind);
+        int entity = store.create(MOB_COMPONENTS);
+        store.set(entity, Component.POSITION, Component.X, x);
+        store.set(entity, Component.POSITION, Component.Y, y);
+        store.set(entity, Component.SPRITE, Component.SIZE, species.size());
+        store.setObject(entity, Component.SPRITE, Component.TYPE, species.name());
+        store.set(entity, Component.MOB, Component.KIND, kind);
+        store.set(entity, Component.MOB, Component.BEHAVIOR, Behavior.WANDER.ordinal());
+        // Stagger the decisions of mobs outside the near chunks over the ticks of an interval
+        store.set(entity, Component.MOB, Component.UPDATED, time - (entity % activeInterval) * deltaTime);
+    }
+
+    private void freezeFarMobs() {
+        for (Archetype archetype : query.archetypes()) {
+            double[] x = archetype.doubles(Component.POSITION, Component.X);
+            double[] y = archetype.doubles(Component.POSITION, Component.Y);
+            double[] kind = archetype.doubles(Component.MOB, Component.KIND);
+            // Backwards, since destroying moves the last row into the freed one
+            for (int row = archetype.size() - 1; row >= 0; row--) {
+                int chunk = chunkIndex(x[row], y[row]);
+                if (tiers[chunk] != FAR) {
+                    continue;
+                }
+                if (dormant[chunk] == null) {
+                    dormant[chunk] = new DormantChunk();
+                }
+                dormant[chunk].add((int) kind[row], x[row], y[row], time);
+                if (states[chunk] == ACTIVE) {
+                    states[chunk] = DORMANT;
+                }
+                dormantCount++;
+                store.destroy(archetype.entity(row));
+            }
+        }
+    }
+
+    private int gather() {
+        int count = query.count();
+        if (xs.length < count) {
+            int capacity = Math.max(count, xs.length * 2);
+            xs = new double[capacity];
+            ys = new double[capacity];
+            kinds = new int[capacity];
+        }
+        int i = 0;
+        for (Archetype archetype : query.archetypes()) {
+            double[] x = archetype.doubles(Component.POSITION, Component.X);
+            double[] y = archetype.doubles(Component.POSITION, Component.Y);
+            double[] kind = archetype.doubles(Component.MOB, Component.KIND);
+            for (int row = 0; row < archetype.size(); row++, i++) {
+                xs[i] = x[row];
+                ys[i] = y[row];
+                kinds[i] = (int) kind[row];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Let the mobs that are due decide where to go
+     * @return Number of mobs that decided
+     */
+    private int decide(double deltaTime) {
+        int budget = activeBudget;
+        int updates = 0;
+        // Mobs outside the near chunks are due once an interval passed; the epsilon absorbs rounding
+        double interval = activeInterval * deltaTime - deltaTime / 2;
+        int base = 0;
+        for (Archetype archetype : query.archetypes()) {
+            double[] velocityX = archetype.doubles(Component.VELOCITY, Component.X);
+            double[] velocityY = archetype.doubles(Component.VELOCITY, Component.Y);
+            double[] angle = archetype.doubles(Component.HEADING, Component.ANGLE);
+            double[] behavior = archetype.doubles(Component.MOB, Component.BEHAVIOR);
+            double[] timer = archetype.doubles(Component.MOB, Component.TIMER);
+            double[] updated = archetype.doubles(Component.MOB, Component.UPDATED);
+            for (int row = 0; row < archetype.size(); row++) {
+                int i = base + row;
+                byte tier = tiers[chunkIndex(xs[i], ys[i])];
+                double elapsed = time - updated[row];
+                if (tier == FAR) {
+                    continue;
+                }
+                if (tier != NEAR) {
+                    if (elapsed < interval || budget == 0) {
+                        continue;
+                    }
+                    budget--;
+                }
+                updated[row] = time;
+                updates++;
+
+                MobSpecies species = table.species(kinds[i]);
+                Behavior next = think(i, species, elapsed, row, velocityX, velocityY, behavior, timer);
+                behavior[row] = next.ordinal();
+                if (velocityX[row] != 0 || velocityY[row] != 0) {
+                    angle[row] = Math.atan2(velocityX[row], -velocityY[row]);
+                }
+            }
+            base += archetype.size();
+        }
+        return updates;
+    }
+
+    private Behavior think(int i, MobSpecies species, double elapsed, int row, double[] velocityX,
+                           double[] velocityY, double[] behavior, double[] timer) {
+        // Nearest player, the short way around the world
+        double playerX = 0;
+        double playerY = 0;
+        double playerDistance = Double.MAX_VALUE;
+        for (Player player : focus) {
+            double dx = WorldUtils.wrappedDelta(xs[i], player.getX(), worldSize);
+            double dy = WorldUtils.wrappedDelta(ys[i], player.getY(), worldSize);
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            if (distance < playerDistance) {
+                playerDistance = distance;
+                playerX = dx;
+                playerY = dy;
+            }
+        }
+
+        if (playerDistance < species.fleeRadius() && playerDistance > 0) {
+            velocityX[row] = -playerX / playerDistance * species.speed();
+            velocityY[row] = -playerY / playerDistance * species.speed();
+            return Behavior.FLEE;
+        }
+        if (playerDistance < species.followRadius() && playerDistance > species.size() * 3) {
+            velocityX[row] = playerX / playerDistance * species.speed() * FOLLOW_SPEED;
+            velocityY[row] = playerY / playerDistance * species.speed() * FOLLOW_SPEED;
+            return Behavior.FOLLOW;
+        }
+        if (species.herding() && followHerd(i, species, row, velocityX, velocityY)) {
+            return Behavior.FOLLOW;
+        }
+
+        // Wander: keep going until the timer runs out, then pick a new direction or rest
+        timer[row] -= elapsed;
+        if (timer[row] > 0 && BEHAVIORS[(int) behavior[row]] == Behavior.WANDER) {
+            return Behavior.WANDER;
+        }
+        timer[row] = random.nextDouble(MIN_DECISION_SECONDS, MAX_DECISION_SECONDS);
+        if (random.nextDouble() < IDLE_CHANCE) {
+            velocityX[row] = 0;
+            velocityY[row] = 0;
+        } else {
+            double direction = random.nextDouble(Math.PI * 2);
+            velocityX[row] = Math.sin(direction) * species.speed() * WANDER_SPEED;
+            velocityY[row] = -Math.cos(direction) * species.speed() * WANDER_SPEED;
+        }
+        return Behavior.WANDER;
+    }
+
+    /**
+     * Head for the center of the nearby members of the herd
+     * @return false if there are none or the mob is already close to their center
+     */
+    private boolean followHerd(int i, MobSpecies species, int row, double[] velocityX, double[] velocityY) {
+        int count = neighbours.query(xs[i], ys[i], NEIGHBOUR_RADIUS, found);
+        double sumX = 0;
+        double sumY = 0;
+        int members = 0;
+        for (int n = 0; n < count; n++) {
+            int other = found[n];
+            if (other != i && kinds[other] == kinds[i]) {
+                sumX += WorldUtils.wrappedDelta(xs[i], xs[other], worldSize);
+                sumY += WorldUtils.wrappedDelta(ys[i], ys[other], worldSize);
+                members++;
+            }
+        }
+        if (members == 0) {
+            return false;
+        }
+        double centerX = sumX / members;
+        double centerY = sumY / members;
+        double distance = Math.sqrt(centerX * centerX + centerY * centerY);
+        if (distance < HERD_SPACING) {
+            return false;
+        }
+        velocityX[row] = centerX / distance * species.speed() * FOLLOW_SPEED;
+        velocityY[row] = centerY / distance * species.speed() * FOLLOW_SPEED;
+        return true;
+    }
+
+    private int chunkIndex(double x, double y) {
+        int chunkX = Math.min(chunkCount - 1, Math.max(0, (int) (x / chunkPixels)));
+        int chunkY = Math.min(chunkCount - 1, Math.max(0, (int) (y / chunkPixels)));
+        return chunkY * chunkCount + chunkX;
+    }
+
+    /**
+     * @return Mobs in the entity store
+     */
+    public int getActiveCount() {
+        return query.count();
+    }
+
+    /**
+     * @return Mobs packed into dormant chunks
+     */
+    public int getDormantCount() {
+        return dormantCount;
+    }
+
+    /**
+     * @return Mobs that decided what to do in the last tick
+     */
+    public int getLastUpdates() {
+        return lastUpdates;
+    }
+
+    /**
+     * @return Mobs spawned since the start
+     */
+    public long getSpawnedCount() {
+        return spawned;
+    }
+
+    /**
+     * @return Line for the debug overlay or logs
+     */
+    public String summary() {
+        return String.format("Mobs: %d active, %d dormant, %d decided last tick", getActiveCount(), dormantCount, lastUpdates);
+    }
+}
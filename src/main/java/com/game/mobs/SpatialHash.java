@@ -0,0 +1,127 @@
+package com.game.mobs;
+
+import com.game.core.WorldUtils;
+
+import java.util.Arrays;
+
+/**
+ * Grid of points in the wrapping world for neighbour queries, rebuilt from scratch every tick.
+ *
+ * Points are sorted into hashed grid cells with a counting sort, so a rebuild is linear in the
+ * number of points and allocates only when their number grows. A query visits the cells
+ * overlapping its circle, which wrap around the world edges like positions do.
+ */
+public final class SpatialHash {
+    private final double worldSize;
+    private final int cellsPerAxis;
+    private final double cellSize;
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private int count;
+    private int bucketMask;
+    private int[] bucketStart = new int[1];
+    private int[] cursor = new int[0];
+    private int[] cells = new int[0];
+    // Point indices ordered by bucket
+    private int[] sorted = new int[0];
+
+    /**
+     * @param cellSize Approximate cell edge in world pixels, ideally the usual query radius
+     */
+    public SpatialHash(double cellSize, double worldSize) {
+        if (!(cellSize > 0) || !(worldSize >= cellSize)) {
+            throw new IllegalArgumentException("Invalid cell size " + cellSize + " for world size " + worldSize);
+        }
+        this.worldSize = worldSize;
+        this.cellsPerAxis = (int) Math.ceil(worldSize / cellSize);
+        this.cellSize = worldSize / cellsPerAxis;
+    }
+
+    /**
+     * Index the first count points of the arrays; they are read again by queries, not copied
+     */
+    public void build(int count, double[] xs, double[] ys) {
+        this.xs = xs;
+        this.ys = ys;
+        this.count = count;
+        int buckets = Integer.highestOneBit(Math.max(16, count * 2 - 1)) << 1;
+        bucketMask = buckets - 1;
+        if (bucketStart.length < buckets + 1) {
+            bucketStart = new int[buckets + 1];
+            cursor = new int[buckets];
+        } else {
+            Arrays.fill(bucketStart, 0, buckets + 1, 0);
+        }
+        if (cells.length < count) {
+            cells = new int[count];
+            sorted = new int[count];
+        }
+
+        for (int i = 0; i < count; i++) {
+            int cell = cell(cellOf(xs[i]), cellOf(ys[i]));
+            cells[i] = cell;
+            bucketStart[bucket(cell) + 1]++;
+        }
+        // Bucket b holds sorted[bucketStart[b]] up to sorted[bucketStart[b + 1]]
+        for (int b = 0; b < buckets; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        System.arraycopy(bucketStart, 0, cursor, 0, buckets);
+        for (int i = 0; i < count; i++) {
+            sorted[cursor[bucket(cells[i])]++] = i;
+        }
+    }
+
+    /**
+     * Find the points within a radius of a position
+     * @param out Receives the indices of the points found, at most its length
+     * @return Number of indices written
+     */
+    public int query(double x, double y, double radius, int[] out) {
+        int reach = (int) Math.ceil(radius / cellSize);
+        int span = Math.min(cellsPerAxis, reach * 2 + 1);
+        int startX = cellOf(x) - reach;
+        int startY = cellOf(y) - reach;
+        double radiusSquared = radius * radius;
+        int found = 0;
+        for (int dy = 0; dy < span; dy++) {
+            int cellY = Math.floorMod(startY + dy, cellsPerAxis);
+            for (int dx = 0; dx < span; dx++) {
+                int cell = cell(Math.floorMod(startX + dx, cellsPerAxis), cellY);
+                int b = bucket(cell);
+                for (int s = bucketStart[b], end = bucketStart[b + 1]; s < end; s++) {
+                    int i = sorted[s];
+                    if (cells[i] != cell) {
+                        continue;
+                    }
+                    double deltaX = WorldUtils.wrappedDelta(x, xs[i], worldSize);
+                    double deltaY = WorldUtils.wrappedDelta(y, ys[i], worldSize);
+                    if (deltaX * deltaX + deltaY * deltaY <= radiusSquared) {
+                        out[found++] = i;
+                        if (found == out.length) {
+                            return found;
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private int cellOf(double coordinate) {
+        return Math.floorMod((int) Math.floor(coordinate / cellSize), cellsPerAxis);
+    }
+
+    private int cell(int cellX, int cellY) {
+        return cellY * cellsPerAxis + cellX;
+    }
+
+    private int bucket(int cell) {
+        int hash = cell * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & bucketMask;
+    }
+}
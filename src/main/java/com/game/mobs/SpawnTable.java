@@ -0,0 +1,111 @@
+package com.game.mobs;
+
+import com.game.core.Biome;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Which species spawn in a biome, how likely each one is and how many mobs a chunk gets.
+ *
+ * Species are numbered in the order they are first added; the number is what the mob
+ * component stores as its kind.
+ */
+public class SpawnTable {
+    private final List<MobSpecies> species = new ArrayList<>();
+    private final Map<Biome, int[]> kinds = new EnumMap<>(Biome.class);
+    private final Map<Biome, double[]> weights = new EnumMap<>(Biome.class);
+    private final Map<Biome, int[]> counts = new EnumMap<>(Biome.class);
+
+    /**
+     * @return Table with the game's creatures: rabbits and deer on the plains, boars, deer and wolves in forests
+     */
+    public static SpawnTable defaults() {
+        MobSpecies rabbit = new MobSpecies("rabbit", 10, 140, 180, 0, false);
+        MobSpecies deer = new MobSpecies("deer", 22, 170, 260, 0, true);
+        MobSpecies boar = new MobSpecies("boar", 18, 110, 0, 0, false);
+        MobSpecies wolf = new MobSpecies("wolf", 20, 160, 0, 320, true);
+        return new SpawnTable()
+            .add(Biome.PLAINS, rabbit, 6)
+            .add(Biome.PLAINS, deer, 3)
+            .setCount(Biome.PLAINS, 4, 10)
+            .add(Biome.FOREST, boar, 4)
+            .add(Biome.FOREST, deer, 3)
+            .add(Biome.FOREST, wolf, 1)
+            .setCount(Biome.FOREST, 3, 8);
+    }
+
+    /**
+     * Let a species spawn in a biome
+     * @param weight Relative likelihood among the biome's species
+     */
+    public SpawnTable add(Biome biome, MobSpecies mobSpecies, double weight) {
+        if (!(weight > 0)) {
+            throw new IllegalArgumentException("Weight must be positive: " + weight);
+        }
+        int kind = species.indexOf(mobSpecies);
+        if (kind < 0) {
+            kind = species.size();
+            species.add(mobSpecies);
+        }
+        int[] biomeKinds = kinds.getOrDefault(biome, new int[0]);
+        double[] biomeWeights = weights.getOrDefault(biome, new double[0]);
+        biomeKinds = Arrays.copyOf(biomeKinds, biomeKinds.length + 1);
+        biomeWeights = Arrays.copyOf(biomeWeights, biomeWeights.length + 1);
+        biomeKinds[biomeKinds.length - 1] = kind;
+        // Stored as running totals for picking
+        biomeWeights[biomeWeights.length - 1] = weight + (biomeWeights.length > 1 ? biomeWeights[biomeWeights.length - 2] : 0);
+        kinds.put(biome, biomeKinds);
+        weights.put(biome, biomeWeights);
+        return this;
+    }
+
+    /**
+     * Set how many mobs a chunk of the biome spawns, both bounds inclusive
+     */
+    public SpawnTable setCount(Biome biome, int min, int max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Invalid count range: " + min + " to " + max);
+        }
+        counts.put(biome, new int[] { min, max });
+        return this;
+    }
+
+    /**
+     * @return Number of mobs a new chunk of the biome spawns
+     */
+    public int count(Biome biome, RandomGenerator random) {
+        int[] range = counts.get(biome);
+        if (range == null || !kinds.containsKey(biome)) {
+            return 0;
+        }
+        return random.nextInt(range[0], range[1] + 1);
+    }
+
+    /**
+     * @return Kind of a randomly picked species of the biome
+     */
+    public int pick(Biome biome, RandomGenerator random) {
+        int[] biomeKinds = kinds.get(biome);
+        double[] totals = weights.get(biome);
+        double roll = random.nextDouble(totals[totals.length - 1]);
+        for (int i = 0; i < totals.length; i++) {
+            if (roll < totals[i]) {
+                return biomeKinds[i];
+            }
+        }
+        return biomeKinds[biomeKinds.length - 1];
+    }
+
+    public MobSpecies species(int kind) {
+        return species.get(kind);
+    }
+
+    public int getSpeciesCount() {
+        return species.size();
+    }
+}
@@ -0,0 +1,79 @@
+package com.game.pathfinding;
+
+import com.game.core.Chunk;
+import com.game.core.Entity;
+import com.game.core.WorldConfig;
+
+/**
+ * Which tiles of a chunk are blocked by colliding entities, one bit per tile.
+ *
+ * Snapshots are immutable, so path searches on worker threads can read them while the
+ * simulation edits the chunk; an edit replaces the snapshot instead of changing it.
+ */
+public final class ChunkOccupancy {
+    private final int size;
+    private final long[] bits;
+    private final int blockedCount;
+
+    private ChunkOccupancy(int size, long[] bits) {
+        this.size = size;
+        this.bits = bits;
+        int blocked = 0;
+        for (long word : bits) {
+            blocked += Long.bitCount(word);
+        }
+        this.blockedCount = blocked;
+    }
+
+    /**
+     * Snapshot the colliding entities of a chunk. An entity blocks every tile its bounding
+     * square overlaps; parts reaching into neighbouring chunks are ignored.
+     * Call on the thread that edits the chunk.
+     */
+    public static ChunkOccupancy of(Chunk chunk) {
+        WorldConfig config = chunk.getConfig();
+        int size = config.chunkSize();
+        int tileSize = config.tileSize();
+        long[] bits = new long[(size * size + 63) / 64];
+        double left = (double) chunk.getChunkX() * size * tileSize;
+        double top = (double) chunk.getChunkY() * size * tileSize;
+        for (Entity entity : chunk.getEntities()) {
+            if (!entity.collision()) {
+                continue;
+            }
+            double half = entity.size() / 2;
+            // Edges exactly on a tile border do not reach into the next tile
+            int fromX = Math.max(0, (int) Math.floor((entity.x() - half - left) / tileSize));
+            int toX = Math.min(size - 1, (int) Math.ceil((entity.x() + half - left) / tileSize) - 1);
+            int fromY = Math.max(0, (int) Math.floor((entity.y() - half - top) / tileSize));
+            int toY = Math.min(size - 1, (int) Math.ceil((entity.y() + half - top) / tileSize) - 1);
+            for (int y = fromY; y <= toY; y++) {
+                for (int x = fromX; x <= toX; x++) {
+                    int index = y * size + x;
+                    bits[index >>> 6] |= 1L << index;
+                }
+            }
+        }
+        return new ChunkOccupancy(size, bits);
+    }
+
+    /**
+     * @param localX Tile column inside the chunk
+     * @param localY Tile row inside the chunk
+     */
+    public boolean isBlocked(int localX, int localY) {
+        int index = localY * size + localX;
+        return (bits[index >>> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * @return Tiles along one edge of the chunk
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public int getBlockedCount() {
+        return blockedCount;
+    }
+}
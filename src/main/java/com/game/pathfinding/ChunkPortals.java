@@ -0,0 +1,166 @@
+package com.game.pathfinding;
+
+/**
+ * Entrances of a chunk and the walking costs between them, the chunk's part of the abstract
+ * graph long searches run on.
+ *
+ * An entrance is a free border tile with a free tile right across in the neighbouring chunk.
+ * Entrances are listed side by side, east, west, south, north, each side ordered along the
+ * border; a corner tile can be an entrance on two sides. Immutable, like the occupancy it is
+ * built from.
+ */
+public final class ChunkPortals {
+    public static final int EAST = 0;
+    public static final int WEST = 1;
+    public static final int SOUTH = 2;
+    public static final int NORTH = 3;
+    static final int SIDES = 4;
+
+    private final int size;
+    private final ChunkOccupancy occupancy;
+    // Position of each side's entrances along the border
+    private final int[][] offsets;
+    // First entrance of each side, and the entrance count at the end
+    private final int[] sideStart;
+    private final int[] xs;
+    private final int[] ys;
+    // Cost from entrance i to entrance j in tenths of a tile at i * count + j
+    private final int[] costs;
+
+    /**
+     * @param previous Portals of the chunk before; if built from the same occupancy, the costs
+     * between entrances it already had are kept and only new entrances are searched from
+     */
+    ChunkPortals(int size, int[][] offsets, ChunkOccupancy occupancy, ChunkPortals previous, ChunkSearch search) {
+        this.size = size;
+        this.offsets = offsets;
+        this.occupancy = occupancy;
+        this.sideStart = new int[SIDES + 1];
+        for (int side = 0; side < SIDES; side++) {
+            sideStart[side + 1] = sideStart[side] + offsets[side].length;
+        }
+        int count = sideStart[SIDES];
+        this.xs = new int[count];
+        this.ys = new int[count];
+        int[] before = new int[count];
+        boolean reuse = previous != null && previous.occupancy == occupancy;
+        for (int side = 0; side < SIDES; side++) {
+            for (int i = 0; i < offsets[side].length; i++) {
+                int entrance = sideStart[side] + i;
+                xs[entrance] = localX(side, offsets[side][i]);
+                ys[entrance] = localY(side, offsets[side][i]);
+                before[entrance] = reuse ? previous.find(side, offsets[side][i]) : -1;
+            }
+        }
+
+        this.costs = new int[count * count];
+        int[] targetXs = new int[count];
+        int[] targetYs = new int[count];
+        int[] targets = new int[count];
+        int[] row = new int[count];
+        for (int i = 0; i < count; i++) {
+            // Moves are symmetric, so a cost found from either end serves both directions.
+            // Entrances kept from before copy their costs to each other; the rest search to
+            // every kept entrance and to the new ones after them
+            int found = 0;
+            for (int j = 0; j < count; j++) {
+                if (j == i) {
+                    continue;
+                }
+                if (before[i] >= 0 && before[j] >= 0) {
+                    costs[i * count + j] = previous.getCost(before[i], before[j]);
+                } else if (before[i] < 0 && (before[j] >= 0 || j > i)) {
+                    targetXs[found] = xs[j];
+                    targetYs[found] = ys[j];
+                    targets[found++] = j;
+                }
+            }
+            if (found == 0) {
+                continue;
+            }
+            search.distances(occupancy, xs[i], ys[i], targetXs, targetYs, found, row);
+            for (int t = 0; t < found; t++) {
+                costs[i * count + targets[t]] = row[t];
+                costs[targets[t] * count + i] = row[t];
+            }
+        }
+    }
+
+    private int localX(int side, int offset) {
+        return switch (side) {
+            case EAST -> size - 1;
+            case WEST -> 0;
+            default -> offset;
+        };
+    }
+
+    private int localY(int side, int offset) {
+        return switch (side) {
+            case SOUTH -> size - 1;
+            case NORTH -> 0;
+            default -> offset;
+        };
+    }
+
+    static int opposite(int side) {
+        return side ^ 1;
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    /**
+     * @return Local tile column of an entrance
+     */
+    public int getX(int entrance) {
+        return xs[entrance];
+    }
+
+    /**
+     * @return Local tile row of an entrance
+     */
+    public int getY(int entrance) {
+        return ys[entrance];
+    }
+
+    public int getSide(int entrance) {
+        int side = 0;
+        while (entrance >= sideStart[side + 1]) {
+            side++;
+        }
+        return side;
+    }
+
+    /**
+     * @return Walking cost between two entrances in tenths of a tile, Integer.MAX_VALUE if the
+     * chunk has no way between them
+     */
+    public int getCost(int from, int to) {
+        return costs[from * xs.length + to];
+    }
+
+    /**
+     * @return The entrance at a position along a side, -1 if there is none
+     */
+    public int find(int side, int offset) {
+        for (int i = 0; i < offsets[side].length; i++) {
+            if (offsets[side][i] == offset) {
+                return sideStart[side] + i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Position along the border of an entrance
+     */
+    int offsetOf(int entrance) {
+        int side = getSide(entrance);
+        return offsets[side][entrance - sideStart[side]];
+    }
+
+    int[] offsets(int side) {
+        return offsets[side];
+    }
+}
@@ -0,0 +1,149 @@
+package com.game.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra from one tile to a set of tiles, staying inside a single chunk, with the moves of
+ * {@link GridPathfinder}. Step costs are small integers, so the open set is a ring of buckets,
+ * one per cost, instead of a heap. Arrays are sized for one chunk and reused; not thread safe.
+ */
+final class ChunkSearch {
+    static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private static final int STRAIGHT = 10;
+    private static final int DIAGONAL = 14;
+    // More buckets than the largest step, so a step never lands in the bucket being emptied
+    private static final int BUCKETS = 16;
+    private static final int[] STEP_X = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] STEP_Y = {0, 0, 1, -1, 1, -1, 1, -1};
+    private static final int[] DIAGONAL_VIA_X = {0, 0, 1, 1};
+    private static final int[] DIAGONAL_VIA_Y = {2, 3, 2, 3};
+
+    private final int size;
+    private final int[] cost;
+    private final int[] reached;
+    private final int[] closed;
+    // Index of the target at a tile plus one, 0 for none
+    private final int[] target;
+    private final boolean[] blocked;
+    private final boolean[] free = new boolean[8];
+    private final int[][] buckets = new int[BUCKETS][64];
+    private final int[] bucketSizes = new int[BUCKETS];
+    private ChunkOccupancy loaded;
+    private int search;
+
+    ChunkSearch(int size) {
+        this.size = size;
+        this.cost = new int[size * size];
+        this.reached = new int[size * size];
+        this.closed = new int[size * size];
+        this.target = new int[size * size];
+        this.blocked = new boolean[size * size];
+    }
+
+    /**
+     * @param fromX Local start column; the start tile itself may be blocked
+     * @param targetXs Local columns of the targets
+     * @param out Receives the cost to each target in tenths of a tile, {@link #UNREACHABLE} if none
+     */
+    void distances(ChunkOccupancy occupancy, int fromX, int fromY, int[] targetXs, int[] targetYs, int count, int[] out) {
+        if (occupancy != loaded) {
+            // Unpacked once per chunk; building a chunk's portals searches it many times
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    blocked[y * size + x] = occupancy.isBlocked(x, y);
+                }
+            }
+            loaded = occupancy;
+        }
+        if (++search == Integer.MAX_VALUE) {
+            Arrays.fill(reached, 0);
+            Arrays.fill(closed, 0);
+            search = 1;
+        }
+        Arrays.fill(out, 0, count, UNREACHABLE);
+        int remaining = 0;
+        for (int i = 0; i < count; i++) {
+            int node = targetYs[i] * size + targetXs[i];
+            // Several targets can share a tile; the last one marks it and the rest are copied at the end
+            if (target[node] == 0) {
+                remaining++;
+            }
+            target[node] = i + 1;
+        }
+
+        Arrays.fill(bucketSizes, 0);
+        int open = 0;
+        int start = fromY * size + fromX;
+        cost[start] = 0;
+        reached[start] = search;
+        add(0, start);
+        open++;
+        for (int current = 0; open > 0 && remaining > 0; current++) {
+            // Steps cost less than the ring holds, so this bucket only has entries costing current
+            int index = current % BUCKETS;
+            while (bucketSizes[index] > 0 && remaining > 0) {
+                int node = buckets[index][--bucketSizes[index]];
+                open--;
+                if (closed[node] == search || cost[node] != current) {
+                    continue;
+                }
+                closed[node] = search;
+                if (target[node] != 0) {
+                    out[target[node] - 1] = current;
+                    remaining--;
+                }
+                open += expand(node, current);
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            int node = targetYs[i] * size + targetXs[i];
+            if (target[node] != 0) {
+                out[i] = out[target[node] - 1];
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            target[targetYs[i] * size + targetXs[i]] = 0;
+        }
+    }
+
+    /**
+     * @return Number of bucket entries added
+     */
+    private int expand(int node, int nodeCost) {
+        int added = 0;
+        int x = node % size;
+        int y = node / size;
+        for (int d = 0; d < 8; d++) {
+            int nextX = x + STEP_X[d];
+            int nextY = y + STEP_Y[d];
+            if (nextX < 0 || nextY < 0 || nextX >= size || nextY >= size) {
+                free[d] = false;
+                continue;
+            }
+            int next = nextY * size + nextX;
+            boolean passable = d < 4 || free[DIAGONAL_VIA_X[d - 4]] && free[DIAGONAL_VIA_Y[d - 4]];
+            free[d] = passable && !blocked[next];
+            if (!free[d] || closed[next] == search) {
+                continue;
+            }
+            int nextCost = nodeCost + (d < 4 ? STRAIGHT : DIAGONAL);
+            if (reached[next] != search || nextCost < cost[next]) {
+                reached[next] = search;
+                cost[next] = nextCost;
+                add(nextCost, next);
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private void add(int nodeCost, int node) {
+        int index = nodeCost % BUCKETS;
+        if (bucketSizes[index] == buckets[index].length) {
+            buckets[index] = Arrays.copyOf(buckets[index], bucketSizes[index] * 2);
+        }
+        buckets[index][bucketSizes[index]++] = node;
+    }
+}
@@ -0,0 +1,276 @@
+package com.game.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * A* over the tile grid of an {@link OccupancyMap}, moving in eight directions without
+ * cutting the corners of blocked tiles.
+ *
+ * A search runs in a square window of tiles laid around start and goal, so its arrays have a
+ * fixed size no matter how big the world is; goals further apart than the window allows are
+ * not found. When the window covers the whole world it wraps around like the world does.
+ *
+ * All search state lives in primitive arrays allocated once. Nodes are marked as reached or
+ * closed with the number of the search instead of clearing the arrays, and the open set is a
+ * binary heap of node indices where outdated entries are skipped when they come up. An
+ * instance is not thread safe; use one per thread.
+ */
+public class GridPathfinder {
+    public static final int DEFAULT_WINDOW_TILES = 512;
+
+    // Step costs in tenths of a tile
+    private static final int STRAIGHT = 10;
+    private static final int DIAGONAL = 14;
+    // Straight directions first; diagonals need both straight neighbours they pass between free
+    private static final int[] STEP_X = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] STEP_Y = {0, 0, 1, -1, 1, -1, 1, -1};
+    private static final int[] DIAGONAL_VIA_X = {0, 0, 1, 1};
+    private static final int[] DIAGONAL_VIA_Y = {2, 3, 2, 3};
+
+    private final OccupancyMap map;
+    private final int worldTiles;
+    private final int window;
+    private final boolean wraps;
+
+    private final int[] cost;
+    private final int[] parent;
+    private final int[] reached;
+    private final int[] closed;
+    // Blocked state of the tiles looked up in the current search, valid where tested holds its number
+    private final int[] tested;
+    private final boolean[] blocked;
+    private final boolean[] free = new boolean[8];
+    private int[] heapNodes = new int[1024];
+    // Estimated total cost in the high half, remaining estimate in the low half as tie breaker
+    private long[] heapKeys = new long[1024];
+    private int heapSize;
+    private int search;
+
+    private int originX;
+    private int originY;
+    private int lastExpanded;
+
+    public GridPathfinder(OccupancyMap map) {
+        this(map, DEFAULT_WINDOW_TILES);
+    }
+
+    /**
+     * @param windowTiles Edge of the search window in tiles, capped at the world size
+     */
+    public GridPathfinder(OccupancyMap map, int windowTiles) {
+        if (windowTiles < 2) {
+            throw new IllegalArgumentException("Window must be at least 2 tiles: " + windowTiles);
+        }
+        this.map = map;
+        this.worldTiles = map.getWorldTiles();
+        this.window = Math.min(windowTiles, worldTiles);
+        this.wraps = window == worldTiles;
+        int nodes = window * window;
+        this.cost = new int[nodes];
+        this.parent = new int[nodes];
+        this.reached = new int[nodes];
+        this.closed = new int[nodes];
+        this.tested = new int[nodes];
+        this.blocked = new boolean[nodes];
+    }
+
+    /**
+     * Find a shortest path between two tiles. The start tile may be blocked, e.g. by the
+     * entity that is looking for a way out.
+     * @return The path, or {@link TilePath#NONE} if the goal is blocked, walled off or too far
+     */
+    public TilePath find(int startX, int startY, int goalX, int goalY) {
+        lastExpanded = 0;
+        startX = Math.floorMod(startX, worldTiles);
+        startY = Math.floorMod(startY, worldTiles);
+        goalX = Math.floorMod(goalX, worldTiles);
+        goalY = Math.floorMod(goalY, worldTiles);
+        if (map.isBlocked(goalX, goalY)) {
+            return TilePath.NONE;
+        }
+
+        int deltaX = wrappedDelta(startX, goalX);
+        int deltaY = wrappedDelta(startY, goalY);
+        if (wraps) {
+            originX = 0;
+            originY = 0;
+        } else {
+            if (Math.abs(deltaX) >= window || Math.abs(deltaY) >= window) {
+                return TilePath.NONE;
+            }
+            // Center start and goal in the window, leaving room for detours on all sides
+            originX = startX + Math.min(0, deltaX) - (window - 1 - Math.abs(deltaX)) / 2;
+            originY = startY + Math.min(0, deltaY) - (window - 1 - Math.abs(deltaY)) / 2;
+        }
+        int start = node(localOf(startX, originX), localOf(startY, originY));
+        int goal = node(localOf(goalX, originX), localOf(goalY, originY));
+        int goalLocalX = goal % window;
+        int goalLocalY = goal / window;
+
+        if (++search == Integer.MAX_VALUE) {
+            Arrays.fill(reached, 0);
+            Arrays.fill(closed, 0);
+            Arrays.fill(tested, 0);
+            search = 1;
+        }
+        heapSize = 0;
+        cost[start] = 0;
+        parent[start] = -1;
+        reached[start] = search;
+        push(start, 0, heuristic(start % window, start / window, goalLocalX, goalLocalY));
+
+        while (heapSize > 0) {
+            int current = pop();
+            if (closed[current] == search) {
+                continue;
+            }
+            if (current == goal) {
+                return path(goal, start);
+            }
+            closed[current] = search;
+            lastExpanded++;
+
+            int x = current % window;
+            int y = current / window;
+            for (int d = 0; d < 8; d++) {
+                int nextX = x + STEP_X[d];
+                int nextY = y + STEP_Y[d];
+                if (wraps) {
+                    nextX = Math.floorMod(nextX, window);
+                    nextY = Math.floorMod(nextY, window);
+                } else if (nextX < 0 || nextY < 0 || nextX >= window || nextY >= window) {
+                    free[d] = false;
+                    continue;
+                }
+                boolean passable = d < 4 || free[DIAGONAL_VIA_X[d - 4]] && free[DIAGONAL_VIA_Y[d - 4]];
+                int next = node(nextX, nextY);
+                free[d] = passable && !isBlocked(next, nextX, nextY);
+                if (!free[d] || closed[next] == search) {
+                    continue;
+                }
+                int nextCost = cost[current] + (d < 4 ? STRAIGHT : DIAGONAL);
+                if (reached[next] != search || nextCost < cost[next]) {
+                    reached[next] = search;
+                    cost[next] = nextCost;
+                    parent[next] = current;
+                    push(next, nextCost, heuristic(nextX, nextY, goalLocalX, goalLocalY));
+                }
+            }
+        }
+        return TilePath.NONE;
+    }
+
+    private boolean isBlocked(int node, int x, int y) {
+        if (tested[node] != search) {
+            tested[node] = search;
+            blocked[node] = map.isBlocked(originX + x, originY + y);
+        }
+        return blocked[node];
+    }
+
+    private TilePath path(int goal, int start) {
+        int count = 1;
+        for (int node = goal; node != start; node = parent[node]) {
+            count++;
+        }
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        int node = goal;
+        for (int i = count - 1; i >= 0; i--) {
+            xs[i] = Math.floorMod(originX + node % window, worldTiles);
+            ys[i] = Math.floorMod(originY + node / window, worldTiles);
+            node = parent[node];
+        }
+        return new TilePath(xs, ys, cost[goal] / (double) STRAIGHT);
+    }
+
+    private int heuristic(int x, int y, int goalX, int goalY) {
+        int dx = Math.abs(goalX - x);
+        int dy = Math.abs(goalY - y);
+        if (wraps) {
+            dx = Math.min(dx, window - dx);
+            dy = Math.min(dy, window - dy);
+        }
+        // Octile distance: diagonal steps while both axes differ, straight ones for the rest
+        return STRAIGHT * Math.max(dx, dy) + (DIAGONAL - STRAIGHT) * Math.min(dx, dy);
+    }
+
+    /**
+     * Add a node to the open set. Among nodes of equal estimated total the one closer to the
+     * goal comes first, so searches over open ground do not fan out along the whole front.
+     */
+    private void push(int node, int cost, int estimate) {
+        long key = (long) (cost + estimate) << 32 | estimate;
+        if (heapSize == heapNodes.length) {
+            heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+            heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (heapKeys[up] <= key) {
+                break;
+            }
+            heapNodes[i] = heapNodes[up];
+            heapKeys[i] = heapKeys[up];
+            i = up;
+        }
+        heapNodes[i] = node;
+        heapKeys[i] = key;
+    }
+
+    private int pop() {
+        int top = heapNodes[0];
+        int node = heapNodes[--heapSize];
+        long key = heapKeys[heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+                child++;
+            }
+            if (key <= heapKeys[child]) {
+                break;
+            }
+            heapNodes[i] = heapNodes[child];
+            heapKeys[i] = heapKeys[child];
+            i = child;
+        }
+        heapNodes[i] = node;
+        heapKeys[i] = key;
+        return top;
+    }
+
+    private int wrappedDelta(int from, int to) {
+        int delta = to - from;
+        if (delta > worldTiles / 2) {
+            delta -= worldTiles;
+        } else if (delta < -worldTiles / 2) {
+            delta += worldTiles;
+        }
+        return delta;
+    }
+
+    private int localOf(int tile, int origin) {
+        return Math.floorMod(tile - origin, worldTiles);
+    }
+
+    private int node(int x, int y) {
+        return y * window + x;
+    }
+
+    /**
+     * @return Nodes closed by the last search
+     */
+    public int getLastExpanded() {
+        return lastExpanded;
+    }
+
+    /**
+     * @return Edge of the search window in tiles
+     */
+    public int getWindow() {
+        return window;
+    }
+}
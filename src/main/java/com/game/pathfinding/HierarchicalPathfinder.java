@@ -0,0 +1,394 @@
+package com.game.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Path search in two levels for goals many chunks away, in the manner of HPA*.
+ *
+ * Nearby goals go straight to a {@link GridPathfinder}. For the others, start and goal are
+ * joined to the entrances of their chunks, A* runs over the {@link PortalGraph} from entrance
+ * to entrance, and each hop of the result is refined into tiles with a small grid search. The
+ * abstract graph has a few nodes per chunk instead of thousands of tiles, so the cost of a
+ * search grows with the number of chunks crossed rather than their area. Paths come out close
+ * to, but not always exactly, the shortest.
+ *
+ * Each chunk's entrances are read once per search, so an edit during the search cannot mix
+ * two versions of a chunk; a hop that no longer fits the tiles fails the search. Not thread
+ * safe; use one per thread.
+ */
+public class HierarchicalPathfinder {
+    private static final int STRAIGHT = 10;
+    private static final int DIAGONAL = 14;
+    // Heap entry standing for the goal, reached from the entrance in goalParent
+    private static final int GOAL = -2;
+
+    private final PortalGraph graph;
+    private final OccupancyMap map;
+    private final GridPathfinder local;
+    private final ChunkSearch chunkSearch;
+    private final int chunkSize;
+    private final int chunkCount;
+    private final int worldTiles;
+
+    // Abstract search state. Entrances get ids as their chunk is first reached, in blocks of
+    // one chunk, so the per-node state fits in flat arrays that are reused between searches.
+    // A chunk's first id is valid where chunkStamp holds the number of the current search
+    private final int[] chunkBase;
+    private final int[] chunkStamp;
+    private int search;
+    private ChunkPortals[] idPortals = new ChunkPortals[256];
+    private int[] idChunk = new int[256];
+    private int[] idEntrance = new int[256];
+    private int[] idCost = new int[256];
+    private int[] idParent = new int[256];
+    private boolean[] idClosed = new boolean[256];
+    private int idCount;
+    private int goalCost;
+    private int goalParent;
+    private int[] heapNodes = new int[256];
+    private long[] heapKeys = new long[256];
+    private int heapSize;
+    private int[] startCosts = new int[16];
+    private int[] goalCosts = new int[16];
+    private int[] entranceXs = new int[16];
+    private int[] entranceYs = new int[16];
+    // Tiles the abstract path passes through, then the refined path, reused between searches
+    private int[] waypointXs = new int[64];
+    private int[] waypointYs = new int[64];
+    private int waypointCount;
+    private int[] pathXs = new int[256];
+    private int[] pathYs = new int[256];
+    private int lastExpanded;
+
+    public HierarchicalPathfinder(PortalGraph graph) {
+        this.graph = graph;
+        this.map = graph.getOccupancy();
+        this.chunkSize = map.getChunkSize();
+        this.chunkCount = map.getChunkCount();
+        this.worldTiles = map.getWorldTiles();
+        // Room for a hop across a chunk plus detours around it
+        this.local = new GridPathfinder(map, chunkSize * 4);
+        this.chunkSearch = new ChunkSearch(chunkSize);
+        this.chunkBase = new int[chunkCount * chunkCount];
+        this.chunkStamp = new int[chunkCount * chunkCount];
+    }
+
+    /**
+     * Find a path between two tiles; the start tile may be blocked
+     * @return The path, or {@link TilePath#NONE} if the goal is blocked or cannot be reached
+     */
+    public TilePath find(int startX, int startY, int goalX, int goalY) {
+        lastExpanded = 0;
+        startX = Math.floorMod(startX, worldTiles);
+        startY = Math.floorMod(startY, worldTiles);
+        goalX = Math.floorMod(goalX, worldTiles);
+        goalY = Math.floorMod(goalY, worldTiles);
+        if (Math.max(Math.abs(wrappedDelta(startX, goalX)), Math.abs(wrappedDelta(startY, goalY))) <= chunkSize) {
+            return local.find(startX, startY, goalX, goalY);
+        }
+        if (map.isBlocked(goalX, goalY)) {
+            return TilePath.NONE;
+        }
+        if (++search == Integer.MAX_VALUE) {
+            Arrays.fill(chunkStamp, 0);
+            search = 1;
+        }
+        try {
+            return searchAbstract(startX, startY, goalX, goalY) ? refine() : TilePath.NONE;
+        } finally {
+            Arrays.fill(idPortals, 0, idCount, null);
+            idCount = 0;
+        }
+    }
+
+    /**
+     * Search the entrances and collect the tiles to pass through from start to goal
+     * @return false if the goal is out of reach
+     */
+    private boolean searchAbstract(int startX, int startY, int goalX, int goalY) {
+        int startChunk = chunkIndexOfTile(startX, startY);
+        int goalChunk = chunkIndexOfTile(goalX, goalY);
+        int startBase = idsOf(startChunk);
+        int goalBase = idsOf(goalChunk);
+        if (startBase < 0 || goalBase < 0) {
+            return false;
+        }
+        ChunkPortals startPortals = idPortals[startBase];
+        ChunkPortals goalPortals = idPortals[goalBase];
+        startCosts = costsToEntrances(startChunk, startPortals, startX, startY, startCosts);
+        goalCosts = costsToEntrances(goalChunk, goalPortals, goalX, goalY, goalCosts);
+
+        heapSize = 0;
+        goalCost = ChunkSearch.UNREACHABLE;
+        for (int i = 0; i < startPortals.size(); i++) {
+            if (startCosts[i] != ChunkSearch.UNREACHABLE) {
+                relax(-1, startBase + i, startCosts[i], goalX, goalY);
+            }
+        }
+        while (heapSize > 0) {
+            int current = pop();
+            if (current == GOAL) {
+                collectWaypoints(startX, startY, goalX, goalY);
+                return true;
+            }
+            if (idClosed[current]) {
+                continue;
+            }
+            idClosed[current] = true;
+            lastExpanded++;
+
+            int chunk = idChunk[current];
+            int entrance = idEntrance[current];
+            int base = current - entrance;
+            ChunkPortals portals = idPortals[current];
+            int cost = idCost[current];
+            if (chunk == goalChunk && goalCosts[entrance] != ChunkSearch.UNREACHABLE
+                && cost + goalCosts[entrance] < goalCost) {
+                goalCost = cost + goalCosts[entrance];
+                goalParent = current;
+                push(GOAL, (long) goalCost << 32);
+            }
+            // Other entrances of the same chunk
+            for (int other = 0; other < portals.size(); other++) {
+                int step = portals.getCost(entrance, other);
+                if (other != entrance && step != ChunkSearch.UNREACHABLE) {
+                    relax(current, base + other, cost + step, goalX, goalY);
+                }
+            }
+            // The matching entrance across the border
+            int side = portals.getSide(entrance);
+            int neighbourBase = idsOf(neighbourOf(chunk, side));
+            if (neighbourBase >= 0) {
+                int match = idPortals[neighbourBase].find(ChunkPortals.opposite(side), portals.offsetOf(entrance));
+                if (match >= 0) {
+                    relax(current, neighbourBase + match, cost + STRAIGHT, goalX, goalY);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Give the entrances of a chunk ids, reading its portals for the rest of the search
+     * @return Id of its first entrance, -1 if the chunk is not loaded
+     */
+    private int idsOf(int chunk) {
+        if (chunkStamp[chunk] == search) {
+            return chunkBase[chunk];
+        }
+        chunkStamp[chunk] = search;
+        ChunkPortals portals = graph.get(chunk % chunkCount, chunk / chunkCount);
+        if (portals == null) {
+            chunkBase[chunk] = -1;
+            return -1;
+        }
+        int base = idCount;
+        idCount += Math.max(1, portals.size());
+        if (idCount > idChunk.length) {
+            int capacity = Math.max(idChunk.length * 2, idCount);
+            idPortals = Arrays.copyOf(idPortals, capacity);
+            idChunk = Arrays.copyOf(idChunk, capacity);
+            idEntrance = Arrays.copyOf(idEntrance, capacity);
+            idCost = Arrays.copyOf(idCost, capacity);
+            idParent = Arrays.copyOf(idParent, capacity);
+            idClosed = Arrays.copyOf(idClosed, capacity);
+        }
+        // A chunk without entrances still takes one id, so its portals can be looked up
+        for (int i = 0; i < Math.max(1, portals.size()); i++) {
+            idPortals[base + i] = portals;
+            idChunk[base + i] = chunk;
+            idEntrance[base + i] = i;
+            idCost[base + i] = ChunkSearch.UNREACHABLE;
+            idClosed[base + i] = false;
+        }
+        chunkBase[chunk] = base;
+        return base;
+    }
+
+    private int[] costsToEntrances(int chunk, ChunkPortals portals, int tileX, int tileY, int[] out) {
+        int count = portals.size();
+        if (out.length < count) {
+            out = new int[count];
+        }
+        if (entranceXs.length < count) {
+            entranceXs = new int[count];
+            entranceYs = new int[count];
+        }
+        for (int i = 0; i < count; i++) {
+            entranceXs[i] = portals.getX(i);
+            entranceYs[i] = portals.getY(i);
+        }
+        ChunkOccupancy occupancy = map.get(chunk % chunkCount, chunk / chunkCount);
+        if (occupancy == null) {
+            Arrays.fill(out, 0, count, ChunkSearch.UNREACHABLE);
+            return out;
+        }
+        // Moves are symmetric, so the costs from the goal are the costs to it
+        chunkSearch.distances(occupancy, tileX % chunkSize, tileY % chunkSize, entranceXs, entranceYs, count, out);
+        return out;
+    }
+
+    private void relax(int from, int to, int cost, int goalX, int goalY) {
+        if (cost >= idCost[to]) {
+            return;
+        }
+        idCost[to] = cost;
+        idParent[to] = from;
+        int chunk = idChunk[to];
+        int entrance = idEntrance[to];
+        ChunkPortals portals = idPortals[to];
+        int estimate = heuristic(tileX(chunk, portals.getX(entrance)), tileY(chunk, portals.getY(entrance)), goalX, goalY);
+        push(to, (long) (cost + estimate) << 32 | estimate);
+    }
+
+    /**
+     * Fill the waypoint buffers with start, the entrances on the way and goal, in that order
+     */
+    private void collectWaypoints(int startX, int startY, int goalX, int goalY) {
+        int count = 2;
+        for (int id = goalParent; id >= 0; id = idParent[id]) {
+            count++;
+        }
+        if (waypointXs.length < count) {
+            waypointXs = new int[Math.max(waypointXs.length * 2, count)];
+            waypointYs = new int[waypointXs.length];
+        }
+        waypointCount = count;
+        waypointXs[0] = startX;
+        waypointYs[0] = startY;
+        waypointXs[count - 1] = goalX;
+        waypointYs[count - 1] = goalY;
+        // The parent chain runs from the goal back to the start
+        int i = count - 2;
+        for (int id = goalParent; id >= 0; id = idParent[id]) {
+            int chunk = idChunk[id];
+            ChunkPortals portals = idPortals[id];
+            int entrance = idEntrance[id];
+            waypointXs[i] = tileX(chunk, portals.getX(entrance));
+            waypointYs[i] = tileY(chunk, portals.getY(entrance));
+            i--;
+        }
+    }
+
+    /**
+     * Join the waypoints with grid searches into one path of tiles
+     */
+    private TilePath refine() {
+        int count = 0;
+        double length = 0;
+        int fromX = waypointXs[0];
+        int fromY = waypointYs[0];
+        pathXs[count] = fromX;
+        pathYs[count] = fromY;
+        count++;
+        for (int i = 1; i < waypointCount; i++) {
+            int toX = waypointXs[i];
+            int toY = waypointYs[i];
+            if (toX == fromX && toY == fromY) {
+                continue;
+            }
+            TilePath hop = local.find(fromX, fromY, toX, toY);
+            if (!hop.isFound()) {
+                return TilePath.NONE;
+            }
+            if (count + hop.size() > pathXs.length) {
+                pathXs = Arrays.copyOf(pathXs, Math.max(pathXs.length * 2, count + hop.size()));
+                pathYs = Arrays.copyOf(pathYs, pathXs.length);
+            }
+            // The first tile of a hop is the last of the previous one
+            for (int t = 1; t < hop.size(); t++) {
+                pathXs[count] = hop.getTileX(t);
+                pathYs[count] = hop.getTileY(t);
+                count++;
+            }
+            length += hop.getLength();
+            fromX = toX;
+            fromY = toY;
+        }
+        // The path keeps its own copy, the buffers serve the next search
+        return new TilePath(Arrays.copyOf(pathXs, count), Arrays.copyOf(pathYs, count), length);
+    }
+
+    private int neighbourOf(int chunk, int side) {
+        int chunkX = Math.floorMod(chunk % chunkCount + PortalGraph.stepX(side), chunkCount);
+        int chunkY = Math.floorMod(chunk / chunkCount + PortalGraph.stepY(side), chunkCount);
+        return chunkY * chunkCount + chunkX;
+    }
+
+    private int chunkIndexOfTile(int tileX, int tileY) {
+        return (tileY / chunkSize) * chunkCount + tileX / chunkSize;
+    }
+
+    private int tileX(int chunk, int localX) {
+        return (chunk % chunkCount) * chunkSize + localX;
+    }
+
+    private int tileY(int chunk, int localY) {
+        return (chunk / chunkCount) * chunkSize + localY;
+    }
+
+    private int heuristic(int x, int y, int goalX, int goalY) {
+        int dx = Math.abs(wrappedDelta(x, goalX));
+        int dy = Math.abs(wrappedDelta(y, goalY));
+        return STRAIGHT * Math.max(dx, dy) + (DIAGONAL - STRAIGHT) * Math.min(dx, dy);
+    }
+
+    private int wrappedDelta(int from, int to) {
+        int delta = to - from;
+        if (delta > worldTiles / 2) {
+            delta -= worldTiles;
+        } else if (delta < -worldTiles / 2) {
+            delta += worldTiles;
+        }
+        return delta;
+    }
+
+    private void push(int node, long key) {
+        if (heapSize == heapNodes.length) {
+            heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+            heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (heapKeys[up] <= key) {
+                break;
+            }
+            heapNodes[i] = heapNodes[up];
+            heapKeys[i] = heapKeys[up];
+            i = up;
+        }
+        heapNodes[i] = node;
+        heapKeys[i] = key;
+    }
+
+    private int pop() {
+        int top = heapNodes[0];
+        int node = heapNodes[--heapSize];
+        long key = heapKeys[heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+                child++;
+            }
+            if (key <= heapKeys[child]) {
+                break;
+            }
+            heapNodes[i] = heapNodes[child];
+            heapKeys[i] = heapKeys[child];
+            i = child;
+        }
+        heapNodes[i] = node;
+        heapKeys[i] = key;
+        return top;
+    }
+
+    /**
+     * @return Entrances closed by the last abstract search, 0 if it went straight to the grid
+     */
+    public int getLastExpanded() {
+        return lastExpanded;
+    }
+}
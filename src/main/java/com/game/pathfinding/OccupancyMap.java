@@ -0,0 +1,114 @@
+package com.game.pathfinding;
+
+import com.game.core.Chunk;
+import com.game.core.ChunkListener;
+import com.game.core.World;
+import com.game.core.WorldConfig;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Blocked tiles of every loaded chunk, kept up to date as chunks load and change, for path
+ * searches on any thread.
+ *
+ * Tiles of chunks that are not loaded count as blocked: a search never generates chunks,
+ * whose listeners expect to run on the simulation or render thread.
+ */
+public class OccupancyMap implements ChunkListener {
+    private final World world;
+    private final int chunkSize;
+    private final int chunkCount;
+    private final int worldTiles;
+    private final AtomicReferenceArray<ChunkOccupancy> chunks;
+    private final List<IntConsumer> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Snapshot the chunks loaded so far and follow the world from now on
+     */
+    public OccupancyMap(World world) {
+        WorldConfig config = world.getConfig();
+        this.world = world;
+        this.chunkSize = config.chunkSize();
+        this.chunkCount = config.chunkCount();
+        this.worldTiles = chunkSize * chunkCount;
+        this.chunks = new AtomicReferenceArray<>(chunkCount * chunkCount);
+        world.addChunkListener(this);
+        for (Chunk chunk : world.getChunkCache().values()) {
+            update(chunk);
+        }
+    }
+
+    @Override
+    public void onChunkLoaded(Chunk chunk) {
+        update(chunk);
+    }
+
+    @Override
+    public void onChunkChanged(Chunk chunk) {
+        update(chunk);
+    }
+
+    private void update(Chunk chunk) {
+        int index = chunkIndex(chunk.getChunkX(), chunk.getChunkY());
+        chunks.set(index, ChunkOccupancy.of(chunk));
+        for (IntConsumer listener : changeListeners) {
+            listener.accept(index);
+        }
+    }
+
+    /**
+     * Be told the index ({@code chunkY * chunkCount + chunkX}) of every chunk that was loaded or
+     * whose occupancy changed, after the new snapshot is in place. Called on the thread that
+     * loaded or edited the chunk.
+     */
+    public void addChangeListener(IntConsumer listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Stop following the world
+     */
+    public void detach() {
+        world.removeChunkListener(this);
+    }
+
+    /**
+     * @param tileX World tile column, wrapped into the world
+     * @param tileY World tile row, wrapped into the world
+     */
+    public boolean isBlocked(int tileX, int tileY) {
+        int x = Math.floorMod(tileX, worldTiles);
+        int y = Math.floorMod(tileY, worldTiles);
+        ChunkOccupancy occupancy = chunks.get((y / chunkSize) * chunkCount + x / chunkSize);
+        return occupancy == null || occupancy.isBlocked(x % chunkSize, y % chunkSize);
+    }
+
+    /**
+     * @return Snapshot of a chunk, null if it is not loaded
+     */
+    public ChunkOccupancy get(int chunkX, int chunkY) {
+        return chunks.get(chunkIndex(chunkX, chunkY));
+    }
+
+    private int chunkIndex(int chunkX, int chunkY) {
+        return Math.floorMod(chunkY, chunkCount) * chunkCount + Math.floorMod(chunkX, chunkCount);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * @return Tiles along one edge of the world
+     */
+    public int getWorldTiles() {
+        return worldTiles;
+    }
+}
@@ -0,0 +1,187 @@
+package com.game.pathfinding;
+
+import com.game.core.World;
+import com.game.core.WorldConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds paths for NPCs and click-to-move on worker threads and remembers recent ones.
+ *
+ * Each worker has its own {@link HierarchicalPathfinder}: nearby goals are searched tile by
+ * tile, far ones over the {@link PortalGraph} of chunk entrances, which the workers also
+ * rebuild as chunks load and change. Found paths are cached by start and goal tile, least
+ * recently used first out. When something is placed in or removed from a chunk, every cached
+ * path through it is dropped; paths elsewhere stay, even if the edit opened a shorter way. A
+ * search that overlaps an edit, or runs before the entrances caught up with one, still returns
+ * its path but does not cache it.
+ */
+public class PathfindingService implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PathfindingService.class);
+
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private final OccupancyMap occupancy;
+    private final PortalGraph portals;
+    private final double tileSize;
+    private final int worldTiles;
+    private final ExecutorService executor;
+    private final ThreadLocal<HierarchicalPathfinder> pathfinders;
+    private final Map<Long, TilePath> cache;
+    // Incremented on every chunk edit, to tell whether one happened during a search
+    private final AtomicLong edits = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public PathfindingService(World world, int threads) {
+        this(world, threads, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param threads Worker threads searching in parallel
+     * @param cacheSize Most paths remembered
+     */
+    public PathfindingService(World world, int threads, int cacheSize) {
+        WorldConfig config = world.getConfig();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "pathfinder-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.occupancy = new OccupancyMap(world);
+        // Registered before the cache, so an edit counts as pending before cached paths are dropped
+        this.portals = new PortalGraph(occupancy, executor);
+        this.tileSize = config.tileSize();
+        this.worldTiles = occupancy.getWorldTiles();
+        this.pathfinders = ThreadLocal.withInitial(() -> new HierarchicalPathfinder(portals));
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TilePath> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        occupancy.addChangeListener(this::invalidate);
+
+        logger.info("Pathfinding started with {} threads", threads);
+    }
+
+    /**
+     * Find a path between two points in world pixels on a worker thread
+     * @return Completes with the path, {@link TilePath#NONE} if there is none
+     */
+    public CompletableFuture<TilePath> findPath(double fromX, double fromY, double toX, double toY) {
+        int startX = tileOf(fromX);
+        int startY = tileOf(fromY);
+        int goalX = tileOf(toX);
+        int goalY = tileOf(toY);
+        TilePath cached = cached(startX, startY, goalX, goalY);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return CompletableFuture.supplyAsync(() -> search(startX, startY, goalX, goalY), executor);
+    }
+
+    /**
+     * Find a path between two tiles on the calling thread
+     */
+    public TilePath findTilePath(int startX, int startY, int goalX, int goalY) {
+        TilePath cached = cached(startX, startY, goalX, goalY);
+        return cached != null ? cached : search(startX, startY, goalX, goalY);
+    }
+
+    private TilePath cached(int startX, int startY, int goalX, int goalY) {
+        TilePath path;
+        synchronized (cache) {
+            path = cache.get(key(startX, startY, goalX, goalY));
+        }
+        if (path != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return path;
+    }
+
+    private TilePath search(int startX, int startY, int goalX, int goalY) {
+        long editsBefore = edits.get();
+        boolean current = portals.isCurrent();
+        TilePath path = pathfinders.get().find(startX, startY, goalX, goalY);
+        // Failures are not cached: loading a chunk may open the way
+        if (path.isFound()) {
+            synchronized (cache) {
+                if (current && edits.get() == editsBefore) {
+                    cache.put(key(startX, startY, goalX, goalY), path);
+                }
+            }
+        }
+        return path;
+    }
+
+    private void invalidate(int chunkIndex) {
+        int chunkCount = occupancy.getChunkCount();
+        int chunkSize = occupancy.getChunkSize();
+        int chunkX = chunkIndex % chunkCount;
+        int chunkY = chunkIndex / chunkCount;
+        synchronized (cache) {
+            edits.incrementAndGet();
+            Iterator<TilePath> paths = cache.values().iterator();
+            while (paths.hasNext()) {
+                if (paths.next().crossesChunk(chunkX, chunkY, chunkSize)) {
+                    paths.remove();
+                }
+            }
+        }
+    }
+
+    private long key(int startX, int startY, int goalX, int goalY) {
+        long start = (long) Math.floorMod(startY, worldTiles) * worldTiles + Math.floorMod(startX, worldTiles);
+        long goal = (long) Math.floorMod(goalY, worldTiles) * worldTiles + Math.floorMod(goalX, worldTiles);
+        return start << 32 | goal;
+    }
+
+    private int tileOf(double coordinate) {
+        return Math.floorMod((int) Math.floor(coordinate / tileSize), worldTiles);
+    }
+
+    public OccupancyMap getOccupancy() {
+        return occupancy;
+    }
+
+    public PortalGraph getPortals() {
+        return portals;
+    }
+
+    public int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long getCacheHits() {
+        return hits.get();
+    }
+
+    public long getCacheMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Stop the workers and stop following the world; pending searches and rebuilds still finish
+     */
+    @Override
+    public void close() {
+        occupancy.detach();
+        executor.close();
+        logger.info("Pathfinding stopped");
+    }
+}
@@ -0,0 +1,183 @@
+package com.game.pathfinding;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Entrances between neighbouring chunks and the costs between them inside each chunk, kept for
+ * every loaded chunk as the {@link OccupancyMap} reports loads and edits.
+ *
+ * Along each chunk border, every run of tile pairs free on both sides gets one entrance in its
+ * middle, or one at each end if it is long. When a chunk changes only its own entrances and
+ * costs are rebuilt; a neighbour is rebuilt too only when the border they share got different
+ * entrances, and then only the costs to its new entrances are searched.
+ *
+ * Rebuilds are handed to an executor, so loading or editing a chunk does not wait for them;
+ * until a chunk's portals are built, searches treat it like a chunk that is not loaded. Each
+ * rebuild publishes an immutable {@link ChunkPortals}, so searches never see one half done.
+ */
+public class PortalGraph {
+    // Runs of free border tiles at least this long get an entrance at both ends
+    private static final int LONG_RUN = 6;
+
+    private final OccupancyMap map;
+    private final int chunkSize;
+    private final int chunkCount;
+    private final AtomicReferenceArray<ChunkPortals> portals;
+    private final ChunkSearch search;
+    // Loads and edits whose rebuild has not run yet
+    private final AtomicInteger pending = new AtomicInteger();
+    private long rebuilds;
+
+    /**
+     * Build the chunks the map holds so far and follow it, rebuilding on the thread that
+     * loads or edits chunks
+     */
+    public PortalGraph(OccupancyMap map) {
+        this(map, Runnable::run);
+    }
+
+    /**
+     * Build the chunks the map holds so far and follow it, rebuilding with an executor
+     */
+    public PortalGraph(OccupancyMap map, Executor executor) {
+        this.map = map;
+        this.chunkSize = map.getChunkSize();
+        this.chunkCount = map.getChunkCount();
+        this.portals = new AtomicReferenceArray<>(chunkCount * chunkCount);
+        this.search = new ChunkSearch(chunkSize);
+        synchronized (this) {
+            map.addChangeListener(index -> {
+                pending.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        update(index);
+                    } finally {
+                        pending.decrementAndGet();
+                    }
+                });
+            });
+            for (int index = 0; index < chunkCount * chunkCount; index++) {
+                if (map.get(index % chunkCount, index / chunkCount) != null) {
+                    rebuild(index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuild a chunk whose occupancy changed, and the neighbours whose shared border changed
+     * @param index {@code chunkY * chunkCount + chunkX}
+     */
+    synchronized void update(int index) {
+        rebuild(index);
+        int chunkX = index % chunkCount;
+        int chunkY = index / chunkCount;
+        for (int side = 0; side < ChunkPortals.SIDES; side++) {
+            int neighbourX = Math.floorMod(chunkX + stepX(side), chunkCount);
+            int neighbourY = Math.floorMod(chunkY + stepY(side), chunkCount);
+            int neighbour = neighbourY * chunkCount + neighbourX;
+            ChunkOccupancy occupancy = map.get(neighbourX, neighbourY);
+            if (occupancy == null || neighbour == index) {
+                continue;
+            }
+            int facing = ChunkPortals.opposite(side);
+            ChunkPortals current = portals.get(neighbour);
+            if (current == null || !Arrays.equals(current.offsets(facing), entrances(neighbourX, neighbourY, facing))) {
+                rebuild(neighbour);
+            }
+        }
+    }
+
+    private void rebuild(int index) {
+        int chunkX = index % chunkCount;
+        int chunkY = index / chunkCount;
+        ChunkOccupancy occupancy = map.get(chunkX, chunkY);
+        if (occupancy == null) {
+            portals.set(index, null);
+            return;
+        }
+        int[][] offsets = new int[ChunkPortals.SIDES][];
+        for (int side = 0; side < ChunkPortals.SIDES; side++) {
+            offsets[side] = entrances(chunkX, chunkY, side);
+        }
+        portals.set(index, new ChunkPortals(chunkSize, offsets, occupancy, portals.get(index), search));
+        rebuilds++;
+    }
+
+    /**
+     * Place the entrances on one side of a chunk
+     * @return Their positions along the border
+     */
+    private int[] entrances(int chunkX, int chunkY, int side) {
+        ChunkOccupancy inside = map.get(chunkX, chunkY);
+        ChunkOccupancy across = map.get(chunkX + stepX(side), chunkY + stepY(side));
+        if (inside == null || across == null) {
+            return new int[0];
+        }
+        int[] found = new int[chunkSize];
+        int count = 0;
+        int runStart = -1;
+        for (int offset = 0; offset <= chunkSize; offset++) {
+            boolean open = offset < chunkSize && isOpen(inside, across, side, offset);
+            if (open && runStart < 0) {
+                runStart = offset;
+            } else if (!open && runStart >= 0) {
+                int runEnd = offset - 1;
+                if (runEnd - runStart + 1 >= LONG_RUN) {
+                    found[count++] = runStart;
+                    found[count++] = runEnd;
+                } else {
+                    found[count++] = (runStart + runEnd) / 2;
+                }
+                runStart = -1;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    private boolean isOpen(ChunkOccupancy inside, ChunkOccupancy across, int side, int offset) {
+        int last = chunkSize - 1;
+        return switch (side) {
+            case ChunkPortals.EAST -> !inside.isBlocked(last, offset) && !across.isBlocked(0, offset);
+            case ChunkPortals.WEST -> !inside.isBlocked(0, offset) && !across.isBlocked(last, offset);
+            case ChunkPortals.SOUTH -> !inside.isBlocked(offset, last) && !across.isBlocked(offset, 0);
+            default -> !inside.isBlocked(offset, 0) && !across.isBlocked(offset, last);
+        };
+    }
+
+    static int stepX(int side) {
+        return side == ChunkPortals.EAST ? 1 : side == ChunkPortals.WEST ? -1 : 0;
+    }
+
+    static int stepY(int side) {
+        return side == ChunkPortals.SOUTH ? 1 : side == ChunkPortals.NORTH ? -1 : 0;
+    }
+
+    /**
+     * @return Entrances of a chunk, null if it is not loaded
+     */
+    public ChunkPortals get(int chunkX, int chunkY) {
+        return portals.get(Math.floorMod(chunkY, chunkCount) * chunkCount + Math.floorMod(chunkX, chunkCount));
+    }
+
+    /**
+     * @return Chunks built since the start, for telling how far an edit reached
+     */
+    public synchronized long getRebuildCount() {
+        return rebuilds;
+    }
+
+    /**
+     * @return Whether every load and edit reported so far has been built
+     */
+    public boolean isCurrent() {
+        return pending.get() == 0;
+    }
+
+    public OccupancyMap getOccupancy() {
+        return map;
+    }
+}
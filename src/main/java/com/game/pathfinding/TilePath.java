@@ -0,0 +1,61 @@
+package com.game.pathfinding;
+
+/**
+ * Tiles from a start to a goal, both included, each one step from the previous in one of
+ * eight directions. Tiles are wrapped into the world, so a path crossing the world edge jumps
+ * from the last column or row to the first.
+ */
+public final class TilePath {
+    /**
+     * Result of a search that found no way to the goal
+     */
+    public static final TilePath NONE = new TilePath(new int[0], new int[0], 0);
+
+    private final int[] tileXs;
+    private final int[] tileYs;
+    private final double length;
+
+    TilePath(int[] tileXs, int[] tileYs, double length) {
+        this.tileXs = tileXs;
+        this.tileYs = tileYs;
+        this.length = length;
+    }
+
+    public boolean isFound() {
+        return tileXs.length > 0;
+    }
+
+    /**
+     * @return Number of tiles, 0 if no path was found
+     */
+    public int size() {
+        return tileXs.length;
+    }
+
+    public int getTileX(int index) {
+        return tileXs[index];
+    }
+
+    public int getTileY(int index) {
+        return tileYs[index];
+    }
+
+    /**
+     * @return Length in tiles, diagonal steps counting about 1.4
+     */
+    public double getLength() {
+        return length;
+    }
+
+    /**
+     * @return true if any tile of the path lies in the chunk
+     */
+    public boolean crossesChunk(int chunkX, int chunkY, int chunkSize) {
+        for (int i = 0; i < tileXs.length; i++) {
+            if (tileXs[i] / chunkSize == chunkX && tileYs[i] / chunkSize == chunkY) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.game.rendering;
+
+import com.game.core.Entity;
+
+/**
+ * Global clock shared by all sprite animations.
+ *
+ * Every animation advances one frame per tick. Entities keep no animation state; the
+ * frame an entity shows is the global tick plus a phase offset derived from its hash,
+ * so neighbouring entities of the same type do not move in lockstep.
+ */
+public class AnimationClock {
+    public static final double DEFAULT_FRAMES_PER_SECOND = 8;
+
+    private final double framesPerSecond;
+    private double time;
+    private long tick;
+
+    public AnimationClock() {
+        this(DEFAULT_FRAMES_PER_SECOND);
+    }
+
+    public AnimationClock(double framesPerSecond) {
+        if (!(framesPerSecond > 0)) {
+            throw new IllegalArgumentException("Frames per second must be positive: " + framesPerSecond);
+        }
+        this.framesPerSecond = framesPerSecond;
+    }
+
+    /**
+     * Advance the clock
+     * @param deltaTime Seconds since the last update
+     */
+    public void update(double deltaTime) {
+        time += deltaTime;
+        tick = (long) (time * framesPerSecond);
+    }
+
+    /**
+     * @return Frame of the entity's animation at the current tick, in [0, frameCount)
+     */
+    public int frameFor(Entity entity, int frameCount) {
+        return (int) Math.floorMod(tick + phaseOf(entity), (long) frameCount);
+    }
+
+    /**
+     * @return Non-negative phase offset of the entity, stable for identical entities
+     */
+    static int phaseOf(Entity entity) {
+        // Spread the record hash so entities on a regular grid get unrelated phases
+        int hash = entity.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return Number of frames elapsed since the clock started; changes when animations move
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    public double getFramesPerSecond() {
+        return framesPerSecond;
+    }
+}
@@ -1,16 +1,20 @@
 package com.game.rendering;
 
-import com.game.core.WorldConfig;
+import com.game.core.WorldUtils;
 import javafx.geometry.Point2D;
-import javafx.scene.canvas.GraphicsContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class Camera {
     private static final Logger logger = LoggerFactory.getLogger(Camera.class);
     private static final double ROTATION_SPEED = Math.PI * 0.1;
+    // Share of the remaining distance covered per reference step (the JavaScript version's per-frame lerp at 60 FPS)
+    private static final double FOLLOW_SPEED = 0.1;
+    private static final double FOLLOW_REFERENCE_STEP = 1.0 / 60.0;
     
     private double x, y;
+    // State at the start of the current simulation tick, for interpolation
+    private double previousX, previousY, previousZoom = 1.0, previousRotation;
     private double zoom = 1.0;
     private double targetZoom = 1.0;
     private double rotation = 0.0;
@@ -28,6 +32,36 @@ public class Camera {
         logger.info("Camera initialized: {}x{}", width, height);
     }
     
+    private Camera(Camera source) {
+        copyFrom(source);
+    }
+    
+    /**
+     * @return Independent copy including the state at the start of the current tick
+     */
+    public Camera copy() {
+        return new Camera(this);
+    }
+    
+    /**
+     * Take over another camera's state, including the state at the start of the current tick;
+     * for refilling copies made by {@link #copy()}
+     */
+    public void copyFrom(Camera source) {
+        this.x = source.x;
+        this.y = source.y;
+        this.previousX = source.previousX;
+        this.previousY = source.previousY;
+        this.previousZoom = source.previousZoom;
+        this.previousRotation = source.previousRotation;
+        this.zoom = source.zoom;
+        this.targetZoom = source.targetZoom;
+        this.rotation = source.rotation;
+        this.width = source.width;
+        this.height = source.height;
+        this.mode = source.mode;
+    }
+    
     public void update(double deltaTime) {
         // Smooth zoom interpolation
         double zoomDiff = targetZoom - zoom;
@@ -39,41 +73,51 @@ public class Camera {
         zoom = Math.max(0.1, Math.min(5.0, zoom));
     }
     
-    public void applyTransform(GraphicsContext gc) {
-        gc.save();
+    public void applyTransform(RenderSurface surface) {
+        surface.save();
         
         // Apply camera transformations
-        gc.translate(width / 2, height / 2);
-        gc.scale(zoom, zoom);
+        surface.translate(width / 2, height / 2);
+        surface.scale(zoom, zoom);
         
         if (mode == CameraMode.PLAYER_PERSPECTIVE) {
             // In player-perspective mode, we'll apply rotation in the game render loop
             // based on player angle, so we just translate here
-            gc.translate(-x, -y);
+            surface.translate(-x, -y);
         } else {
             // Fixed-angle mode: apply camera rotation
-            gc.rotate(Math.toDegrees(-rotation));
-            gc.translate(-x, -y);
+            surface.rotate(Math.toDegrees(-rotation));
+            surface.translate(-x, -y);
         }
     }
     
-    public void restoreTransform(GraphicsContext gc) {
-        gc.restore();
+    public void restoreTransform(RenderSurface surface) {
+        surface.restore();
     }
     
-    public void applyPlayerPerspectiveTransform(GraphicsContext gc, double playerAngle) {
+    public void applyPlayerPerspectiveTransform(RenderSurface surface, double playerAngle) {
         if (mode == CameraMode.PLAYER_PERSPECTIVE) {
             // Rotate the entire world around the player's position
             // First translate to player position, rotate, then translate back
-            gc.translate(x, y);
-            gc.rotate(-Math.toDegrees(playerAngle)); // Convert radians to degrees and negate
-            gc.translate(-x, -y);
+            surface.translate(x, y);
+            surface.rotate(-Math.toDegrees(playerAngle)); // Convert radians to degrees and negate
+            surface.translate(-x, -y);
         }
     }
     
+    /**
+     * Move towards the target by one reference step of 1/60 s
+     */
     public void follow(double targetX, double targetY) {
-        // Smooth camera following (like JavaScript implementation)
-        double followSpeed = 0.1; // Same as JavaScript
+        follow(targetX, targetY, FOLLOW_REFERENCE_STEP);
+    }
+    
+    /**
+     * Smooth camera following (like JavaScript implementation). Covers the same share of
+     * the distance per second whatever the step size, so it behaves the same at any tick rate.
+     */
+    public void follow(double targetX, double targetY, double deltaTime) {
+        double followSpeed = 1 - Math.pow(1 - FOLLOW_SPEED, deltaTime / FOLLOW_REFERENCE_STEP);
         double newX = this.x + (targetX - this.x) * followSpeed;
         double newY = this.y + (targetY - this.y) * followSpeed;
         
@@ -81,6 +125,31 @@ public class Camera {
         this.y = newY;
     }
     
+    /**
+     * Remember the current state as the start of the next simulation tick
+     */
+    public void savePrevious() {
+        previousX = x;
+        previousY = y;
+        previousZoom = zoom;
+        previousRotation = rotation;
+    }
+    
+    /**
+     * Set this camera to the state between the source's previous and current tick, for rendering
+     * @param alpha 0 for the previous tick, 1 for the current one
+     */
+    public void interpolate(Camera source, double alpha) {
+        x = source.previousX + (source.x - source.previousX) * alpha;
+        y = source.previousY + (source.y - source.previousY) * alpha;
+        zoom = source.previousZoom + (source.zoom - source.previousZoom) * alpha;
+        targetZoom = source.targetZoom;
+        rotation = WorldUtils.interpolateAngle(source.previousRotation, source.rotation, alpha);
+        mode = source.mode;
+        width = source.width;
+        height = source.height;
+    }
+    
     public void setZoom(double zoom) {
         this.targetZoom = Math.max(0.1, Math.min(5.0, zoom));
     }
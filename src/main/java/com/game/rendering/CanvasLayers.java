@@ -0,0 +1,154 @@
+package com.game.rendering;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.StackPane;
+
+/**
+ * Stack of transparent canvases the game is drawn on, bottom to top.
+ *
+ * Keeping rarely changing content on its own canvas lets the renderer redraw
+ * only the layers that changed, e.g. moving the mouse repaints the dynamic
+ * overlay while the world layer keeps its pixels.
+ *
+ * The world and dynamic layers can be rendered at a lower internal resolution: their
+ * canvases shrink by the resolution scale and are stretched back to full size by the
+ * scene graph. Their graphics contexts carry a matching base transform, so callers
+ * always draw in full-size coordinates. The HUD stays at native resolution.
+ */
+public class CanvasLayers {
+
+    /**
+     * Canvas layers in drawing order
+     */
+    public enum Layer {
+        // Background, grid and entities; redrawn on camera or chunk changes
+        WORLD(true),
+        // Player marker, grid highlight and effects
+        DYNAMIC(true),
+        // Heads-up display text
+        HUD(false);
+
+        private final boolean scaled;
+
+        Layer(boolean scaled) {
+            this.scaled = scaled;
+        }
+
+        /**
+         * @return true if the layer follows the internal resolution scale
+         */
+        public boolean isScaled() {
+            return scaled;
+        }
+    }
+
+    private final StackPane container;
+    private final Canvas[] canvases;
+    private final GraphicsContext[] contexts;
+    private final RenderSurface[] surfaces;
+    private double width;
+    private double height;
+    private double resolutionScale = 1.0;
+
+    public CanvasLayers(double width, double height) {
+        Layer[] layers = Layer.values();
+        this.canvases = new Canvas[layers.length];
+        this.contexts = new GraphicsContext[layers.length];
+        this.surfaces = new RenderSurface[layers.length];
+        this.container = new StackPane();
+        this.width = width;
+        this.height = height;
+        for (Layer layer : layers) {
+            Canvas canvas = new Canvas(width, height);
+            // Input is handled by the container, not the individual layers
+            canvas.setMouseTransparent(true);
+            canvases[layer.ordinal()] = canvas;
+            contexts[layer.ordinal()] = canvas.getGraphicsContext2D();
+            surfaces[layer.ordinal()] = new FxRenderSurface(contexts[layer.ordinal()]);
+            container.getChildren().add(canvas);
+        }
+    }
+
+    public GraphicsContext getGraphicsContext(Layer layer) {
+        return contexts[layer.ordinal()];
+    }
+
+    /**
+     * @return Render surface drawing on the layer's canvas
+     */
+    public RenderSurface getSurface(Layer layer) {
+        return surfaces[layer.ordinal()];
+    }
+
+    public Canvas getCanvas(Layer layer) {
+        return canvases[layer.ordinal()];
+    }
+
+    /**
+     * @return The node holding all layers, to be placed in the scene graph
+     */
+    public StackPane getContainer() {
+        return container;
+    }
+
+    public void resize(double width, double height) {
+        this.width = width;
+        this.height = height;
+        applySize();
+    }
+
+    /**
+     * Render the scaled layers at a fraction of the native resolution
+     * @param scale Internal resolution, 1 for native
+     */
+    public void setResolutionScale(double scale) {
+        if (scale != resolutionScale) {
+            resolutionScale = scale;
+            applySize();
+        }
+    }
+
+    public double getResolutionScale() {
+        return resolutionScale;
+    }
+
+    private void applySize() {
+        for (Layer layer : Layer.values()) {
+            Canvas canvas = canvases[layer.ordinal()];
+            double scale = layer.isScaled() ? resolutionScale : 1.0;
+            double canvasWidth = Math.max(1, Math.ceil(width * scale));
+            double canvasHeight = Math.max(1, Math.ceil(height * scale));
+            canvas.setWidth(canvasWidth);
+            canvas.setHeight(canvasHeight);
+
+            // Stretch the canvas back to full size around its center, where the StackPane puts it
+            double scaleX = width > 0 ? canvasWidth / width : 1.0;
+            double scaleY = height > 0 ? canvasHeight / height : 1.0;
+            canvas.setScaleX(1 / scaleX);
+            canvas.setScaleY(1 / scaleY);
+            contexts[layer.ordinal()].setTransform(scaleX, 0, 0, scaleY, 0, 0);
+        }
+    }
+
+    /**
+     * Make a layer fully transparent
+     */
+    public void clear(Layer layer) {
+        contexts[layer.ordinal()].clearRect(0, 0, width, height);
+    }
+
+    /**
+     * @return Width in full-size coordinates, independent of the resolution scale
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * @return Height in full-size coordinates, independent of the resolution scale
+     */
+    public double getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,127 @@
+package com.game.rendering;
+
+import com.game.core.Chunk;
+import com.game.core.Entity;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-chunk density textures for the most zoomed-out level of detail.
+ *
+ * Each texture has one pixel per tile, colored by the entity occupying it, so a whole
+ * chunk is drawn with a single scaled {@code drawImage}. Textures are rebuilt only when
+ * the chunk version changes and the least recently drawn ones are evicted. Creating and
+ * filling the textures is left to an {@link Uploader}, so the cache itself needs no toolkit.
+ *
+ * @param <T> Texture type of the drawing toolkit
+ */
+public class ChunkDensityCache<T> {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final int tilesPerChunk;
+    private final int tileSize;
+    private final LodPolicy lodPolicy;
+    private final Uploader<T> uploader;
+    private final Map<Chunk, Entry<T>> textures;
+
+    // Reused scratch buffer for building textures
+    private final int[] pixels;
+
+    public ChunkDensityCache(int tilesPerChunk, int tileSize, LodPolicy lodPolicy, Uploader<T> uploader) {
+        this(tilesPerChunk, tileSize, lodPolicy, uploader, DEFAULT_CAPACITY);
+    }
+
+    public ChunkDensityCache(int tilesPerChunk, int tileSize, LodPolicy lodPolicy, Uploader<T> uploader, int capacity) {
+        this.tilesPerChunk = tilesPerChunk;
+        this.tileSize = tileSize;
+        this.lodPolicy = lodPolicy;
+        this.uploader = uploader;
+        this.pixels = new int[tilesPerChunk * tilesPerChunk];
+        this.textures = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chunk, Entry<T>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return The density texture for the chunk, rebuilt if the chunk changed
+     */
+    public T getTexture(Chunk chunk) {
+        Entry<T> entry = textures.get(chunk);
+        if (entry == null || entry.version != chunk.getVersion()) {
+            if (entry == null) {
+                entry = new Entry<>(uploader.create(tilesPerChunk));
+                textures.put(chunk, entry);
+            }
+            entry.version = chunk.getVersion();
+            buildPixels(chunk, pixels);
+            uploader.upload(entry.texture, pixels, tilesPerChunk);
+        }
+        return entry.texture;
+    }
+
+    /**
+     * Rasterize the chunk's entities into one ARGB pixel per tile
+     */
+    void buildPixels(Chunk chunk, int[] out) {
+        Arrays.fill(out, 0, tilesPerChunk * tilesPerChunk, 0);
+        double originX = (double) chunk.getChunkX() * tilesPerChunk * tileSize;
+        double originY = (double) chunk.getChunkY() * tilesPerChunk * tileSize;
+
+        for (Entity entity : chunk.getEntities()) {
+            if (!lodPolicy.isIncludedInDensity(entity.type())) {
+                continue;
+            }
+            int tileX = (int) ((entity.x() - originX) / tileSize);
+            int tileY = (int) ((entity.y() - originY) / tileSize);
+            if (tileX >= 0 && tileX < tilesPerChunk && tileY >= 0 && tileY < tilesPerChunk) {
+                out[tileY * tilesPerChunk + tileX] = densityColor(entity.type());
+            }
+        }
+    }
+
+    /**
+     * @return ARGB color representing an entity type in density textures and quads
+     */
+    static int densityColor(String entityType) {
+        return switch (entityType) {
+            case "tree" -> 0xFF228B22; // Forest green
+            case "rock" -> 0xFF808080; // Gray
+            case "grass" -> 0xFF7CFC00; // Lawn green
+            case "torch" -> 0xFFFFA000; // Amber
+            default -> 0xFFFF00FF; // Magenta for unknown types
+        };
+    }
+
+    public int size() {
+        return textures.size();
+    }
+
+    public void clear() {
+        textures.clear();
+    }
+
+    /**
+     * Creates and fills square textures of one pixel per tile
+     */
+    public interface Uploader<T> {
+        T create(int size);
+
+        /**
+         * @param pixels ARGB pixels, row by row
+         */
+        void upload(T texture, int[] pixels, int size);
+    }
+
+    private static final class Entry<T> {
+        private final T texture;
+        private int version = -1;
+
+        private Entry(T texture) {
+            this.texture = texture;
+        }
+    }
+}
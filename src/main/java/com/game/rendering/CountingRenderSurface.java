@@ -0,0 +1,237 @@
+package com.game.rendering;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+/**
+ * Render surface that counts draw calls and state changes, optionally forwarding them
+ * to another surface. Without a delegate it draws nothing, which isolates the CPU cost
+ * of the render code from the cost of rasterizing.
+ */
+public class CountingRenderSurface implements RenderSurface {
+    private RenderSurface delegate;
+
+    private long fillCalls;
+    private long strokeCalls;
+    private long imageCalls;
+    private long textCalls;
+    private long stateChanges;
+    private boolean smoothing = true;
+
+    /**
+     * Count only, nothing is drawn
+     */
+    public CountingRenderSurface() {
+        this(null);
+    }
+
+    /**
+     * Count and forward every call to the given surface
+     */
+    public CountingRenderSurface(RenderSurface delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void save() {
+        if (delegate != null) {
+            delegate.save();
+        }
+    }
+
+    @Override
+    public void restore() {
+        if (delegate != null) {
+            delegate.restore();
+        }
+    }
+
+    @Override
+    public void translate(double x, double y) {
+        if (delegate != null) {
+            delegate.translate(x, y);
+        }
+    }
+
+    @Override
+    public void scale(double x, double y) {
+        if (delegate != null) {
+            delegate.scale(x, y);
+        }
+    }
+
+    @Override
+    public void rotate(double degrees) {
+        if (delegate != null) {
+            delegate.rotate(degrees);
+        }
+    }
+
+    @Override
+    public void setFill(Color color) {
+        stateChanges++;
+        if (delegate != null) {
+            delegate.setFill(color);
+        }
+    }
+
+    @Override
+    public void setStroke(Color color) {
+        stateChanges++;
+        if (delegate != null) {
+            delegate.setStroke(color);
+        }
+    }
+
+    @Override
+    public void setLineWidth(double width) {
+        stateChanges++;
+        if (delegate != null) {
+            delegate.setLineWidth(width);
+        }
+    }
+
+    @Override
+    public void setFont(String family, double size) {
+        stateChanges++;
+        if (delegate != null) {
+            delegate.setFont(family, size);
+        }
+    }
+
+    @Override
+    public void setImageSmoothing(boolean smoothing) {
+        stateChanges++;
+        this.smoothing = smoothing;
+        if (delegate != null) {
+            delegate.setImageSmoothing(smoothing);
+        }
+    }
+
+    @Override
+    public boolean isImageSmoothing() {
+        return delegate != null ? delegate.isImageSmoothing() : smoothing;
+    }
+
+    @Override
+    public void clearRect(double x, double y, double width, double height) {
+        fillCalls++;
+        if (delegate != null) {
+            delegate.clearRect(x, y, width, height);
+        }
+    }
+
+    @Override
+    public void fillRect(double x, double y, double width, double height) {
+        fillCalls++;
+        if (delegate != null) {
+            delegate.fillRect(x, y, width, height);
+        }
+    }
+
+    @Override
+    public void fillOval(double x, double y, double width, double height) {
+        fillCalls++;
+        if (delegate != null) {
+            delegate.fillOval(x, y, width, height);
+        }
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double width, double height) {
+        strokeCalls++;
+        if (delegate != null) {
+            delegate.strokeRect(x, y, width, height);
+        }
+    }
+
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) {
+        strokeCalls++;
+        if (delegate != null) {
+            delegate.strokeLine(x1, y1, x2, y2);
+        }
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        textCalls++;
+        if (delegate != null) {
+            delegate.fillText(text, x, y);
+        }
+    }
+
+    @Override
+    public void fillTextBlock(String[] lines, double x, double firstBaseline, double lineHeight) {
+        textCalls++;
+        if (delegate != null) {
+            delegate.fillTextBlock(lines, x, firstBaseline, lineHeight);
+        }
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y) {
+        imageCalls++;
+        if (delegate != null) {
+            delegate.drawImage(image, x, y);
+        }
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y, double width, double height) {
+        imageCalls++;
+        if (delegate != null) {
+            delegate.drawImage(image, x, y, width, height);
+        }
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh,
+                          double dx, double dy, double dw, double dh) {
+        imageCalls++;
+        if (delegate != null) {
+            delegate.drawImage(image, sx, sy, sw, sh, dx, dy, dw, dh);
+        }
+    }
+
+    @Override
+    public void fillPattern(Image image, double tileX, double tileY, double tileWidth, double tileHeight,
+                            double x, double y, double width, double height) {
+        fillCalls++;
+        if (delegate != null) {
+            delegate.fillPattern(image, tileX, tileY, tileWidth, tileHeight, x, y, width, height);
+        }
+    }
+
+    /**
+     * Forward subsequent calls to another surface, or to none
+     */
+    public void setDelegate(RenderSurface delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Reset all counters, e.g. at the start of a frame
+     */
+    public void reset() {
+        fillCalls = 0;
+        strokeCalls = 0;
+        imageCalls = 0;
+        textCalls = 0;
+        stateChanges = 0;
+    }
+
+    /**
+     * @return Fill, stroke, image and text calls since the last reset
+     */
+    public long getDrawCalls() {
+        return fillCalls + strokeCalls + imageCalls + textCalls;
+    }
+
+    // Getters
+    public long getFillCalls() { return fillCalls; }
+    public long getStrokeCalls() { return strokeCalls; }
+    public long getImageCalls() { return imageCalls; }
+    public long getTextCalls() { return textCalls; }
+    public long getStateChanges() { return stateChanges; }
+}
@@ -0,0 +1,171 @@
+package com.game.rendering;
+
+import com.game.core.Chunk;
+import com.game.core.Entity;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders entities of the visible chunks back to front by world y.
+ *
+ * Each chunk's entities are counting-sorted by pixel row once and the order is cached
+ * until the chunk version changes. Chunks of the same row overlap in y and are merged;
+ * chunk rows follow each other in y order, so the output is the concatenation of the
+ * merged rows. All buffers are reused between frames.
+ */
+public class DepthSorter {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private final int chunkPixelSize;
+    private final Map<Chunk, Entry> orders;
+
+    // Counting sort buckets, one per pixel row of a chunk
+    private final int[] counts;
+
+    // Chunks of the row being collected
+    private Chunk[] rowChunks = new Chunk[8];
+    private int[][] rowOrders = new int[8][];
+    private int[] heads = new int[8];
+    private int rowCount;
+
+    // Sorted output
+    private Entity[] sorted = new Entity[256];
+    private int size;
+
+    public DepthSorter(int chunkPixelSize) {
+        this(chunkPixelSize, DEFAULT_CAPACITY);
+    }
+
+    public DepthSorter(int chunkPixelSize, int capacity) {
+        this.chunkPixelSize = chunkPixelSize;
+        this.counts = new int[chunkPixelSize + 1];
+        this.orders = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chunk, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Start a new frame
+     */
+    public void clear() {
+        size = 0;
+        rowCount = 0;
+    }
+
+    /**
+     * Add a chunk of the current chunk row. All chunks of a row must be added before
+     * {@link #endRow()}, and rows must be added from top to bottom.
+     */
+    public void addChunk(Chunk chunk) {
+        if (rowCount == rowChunks.length) {
+            rowChunks = Arrays.copyOf(rowChunks, rowCount * 2);
+            rowOrders = Arrays.copyOf(rowOrders, rowCount * 2);
+            heads = new int[rowCount * 2];
+        }
+        rowChunks[rowCount] = chunk;
+        rowOrders[rowCount] = orderFor(chunk);
+        rowCount++;
+    }
+
+    /**
+     * Merge the chunks of the current row into the sorted output
+     */
+    public void endRow() {
+        int total = 0;
+        for (int i = 0; i < rowCount; i++) {
+            heads[i] = 0;
+            total += rowOrders[i].length;
+        }
+        ensureCapacity(size + total);
+
+        // k-way merge; k is the number of visible chunk columns, so a linear scan is cheapest
+        for (int n = 0; n < total; n++) {
+            int best = -1;
+            double bestY = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < rowCount; i++) {
+                int[] order = rowOrders[i];
+                if (heads[i] < order.length) {
+                    double y = rowChunks[i].getEntities().get(order[heads[i]]).y();
+                    if (y < bestY) {
+                        bestY = y;
+                        best = i;
+                    }
+                }
+            }
+            sorted[size++] = rowChunks[best].getEntities().get(rowOrders[best][heads[best]++]);
+        }
+
+        for (int i = 0; i < rowCount; i++) {
+            rowChunks[i] = null;
+        }
+        rowCount = 0;
+    }
+
+    /**
+     * @return Indices into the chunk's entity list ordered by world y, cached per chunk version
+     */
+    int[] orderFor(Chunk chunk) {
+        Entry entry = orders.get(chunk);
+        if (entry != null && entry.version == chunk.getVersion()) {
+            return entry.order;
+        }
+
+        List<Entity> entities = chunk.getEntities();
+        int[] order = entry != null && entry.order.length == entities.size()
+            ? entry.order : new int[entities.size()];
+
+        // Counting sort by pixel row within the chunk; stable, so ties keep insertion order
+        double originY = (double) chunk.getChunkY() * chunkPixelSize;
+        Arrays.fill(counts, 0);
+        for (Entity entity : entities) {
+            counts[rowOf(entity, originY) + 1]++;
+        }
+        for (int row = 1; row < counts.length; row++) {
+            counts[row] += counts[row - 1];
+        }
+        for (int i = 0; i < entities.size(); i++) {
+            order[counts[rowOf(entities.get(i), originY)]++] = i;
+        }
+
+        if (entry == null) {
+            entry = new Entry();
+            orders.put(chunk, entry);
+        }
+        entry.order = order;
+        entry.version = chunk.getVersion();
+        return order;
+    }
+
+    private int rowOf(Entity entity, double originY) {
+        int row = (int) Math.floor(entity.y() - originY);
+        return Math.max(0, Math.min(chunkPixelSize - 1, row));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (sorted.length < capacity) {
+            sorted = Arrays.copyOf(sorted, Math.max(capacity, sorted.length * 2));
+        }
+    }
+
+    /**
+     * @return Number of entities sorted this frame
+     */
+    public int size() {
+        return size;
+    }
+
+    public Entity get(int index) {
+        return sorted[index];
+    }
+
+    private static final class Entry {
+        private int[] order;
+        private int version = -1;
+    }
+}
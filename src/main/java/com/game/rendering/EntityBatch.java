@@ -0,0 +1,98 @@
+package com.game.rendering;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * What the world pass draws for the visible entities, in draw order, as flat arrays so
+ * it can be handed to another thread. Each entry is a rect in world coordinates, drawn
+ * with its raster or, without one, filled with its ARGB color. Filled on the JavaFX thread
+ * by {@link Renderer#collectWorldEntities} and reused from frame to frame.
+ */
+final class EntityBatch {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private BufferedImage[] rasters = new BufferedImage[DEFAULT_CAPACITY];
+    private int[] colors = new int[DEFAULT_CAPACITY];
+    // x, y, width, height per entry
+    private double[] bounds = new double[DEFAULT_CAPACITY * 4];
+    private int size;
+
+    void clear() {
+        // Drop the raster references, the slots are overwritten anyway
+        Arrays.fill(rasters, 0, size, null);
+        size = 0;
+    }
+
+    void add(BufferedImage raster, int color, double x, double y, double width, double height) {
+        if (size == colors.length) {
+            grow(size * 2);
+        }
+        rasters[size] = raster;
+        colors[size] = color;
+        int offset = size * 4;
+        bounds[offset] = x;
+        bounds[offset + 1] = y;
+        bounds[offset + 2] = width;
+        bounds[offset + 3] = height;
+        size++;
+    }
+
+    private void grow(int capacity) {
+        rasters = Arrays.copyOf(rasters, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+        bounds = Arrays.copyOf(bounds, capacity * 4);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return The raster of an entry, or null if it is a flat colored rect
+     */
+    BufferedImage raster(int index) {
+        return rasters[index];
+    }
+
+    int color(int index) {
+        return colors[index];
+    }
+
+    double x(int index) {
+        return bounds[index * 4];
+    }
+
+    double y(int index) {
+        return bounds[index * 4 + 1];
+    }
+
+    double width(int index) {
+        return bounds[index * 4 + 2];
+    }
+
+    double height(int index) {
+        return bounds[index * 4 + 3];
+    }
+
+    /**
+     * @return true if both batches draw the same rects with the same rasters and colors
+     */
+    boolean sameAs(EntityBatch other) {
+        return size == other.size
+            && Arrays.equals(colors, 0, size, other.colors, 0, size)
+            && Arrays.equals(bounds, 0, size * 4, other.bounds, 0, size * 4)
+            && Arrays.equals(rasters, 0, size, other.rasters, 0, size);
+    }
+
+    void copyFrom(EntityBatch other) {
+        clear();
+        if (colors.length < other.size) {
+            grow(other.colors.length);
+        }
+        System.arraycopy(other.rasters, 0, rasters, 0, other.size);
+        System.arraycopy(other.colors, 0, colors, 0, other.size);
+        System.arraycopy(other.bounds, 0, bounds, 0, other.size * 4);
+        size = other.size;
+    }
+}
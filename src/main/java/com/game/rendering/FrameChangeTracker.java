@@ -0,0 +1,161 @@
+package com.game.rendering;
+
+import com.game.core.Player;
+
+/**
+ * Decides which canvas layers need to be redrawn by comparing the visible game state
+ * against the state at the last redraw.
+ *
+ * Small camera drift (e.g. the tail of the follow interpolation) is ignored until it
+ * adds up to a visible amount on screen. Animations and effects request their frames
+ * with {@link #requestRedraw()} or {@link #requestOverlay()}.
+ */
+public class FrameChangeTracker {
+
+    /**
+     * What has to be redrawn for the current frame, each level including the ones before it
+     */
+    public enum FrameChange {
+        NONE,
+        // HUD layer only
+        HUD_ONLY,
+        // Dynamic overlay (player marker, grid highlight) and HUD
+        OVERLAY,
+        // All layers, including the world
+        FULL
+    }
+
+    // Smallest on-screen movement in pixels that counts as a visible change
+    private static final double SCREEN_EPSILON = 0.25;
+    private static final double ZOOM_EPSILON = 0.0005;
+    private static final double ANGLE_EPSILON = 0.0005;
+
+    // State at the last full redraw
+    private double width, height;
+    private double cameraX, cameraY, zoom, rotation;
+    private Camera.CameraMode mode;
+    private boolean gridVisible;
+    private long worldVersion;
+
+    // State at the last overlay redraw
+    private double playerAngle;
+    private double mouseX, mouseY;
+
+    // HUD content version at the last HUD redraw
+    private long hudVersion;
+
+    private boolean redrawRequested = true;
+    private boolean overlayRequested;
+
+    private long fullFrames;
+    private long overlayFrames;
+    private long hudFrames;
+    private long skippedFrames;
+
+    /**
+     * Compare the current state against the last redraw and record the result.
+     * When a redraw is needed the current state becomes the new baseline.
+     */
+    public FrameChange evaluate(double width, double height, Camera camera, Player player,
+                                GridHighlightSystem highlight, boolean gridVisible, long worldVersion,
+                                long hudVersion) {
+        if (redrawRequested || worldChanged(width, height, camera, player, gridVisible, worldVersion)) {
+            redrawRequested = false;
+            overlayRequested = false;
+            this.width = width;
+            this.height = height;
+            this.cameraX = camera.getX();
+            this.cameraY = camera.getY();
+            this.zoom = camera.getZoom();
+            this.rotation = camera.getRotation();
+            this.mode = camera.getMode();
+            this.gridVisible = gridVisible;
+            this.worldVersion = worldVersion;
+            captureOverlay(player, highlight);
+            this.hudVersion = hudVersion;
+            fullFrames++;
+            return FrameChange.FULL;
+        }
+
+        if (overlayRequested || overlayChanged(player, highlight)) {
+            overlayRequested = false;
+            captureOverlay(player, highlight);
+            this.hudVersion = hudVersion;
+            overlayFrames++;
+            return FrameChange.OVERLAY;
+        }
+
+        if (hudVersion != this.hudVersion) {
+            this.hudVersion = hudVersion;
+            hudFrames++;
+            return FrameChange.HUD_ONLY;
+        }
+
+        skippedFrames++;
+        return FrameChange.NONE;
+    }
+
+    private boolean worldChanged(double width, double height, Camera camera, Player player,
+                                 boolean gridVisible, long worldVersion) {
+        double currentZoom = camera.getZoom();
+        return width != this.width
+            || height != this.height
+            || mode != camera.getMode()
+            || gridVisible != this.gridVisible
+            || worldVersion != this.worldVersion
+            || Math.abs(currentZoom - zoom) > ZOOM_EPSILON
+            || Math.abs(camera.getRotation() - rotation) > ANGLE_EPSILON
+            // The world rotates with the player in perspective mode
+            || (mode == Camera.CameraMode.PLAYER_PERSPECTIVE
+                && Math.abs(player.getAngle() - playerAngle) > ANGLE_EPSILON)
+            || Math.abs(camera.getX() - cameraX) * currentZoom > SCREEN_EPSILON
+            || Math.abs(camera.getY() - cameraY) * currentZoom > SCREEN_EPSILON;
+    }
+
+    private boolean overlayChanged(Player player, GridHighlightSystem highlight) {
+        return Math.abs(player.getAngle() - playerAngle) > ANGLE_EPSILON
+            || highlight.getMouseX() != mouseX
+            || highlight.getMouseY() != mouseY;
+    }
+
+    private void captureOverlay(Player player, GridHighlightSystem highlight) {
+        playerAngle = player.getAngle();
+        mouseX = highlight.getMouseX();
+        mouseY = highlight.getMouseY();
+    }
+
+    /**
+     * Force the next frame to be fully redrawn
+     */
+    public void requestRedraw() {
+        redrawRequested = true;
+    }
+
+    /**
+     * Redraw at least the overlay layers on the next frame, e.g. for moving particles
+     */
+    public void requestOverlay() {
+        overlayRequested = true;
+    }
+
+    // Statistics
+    public long getFullFrames() { return fullFrames; }
+    public long getOverlayFrames() { return overlayFrames; }
+    public long getHudFrames() { return hudFrames; }
+    public long getSkippedFrames() { return skippedFrames; }
+
+    /**
+     * @return One line summarizing the frame counts, e.g. for the performance report
+     */
+    public String summaryLine() {
+        return String.format("Redraws: %d full, %d overlay, %d HUD only, %d skipped",
+                             fullFrames, overlayFrames, hudFrames, skippedFrames);
+    }
+
+    public void resetStatistics() {
+        fullFrames = 0;
+        overlayFrames = 0;
+        hudFrames = 0;
+        skippedFrames = 0;
+    }
+}
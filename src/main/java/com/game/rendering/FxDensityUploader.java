@@ -0,0 +1,20 @@
+package com.game.rendering;
+
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Density textures as JavaFX images, filled through their pixel writer
+ */
+public class FxDensityUploader implements ChunkDensityCache.Uploader<WritableImage> {
+
+    @Override
+    public WritableImage create(int size) {
+        return new WritableImage(size, size);
+    }
+
+    @Override
+    public void upload(WritableImage texture, int[] pixels, int size) {
+        texture.getPixelWriter().setPixels(0, 0, size, size, PixelFormat.getIntArgbInstance(), pixels, 0, size);
+    }
+}
@@ -0,0 +1,195 @@
+package com.game.rendering;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Render surface drawing on a JavaFX canvas. Must be used on the JavaFX application thread.
+ */
+public class FxRenderSurface implements RenderSurface {
+    private final GraphicsContext gc;
+
+    // Static text blocks rendered once into transparent images
+    private final Map<String[], TextBlock> textBlocks = new IdentityHashMap<>();
+
+    // Last pattern, rebuilt when the image or the tile changes
+    private ImagePattern pattern;
+    private Image patternImage;
+    private double patternX, patternY, patternWidth, patternHeight;
+
+    private Font font;
+    private String fontFamily;
+    private double fontSize;
+    private Color fill = Color.BLACK;
+
+    public FxRenderSurface(GraphicsContext gc) {
+        this.gc = gc;
+    }
+
+    @Override
+    public void save() {
+        gc.save();
+    }
+
+    @Override
+    public void restore() {
+        gc.restore();
+        fill = gc.getFill() instanceof Color color ? color : fill;
+    }
+
+    @Override
+    public void translate(double x, double y) {
+        gc.translate(x, y);
+    }
+
+    @Override
+    public void scale(double x, double y) {
+        gc.scale(x, y);
+    }
+
+    @Override
+    public void rotate(double degrees) {
+        gc.rotate(degrees);
+    }
+
+    @Override
+    public void setFill(Color color) {
+        fill = color;
+        gc.setFill(color);
+    }
+
+    @Override
+    public void setStroke(Color color) {
+        gc.setStroke(color);
+    }
+
+    @Override
+    public void setLineWidth(double width) {
+        gc.setLineWidth(width);
+    }
+
+    @Override
+    public void setFont(String family, double size) {
+        if (font == null || !family.equals(fontFamily) || size != fontSize) {
+            font = Font.font(family, size);
+            fontFamily = family;
+            fontSize = size;
+        }
+        gc.setFont(font);
+    }
+
+    @Override
+    public void setImageSmoothing(boolean smoothing) {
+        gc.setImageSmoothing(smoothing);
+    }
+
+    @Override
+    public boolean isImageSmoothing() {
+        return gc.isImageSmoothing();
+    }
+
+    @Override
+    public void clearRect(double x, double y, double width, double height) {
+        gc.clearRect(x, y, width, height);
+    }
+
+    @Override
+    public void fillRect(double x, double y, double width, double height) {
+        gc.fillRect(x, y, width, height);
+    }
+
+    @Override
+    public void fillOval(double x, double y, double width, double height) {
+        gc.fillOval(x, y, width, height);
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double width, double height) {
+        gc.strokeRect(x, y, width, height);
+    }
+
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) {
+        gc.strokeLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        gc.fillText(text, x, y);
+    }
+
+    @Override
+    public void fillTextBlock(String[] lines, double x, double firstBaseline, double lineHeight) {
+        TextBlock block = textBlocks.get(lines);
+        if (block == null || block.fill != fill || block.font != font || block.lineHeight != lineHeight) {
+            block = new TextBlock(renderTextBlock(lines, lineHeight), fill, font, lineHeight);
+            textBlocks.put(lines, block);
+        }
+        // The image starts one line above the first baseline
+        gc.drawImage(block.image, x, firstBaseline - lineHeight);
+    }
+
+    private Image renderTextBlock(String[] lines, double lineHeight) {
+        double width = 1;
+        for (String line : lines) {
+            Text text = new Text(line);
+            text.setFont(font);
+            width = Math.max(width, text.getLayoutBounds().getWidth());
+        }
+        Canvas canvas = new Canvas(Math.ceil(width) + 2, lines.length * lineHeight + 4);
+        GraphicsContext blockGc = canvas.getGraphicsContext2D();
+        blockGc.setFill(fill);
+        blockGc.setFont(font);
+        for (int i = 0; i < lines.length; i++) {
+            blockGc.fillText(lines[i], 0, (i + 1) * lineHeight);
+        }
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        return canvas.snapshot(parameters, null);
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y) {
+        gc.drawImage(image, x, y);
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y, double width, double height) {
+        gc.drawImage(image, x, y, width, height);
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh,
+                          double dx, double dy, double dw, double dh) {
+        gc.drawImage(image, sx, sy, sw, sh, dx, dy, dw, dh);
+    }
+
+    @Override
+    public void fillPattern(Image image, double tileX, double tileY, double tileWidth, double tileHeight,
+                            double x, double y, double width, double height) {
+        if (image != patternImage || tileX != patternX || tileY != patternY
+                || tileWidth != patternWidth || tileHeight != patternHeight) {
+            pattern = new ImagePattern(image, tileX, tileY, tileWidth, tileHeight, false);
+            patternImage = image;
+            patternX = tileX;
+            patternY = tileY;
+            patternWidth = tileWidth;
+            patternHeight = tileHeight;
+        }
+        gc.setFill(pattern);
+        gc.fillRect(x, y, width, height);
+        gc.setFill(fill);
+    }
+
+    private record TextBlock(Image image, Color fill, Font font, double lineHeight) {
+    }
+}
@@ -1,7 +1,6 @@
 package com.game.rendering;
 
 import javafx.geometry.Point2D;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,7 +26,12 @@ public class GridHighlightSystem {
         this.highlightEnabled = enabled;
     }
     
-    public void drawGridHighlight(GraphicsContext gc, Camera camera, double playerAngle) {
+    public double getMouseX() { return mouseX; }
+    public double getMouseY() { return mouseY; }
+    public double getGridSize() { return gridSize; }
+    public boolean isHighlightEnabled() { return highlightEnabled; }
+    
+    public void drawGridHighlight(RenderSurface surface, Camera camera, double playerAngle) {
         if (!highlightEnabled) return;
         
         // Use camera's screenToWorld method (like JavaScript implementation)
@@ -49,9 +53,9 @@ public class GridHighlightSystem {
         
                 // Debug logging removed for performance
         
-        gc.setStroke(Color.YELLOW);
-        gc.setLineWidth(2);
-        gc.strokeRect(worldCellX, worldCellY, gridSize, gridSize);
+        surface.setStroke(Color.YELLOW);
+        surface.setLineWidth(2);
+        surface.strokeRect(worldCellX, worldCellY, gridSize, gridSize);
     }
     
 
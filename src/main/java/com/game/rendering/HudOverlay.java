@@ -0,0 +1,163 @@
+package com.game.rendering;
+
+import com.game.core.Player;
+import javafx.scene.paint.Color;
+
+/**
+ * Heads-up display text with cached content.
+ *
+ * The dynamic lines are formatted into a reusable {@link StringBuilder} and only rebuilt
+ * when a shown value changes, at most at the configured refresh rate. Static lines are
+ * drawn as text blocks, which the surface renders into images once, so drawing the HUD
+ * does not allocate per frame.
+ */
+public class HudOverlay {
+    public static final double DEFAULT_REFRESH_RATE = 10.0;
+
+    private static final double LEFT = 10;
+    private static final double LINE_HEIGHT = 15;
+    private static final double FIRST_BASELINE = 20;
+    private static final String FONT_FAMILY = "Arial";
+    private static final double FONT_SIZE = 12;
+    private static final String[] CONTROL_LINES = {
+        "WASD: Move, P: Toggle Camera, Mouse Wheel: Zoom",
+        "E: Interact, G: Toggle Grid, M: Minimap, L: Toggle Logs"
+    };
+    private static final String[] INTERACTING_LINES = {"INTERACTING"};
+    private static final long[] POW10 = {1, 10, 100, 1000, 10000};
+
+    private long refreshIntervalNanos;
+    private boolean initialized;
+    private long lastRefreshNanos;
+    private long version;
+
+    // Values currently shown
+    private double playerX, playerY, playerAngle;
+    private double zoom;
+    private Camera.CameraMode mode;
+    private boolean gridVisible;
+    private boolean interacting;
+
+    // Reused formatting buffer and the resulting lines
+    private final StringBuilder builder = new StringBuilder(64);
+    private String playerLine = "";
+    private String cameraLine = "";
+    private String gridLine = "";
+
+    public HudOverlay() {
+        this(DEFAULT_REFRESH_RATE);
+    }
+
+    public HudOverlay(double refreshRate) {
+        setRefreshRate(refreshRate);
+    }
+
+    /**
+     * Set how often per second the text may be rebuilt
+     */
+    public void setRefreshRate(double refreshRate) {
+        if (refreshRate <= 0) {
+            throw new IllegalArgumentException("Refresh rate must be positive");
+        }
+        this.refreshIntervalNanos = (long) (1_000_000_000L / refreshRate);
+    }
+
+    /**
+     * Rebuild the text if a shown value changed and the refresh interval has elapsed
+     * @return true if the content changed
+     */
+    public boolean update(long nowNanos, Player player, Camera camera, boolean gridVisible) {
+        if (initialized && nowNanos - lastRefreshNanos < refreshIntervalNanos) {
+            return false;
+        }
+
+        double angle = Math.toDegrees(player.getAngle());
+        boolean playerChanged = !initialized || player.getX() != playerX || player.getY() != playerY
+            || angle != playerAngle;
+        boolean cameraChanged = !initialized || camera.getZoom() != zoom || camera.getMode() != mode;
+        boolean gridChanged = !initialized || gridVisible != this.gridVisible;
+        boolean interactingChanged = !initialized || player.isInteracting() != interacting;
+        if (!playerChanged && !cameraChanged && !gridChanged && !interactingChanged) {
+            return false;
+        }
+
+        if (playerChanged) {
+            playerX = player.getX();
+            playerY = player.getY();
+            playerAngle = angle;
+            builder.setLength(0);
+            builder.append("Player: (");
+            appendFixed(builder, playerX, 1).append(", ");
+            appendFixed(builder, playerY, 1).append(") Angle: ");
+            appendFixed(builder, playerAngle, 1).append('°');
+            playerLine = builder.toString();
+        }
+        if (cameraChanged) {
+            zoom = camera.getZoom();
+            mode = camera.getMode();
+            builder.setLength(0);
+            builder.append("Camera: Zoom ");
+            appendFixed(builder, zoom, 2).append(", Mode: ").append(mode);
+            cameraLine = builder.toString();
+        }
+        if (gridChanged) {
+            this.gridVisible = gridVisible;
+            gridLine = gridVisible ? "Grid: ON" : "Grid: OFF";
+        }
+        interacting = player.isInteracting();
+
+        initialized = true;
+        lastRefreshNanos = nowNanos;
+        version++;
+        return true;
+    }
+
+    /**
+     * Draw the cached HUD in screen coordinates
+     */
+    public void draw(RenderSurface surface) {
+        surface.setFont(FONT_FAMILY, FONT_SIZE);
+        surface.setFill(Color.BLACK);
+        surface.fillText(playerLine, LEFT, FIRST_BASELINE);
+        surface.fillText(cameraLine, LEFT, FIRST_BASELINE + LINE_HEIGHT);
+        surface.fillTextBlock(CONTROL_LINES, LEFT, FIRST_BASELINE + 2 * LINE_HEIGHT, LINE_HEIGHT);
+        surface.fillText(gridLine, LEFT, FIRST_BASELINE + 4 * LINE_HEIGHT);
+
+        if (interacting) {
+            surface.setFill(Color.RED);
+            surface.fillTextBlock(INTERACTING_LINES, LEFT, FIRST_BASELINE + 5 * LINE_HEIGHT, LINE_HEIGHT);
+        }
+    }
+
+    /**
+     * Append a number with a fixed count of decimals like {@code %.nf}, without allocating
+     * (values exactly halfway in decimal may round differently than {@link String#format})
+     */
+    static StringBuilder appendFixed(StringBuilder sb, double value, int decimals) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return sb.append(value);
+        }
+        long scale = POW10[decimals];
+        long scaled = Math.round(Math.abs(value) * scale);
+        if (Double.compare(value, 0.0) < 0) {
+            sb.append('-');
+        }
+        sb.append(scaled / scale);
+        if (decimals > 0) {
+            sb.append('.');
+            long fraction = scaled % scale;
+            for (long digit = scale / 10; digit > 0; digit /= 10) {
+                sb.append((char) ('0' + fraction / digit));
+                fraction %= digit;
+            }
+        }
+        return sb;
+    }
+
+    // Getters
+    public long getVersion() { return version; }
+    public String getPlayerLine() { return playerLine; }
+    public String getCameraLine() { return cameraLine; }
+    public String getGridLine() { return gridLine; }
+    public boolean isInteracting() { return interacting; }
+}
@@ -0,0 +1,266 @@
+package com.game.rendering;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.TexturePaint;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Render surface drawing into a {@link BufferedImage} with Java2D, for rendering
+ * without a display (benchmarks, CI screenshots).
+ *
+ * JavaFX images are converted to {@code BufferedImage}s on first use. Immutable images
+ * are converted once; {@link WritableImage}s are converted on every draw since their
+ * pixels may have changed.
+ */
+public class Java2DRenderSurface implements RenderSurface {
+    private final BufferedImage target;
+    private final Graphics2D g;
+    private final Deque<State> saved = new ArrayDeque<>();
+    private final Map<Image, BufferedImage> converted = new WeakHashMap<>();
+
+    // Reused shapes
+    private final Rectangle2D.Double rect = new Rectangle2D.Double();
+    private final Ellipse2D.Double oval = new Ellipse2D.Double();
+    private final Line2D.Double line = new Line2D.Double();
+
+    private java.awt.Color fill = java.awt.Color.BLACK;
+    private java.awt.Color stroke = java.awt.Color.BLACK;
+    private boolean smoothing = true;
+
+    public Java2DRenderSurface(int width, int height) {
+        this(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    public Java2DRenderSurface(BufferedImage target) {
+        this.target = target;
+        this.g = target.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setStroke(new BasicStroke(1f));
+        setImageSmoothing(true);
+    }
+
+    public BufferedImage getImage() {
+        return target;
+    }
+
+    /**
+     * Release the Java2D graphics context; the image stays usable
+     */
+    public void dispose() {
+        g.dispose();
+    }
+
+    @Override
+    public void save() {
+        saved.push(new State(g.getTransform(), fill, stroke, g.getStroke(), g.getFont(), smoothing));
+    }
+
+    @Override
+    public void restore() {
+        State state = saved.poll();
+        if (state == null) {
+            return;
+        }
+        g.setTransform(state.transform);
+        fill = state.fill;
+        stroke = state.strokeColor;
+        g.setStroke(state.stroke);
+        g.setFont(state.font);
+        setImageSmoothing(state.smoothing);
+    }
+
+    @Override
+    public void translate(double x, double y) {
+        g.translate(x, y);
+    }
+
+    @Override
+    public void scale(double x, double y) {
+        g.scale(x, y);
+    }
+
+    @Override
+    public void rotate(double degrees) {
+        g.rotate(Math.toRadians(degrees));
+    }
+
+    @Override
+    public void setFill(Color color) {
+        fill = toAwt(color);
+    }
+
+    @Override
+    public void setStroke(Color color) {
+        stroke = toAwt(color);
+    }
+
+    @Override
+    public void setLineWidth(double width) {
+        g.setStroke(new BasicStroke((float) width));
+    }
+
+    @Override
+    public void setFont(String family, double size) {
+        Font current = g.getFont();
+        if (!current.getFamily().equals(family) || current.getSize2D() != (float) size) {
+            g.setFont(new Font(family, Font.PLAIN, 1).deriveFont((float) size));
+        }
+    }
+
+    @Override
+    public void setImageSmoothing(boolean smoothing) {
+        this.smoothing = smoothing;
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, smoothing
+            ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+            : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    }
+
+    @Override
+    public boolean isImageSmoothing() {
+        return smoothing;
+    }
+
+    @Override
+    public void clearRect(double x, double y, double width, double height) {
+        Composite composite = g.getComposite();
+        g.setComposite(AlphaComposite.Clear);
+        rect.setRect(x, y, width, height);
+        g.fill(rect);
+        g.setComposite(composite);
+    }
+
+    @Override
+    public void fillRect(double x, double y, double width, double height) {
+        rect.setRect(x, y, width, height);
+        g.setColor(fill);
+        g.fill(rect);
+    }
+
+    @Override
+    public void fillOval(double x, double y, double width, double height) {
+        oval.setFrame(x, y, width, height);
+        g.setColor(fill);
+        g.fill(oval);
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double width, double height) {
+        rect.setRect(x, y, width, height);
+        g.setColor(stroke);
+        g.draw(rect);
+    }
+
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) {
+        line.setLine(x1, y1, x2, y2);
+        g.setColor(stroke);
+        g.draw(line);
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        if (text != null) {
+            g.setColor(fill);
+            g.drawString(text, (float) x, (float) y);
+        }
+    }
+
+    @Override
+    public void fillTextBlock(String[] lines, double x, double firstBaseline, double lineHeight) {
+        for (int i = 0; i < lines.length; i++) {
+            fillText(lines[i], x, firstBaseline + i * lineHeight);
+        }
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y) {
+        drawImage(image, x, y, image.getWidth(), image.getHeight());
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y, double width, double height) {
+        drawImage(image, 0, 0, image.getWidth(), image.getHeight(), x, y, width, height);
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw, double sh,
+                          double dx, double dy, double dw, double dh) {
+        BufferedImage source = toBufferedImage(image);
+        if (source == null || sw <= 0 || sh <= 0) {
+            return;
+        }
+        int x = (int) sx;
+        int y = (int) sy;
+        int w = Math.min((int) Math.ceil(sw), source.getWidth() - x);
+        int h = Math.min((int) Math.ceil(sh), source.getHeight() - y);
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        AffineTransform transform = AffineTransform.getTranslateInstance(dx, dy);
+        transform.scale(dw / sw, dh / sh);
+        g.drawImage(source.getSubimage(x, y, w, h), transform, null);
+    }
+
+    @Override
+    public void fillPattern(Image image, double tileX, double tileY, double tileWidth, double tileHeight,
+                            double x, double y, double width, double height) {
+        BufferedImage source = toBufferedImage(image);
+        if (source == null) {
+            return;
+        }
+        g.setPaint(new TexturePaint(source, new Rectangle2D.Double(tileX, tileY, tileWidth, tileHeight)));
+        rect.setRect(x, y, width, height);
+        g.fill(rect);
+        g.setColor(fill);
+    }
+
+    private BufferedImage toBufferedImage(Image image) {
+        boolean mutable = image instanceof WritableImage;
+        BufferedImage result = mutable ? null : converted.get(image);
+        if (result != null) {
+            return result;
+        }
+
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        if (width <= 0 || height <= 0 || image.getPixelReader() == null) {
+            return null;
+        }
+        int[] pixels = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        result.setRGB(0, 0, width, height, pixels, 0, width);
+        if (!mutable) {
+            converted.put(image, result);
+        }
+        return result;
+    }
+
+    static java.awt.Color toAwt(Color color) {
+        return new java.awt.Color((float) color.getRed(), (float) color.getGreen(),
+                                  (float) color.getBlue(), (float) color.getOpacity());
+    }
+
+    private record State(AffineTransform transform, java.awt.Color fill, java.awt.Color strokeColor,
+                         java.awt.Stroke stroke, Font font, boolean smoothing) {
+    }
+}
@@ -0,0 +1,490 @@
+package com.game.rendering;
+
+import com.game.core.Chunk;
+import com.game.core.ChunkListener;
+import com.game.core.Entity;
+import com.game.core.World;
+import com.game.core.WorldConfig;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Day/night lighting composited from a low-resolution light map.
+ *
+ * The light map has one texel per tile over the visible area. Each texel combines the
+ * ambient light of the time of day, static lights of light-emitting entities and the
+ * player's lantern. Static light is accumulated once per chunk into a cached grid (which
+ * includes light spilling over from neighbouring chunks) and only re-accumulated when
+ * the lights of that neighbourhood change. The finished map is drawn over the world as
+ * a darkness overlay with one upscaled, smoothed {@code drawImage}.
+ */
+public class LightingSystem implements ChunkListener {
+    public static final double DEFAULT_DAY_LENGTH = 600.0; // Seconds per full day
+    public static final double NIGHT_AMBIENT = 0.2;
+    public static final double DAY_AMBIENT = 1.0;
+    // Light of the torches placed by world generation, radius in tiles
+    public static final double TORCH_RADIUS_TILES = 5.0;
+    public static final double TORCH_INTENSITY = 1.0;
+
+    // Ambient light is quantized so a slow day cycle does not dirty every frame
+    private static final int AMBIENT_STEPS = 64;
+    // Darkest overlay, keeps unlit areas faintly visible
+    private static final double MAX_DARKNESS = 0.85;
+    private static final int DARKNESS_RGB = 0x0A0A28;
+    private static final int GRID_CACHE_CAPACITY = 256;
+    private static final float[] EMPTY_GRID = new float[0];
+
+    private final int tilesPerChunk;
+    private final int tileSize;
+    private final int chunkCount;
+    private final Map<String, Emitter> emitters;
+
+    // Static lights of each loaded chunk, keyed by chunk coordinates
+    private final Map<Long, List<PointLight>> chunkLights;
+    // Accumulated static light per chunk at tile resolution, owned by the JavaFX thread
+    private final Map<Long, float[]> lightGrids;
+    // Chunks whose grids must be rebuilt, filled by chunk events
+    private final Queue<Long> invalidatedGrids;
+    private final AtomicLong version;
+
+    private double dayLength = DEFAULT_DAY_LENGTH;
+    private double timeOfDay = 0.5; // 0 = midnight, 0.5 = noon
+    private double ambient = DAY_AMBIENT;
+    private double playerLightRadius;
+    private double playerLightIntensity = 1.0;
+    private boolean enabled = true;
+
+    // Light map of the last composed window
+    private float[] light = new float[0];
+    private int[] pixels = new int[0];
+    private int mapX, mapY, mapWidth, mapHeight;
+    private double mapPlayerX, mapPlayerY;
+    private long mapVersion = -1;
+    private boolean mapHasDarkness;
+    // Counts recomposed maps, to upload each one to the image only once
+    private long mapRevision;
+    private long uploadedRevision = -1;
+
+    // Created lazily on the JavaFX thread
+    private WritableImage mapImage;
+
+    public LightingSystem(WorldConfig worldConfig) {
+        this.tilesPerChunk = worldConfig.chunkSize();
+        this.tileSize = worldConfig.tileSize();
+        this.chunkCount = worldConfig.chunkCount();
+        this.playerLightRadius = 6.0 * tileSize;
+        this.emitters = new ConcurrentHashMap<>();
+        this.chunkLights = new ConcurrentHashMap<>();
+        this.lightGrids = new LinkedHashMap<>(GRID_CACHE_CAPACITY, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, float[]> eldest) {
+                return size() > GRID_CACHE_CAPACITY;
+            }
+        };
+        this.invalidatedGrids = new ConcurrentLinkedQueue<>();
+        this.version = new AtomicLong();
+    }
+
+    /**
+     * Listen for chunk changes and collect the lights of chunks that are already loaded
+     */
+    public void attach(World world) {
+        world.addChunkListener(this);
+        for (Chunk chunk : world.getChunkCache().values()) {
+            onChunkLoaded(chunk);
+        }
+    }
+
+    public void detach(World world) {
+        world.removeChunkListener(this);
+    }
+
+    /**
+     * Make entities of a type emit light. Radius is capped at one chunk, which is as
+     * far as light may spill into neighbouring chunks.
+     */
+    public void registerEmitter(String entityType, double radius, double intensity) {
+        double maxRadius = (double) tilesPerChunk * tileSize;
+        emitters.put(entityType, new Emitter(Math.min(radius, maxRadius), intensity));
+    }
+
+    /**
+     * Make the light-emitting entity types of the generated world emit light
+     */
+    public void registerWorldEmitters() {
+        registerEmitter("torch", TORCH_RADIUS_TILES * tileSize, TORCH_INTENSITY);
+    }
+
+    @Override
+    public void onChunkLoaded(Chunk chunk) {
+        List<PointLight> lights = new ArrayList<>();
+        for (Entity entity : chunk.getEntities()) {
+            Emitter emitter = emitters.get(entity.type());
+            if (emitter != null) {
+                lights.add(new PointLight(entity.x(), entity.y(), emitter.radius, emitter.intensity));
+            }
+        }
+
+        int chunkX = Math.floorMod(chunk.getChunkX(), chunkCount);
+        int chunkY = Math.floorMod(chunk.getChunkY(), chunkCount);
+        long key = chunkKey(chunkX, chunkY);
+        List<PointLight> previous = lights.isEmpty() ? chunkLights.remove(key) : chunkLights.put(key, lights);
+        if (lights.isEmpty() && previous == null) {
+            // Still no lights, the neighbourhood is unaffected
+            return;
+        }
+
+        // Light spills over into the neighbouring chunks, across the world edge too
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                invalidatedGrids.add(chunkKey(Math.floorMod(chunkX + dx, chunkCount),
+                                              Math.floorMod(chunkY + dy, chunkCount)));
+            }
+        }
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void onChunkChanged(Chunk chunk) {
+        onChunkLoaded(chunk);
+    }
+
+    /**
+     * Advance the day/night cycle
+     * @return true if the ambient light changed visibly
+     */
+    public boolean update(double deltaTime) {
+        timeOfDay = (timeOfDay + deltaTime / dayLength) % 1.0;
+        double newAmbient = ambientFor(timeOfDay);
+        if (newAmbient != ambient) {
+            ambient = newAmbient;
+            version.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return Quantized ambient light for a time of day, darkest at midnight and brightest at noon
+     */
+    static double ambientFor(double timeOfDay) {
+        double daylight = (1 - Math.cos(timeOfDay * 2 * Math.PI)) / 2;
+        double value = NIGHT_AMBIENT + (DAY_AMBIENT - NIGHT_AMBIENT) * daylight;
+        return Math.round(value * AMBIENT_STEPS) / (double) AMBIENT_STEPS;
+    }
+
+    /**
+     * Draw the darkness overlay for the visible area. Must be called with the camera
+     * transform applied, after the world has been drawn.
+     */
+    public void render(RenderSurface surface, VisibleArea visibleArea, double playerX, double playerY) {
+        if (!composeVisible(visibleArea, playerX, playerY)) {
+            return;
+        }
+        if (uploadedRevision != mapRevision) {
+            uploadLightMap();
+            uploadedRevision = mapRevision;
+        }
+
+        boolean smoothing = surface.isImageSmoothing();
+        surface.setImageSmoothing(true);
+        surface.drawImage(mapImage, 0, 0, mapWidth, mapHeight,
+                          (double) mapX * tileSize, (double) mapY * tileSize,
+                          (double) mapWidth * tileSize, (double) mapHeight * tileSize);
+        surface.setImageSmoothing(smoothing);
+    }
+
+    /**
+     * Compose the light map for the visible area and copy its darkness overlay, for backends
+     * that draw it on another thread. The ARGB pixels cover {@link #getMapWidth()} by
+     * {@link #getMapHeight()} tiles from tile ({@link #getMapX()}, {@link #getMapY()}), row by row.
+     * @param out Destination, replaced by a larger array if too small
+     * @return The destination, or null if there is no darkness to draw
+     */
+    int[] copyLightMap(VisibleArea visibleArea, double playerX, double playerY, int[] out) {
+        if (!composeVisible(visibleArea, playerX, playerY)) {
+            return null;
+        }
+        int size = mapWidth * mapHeight;
+        if (out == null || out.length < size) {
+            out = new int[size];
+        }
+        System.arraycopy(pixels, 0, out, 0, size);
+        return out;
+    }
+
+    /**
+     * Bring the light map up to date for the visible area
+     * @return true if the area needs a darkness overlay
+     */
+    private boolean composeVisible(VisibleArea visibleArea, double playerX, double playerY) {
+        if (!enabled || visibleArea.isEmpty()) {
+            return false;
+        }
+
+        int startTileX = (int) Math.floor(visibleArea.getRenderStartX() / tileSize);
+        int startTileY = (int) Math.floor(visibleArea.getRenderStartY() / tileSize);
+        int endTileX = (int) Math.ceil(visibleArea.getRenderEndX() / tileSize);
+        int endTileY = (int) Math.ceil(visibleArea.getRenderEndY() / tileSize);
+        int width = endTileX - startTileX;
+        int height = endTileY - startTileY;
+        if (width <= 0 || height <= 0) {
+            return false;
+        }
+
+        // Recompose only when the window, the lights or the ambient changed
+        composeLightMap(startTileX, startTileY, width, height, playerX, playerY);
+        return mapHasDarkness;
+    }
+
+    private void uploadLightMap() {
+        if (mapImage == null || mapImage.getWidth() < mapWidth || mapImage.getHeight() < mapHeight) {
+            // Grow with headroom so small window changes reuse the image
+            int imageWidth = mapWidth + mapWidth / 4;
+            int imageHeight = mapHeight + mapHeight / 4;
+            mapImage = new WritableImage(imageWidth, imageHeight);
+        }
+        mapImage.getPixelWriter().setPixels(0, 0, mapWidth, mapHeight,
+            PixelFormat.getIntArgbInstance(), pixels, 0, mapWidth);
+    }
+
+    /**
+     * Build the light map and its ARGB overlay pixels for a window of tiles
+     * @return true if the map was rebuilt, false if the previous map is still valid
+     */
+    boolean composeLightMap(int startTileX, int startTileY, int width, int height, double playerX, double playerY) {
+        rebuildInvalidatedGrids();
+
+        long currentVersion = version.get();
+        if (currentVersion == mapVersion && startTileX == mapX && startTileY == mapY
+                && width == mapWidth && height == mapHeight
+                && (playerLightRadius <= 0 || (playerX == mapPlayerX && playerY == mapPlayerY))) {
+            return false;
+        }
+        mapVersion = currentVersion;
+        mapX = startTileX;
+        mapY = startTileY;
+        mapWidth = width;
+        mapHeight = height;
+        mapPlayerX = playerX;
+        mapPlayerY = playerY;
+
+        int size = width * height;
+        if (light.length < size) {
+            light = new float[size];
+            pixels = new int[size];
+        }
+        Arrays.fill(light, 0, size, (float) ambient);
+
+        // Copy the cached static light of every chunk overlapping the window; a window past the
+        // world edge shows the chunks on the other side
+        int firstChunkX = Math.floorDiv(startTileX, tilesPerChunk);
+        int firstChunkY = Math.floorDiv(startTileY, tilesPerChunk);
+        int lastChunkX = Math.floorDiv(startTileX + width - 1, tilesPerChunk);
+        int lastChunkY = Math.floorDiv(startTileY + height - 1, tilesPerChunk);
+        for (int chunkY = firstChunkY; chunkY <= lastChunkY; chunkY++) {
+            for (int chunkX = firstChunkX; chunkX <= lastChunkX; chunkX++) {
+                float[] grid = gridFor(chunkX, chunkY);
+                if (grid != EMPTY_GRID) {
+                    addGrid(grid, chunkX, chunkY);
+                }
+            }
+        }
+
+        // The player's lantern moves every frame, accumulate it directly
+        if (playerLightRadius > 0) {
+            accumulate(light, startTileX, startTileY, width, height,
+                       playerX, playerY, playerLightRadius, playerLightIntensity);
+        }
+
+        // Convert light to darkness overlay pixels
+        boolean darkness = false;
+        for (int i = 0; i < size; i++) {
+            int alpha = (int) Math.round(255 * MAX_DARKNESS * (1.0 - Math.min(1.0f, light[i])));
+            pixels[i] = (alpha << 24) | DARKNESS_RGB;
+            darkness |= alpha > 0;
+        }
+        mapHasDarkness = darkness;
+        mapRevision++;
+        return true;
+    }
+
+    private void addGrid(float[] grid, int chunkX, int chunkY) {
+        int chunkTileX = chunkX * tilesPerChunk;
+        int chunkTileY = chunkY * tilesPerChunk;
+        int fromX = Math.max(mapX, chunkTileX);
+        int toX = Math.min(mapX + mapWidth, chunkTileX + tilesPerChunk);
+        int fromY = Math.max(mapY, chunkTileY);
+        int toY = Math.min(mapY + mapHeight, chunkTileY + tilesPerChunk);
+        for (int tileY = fromY; tileY < toY; tileY++) {
+            int gridRow = (tileY - chunkTileY) * tilesPerChunk - chunkTileX;
+            int mapRow = (tileY - mapY) * mapWidth - mapX;
+            for (int tileX = fromX; tileX < toX; tileX++) {
+                light[mapRow + tileX] += grid[gridRow + tileX];
+            }
+        }
+    }
+
+    private void rebuildInvalidatedGrids() {
+        Long key;
+        while ((key = invalidatedGrids.poll()) != null) {
+            lightGrids.remove(key);
+        }
+    }
+
+    /**
+     * @param chunkX Chunk column, wrapped around the world edge
+     * @param chunkY Chunk row, wrapped around the world edge
+     * @return Static light at tile resolution for a chunk, including spill from its neighbours
+     */
+    float[] gridFor(int chunkX, int chunkY) {
+        chunkX = Math.floorMod(chunkX, chunkCount);
+        chunkY = Math.floorMod(chunkY, chunkCount);
+        long key = chunkKey(chunkX, chunkY);
+        float[] grid = lightGrids.get(key);
+        if (grid != null) {
+            return grid;
+        }
+
+        grid = EMPTY_GRID;
+        double chunkPixels = (double) tilesPerChunk * tileSize;
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                int neighbourX = Math.floorMod(chunkX + dx, chunkCount);
+                int neighbourY = Math.floorMod(chunkY + dy, chunkCount);
+                List<PointLight> lights = chunkLights.get(chunkKey(neighbourX, neighbourY));
+                if (lights == null) {
+                    continue;
+                }
+                if (grid == EMPTY_GRID) {
+                    grid = new float[tilesPerChunk * tilesPerChunk];
+                }
+                // Lights of a neighbour across the world edge lie at the far side of the world,
+                // move them next to this chunk
+                double shiftX = (chunkX + dx - neighbourX) * chunkPixels;
+                double shiftY = (chunkY + dy - neighbourY) * chunkPixels;
+                for (PointLight pointLight : lights) {
+                    accumulate(grid, chunkX * tilesPerChunk, chunkY * tilesPerChunk, tilesPerChunk, tilesPerChunk,
+                               pointLight.x() + shiftX, pointLight.y() + shiftY,
+                               pointLight.radius(), pointLight.intensity());
+                }
+            }
+        }
+        lightGrids.put(key, grid);
+        return grid;
+    }
+
+    /**
+     * Add a point light to a tile-resolution buffer covering the given window of tiles,
+     * sampling at tile centers with a smooth quadratic falloff
+     */
+    private void accumulate(float[] buffer, int startTileX, int startTileY, int width, int height,
+                            double x, double y, double radius, double intensity) {
+        int fromX = Math.max(startTileX, (int) Math.floor((x - radius) / tileSize));
+        int toX = Math.min(startTileX + width - 1, (int) Math.floor((x + radius) / tileSize));
+        int fromY = Math.max(startTileY, (int) Math.floor((y - radius) / tileSize));
+        int toY = Math.min(startTileY + height - 1, (int) Math.floor((y + radius) / tileSize));
+        for (int tileY = fromY; tileY <= toY; tileY++) {
+            double dy = (tileY + 0.5) * tileSize - y;
+            int row = (tileY - startTileY) * width - startTileX;
+            for (int tileX = fromX; tileX <= toX; tileX++) {
+                double dx = (tileX + 0.5) * tileSize - x;
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                if (distance < radius) {
+                    double falloff = 1.0 - distance / radius;
+                    buffer[row + tileX] += (float) (intensity * falloff * falloff);
+                }
+            }
+        }
+    }
+
+    private static long chunkKey(int chunkX, int chunkY) {
+        return ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return Counter incremented whenever lights or the ambient level change
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return The light value of a tile in the last composed map
+     */
+    float getLight(int tileX, int tileY) {
+        return light[(tileY - mapY) * mapWidth + (tileX - mapX)];
+    }
+
+    boolean hasDarkness() {
+        return mapHasDarkness;
+    }
+
+    int getMapX() {
+        return mapX;
+    }
+
+    int getMapY() {
+        return mapY;
+    }
+
+    int getMapWidth() {
+        return mapWidth;
+    }
+
+    int getMapHeight() {
+        return mapHeight;
+    }
+
+    public void setTimeOfDay(double timeOfDay) {
+        this.timeOfDay = ((timeOfDay % 1.0) + 1.0) % 1.0;
+        this.ambient = ambientFor(this.timeOfDay);
+        version.incrementAndGet();
+    }
+
+    public void setDayLength(double dayLength) {
+        if (dayLength <= 0) {
+            throw new IllegalArgumentException("Day length must be positive");
+        }
+        this.dayLength = dayLength;
+    }
+
+    /**
+     * Configure the light carried by the player, a radius of 0 disables it
+     */
+    public void setPlayerLight(double radius, double intensity) {
+        this.playerLightRadius = radius;
+        this.playerLightIntensity = intensity;
+        version.incrementAndGet();
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        version.incrementAndGet();
+    }
+
+    // Getters
+    public boolean isEnabled() { return enabled; }
+    public double getTimeOfDay() { return timeOfDay; }
+    public double getAmbient() { return ambient; }
+
+    private static final class Emitter {
+        private final double radius;
+        private final double intensity;
+
+        private Emitter(double radius, double intensity) {
+            this.radius = radius;
+            this.intensity = intensity;
+        }
+    }
+}
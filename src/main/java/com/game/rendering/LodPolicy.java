@@ -0,0 +1,102 @@
+package com.game.rendering;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Zoom-dependent level-of-detail policy for world rendering.
+ *
+ * As the camera zooms out, entities switch from sprites to flat colored quads and
+ * finally to one pre-aggregated density texture per chunk, which keeps the number of
+ * draw calls roughly constant however far out the camera is. Small entity types can
+ * be dropped entirely below their own zoom threshold.
+ */
+public class LodPolicy {
+
+    /**
+     * How entities are drawn at a given zoom
+     */
+    public enum Level {
+        SPRITE,
+        QUAD,
+        DENSITY
+    }
+
+    private double quadZoom = 0.6;
+    private double densityZoom = 0.3;
+    private double gridMinZoom = 0.3;
+    private final Map<String, Double> minZoomByType;
+
+    public LodPolicy() {
+        this.minZoomByType = new HashMap<>();
+        // Grass blades are a few pixels wide when zoomed out and only add noise
+        this.minZoomByType.put("grass", 0.4);
+    }
+
+    /**
+     * @return The detail level for entities at the given camera zoom
+     */
+    public Level levelFor(double zoom) {
+        if (zoom < densityZoom) {
+            return Level.DENSITY;
+        }
+        if (zoom < quadZoom) {
+            return Level.QUAD;
+        }
+        return Level.SPRITE;
+    }
+
+    /**
+     * @return true if entities of this type are drawn at the given zoom
+     */
+    public boolean isVisible(String entityType, double zoom) {
+        Double minZoom = minZoomByType.get(entityType);
+        return minZoom == null || zoom >= minZoom;
+    }
+
+    /**
+     * @return true if entities of this type contribute to chunk density textures
+     */
+    public boolean isIncludedInDensity(String entityType) {
+        Double minZoom = minZoomByType.get(entityType);
+        return minZoom == null || minZoom < densityZoom;
+    }
+
+    /**
+     * @return true if the tile grid is drawn at the given zoom
+     */
+    public boolean isGridVisible(double zoom) {
+        return zoom >= gridMinZoom;
+    }
+
+    /**
+     * Hide an entity type below the given zoom
+     */
+    public void setMinZoom(String entityType, double minZoom) {
+        minZoomByType.put(entityType, minZoom);
+    }
+
+    public void clearMinZoom(String entityType) {
+        minZoomByType.remove(entityType);
+    }
+
+    /**
+     * Set the zoom thresholds, below which entities switch to quads and to density textures
+     */
+    public void setThresholds(double quadZoom, double densityZoom) {
+        if (densityZoom > quadZoom) {
+            throw new IllegalArgumentException("Density threshold must not exceed quad threshold");
+        }
+        this.quadZoom = quadZoom;
+        this.densityZoom = densityZoom;
+    }
+
+    public void setGridMinZoom(double gridMinZoom) {
+        this.gridMinZoom = gridMinZoom;
+    }
+
+    // Getters
+    public double getQuadZoom() { return quadZoom; }
+    public double getDensityZoom() { return densityZoom; }
+    public double getGridMinZoom() { return gridMinZoom; }
+}
@@ -0,0 +1,208 @@
+package com.game.rendering;
+
+import com.game.core.Chunk;
+import com.game.core.ChunkListener;
+import com.game.core.Entity;
+import com.game.core.World;
+import com.game.core.WorldConfig;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * World overview built incrementally from per-chunk summaries.
+ *
+ * Each chunk is summarized once when it is loaded or changed into a tiny image with
+ * one pixel per block of tiles. Summaries are queued and composited into a world-wide
+ * texture a few at a time on the JavaFX thread, so drawing the minimap never walks
+ * entity lists and never rasterizes the whole world at once. Chunks that were never
+ * loaded stay transparent.
+ */
+public class Minimap implements ChunkListener {
+    // Summary pixels per chunk side, each covering a block of tiles
+    public static final int MAX_SUMMARY_SIZE = 16;
+    public static final int DEFAULT_UPLOADS_PER_FRAME = 32;
+
+    // Plains ground color from the background SVG (#3cb043)
+    private static final int GROUND_COLOR = 0xFF3CB043;
+    private static final Color BACKGROUND = Color.rgb(0, 0, 0, 0.6);
+
+    private final int chunkCount;
+    private final int tilesPerChunk;
+    private final int tileSize;
+    private final int summarySize;
+    private final double worldSize;
+    private final LodPolicy lodPolicy;
+    private final Queue<PendingSummary> pending;
+    private int uploadsPerFrame = DEFAULT_UPLOADS_PER_FRAME;
+    private boolean visible = true;
+
+    // Created lazily on the JavaFX thread
+    private WritableImage texture;
+
+    public Minimap(WorldConfig worldConfig, LodPolicy lodPolicy) {
+        this.chunkCount = worldConfig.chunkCount();
+        this.tilesPerChunk = worldConfig.chunkSize();
+        this.tileSize = worldConfig.tileSize();
+        this.summarySize = Math.min(MAX_SUMMARY_SIZE, tilesPerChunk);
+        this.worldSize = worldConfig.worldSize();
+        this.lodPolicy = lodPolicy;
+        this.pending = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Listen for chunk changes and summarize the chunks that are already loaded
+     */
+    public void attach(World world) {
+        world.addChunkListener(this);
+        for (Chunk chunk : world.getChunkCache().values()) {
+            onChunkLoaded(chunk);
+        }
+    }
+
+    public void detach(World world) {
+        world.removeChunkListener(this);
+    }
+
+    @Override
+    public void onChunkLoaded(Chunk chunk) {
+        pending.add(new PendingSummary(chunk.getChunkX(), chunk.getChunkY(), buildSummary(chunk)));
+    }
+
+    @Override
+    public void onChunkChanged(Chunk chunk) {
+        onChunkLoaded(chunk);
+    }
+
+    /**
+     * Rasterize a chunk into summarySize x summarySize ARGB pixels. Where several entities
+     * share a pixel the most prominent type wins, empty pixels show the ground color.
+     */
+    int[] buildSummary(Chunk chunk) {
+        int[] pixels = new int[summarySize * summarySize];
+        int[] priorities = new int[pixels.length];
+        Arrays.fill(pixels, GROUND_COLOR);
+
+        double originX = (double) chunk.getChunkX() * tilesPerChunk * tileSize;
+        double originY = (double) chunk.getChunkY() * tilesPerChunk * tileSize;
+        for (Entity entity : chunk.getEntities()) {
+            if (!lodPolicy.isIncludedInDensity(entity.type())) {
+                continue;
+            }
+            int tileX = (int) ((entity.x() - originX) / tileSize);
+            int tileY = (int) ((entity.y() - originY) / tileSize);
+            if (tileX < 0 || tileX >= tilesPerChunk || tileY < 0 || tileY >= tilesPerChunk) {
+                continue;
+            }
+            int index = (tileY * summarySize / tilesPerChunk) * summarySize + tileX * summarySize / tilesPerChunk;
+            int priority = priority(entity.type());
+            if (priority > priorities[index]) {
+                priorities[index] = priority;
+                pixels[index] = ChunkDensityCache.densityColor(entity.type());
+            }
+        }
+        return pixels;
+    }
+
+    private static int priority(String entityType) {
+        return switch (entityType) {
+            case "tree" -> 3;
+            case "rock" -> 2;
+            case "grass" -> 1;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Composite queued summaries into the world texture, at most the per-frame budget
+     * @return true if summaries are still waiting
+     */
+    public boolean uploadPending() {
+        if (pending.isEmpty()) {
+            return false;
+        }
+        if (texture == null) {
+            int textureSize = chunkCount * summarySize;
+            texture = new WritableImage(textureSize, textureSize);
+        }
+        for (int i = 0; i < uploadsPerFrame; i++) {
+            PendingSummary summary = pending.poll();
+            if (summary == null) {
+                break;
+            }
+            texture.getPixelWriter().setPixels(summary.chunkX * summarySize, summary.chunkY * summarySize,
+                summarySize, summarySize, PixelFormat.getIntArgbInstance(), summary.pixels, 0, summarySize);
+        }
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Draw the minimap panel in screen coordinates with the camera view marked on it
+     */
+    public void draw(RenderSurface surface, double x, double y, double size, Camera camera) {
+        surface.setFill(BACKGROUND);
+        surface.fillRect(x, y, size, size);
+
+        if (texture != null) {
+            boolean smoothing = surface.isImageSmoothing();
+            surface.setImageSmoothing(false);
+            surface.drawImage(texture, x, y, size, size);
+            surface.setImageSmoothing(smoothing);
+        }
+
+        // Camera view and center
+        double scale = size / worldSize;
+        double viewWidth = camera.getWidth() / camera.getZoom() * scale;
+        double viewHeight = camera.getHeight() / camera.getZoom() * scale;
+        double centerX = x + camera.getX() * scale;
+        double centerY = y + camera.getY() * scale;
+        surface.setStroke(Color.WHITE);
+        surface.setLineWidth(1);
+        surface.strokeRect(centerX - viewWidth / 2, centerY - viewHeight / 2, viewWidth, viewHeight);
+        surface.setFill(Color.BLUE);
+        surface.fillOval(centerX - 2, centerY - 2, 4, 4);
+
+        surface.setStroke(Color.LIGHTGRAY);
+        surface.strokeRect(x, y, size, size);
+    }
+
+    public boolean hasPendingUploads() {
+        return !pending.isEmpty();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public int getSummarySize() {
+        return summarySize;
+    }
+
+    public void setUploadsPerFrame(int uploadsPerFrame) {
+        this.uploadsPerFrame = Math.max(1, uploadsPerFrame);
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void toggleVisible() {
+        visible = !visible;
+    }
+
+    private static final class PendingSummary {
+        private final int chunkX;
+        private final int chunkY;
+        private final int[] pixels;
+
+        private PendingSummary(int chunkX, int chunkY, int[] pixels) {
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+            this.pixels = pixels;
+        }
+    }
+}
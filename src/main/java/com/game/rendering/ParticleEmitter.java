@@ -0,0 +1,152 @@
+package com.game.rendering;
+
+import com.game.core.Entity;
+
+/**
+ * Spawns particles into a {@link ParticleSystem} at a steady rate and/or in bursts,
+ * either at a world position or at an entity.
+ *
+ * Particles leave in a cone around {@code direction} with randomized speed and lifetime.
+ * Emitters with a duration remove themselves from the system once it has elapsed and
+ * their bursts have been spawned.
+ */
+public class ParticleEmitter {
+    private final Entity entity;
+    private double x, y;
+
+    private final int colorIndex;
+    private double rate;
+    private double lifetime = 0.6;
+    private double lifetimeJitter = 0.3;
+    private double speed = 40;
+    private double speedJitter = 0.5;
+    private double direction;
+    private double spread = Math.PI * 2;
+    private double particleSize = 3;
+    private double spawnRadius;
+
+    private double duration = -1;
+    private double age;
+    private double accumulator;
+    private int pendingBurst;
+
+    private ParticleEmitter(Entity entity, double x, double y, int colorIndex) {
+        this.entity = entity;
+        this.x = x;
+        this.y = y;
+        this.colorIndex = colorIndex;
+    }
+
+    /**
+     * Emitter at a fixed world position; use {@link #setPosition} to move it
+     * @param colorIndex Palette index from {@link ParticleSystem#registerColor}
+     */
+    public static ParticleEmitter at(double x, double y, int colorIndex) {
+        return new ParticleEmitter(null, x, y, colorIndex);
+    }
+
+    /**
+     * Emitter spawning at the entity's position
+     */
+    public static ParticleEmitter attachedTo(Entity entity, int colorIndex) {
+        return new ParticleEmitter(entity, entity.x(), entity.y(), colorIndex);
+    }
+
+    void emit(ParticleSystem system, double deltaTime) {
+        age += deltaTime;
+        accumulator += rate * deltaTime;
+        int spawnCount = (int) accumulator;
+        accumulator -= spawnCount;
+        spawnCount += pendingBurst;
+        pendingBurst = 0;
+
+        double originX = entity != null ? entity.x() : x;
+        double originY = entity != null ? entity.y() : y;
+        for (int n = 0; n < spawnCount; n++) {
+            double angle = direction + (system.nextRandom() - 0.5) * spread;
+            double particleSpeed = speed * (1 + (system.nextRandom() - 0.5) * 2 * speedJitter);
+            double particleLife = lifetime * (1 + (system.nextRandom() - 0.5) * 2 * lifetimeJitter);
+            double offset = spawnRadius * system.nextRandom();
+            double cos = Math.cos(angle);
+            double sin = Math.sin(angle);
+            if (!system.spawn(originX + cos * offset, originY + sin * offset,
+                              cos * particleSpeed, sin * particleSpeed,
+                              particleLife, particleSize, colorIndex)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return true once the duration has elapsed and no burst is waiting
+     */
+    public boolean isFinished() {
+        return duration >= 0 && age >= duration && pendingBurst == 0;
+    }
+
+    /**
+     * Spawn the given number of particles on the next update
+     */
+    public void burst(int particles) {
+        pendingBurst += particles;
+    }
+
+    public void setPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * @param rate Particles per second, 0 to only emit bursts
+     */
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * @param lifetime Mean lifetime in seconds
+     * @param jitter Relative random deviation, 0.5 gives lifetimes between 50% and 150%
+     */
+    public void setLifetime(double lifetime, double jitter) {
+        this.lifetime = lifetime;
+        this.lifetimeJitter = jitter;
+    }
+
+    /**
+     * @param speed Mean speed in pixels per second
+     * @param jitter Relative random deviation of the speed
+     */
+    public void setSpeed(double speed, double jitter) {
+        this.speed = speed;
+        this.speedJitter = jitter;
+    }
+
+    /**
+     * @param direction Center of the emission cone in radians, 0 points along +x
+     * @param spread Full width of the cone in radians, 2 pi emits in all directions
+     */
+    public void setDirection(double direction, double spread) {
+        this.direction = direction;
+        this.spread = spread;
+    }
+
+    public void setParticleSize(double particleSize) {
+        this.particleSize = particleSize;
+    }
+
+    /**
+     * @param spawnRadius Particles start up to this far from the emitter position
+     */
+    public void setSpawnRadius(double spawnRadius) {
+        this.spawnRadius = spawnRadius;
+    }
+
+    /**
+     * @param duration Seconds until the emitter finishes, negative to run until removed
+     */
+    public void setDuration(double duration) {
+        this.duration = duration;
+    }
+
+    public double getRate() { return rate; }
+}
@@ -0,0 +1,246 @@
+package com.game.rendering;
+
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-capacity particle pool stored as parallel primitive arrays.
+ *
+ * Dead particles are removed by moving the last live particle into their slot, so live
+ * particles always occupy {@code [0, count)}. Colors come from a small palette; drawing
+ * counting-sorts the visible particles by palette entry so the fill changes once per color.
+ * Nothing is allocated per particle or per frame once the pool and the emitters exist.
+ */
+public class ParticleSystem {
+    public static final int DEFAULT_CAPACITY = 65536;
+    private static final int MAX_COLORS = 64;
+
+    private final int capacity;
+
+    // Particle state, live particles in [0, count)
+    private final float[] x;
+    private final float[] y;
+    private final float[] vx;
+    private final float[] vy;
+    private final float[] life;
+    private final float[] maxLife;
+    private final float[] size;
+    private final byte[] color;
+    private int count;
+
+    private final Color[] palette = new Color[MAX_COLORS];
+    private int paletteSize;
+
+    private final List<ParticleEmitter> emitters = new ArrayList<>();
+
+    // Draw scratch: visible particles, then the same indices grouped by color
+    private final int[] visible;
+    private final int[] drawOrder;
+    private final int[] colorStart = new int[MAX_COLORS + 1];
+
+    // Fraction of the velocity lost per second
+    private float drag = 1.5f;
+    private long randomState = 0x9E3779B97F4A7C15L;
+    private long dropped;
+
+    public ParticleSystem() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ParticleSystem(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.vx = new float[capacity];
+        this.vy = new float[capacity];
+        this.life = new float[capacity];
+        this.maxLife = new float[capacity];
+        this.size = new float[capacity];
+        this.color = new byte[capacity];
+        this.visible = new int[capacity];
+        this.drawOrder = new int[capacity];
+    }
+
+    /**
+     * @return Palette index of the color, registering it if it is new
+     */
+    public int registerColor(Color fill) {
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i].equals(fill)) {
+                return i;
+            }
+        }
+        if (paletteSize == MAX_COLORS) {
+            throw new IllegalStateException("Particle palette is full (" + MAX_COLORS + " colors)");
+        }
+        palette[paletteSize] = fill;
+        return paletteSize++;
+    }
+
+    /**
+     * Add a particle. When the pool is full the particle is dropped.
+     * @param lifetime Seconds until the particle disappears
+     * @param colorIndex Palette index from {@link #registerColor(Color)}
+     * @return false if the particle was dropped
+     */
+    public boolean spawn(double px, double py, double velocityX, double velocityY,
+                         double lifetime, double particleSize, int colorIndex) {
+        if (count == capacity) {
+            dropped++;
+            return false;
+        }
+        int i = count++;
+        x[i] = (float) px;
+        y[i] = (float) py;
+        vx[i] = (float) velocityX;
+        vy[i] = (float) velocityY;
+        life[i] = (float) lifetime;
+        maxLife[i] = (float) lifetime;
+        size[i] = (float) particleSize;
+        color[i] = (byte) colorIndex;
+        return true;
+    }
+
+    public void addEmitter(ParticleEmitter emitter) {
+        emitters.add(emitter);
+    }
+
+    public void removeEmitter(ParticleEmitter emitter) {
+        emitters.remove(emitter);
+    }
+
+    /**
+     * Run the emitters, then move and age all particles
+     */
+    public void update(double deltaTime) {
+        for (int i = emitters.size() - 1; i >= 0; i--) {
+            ParticleEmitter emitter = emitters.get(i);
+            emitter.emit(this, deltaTime);
+            if (emitter.isFinished()) {
+                // Order of emitters does not matter, swap-remove as well
+                int last = emitters.size() - 1;
+                emitters.set(i, emitters.get(last));
+                emitters.remove(last);
+            }
+        }
+
+        float dt = (float) deltaTime;
+        float damping = Math.max(0f, 1f - drag * dt);
+        int i = 0;
+        while (i < count) {
+            float remaining = life[i] - dt;
+            if (remaining <= 0f) {
+                // Fill the hole with the last particle and process that one next
+                int last = --count;
+                x[i] = x[last];
+                y[i] = y[last];
+                vx[i] = vx[last];
+                vy[i] = vy[last];
+                life[i] = life[last];
+                maxLife[i] = maxLife[last];
+                size[i] = size[last];
+                color[i] = color[last];
+                continue;
+            }
+            life[i] = remaining;
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            vx[i] *= damping;
+            vy[i] *= damping;
+            i++;
+        }
+    }
+
+    /**
+     * Draw the particles inside the visible area as squares that shrink as they age.
+     * Must be called with the camera transform applied.
+     * @return Number of particles drawn
+     */
+    public int draw(RenderSurface surface, VisibleArea visibleArea) {
+        if (count == 0 || visibleArea.isEmpty()) {
+            return 0;
+        }
+        float minX = (float) visibleArea.getRenderStartX();
+        float minY = (float) visibleArea.getRenderStartY();
+        float maxX = (float) visibleArea.getRenderEndX();
+        float maxY = (float) visibleArea.getRenderEndY();
+
+        // Cull and count per color
+        Arrays.fill(colorStart, 0, paletteSize + 1, 0);
+        int visibleCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (x[i] >= minX && x[i] <= maxX && y[i] >= minY && y[i] <= maxY) {
+                visible[visibleCount++] = i;
+                colorStart[color[i] + 1]++;
+            }
+        }
+        for (int c = 1; c <= paletteSize; c++) {
+            colorStart[c] += colorStart[c - 1];
+        }
+
+        // Group by color, colorStart[c] ends up at the end of group c
+        for (int v = 0; v < visibleCount; v++) {
+            int i = visible[v];
+            drawOrder[colorStart[color[i]]++] = i;
+        }
+
+        int start = 0;
+        for (int c = 0; c < paletteSize; c++) {
+            int end = colorStart[c];
+            if (end > start) {
+                surface.setFill(palette[c]);
+                for (int o = start; o < end; o++) {
+                    int i = drawOrder[o];
+                    float s = size[i] * life[i] / maxLife[i];
+                    surface.fillRect(x[i] - s / 2, y[i] - s / 2, s, s);
+                }
+            }
+            start = end;
+        }
+        return visibleCount;
+    }
+
+    /**
+     * Remove all particles and emitters
+     */
+    public void clear() {
+        count = 0;
+        emitters.clear();
+    }
+
+    /**
+     * @return Uniform random number in [0, 1) from a cheap xorshift generator
+     */
+    double nextRandom() {
+        randomState ^= randomState << 13;
+        randomState ^= randomState >>> 7;
+        randomState ^= randomState << 17;
+        return (randomState >>> 11) * 0x1.0p-53;
+    }
+
+    public void setDrag(double drag) {
+        this.drag = (float) drag;
+    }
+
+    /**
+     * @return true if any particle is alive
+     */
+    public boolean isActive() {
+        return count > 0;
+    }
+
+    // Getters
+    public int getCount() { return count; }
+    public int getCapacity() { return capacity; }
+    public int getEmitterCount() { return emitters.size(); }
+    public long getDroppedCount() { return dropped; }
+    float getX(int index) { return x[index]; }
+    float getY(int index) { return y[index]; }
+    float getLife(int index) { return life[index]; }
+}
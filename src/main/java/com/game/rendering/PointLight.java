@@ -0,0 +1,14 @@
+package com.game.rendering;
+
+/**
+ * Circular light source in world coordinates
+ * @param radius Distance in pixels at which the light has faded out
+ * @param intensity Light added at the center, 1.0 fully cancels the darkness
+ */
+public record PointLight(
+    double x,
+    double y,
+    double radius,
+    double intensity
+) {
+}
@@ -0,0 +1,32 @@
+package com.game.rendering;
+
+import com.game.core.Player;
+import com.game.core.World;
+
+/**
+ * Strategy for producing a frame on the game canvas layers.
+ *
+ * {@link Renderer} draws directly on the JavaFX application thread, while
+ * {@link SoftwareRenderBackend} rasterizes on a dedicated render thread and
+ * only presents finished frames. Both are driven from {@code GameEngine.render()}.
+ * The drawing primitives themselves go through {@link RenderSurface}.
+ */
+public interface RenderBackend {
+    
+    /**
+     * Produce a frame for the given game state. Only the layers affected by {@code change}
+     * need to be redrawn, the others still hold the previous frame.
+     * Called on the JavaFX application thread.
+     */
+    void render(CanvasLayers layers, FrameChangeTracker.FrameChange change, World world, Player player, Camera camera);
+    
+    /**
+     * @return true if the backend has a finished frame that has not been presented yet
+     */
+    boolean hasPendingFrame();
+    
+    /**
+     * Release threads and buffers owned by the backend
+     */
+    void shutdown();
+}
@@ -0,0 +1,225 @@
+package com.game.rendering;
+
+import java.util.Arrays;
+
+/**
+ * Per-frame renderer counters and pass timings with rolling aggregates.
+ *
+ * The renderer fills the current frame between {@link #beginFrame()} and {@link #endFrame()};
+ * finished frames are kept in a fixed window for averages and maxima. All storage is
+ * allocated up front, recording a frame does not allocate.
+ *
+ * Pass times measure the time spent issuing draw commands on the calling thread. JavaFX
+ * rasterizes canvas commands later on its own render thread, which is not included.
+ */
+public class RenderStats {
+    public static final int DEFAULT_WINDOW = 120;
+
+    /**
+     * Counted per frame
+     */
+    public enum Counter {
+        CHUNKS_VISITED,
+        // Chunks that had to be generated or loaded while drawing
+        CHUNKS_LOADED,
+        ENTITIES_CONSIDERED,
+        // Entities skipped by the level-of-detail policy
+        ENTITIES_CULLED,
+        ENTITIES_DRAWN,
+        IMAGE_CALLS,
+        STROKE_CALLS,
+        FILL_CALLS
+    }
+
+    /**
+     * Timed render passes
+     */
+    public enum Pass {
+        BACKGROUND,
+        GRID,
+        ENTITIES,
+        LIGHTING,
+        HIGHLIGHT,
+        PARTICLES,
+        MINIMAP,
+        HUD
+    }
+
+    private static final Counter[] COUNTERS = Counter.values();
+    private static final Pass[] PASSES = Pass.values();
+
+    private final int window;
+    private final long[] counters = new long[COUNTERS.length];
+    private final long[] passNanos = new long[PASSES.length];
+    private final long[] passStart = new long[PASSES.length];
+
+    // Finished frames, [counter or pass][frame slot]
+    private final long[][] counterHistory;
+    private final long[][] passHistory;
+    private int head;
+    private long frames;
+
+    public RenderStats() {
+        this(DEFAULT_WINDOW);
+    }
+
+    /**
+     * @param window Number of recent frames the aggregates are computed over
+     */
+    public RenderStats(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.window = window;
+        this.counterHistory = new long[COUNTERS.length][window];
+        this.passHistory = new long[PASSES.length][window];
+    }
+
+    /**
+     * Reset the current frame's counters and timings
+     */
+    public void beginFrame() {
+        Arrays.fill(counters, 0);
+        Arrays.fill(passNanos, 0);
+    }
+
+    /**
+     * Store the current frame in the rolling window
+     */
+    public void endFrame() {
+        for (int i = 0; i < counters.length; i++) {
+            counterHistory[i][head] = counters[i];
+        }
+        for (int i = 0; i < passNanos.length; i++) {
+            passHistory[i][head] = passNanos[i];
+        }
+        head = (head + 1) % window;
+        frames++;
+    }
+
+    public void increment(Counter counter) {
+        counters[counter.ordinal()]++;
+    }
+
+    public void add(Counter counter, long amount) {
+        counters[counter.ordinal()] += amount;
+    }
+
+    public void beginPass(Pass pass) {
+        passStart[pass.ordinal()] = System.nanoTime();
+    }
+
+    public void endPass(Pass pass) {
+        addPassTime(pass, System.nanoTime() - passStart[pass.ordinal()]);
+    }
+
+    public void addPassTime(Pass pass, long nanos) {
+        passNanos[pass.ordinal()] += nanos;
+    }
+
+    /**
+     * @return Value of the counter in the frame being recorded
+     */
+    public long current(Counter counter) {
+        return counters[counter.ordinal()];
+    }
+
+    /**
+     * @return Value of the counter in the last finished frame, 0 before the first frame
+     */
+    public long last(Counter counter) {
+        return frames == 0 ? 0 : counterHistory[counter.ordinal()][lastSlot()];
+    }
+
+    public double average(Counter counter) {
+        return average(counterHistory[counter.ordinal()]);
+    }
+
+    public long max(Counter counter) {
+        return max(counterHistory[counter.ordinal()]);
+    }
+
+    public double lastPassMillis(Pass pass) {
+        return frames == 0 ? 0 : passHistory[pass.ordinal()][lastSlot()] / 1_000_000.0;
+    }
+
+    public double averagePassMillis(Pass pass) {
+        return average(passHistory[pass.ordinal()]) / 1_000_000.0;
+    }
+
+    public double maxPassMillis(Pass pass) {
+        return max(passHistory[pass.ordinal()]) / 1_000_000.0;
+    }
+
+    /**
+     * @return Number of frames recorded since creation
+     */
+    public long getFrameCount() {
+        return frames;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    private int lastSlot() {
+        return (head - 1 + window) % window;
+    }
+
+    private int filledSlots() {
+        return (int) Math.min(frames, window);
+    }
+
+    private double average(long[] history) {
+        int count = filledSlots();
+        if (count == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += history[i];
+        }
+        return sum / (double) count;
+    }
+
+    private long max(long[] history) {
+        long max = 0;
+        for (int i = 0, count = filledSlots(); i < count; i++) {
+            max = Math.max(max, history[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Format the rolling aggregates as text lines for the debug overlay or logs
+     */
+    public String[] summaryLines() {
+        StringBuilder builder = new StringBuilder(64);
+        String[] lines = new String[4 + PASSES.length];
+        builder.append("Frames: ").append(filledSlots()).append(" (avg / max)");
+        lines[0] = builder.toString();
+        lines[1] = counterLine(builder, "Chunks", Counter.CHUNKS_VISITED, Counter.CHUNKS_LOADED);
+        lines[2] = counterLine(builder, "Entities", Counter.ENTITIES_CONSIDERED, Counter.ENTITIES_CULLED,
+                               Counter.ENTITIES_DRAWN);
+        lines[3] = counterLine(builder, "Calls", Counter.IMAGE_CALLS, Counter.STROKE_CALLS, Counter.FILL_CALLS);
+        for (Pass pass : PASSES) {
+            builder.setLength(0);
+            builder.append(pass.name().charAt(0)).append(pass.name().substring(1).toLowerCase()).append(": ");
+            HudOverlay.appendFixed(builder, averagePassMillis(pass), 2).append(" / ");
+            HudOverlay.appendFixed(builder, maxPassMillis(pass), 2).append(" ms");
+            lines[4 + pass.ordinal()] = builder.toString();
+        }
+        return lines;
+    }
+
+    private String counterLine(StringBuilder builder, String label, Counter... shown) {
+        builder.setLength(0);
+        builder.append(label).append(':');
+        for (Counter counter : shown) {
+            builder.append(' ').append(counter.name().substring(counter.name().indexOf('_') + 1).toLowerCase())
+                   .append(' ');
+            HudOverlay.appendFixed(builder, average(counter), 0).append(" / ").append(max(counter));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,91 @@
+package com.game.rendering;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+
+/**
+ * 2D drawing target the {@link Renderer} draws through.
+ *
+ * Mirrors the subset of {@code GraphicsContext} the game uses, so the same render code
+ * can draw on a JavaFX canvas ({@link FxRenderSurface}), into a {@code BufferedImage}
+ * without a display ({@link Java2DRenderSurface}), or only count draw calls
+ * ({@link CountingRenderSurface}). Transforms and state behave like the canvas:
+ * {@link #save()} and {@link #restore()} cover the transform and all drawing attributes.
+ */
+public interface RenderSurface {
+
+    /**
+     * Push the current transform and drawing attributes
+     */
+    void save();
+
+    /**
+     * Pop the transform and drawing attributes pushed by the matching {@link #save()}
+     */
+    void restore();
+
+    void translate(double x, double y);
+
+    void scale(double x, double y);
+
+    /**
+     * @param degrees Clockwise rotation in degrees
+     */
+    void rotate(double degrees);
+
+    void setFill(Color color);
+
+    void setStroke(Color color);
+
+    void setLineWidth(double width);
+
+    void setFont(String family, double size);
+
+    void setImageSmoothing(boolean smoothing);
+
+    boolean isImageSmoothing();
+
+    /**
+     * Reset a rectangle to fully transparent pixels
+     */
+    void clearRect(double x, double y, double width, double height);
+
+    void fillRect(double x, double y, double width, double height);
+
+    void fillOval(double x, double y, double width, double height);
+
+    void strokeRect(double x, double y, double width, double height);
+
+    void strokeLine(double x1, double y1, double x2, double y2);
+
+    void fillText(String text, double x, double y);
+
+    /**
+     * Draw lines of text that rarely change with the current fill and font. Surfaces may
+     * cache the rendered block as long as the same array is passed.
+     * @param x Left edge of the text
+     * @param firstBaseline Baseline of the first line
+     * @param lineHeight Distance between baselines
+     */
+    void fillTextBlock(String[] lines, double x, double firstBaseline, double lineHeight);
+
+    void drawImage(Image image, double x, double y);
+
+    void drawImage(Image image, double x, double y, double width, double height);
+
+    /**
+     * Draw the source rectangle of the image scaled into the destination rectangle
+     */
+    void drawImage(Image image, double sx, double sy, double sw, double sh,
+                   double dx, double dy, double dw, double dh);
+
+    /**
+     * Fill a rectangle with the image repeated as tiles
+     * @param tileX Left edge of one tile, every other tile is aligned to it
+     * @param tileY Top edge of one tile
+     * @param tileWidth Width of one tile
+     * @param tileHeight Height of one tile
+     */
+    void fillPattern(Image image, double tileX, double tileY, double tileWidth, double tileHeight,
+                     double x, double y, double width, double height);
+}
@@ -1,25 +1,75 @@
 package com.game.rendering;
 
+import com.game.core.Chunk;
 import com.game.core.World;
 import com.game.core.Player;
 import com.game.core.Entity;
 import com.game.core.WorldConfig;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.game.utils.AssetManager;
+import com.game.utils.SpriteSheet;
+import com.game.graphics.svg.EntityConfig;
 
-import java.util.List;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
 
-public class Renderer {
+public class Renderer implements RenderBackend {
     private static final Logger logger = LoggerFactory.getLogger(Renderer.class);
     
+    // Screen-space bounds of the HUD text drawn by drawUI, cleared before each HUD redraw
+    private static final double HUD_REGION_WIDTH = 400;
+    private static final double HUD_REGION_HEIGHT = 100;
+    
+    // Render statistics panel in the top-right corner, refreshed a few times per second
+    private static final double STATS_PANEL_WIDTH = 260;
+    private static final double STATS_LINE_HEIGHT = 15;
+    private static final double STATS_MARGIN = 10;
+    private static final long STATS_REFRESH_NANOS = 250_000_000L;
+    private static final Color STATS_BACKGROUND = Color.rgb(0, 0, 0, 0.6);
+    
+    // Minimap panel in the bottom-right corner
+    private static final double MINIMAP_SIZE = 200;
+    private static final double MINIMAP_MARGIN = 10;
+    
+    // Below this sprite scale the static mip levels are used; the motion would not be visible
+    private static final double ANIMATION_MIN_SCALE = 0.5;
+    
     private final AssetManager assetManager;
     private final GridHighlightSystem gridHighlight;
+    private final VisibleArea visibleArea;
+    private final LodPolicy lodPolicy;
+    private final ChunkDensityCache<WritableImage> densityCache;
+    private final HudOverlay hudOverlay;
+    private final Minimap minimap;
+    private final LightingSystem lighting;
+    private final ParticleSystem particles;
+    private final RenderStats stats;
+    // Forwards to the target layer while counting draw calls for the stats
+    private final CountingRenderSurface countingSurface;
+    private boolean statsVisible;
+    private String[] statsLines = new String[0];
+    private long lastStatsRefreshNanos;
+    // Sprite mip level per entity type, resolved once per frame
+    private final Map<String, Image> frameSprites;
+    // Animation frames per entity type (null if not animated), resolved once per frame
+    private final Map<String, SpriteSheet> frameSheets;
+    // Software render rasters per entity type (null until converted), resolved once per frame
+    private final Map<String, BufferedImage> frameRasters;
+    // Sprite rect of the entity being drawn, reused
+    private final double[] entityBounds = new double[4];
+    private final AnimationClock animationClock;
+    private int animatedDrawn;
+    private final DepthSorter depthSorter;
+    // Sprite geometry of the generated tree image
+    private final EntityConfig.TreeConfig treeConfig;
+    // World-edge rectangles outside the world, reused every frame
+    private final double[] outsideRects = new double[16];
     private final WorldConfig worldConfig;
-    private final double worldSize;
     private final int chunkSize;
     private final int tileSize;
     private boolean gridVisible = true; // Grid visibility toggle
@@ -27,236 +77,493 @@ public class Renderer {
     public Renderer(AssetManager assetManager, WorldConfig worldConfig) {
         this.assetManager = assetManager;
         this.worldConfig = worldConfig;
-        this.worldSize = worldConfig.worldSize();
         this.chunkSize = worldConfig.chunkSize() * worldConfig.tileSize();
         this.tileSize = worldConfig.tileSize();
         this.gridHighlight = new GridHighlightSystem();
+        this.visibleArea = new VisibleArea(worldConfig);
+        this.lodPolicy = new LodPolicy();
+        this.densityCache = new ChunkDensityCache<>(worldConfig.chunkSize(), worldConfig.tileSize(), lodPolicy,
+            new FxDensityUploader());
+        this.frameSprites = new HashMap<>();
+        this.frameSheets = new HashMap<>();
+        this.frameRasters = new HashMap<>();
+        this.animationClock = new AnimationClock();
+        this.depthSorter = new DepthSorter(chunkSize);
+        this.treeConfig = new EntityConfig.TreeConfig();
+        this.hudOverlay = new HudOverlay();
+        this.minimap = new Minimap(worldConfig, lodPolicy);
+        this.lighting = new LightingSystem(worldConfig);
+        this.lighting.registerWorldEmitters();
+        this.particles = new ParticleSystem();
+        this.stats = new RenderStats();
+        this.countingSurface = new CountingRenderSurface();
+    }
+    
+    @Override
+    public void render(CanvasLayers layers, FrameChangeTracker.FrameChange change,
+                       World world, Player player, Camera camera) {
+        // Skipped frames are counted by the FrameChangeTracker; recording them here as empty
+        // frames would dilute the averages
+        if (change == FrameChangeTracker.FrameChange.NONE) {
+            return;
+        }
+        beginStatsFrame();
+        
+        // Lower layers keep their pixels unless the change reaches them
+        if (change == FrameChangeTracker.FrameChange.FULL) {
+            drawWorldLayer(counted(layers.getSurface(CanvasLayers.Layer.WORLD)), world, player, camera);
+        }
+        if (change == FrameChangeTracker.FrameChange.FULL || change == FrameChangeTracker.FrameChange.OVERLAY) {
+            layers.clear(CanvasLayers.Layer.DYNAMIC);
+            drawDynamicLayer(counted(layers.getSurface(CanvasLayers.Layer.DYNAMIC)), player, camera);
+        }
+        RenderSurface hudSurface = counted(layers.getSurface(CanvasLayers.Layer.HUD));
+        clearUI(hudSurface, layers.getWidth());
+        drawUI(hudSurface, layers.getWidth(), layers.getHeight(), player, camera);
+        
+        endStatsFrame();
+    }
+    
+    /**
+     * Draw a complete frame, all layers stacked, onto a single surface. Used for rendering
+     * without a canvas, e.g. into a Java2D image or a counting surface for benchmarks.
+     */
+    public void renderFrame(RenderSurface surface, World world, Player player, Camera camera) {
+        beginStatsFrame();
+        RenderSurface target = counted(surface);
+        drawWorldLayer(target, world, player, camera);
+        drawDynamicLayer(target, player, camera);
+        drawUI(target, camera.getWidth(), camera.getHeight(), player, camera);
+        endStatsFrame();
+    }
+    
+    private void beginStatsFrame() {
+        stats.beginFrame();
+        countingSurface.reset();
+    }
+    
+    private RenderSurface counted(RenderSurface target) {
+        countingSurface.setDelegate(target);
+        return countingSurface;
     }
     
-    public void render(GraphicsContext gc, double width, double height, World world, Player player, Camera camera) {
+    private void endStatsFrame() {
+        countingSurface.setDelegate(null);
+        stats.add(RenderStats.Counter.IMAGE_CALLS, countingSurface.getImageCalls());
+        stats.add(RenderStats.Counter.STROKE_CALLS, countingSurface.getStrokeCalls());
+        stats.add(RenderStats.Counter.FILL_CALLS, countingSurface.getFillCalls());
+        stats.endFrame();
+    }
+    
+    private void drawWorldLayer(RenderSurface surface, World world, Player player, Camera camera) {
         // Apply camera transformations
-        camera.applyTransform(gc);
+        camera.applyTransform(surface);
         
         // Apply player perspective transform if needed (before background drawing)
         if (camera.getMode() == Camera.CameraMode.PLAYER_PERSPECTIVE) {
-            camera.applyPlayerPerspectiveTransform(gc, player.getAngle());
+            camera.applyPlayerPerspectiveTransform(surface, player.getAngle());
         }
         
-        // Draw proper tiled background after rotation is applied
-        drawTiledBackground(gc, camera, "plains");
+        // Compute the visible region once for all world passes
+        visibleArea.update(camera);
         
-        // Draw world grid with proper coordinate calculations (if visible)
-        if (gridVisible) {
-            drawGrid(gc, camera);
+        // Draw proper tiled background after rotation is applied
+        stats.beginPass(RenderStats.Pass.BACKGROUND);
+        drawTiledBackground(surface, camera, "plains");
+        stats.endPass(RenderStats.Pass.BACKGROUND);
+        
+        // Draw world grid with proper coordinate calculations (if visible and not too dense)
+        if (gridVisible && lodPolicy.isGridVisible(camera.getZoom())) {
+            stats.beginPass(RenderStats.Pass.GRID);
+            drawGrid(surface, camera);
+            stats.endPass(RenderStats.Pass.GRID);
         }
         
         // Draw world entities with proper positioning
-        drawWorldEntities(gc, world, camera);
+        stats.beginPass(RenderStats.Pass.ENTITIES);
+        drawWorldEntities(surface, world, camera);
+        stats.endPass(RenderStats.Pass.ENTITIES);
         
-        // Draw grid highlight in world coordinates (before camera transform is restored)
-        gridHighlight.drawGridHighlight(gc, camera, player.getAngle());
+        // Darken the world by the cached light map
+        stats.beginPass(RenderStats.Pass.LIGHTING);
+        lighting.render(surface, visibleArea, player.getX(), player.getY());
+        stats.endPass(RenderStats.Pass.LIGHTING);
         
         // Restore camera transformations
-        camera.restoreTransform(gc);
-        
-        // Draw player in screen coordinates (after camera transform is restored)
-        drawPlayer(gc, player, camera);
-        
-        // Draw UI overlay
-        drawUI(gc, width, height, player, camera);
+        camera.restoreTransform(surface);
     }
     
-    private void drawTiledBackground(GraphicsContext gc, Camera camera, String biomeName) {
-        // Get background image from asset manager
-        Image backgroundImage = assetManager.getBackgroundImage(biomeName);
-        
-        // Use precomputed world boundaries
-        double worldStart = 0;
-        double worldEnd = this.worldSize;
+    void drawDynamicLayer(RenderSurface surface, Player player, Camera camera) {
+        // Draw grid highlight in world coordinates, with the same transform as the world layer
+        camera.applyTransform(surface);
+        if (camera.getMode() == Camera.CameraMode.PLAYER_PERSPECTIVE) {
+            camera.applyPlayerPerspectiveTransform(surface, player.getAngle());
+        }
+        stats.beginPass(RenderStats.Pass.HIGHLIGHT);
+        gridHighlight.drawGridHighlight(surface, camera, player.getAngle());
+        stats.endPass(RenderStats.Pass.HIGHLIGHT);
         
-        // Calculate visible area in world coordinates
-        double viewWidth = camera.getWidth() / camera.getZoom();
-        double viewHeight = camera.getHeight() / camera.getZoom();
+        // Particles change every frame, so they live on this layer rather than the world layer
+        stats.beginPass(RenderStats.Pass.PARTICLES);
+        visibleArea.update(camera);
+        particles.draw(surface, visibleArea);
+        stats.endPass(RenderStats.Pass.PARTICLES);
+        camera.restoreTransform(surface);
         
-        // Calculate diagonal length to ensure background covers entire rotated viewport
-        double diagonalLength = Math.sqrt(viewWidth * viewWidth + viewHeight * viewHeight);
-        double extendedSize = diagonalLength / 2;
+        stats.beginPass(RenderStats.Pass.HIGHLIGHT);
         
-        double startX = camera.getX() - extendedSize;
-        double startY = camera.getY() - extendedSize;
-        double endX = camera.getX() + extendedSize;
-        double endY = camera.getY() + extendedSize;
+        // Draw player in screen coordinates (after camera transform is restored)
+        drawPlayer(surface, player, camera);
+        stats.endPass(RenderStats.Pass.HIGHLIGHT);
         
-        // Fill entire visible area with black first (for world boundaries)
-        gc.setFill(Color.BLACK);
-        gc.fillRect(startX, startY, endX - startX, endY - startY);
+        stats.beginPass(RenderStats.Pass.MINIMAP);
+        drawMinimap(surface, camera);
+        stats.endPass(RenderStats.Pass.MINIMAP);
+    }
+    
+    void drawMinimap(RenderSurface surface, Camera camera) {
+        if (!minimap.isVisible()) {
+            return;
+        }
+        double size = Math.min(MINIMAP_SIZE, Math.min(camera.getWidth(), camera.getHeight()) / 3);
+        minimap.uploadPending();
+        minimap.draw(surface, camera.getWidth() - size - MINIMAP_MARGIN, camera.getHeight() - size - MINIMAP_MARGIN,
+                     size, camera);
+    }
+    
+    @Override
+    public boolean hasPendingFrame() {
+        // Frames are drawn synchronously, only minimap summaries may still be waiting
+        return minimap.isVisible() && minimap.hasPendingUploads();
+    }
+    
+    private void drawTiledBackground(RenderSurface surface, Camera camera, String biomeName) {
+        // Get the background mip level matching the on-screen chunk size
+        double backgroundScale = camera.getZoom() * this.chunkSize / AssetManager.BASE_BACKGROUND_SIZE;
+        Image backgroundImage = assetManager.getBackgroundImage(biomeName, backgroundScale);
+        
+        // Clear to black only where the view extends past the world edges
+        int outsideCount = visibleArea.outsideWorldRects(outsideRects);
+        if (outsideCount > 0) {
+            surface.setFill(Color.BLACK);
+            for (int i = 0; i < outsideCount * 4; i += 4) {
+                surface.fillRect(outsideRects[i], outsideRects[i + 1], outsideRects[i + 2], outsideRects[i + 3]);
+            }
+        }
         
-        // Calculate the intersection of visible area with world bounds
-        double renderStartX = Math.max(startX, worldStart);
-        double renderStartY = Math.max(startY, worldStart);
-        double renderEndX = Math.min(endX, worldEnd);
-        double renderEndY = Math.min(endY, worldEnd);
+        if (visibleArea.isEmpty()) {
+            return;
+        }
         
-        // Only draw background tiles if we're within world bounds
-        if (renderStartX < renderEndX && renderStartY < renderEndY) {
-            if (backgroundImage != null) {
-                // Use chunk dimensions instead of image file dimensions
-                double chunkWidth = this.chunkSize;
-                double chunkHeight = this.chunkSize;
-                
-                // Draw background tiles using chunk dimensions (not image file dimensions)
-                for (double x = renderStartX - (renderStartX % chunkWidth); x < renderEndX; x += chunkWidth) {
-                    for (double y = renderStartY - (renderStartY % chunkHeight); y < renderEndY; y += chunkHeight) {
-                        // Only draw if the chunk is within world bounds
-                        if (x < worldEnd && y < worldEnd) {
-                            // Draw the image scaled to chunk size
-                            gc.drawImage(backgroundImage, x, y, chunkWidth, chunkHeight);
-                        }
-                    }
-                }
-            } else {
-                // Fallback to gradient background (only within world bounds)
-                gc.setFill(Color.SKYBLUE);
-                gc.fillRect(renderStartX, renderStartY, renderEndX - renderStartX, renderEndY - renderStartY);
-            }
+        // One rect for the whole world region, the pattern repeats the background once per chunk
+        if (backgroundImage != null) {
+            // Anchored at the world origin so tiles stay aligned with chunk boundaries
+            surface.fillPattern(backgroundImage, 0, 0, chunkSize, chunkSize,
+                                visibleArea.getRenderStartX(), visibleArea.getRenderStartY(),
+                                visibleArea.getRenderEndX() - visibleArea.getRenderStartX(),
+                                visibleArea.getRenderEndY() - visibleArea.getRenderStartY());
+            return;
         }
+        
+        // Fallback to gradient background (only within world bounds)
+        surface.setFill(Color.SKYBLUE);
+        surface.fillRect(visibleArea.getRenderStartX(), visibleArea.getRenderStartY(),
+                         visibleArea.getRenderEndX() - visibleArea.getRenderStartX(),
+                         visibleArea.getRenderEndY() - visibleArea.getRenderStartY());
     }
     
-    private void drawGrid(GraphicsContext gc, Camera camera) {
+    private void drawGrid(RenderSurface surface, Camera camera) {
         // Use stored tile size for grid spacing
         double gridSize = this.tileSize;
-        double viewWidth = camera.getWidth() / camera.getZoom();
-        double viewHeight = camera.getHeight() / camera.getZoom();
-        
-        // Use precomputed world boundaries
-        double worldStart = 0;
-        double worldEnd = this.worldSize;
-        
-        // Calculate diagonal length to ensure grid covers entire rotated viewport
-        double diagonalLength = Math.sqrt(viewWidth * viewWidth + viewHeight * viewHeight);
-        double extendedSize = diagonalLength / 2;
-        
-        // Calculate extended grid boundaries
-        double startX = camera.getX() - extendedSize;
-        double startY = camera.getY() - extendedSize;
-        double endX = camera.getX() + extendedSize;
-        double endY = camera.getY() + extendedSize;
-        
-        // Calculate the intersection of visible area with world bounds
-        double renderStartX = Math.max(startX, worldStart);
-        double renderStartY = Math.max(startY, worldStart);
-        double renderEndX = Math.min(endX, worldEnd);
-        double renderEndY = Math.min(endY, worldEnd);
         
         // Only draw grid if we're within world bounds
-        if (renderStartX < renderEndX && renderStartY < renderEndY) {
+        if (!visibleArea.isEmpty()) {
+            double renderStartX = visibleArea.getRenderStartX();
+            double renderStartY = visibleArea.getRenderStartY();
+            double renderEndX = visibleArea.getRenderEndX();
+            double renderEndY = visibleArea.getRenderEndY();
+            
             // Align to grid
             double gridStartX = Math.floor(renderStartX / gridSize) * gridSize;
             double gridStartY = Math.floor(renderStartY / gridSize) * gridSize;
             
-            gc.setStroke(Color.LIGHTGRAY);
-            gc.setLineWidth(1);
+            surface.setStroke(Color.LIGHTGRAY);
+            surface.setLineWidth(1);
             
             // Draw vertical lines (only within world bounds)
             for (double x = gridStartX; x <= renderEndX; x += gridSize) {
-                gc.strokeLine(x, renderStartY, x, renderEndY);
+                surface.strokeLine(x, renderStartY, x, renderEndY);
             }
             
             // Draw horizontal lines (only within world bounds)
             for (double y = gridStartY; y <= renderEndY; y += gridSize) {
-                gc.strokeLine(renderStartX, y, renderEndX, y);
+                surface.strokeLine(renderStartX, y, renderEndX, y);
             }
         }
     }
     
-    private void drawWorldEntities(GraphicsContext gc, World world, Camera camera) {
-        // Get visible chunks based on camera position
-        double cameraX = camera.getX();
-        double cameraY = camera.getY();
-        double viewWidth = camera.getWidth() / camera.getZoom();
-        double viewHeight = camera.getHeight() / camera.getZoom();
-        
-        // Use precomputed world boundaries
-        double worldStart = 0;
-        double worldEnd = this.worldSize;
+    private void drawWorldEntities(RenderSurface surface, World world, Camera camera) {
+        double zoom = camera.getZoom();
+        LodPolicy.Level level = lodPolicy.levelFor(zoom);
+        frameSprites.clear();
+        frameSheets.clear();
+        animatedDrawn = 0;
+        
+        // Density textures are upscaled tile colors, keep them crisp
+        boolean smoothing = surface.isImageSmoothing();
+        if (level == LodPolicy.Level.DENSITY) {
+            surface.setImageSmoothing(false);
+        }
         
-        // Calculate diagonal length to ensure entities cover entire rotated viewport
-        double diagonalLength = Math.sqrt(viewWidth * viewWidth + viewHeight * viewHeight);
-        double extendedSize = diagonalLength / 2;
+        // Load and render visible chunks (the visible area is already clamped to world bounds)
+        if (level == LodPolicy.Level.SPRITE) {
+            drawSortedEntities(surface, world, zoom);
+        } else {
+            for (int chunkY = visibleArea.getStartChunkY(); chunkY <= visibleArea.getEndChunkY(); chunkY++) {
+                for (int chunkX = visibleArea.getStartChunkX(); chunkX <= visibleArea.getEndChunkX(); chunkX++) {
+                    var chunk = loadChunk(world, chunkX, chunkY);
+                    if (level == LodPolicy.Level.QUAD) {
+                        drawChunkQuads(surface, chunk, zoom);
+                    } else {
+                        drawChunkDensity(surface, chunk);
+                    }
+                }
+            }
+        }
         
-        // Calculate the intersection of visible area with world bounds
-        double renderStartX = Math.max(cameraX - extendedSize, worldStart);
-        double renderStartY = Math.max(cameraY - extendedSize, worldStart);
-        double renderEndX = Math.min(cameraX + extendedSize, worldEnd);
-        double renderEndY = Math.min(cameraY + extendedSize, worldEnd);
+        surface.setImageSmoothing(smoothing);
+    }
+    
+    private void drawSortedEntities(RenderSurface surface, World world, double zoom) {
+        sortVisibleEntities(world);
+        int drawn = 0;
+        for (int i = 0; i < depthSorter.size(); i++) {
+            Entity entity = depthSorter.get(i);
+            if (lodPolicy.isVisible(entity.type(), zoom)) {
+                drawEntity(surface, entity, zoom);
+                drawn++;
+            }
+        }
+        countEntities(depthSorter.size(), drawn);
+    }
+    
+    private void sortVisibleEntities(World world) {
+        // Tall sprites overlap their neighbours, draw back to front by world y
+        depthSorter.clear();
+        for (int chunkY = visibleArea.getStartChunkY(); chunkY <= visibleArea.getEndChunkY(); chunkY++) {
+            for (int chunkX = visibleArea.getStartChunkX(); chunkX <= visibleArea.getEndChunkX(); chunkX++) {
+                depthSorter.addChunk(loadChunk(world, chunkX, chunkY));
+            }
+            depthSorter.endRow();
+        }
+    }
+    
+    /**
+     * Collect what the world pass would draw for the visible entities, for backends that
+     * rasterize the world on another thread: the same chunks, level of detail, visibility,
+     * draw order and sprite geometry, with Java2D rasters instead of JavaFX images. Sprites
+     * whose raster is not ready yet and the coarser levels of detail become flat colored rects.
+     * Must be called on the JavaFX thread, like {@link #render}.
+     */
+    void collectWorldEntities(World world, Camera camera, EntityBatch batch) {
+        batch.clear();
+        frameRasters.clear();
+        visibleArea.update(camera);
+        double zoom = camera.getZoom();
+        LodPolicy.Level level = lodPolicy.levelFor(zoom);
+        
+        if (level == LodPolicy.Level.SPRITE) {
+            sortVisibleEntities(world);
+            for (int i = 0; i < depthSorter.size(); i++) {
+                Entity entity = depthSorter.get(i);
+                if (lodPolicy.isVisible(entity.type(), zoom)) {
+                    spriteBounds(entity, entityBounds);
+                    batch.add(entityRaster(entity.type()), ChunkDensityCache.densityColor(entity.type()),
+                              entityBounds[0], entityBounds[1], entityBounds[2], entityBounds[3]);
+                }
+            }
+            return;
+        }
         
-        // Only load chunks if we're within world bounds
-        if (renderStartX < renderEndX && renderStartY < renderEndY) {
-            int chunkSize = world.getConfig().chunkSize() * world.getConfig().tileSize();
-            int startChunkX = (int) (renderStartX / chunkSize);
-            int endChunkX = (int) (renderEndX / chunkSize);
-            int startChunkY = (int) (renderStartY / chunkSize);
-            int endChunkY = (int) (renderEndY / chunkSize);
-            
-            // Load and render visible chunks (only within world bounds)
-            for (int chunkX = startChunkX; chunkX <= endChunkX; chunkX++) {
-                for (int chunkY = startChunkY; chunkY <= endChunkY; chunkY++) {
-                    // Ensure chunk coordinates are within world bounds
-                    if (chunkX >= 0 && chunkX < 64 && chunkY >= 0 && chunkY < 64) {
-                        var chunk = world.loadChunk(chunkX, chunkY);
-                        drawChunkEntities(gc, chunk);
+        // Same quads as drawChunkQuads, or one rect per tile like the density textures
+        double minSize = 1.0 / zoom;
+        for (int chunkY = visibleArea.getStartChunkY(); chunkY <= visibleArea.getEndChunkY(); chunkY++) {
+            for (int chunkX = visibleArea.getStartChunkX(); chunkX <= visibleArea.getEndChunkX(); chunkX++) {
+                for (Entity entity : loadChunk(world, chunkX, chunkY).getEntities()) {
+                    int color = ChunkDensityCache.densityColor(entity.type());
+                    if (level == LodPolicy.Level.QUAD && lodPolicy.isVisible(entity.type(), zoom)) {
+                        double size = Math.max(minSize, entity.size() * 0.75);
+                        batch.add(null, color, entity.x() - size / 2, entity.y() - size / 2, size, size);
+                    } else if (level == LodPolicy.Level.DENSITY && lodPolicy.isIncludedInDensity(entity.type())) {
+                        batch.add(null, color, Math.floor(entity.x() / tileSize) * tileSize,
+                                  Math.floor(entity.y() / tileSize) * tileSize, tileSize, tileSize);
                     }
                 }
             }
         }
     }
     
-    private void drawChunkEntities(GraphicsContext gc, com.game.core.Chunk chunk) {
-        List<Entity> entities = chunk.getEntities();
-        for (Entity entity : entities) {
-            drawEntity(gc, entity);
+    private BufferedImage entityRaster(String entityType) {
+        // Resolved once per type and frame, like the JavaFX sprites
+        if (!frameRasters.containsKey(entityType)) {
+            frameRasters.put(entityType, assetManager.getEntityRaster(entityType, entityType));
+        }
+        return frameRasters.get(entityType);
+    }
+    
+    private Chunk loadChunk(World world, int chunkX, int chunkY) {
+        stats.increment(RenderStats.Counter.CHUNKS_VISITED);
+        if (world.getLoadedChunk(chunkX, chunkY) == null) {
+            stats.increment(RenderStats.Counter.CHUNKS_LOADED);
         }
+        return world.loadChunk(chunkX, chunkY);
     }
     
-    private void drawEntity(GraphicsContext gc, Entity entity) {
-        Image entityImage = assetManager.getEntityImage(entity.type(), entity.type());
+    private void countEntities(int considered, int drawn) {
+        stats.add(RenderStats.Counter.ENTITIES_CONSIDERED, considered);
+        stats.add(RenderStats.Counter.ENTITIES_CULLED, considered - drawn);
+        stats.add(RenderStats.Counter.ENTITIES_DRAWN, drawn);
+    }
+    
+    private void drawChunkQuads(RenderSurface surface, Chunk chunk, double zoom) {
+        // Flat colored quads, never smaller than one screen pixel
+        double minSize = 1.0 / zoom;
+        Color currentFill = null;
+        int drawn = 0;
+        for (Entity entity : chunk.getEntities()) {
+            if (!lodPolicy.isVisible(entity.type(), zoom)) {
+                continue;
+            }
+            drawn++;
+            double size = Math.max(minSize, entity.size() * 0.75);
+            Color fill = lodColor(entity.type());
+            if (fill != currentFill) {
+                surface.setFill(fill);
+                currentFill = fill;
+            }
+            surface.fillRect(entity.x() - size / 2, entity.y() - size / 2, size, size);
+        }
+        countEntities(chunk.getEntities().size(), drawn);
+    }
+    
+    private void drawChunkDensity(RenderSurface surface, Chunk chunk) {
+        // One pre-aggregated texture per chunk, one texel per tile
+        Image texture = densityCache.getTexture(chunk);
+        surface.drawImage(texture, chunk.getChunkX() * (double) chunkSize, chunk.getChunkY() * (double) chunkSize,
+                          chunkSize, chunkSize);
+    }
+    
+    private Color lodColor(String entityType) {
+        return switch (entityType) {
+            case "tree" -> Color.FORESTGREEN;
+            case "rock" -> Color.GRAY;
+            case "grass" -> Color.LAWNGREEN;
+            case "torch" -> Color.ORANGE;
+            default -> Color.MAGENTA;
+        };
+    }
+    
+    private void drawEntity(RenderSurface surface, Entity entity, double zoom) {
+        double scale = zoom * entity.size() / AssetManager.BASE_ENTITY_SIZE;
+        SpriteSheet sheet = scale > ANIMATION_MIN_SCALE ? spriteSheetFor(entity.type(), scale) : null;
+        Image entityImage = sheet != null ? sheet.image() : frameSprites.get(entity.type());
+        if (entityImage == null) {
+            // Pick the mip level whose resolution matches the entity's size on screen
+            entityImage = assetManager.getEntityImage(entity.type(), entity.type(), scale);
+            if (entityImage != null) {
+                frameSprites.put(entity.type(), entityImage);
+            }
+        }
         
         if (entityImage != null) {
             // Draw image instead of simple shapes
-            double size = entity.size();
-            gc.drawImage(entityImage, entity.x() - size / 2, entity.y() - size / 2, size, size);
+            spriteBounds(entity, entityBounds);
+            double x = entityBounds[0];
+            double y = entityBounds[1];
+            double width = entityBounds[2];
+            double height = entityBounds[3];
+            
+            if (sheet != null) {
+                // Shared sheet per type, the frame comes from the global clock and the entity's phase
+                int frame = animationClock.frameFor(entity, sheet.frameCount());
+                surface.drawImage(entityImage, sheet.frameX(frame), 0, sheet.frameWidth(), sheet.frameHeight(),
+                                  x, y, width, height);
+                animatedDrawn++;
+            } else {
+                surface.drawImage(entityImage, x, y, width, height);
+            }
         } else {
             // Fallback to simple shapes
             switch (entity.type()) {
-                case "tree" -> drawTree(gc, entity.x(), entity.y());
-                case "rock" -> drawRock(gc, entity.x(), entity.y());
-                case "grass" -> drawGrass(gc, entity.x(), entity.y());
+                case "tree" -> drawTree(surface, entity.x(), entity.y());
+                case "rock" -> drawRock(surface, entity.x(), entity.y());
+                case "grass" -> drawGrass(surface, entity.x(), entity.y());
+                case "torch" -> drawTorch(surface, entity.x(), entity.y());
                 default -> logger.debug("Unknown entity type: {}", entity.type());
             }
         }
     }
     
-    private void drawTree(GraphicsContext gc, double x, double y) {
+    /**
+     * World-space rect of an entity's sprite: x, y, width, height
+     */
+    private void spriteBounds(Entity entity, double[] out) {
+        double size = entity.size();
+        out[0] = entity.x() - size / 2;
+        out[1] = entity.y() - size / 2;
+        out[2] = size;
+        out[3] = size;
+        if ("tree".equals(entity.type())) {
+            // Trees are taller than their tile and anchored by the trunk, not the image center
+            double treeScale = size / treeConfig.size;
+            double width = treeConfig.foliageRadius * 2 * treeScale;
+            double height = treeConfig.imageHeight * treeScale;
+            double offsetX = treeConfig.drawOffsetX != null ? treeConfig.drawOffsetX * treeScale : 0;
+            double offsetY = treeConfig.drawOffsetY != null ? treeConfig.drawOffsetY * treeScale : 0;
+            out[0] = entity.x() + offsetX - width / 2;
+            out[1] = entity.y() + offsetY - height / 2;
+            out[2] = width;
+            out[3] = height;
+        }
+    }
+    
+    private SpriteSheet spriteSheetFor(String entityType, double scale) {
+        // Like the static sprites, the sheet whose mip level matches the entity's size on screen;
+        // none until the first one is generated, so the static sprite is drawn meanwhile
+        if (!frameSheets.containsKey(entityType)) {
+            frameSheets.put(entityType, assetManager.getEntitySpriteSheet(entityType, scale));
+        }
+        return frameSheets.get(entityType);
+    }
+    
+    private void drawTree(RenderSurface surface, double x, double y) {
         // Draw trunk
-        gc.setFill(Color.SADDLEBROWN);
-        gc.fillRect(x - 4, y - 8, 8, 16);
+        surface.setFill(Color.SADDLEBROWN);
+        surface.fillRect(x - 4, y - 8, 8, 16);
         
         // Draw leaves
-        gc.setFill(Color.FORESTGREEN);
-        gc.fillOval(x - 12, y - 12, 24, 24);
+        surface.setFill(Color.FORESTGREEN);
+        surface.fillOval(x - 12, y - 12, 24, 24);
+    }
+    
+    private void drawRock(RenderSurface surface, double x, double y) {
+        surface.setFill(Color.GRAY);
+        surface.fillOval(x - 8, y - 8, 16, 16);
     }
     
-    private void drawRock(GraphicsContext gc, double x, double y) {
-        gc.setFill(Color.GRAY);
-        gc.fillOval(x - 8, y - 8, 16, 16);
+    private void drawGrass(RenderSurface surface, double x, double y) {
+        surface.setFill(Color.LAWNGREEN);
+        surface.fillOval(x - 4, y - 4, 8, 8);
     }
     
-    private void drawGrass(GraphicsContext gc, double x, double y) {
-        gc.setFill(Color.LAWNGREEN);
-        gc.fillOval(x - 4, y - 4, 8, 8);
+    private void drawTorch(RenderSurface surface, double x, double y) {
+        surface.setFill(Color.SADDLEBROWN);
+        surface.fillRect(x - 2, y - 6, 4, 16);
+        surface.setFill(Color.ORANGE);
+        surface.fillOval(x - 5, y - 14, 10, 12);
     }
     
-    private void drawPlayer(GraphicsContext gc, Player player, Camera camera) {
+    private void drawPlayer(RenderSurface surface, Player player, Camera camera) {
         // Draw player in screen coordinates (after camera transform is restored)
         // The player should always be at the center of the screen
         double screenX = camera.getWidth() / 2;
@@ -265,13 +572,13 @@ public class Renderer {
         // Scale player size by camera zoom
         double scaledSize = player.getSize() * camera.getZoom();
         
-        gc.setFill(Color.BLUE);
-        gc.fillOval(screenX - scaledSize / 2, screenY - scaledSize / 2, 
+        surface.setFill(Color.BLUE);
+        surface.fillOval(screenX - scaledSize / 2, screenY - scaledSize / 2, 
                    scaledSize, scaledSize);
         
         // Draw player direction indicator
-        gc.setStroke(Color.WHITE);
-        gc.setLineWidth(2);
+        surface.setStroke(Color.WHITE);
+        surface.setLineWidth(2);
         
         // In player perspective mode, player always faces upward (angle = 0)
         // In fixed angle mode, player shows movement direction relative to camera rotation
@@ -285,13 +592,22 @@ public class Renderer {
         
         double endX = screenX + Math.sin(angle) * scaledSize;
         double endY = screenY - Math.cos(angle) * scaledSize;
-        gc.strokeLine(screenX, screenY, endX, endY);
+        surface.strokeLine(screenX, screenY, endX, endY);
+    }
+    
+    @Override
+    public void shutdown() {
+        // Nothing to release; drawing happens directly on the caller's thread
     }
     
     public void updateMousePosition(double x, double y) {
         gridHighlight.updateMousePosition(x, y);
     }
     
+    public GridHighlightSystem getGridHighlight() {
+        return gridHighlight;
+    }
+    
     public void toggleGrid() {
         gridVisible = !gridVisible;
         logger.info("Grid visibility toggled: {}", gridVisible);
@@ -301,27 +617,99 @@ public class Renderer {
         return gridVisible;
     }
     
-    private void drawUI(GraphicsContext gc, double width, double height, Player player, Camera camera) {
-        gc.setFill(Color.BLACK);
-        gc.setFont(javafx.scene.text.Font.font("Arial", 12));
-        
-        // Game info
-        gc.fillText(String.format("Player: (%.1f, %.1f) Angle: %.1f°", 
-                                 player.getX(), player.getY(), Math.toDegrees(player.getAngle())), 10, 20);
-        gc.fillText(String.format("Camera: Zoom %.2f, Mode: %s", 
-                                 camera.getZoom(), camera.getMode()), 10, 35);
-        
-        // Controls
-        gc.fillText("WASD: Move, P: Toggle Camera, Mouse Wheel: Zoom", 10, 50);
-        gc.fillText("E: Interact, G: Toggle Grid, L: Toggle Logs", 10, 65);
-        
-        // Grid status
-        gc.fillText(String.format("Grid: %s", gridVisible ? "ON" : "OFF"), 10, 80);
+    public LodPolicy getLodPolicy() {
+        return lodPolicy;
+    }
+    
+    /**
+     * Refresh the HUD text from the current game state (throttled by the HUD refresh rate)
+     * @return true if the HUD content changed
+     */
+    public boolean updateHud(long nowNanos, Player player, Camera camera) {
+        return hudOverlay.update(nowNanos, player, camera, gridVisible);
+    }
+    
+    public LightingSystem getLighting() {
+        return lighting;
+    }
+    
+    public AnimationClock getAnimationClock() {
+        return animationClock;
+    }
+    
+    /**
+     * @return true if the last world frame drew animated entities, which need a redraw on every clock tick
+     */
+    public boolean isAnimating() {
+        return animatedDrawn > 0;
+    }
+    
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+    
+    public Minimap getMinimap() {
+        return minimap;
+    }
+    
+    public HudOverlay getHudOverlay() {
+        return hudOverlay;
+    }
+    
+    /**
+     * Clear the screen regions the UI draws into
+     */
+    void clearUI(RenderSurface surface, double width) {
+        surface.clearRect(0, 0, HUD_REGION_WIDTH, HUD_REGION_HEIGHT);
+        surface.clearRect(width - STATS_PANEL_WIDTH - STATS_MARGIN, 0,
+                          STATS_PANEL_WIDTH + STATS_MARGIN, statsPanelHeight() + STATS_MARGIN);
+    }
+    
+    void drawUI(RenderSurface surface, double width, double height, Player player, Camera camera) {
+        stats.beginPass(RenderStats.Pass.HUD);
+        // Content is refreshed by updateHud, drawing only blits the cached text
+        hudOverlay.draw(surface);
+        if (statsVisible) {
+            drawStats(surface, width);
+        }
+        stats.endPass(RenderStats.Pass.HUD);
+    }
+    
+    private void drawStats(RenderSurface surface, double width) {
+        long now = System.nanoTime();
+        if (statsLines.length == 0 || now - lastStatsRefreshNanos >= STATS_REFRESH_NANOS) {
+            statsLines = stats.summaryLines();
+            lastStatsRefreshNanos = now;
+        }
         
-        // Debug info
-        if (player.isInteracting()) {
-            gc.setFill(Color.RED);
-            gc.fillText("INTERACTING", 10, 95);
+        double x = width - STATS_PANEL_WIDTH - STATS_MARGIN;
+        surface.setFill(STATS_BACKGROUND);
+        surface.fillRect(x, STATS_MARGIN, STATS_PANEL_WIDTH, statsPanelHeight());
+        surface.setFill(Color.WHITE);
+        for (int i = 0; i < statsLines.length; i++) {
+            surface.fillText(statsLines[i], x + 8, STATS_MARGIN + (i + 1) * STATS_LINE_HEIGHT);
         }
     }
+    
+    private double statsPanelHeight() {
+        return (RenderStats.Pass.values().length + 4) * STATS_LINE_HEIGHT + 6;
+    }
+    
+    /**
+     * Show or hide the render statistics panel
+     */
+    public void setStatsVisible(boolean visible) {
+        this.statsVisible = visible;
+    }
+    
+    public boolean isStatsVisible() {
+        return statsVisible;
+    }
+    
+    /**
+     * @return Counters and pass timings of the frames drawn by this renderer
+     */
+    public RenderStats getStats() {
+        return stats;
+    }
 } 
\ No newline at end of file
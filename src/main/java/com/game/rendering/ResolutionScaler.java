@@ -0,0 +1,136 @@
+package com.game.rendering;
+
+/**
+ * Picks the internal resolution of the world layers from measured frame times.
+ *
+ * A frame time is the interval from a frame that drew something to the next pulse, which
+ * waits for the render thread, so it includes the rasterization done there. They are averaged over short samples. A sample
+ * slower than the frame budget lowers the scale one step; a scale that was too slow is not
+ * tried again for a while. After several samples on target the scale is raised one step, so
+ * machines that can afford it return to native resolution. With vsync the frame time never
+ * drops below the budget, so "on target" rather than "faster than target" is what allows a raise.
+ */
+public class ResolutionScaler {
+    public static final double DEFAULT_TARGET_FPS = 60;
+    public static final double DEFAULT_MIN_SCALE = 0.5;
+    public static final double STEP = 0.1;
+
+    // Frames averaged before each decision
+    private static final int SAMPLE_FRAMES = 30;
+    // Samples slower than the budget by more than this fraction miss the target
+    private static final double TOLERANCE = 0.1;
+    // On-target samples in a row before trying a higher scale
+    private static final int STABLE_SAMPLES = 4;
+    // Frames a scale that missed the target stays off limits
+    private static final int RETRY_FRAMES = 600;
+    // Single frames are capped at this many budgets so one hitch does not decide a sample
+    private static final double MAX_FRAME_BUDGETS = 2;
+
+    private final long frameBudgetNanos;
+    private final double minScale;
+    private boolean enabled = true;
+    private double scale = 1.0;
+
+    private long sampleNanos;
+    private int sampleFrames;
+    private int stableSamples;
+    // Lowest scale that recently missed the target, and how long that is remembered
+    private double ceiling = Double.POSITIVE_INFINITY;
+    private int ceilingFrames;
+
+    public ResolutionScaler() {
+        this(DEFAULT_TARGET_FPS, DEFAULT_MIN_SCALE);
+    }
+
+    /**
+     * @param targetFps Frame rate to hold
+     * @param minScale Lowest internal resolution as a fraction of the native one
+     */
+    public ResolutionScaler(double targetFps, double minScale) {
+        if (!(targetFps > 0)) {
+            throw new IllegalArgumentException("Target FPS must be positive: " + targetFps);
+        }
+        if (!(minScale > 0 && minScale <= 1)) {
+            throw new IllegalArgumentException("Minimum scale must be in (0, 1]: " + minScale);
+        }
+        this.frameBudgetNanos = (long) (1_000_000_000L / targetFps);
+        this.minScale = minScale;
+    }
+
+    /**
+     * Record the duration of one frame
+     * @param frameNanos Time from the frame to the next one
+     * @return true if the scale changed
+     */
+    public boolean recordFrame(long frameNanos) {
+        if (!enabled) {
+            return false;
+        }
+        if (ceilingFrames > 0 && --ceilingFrames == 0) {
+            ceiling = Double.POSITIVE_INFINITY;
+        }
+
+        sampleNanos += Math.min(frameNanos, (long) (frameBudgetNanos * MAX_FRAME_BUDGETS));
+        if (++sampleFrames < SAMPLE_FRAMES) {
+            return false;
+        }
+        double average = sampleNanos / (double) sampleFrames;
+        sampleNanos = 0;
+        sampleFrames = 0;
+
+        if (average > frameBudgetNanos * (1 + TOLERANCE)) {
+            stableSamples = 0;
+            if (scale > minScale) {
+                ceiling = scale;
+                ceilingFrames = RETRY_FRAMES;
+                return setScale(scale - STEP);
+            }
+            return false;
+        }
+
+        if (++stableSamples >= STABLE_SAMPLES && scale < 1.0 && scale + STEP < ceiling - 1e-9) {
+            stableSamples = 0;
+            return setScale(scale + STEP);
+        }
+        return false;
+    }
+
+    private boolean setScale(double newScale) {
+        // Round to whole percent so repeated steps do not drift
+        double rounded = Math.round(Math.max(minScale, Math.min(1.0, newScale)) * 100) / 100.0;
+        if (rounded == scale) {
+            return false;
+        }
+        scale = rounded;
+        return true;
+    }
+
+    /**
+     * Turn adaptation on or off; turning it off returns to native resolution
+     * @return true if the scale changed
+     */
+    public boolean setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        sampleNanos = 0;
+        sampleFrames = 0;
+        stableSamples = 0;
+        ceiling = Double.POSITIVE_INFINITY;
+        ceilingFrames = 0;
+        return !enabled && setScale(1.0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Internal resolution of the world layers as a fraction of the native one
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    public double getMinScale() {
+        return minScale;
+    }
+}
@@ -0,0 +1,425 @@
+package com.game.rendering;
+
+import com.game.core.Player;
+import com.game.core.World;
+import com.game.core.WorldConfig;
+import com.game.utils.AssetManager;
+import com.game.utils.TripleBuffer;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Render backend that rasterizes the world layer with Java2D on a dedicated render thread.
+ *
+ * The JavaFX thread collects what the world pass would draw through {@link Renderer}'s
+ * visible-set, level-of-detail and depth-sort path, along with the entity and background
+ * rasters and the light map, hands it to the render thread and presents the most recently
+ * completed frame through an {@link IntBuffer}-backed {@link PixelBuffer} on the world
+ * layer. Requests and frames are both triple-buffered, so neither thread waits for the
+ * other and neither allocates per frame. The render thread never touches the world or the
+ * asset caches, so chunks are only loaded, their listeners only run and assets are only
+ * generated on the JavaFX thread. The dynamic layer (highlight, particles, player, minimap)
+ * and the HUD are still drawn on the JavaFX thread by {@link Renderer}, like the other
+ * backend does.
+ */
+public class SoftwareRenderBackend implements RenderBackend {
+    private static final Logger logger = LoggerFactory.getLogger(SoftwareRenderBackend.class);
+
+    private static final Color GRID_COLOR = new Color(211, 211, 211);
+    private static final Color SKY_BLUE = new Color(135, 206, 235);
+    private static final BasicStroke THIN_STROKE = new BasicStroke(1);
+
+    private final Renderer renderer;
+    private final AssetManager assetManager;
+    private final VisibleArea visibleArea;
+    private final int tileSize;
+
+    private final TripleBuffer<Frame> frames;
+    private final TripleBuffer<FrameRequest> requests;
+    private final Thread renderThread;
+    private volatile boolean running;
+
+    // Presentation state, owned by the JavaFX thread
+    private PixelBuffer<IntBuffer> pixelBuffer;
+    private WritableImage presentImage;
+    private long presentedFrameId = -1;
+
+    // Copy of the last request handed to the render thread and the area it covered, owned by
+    // the JavaFX thread
+    private final FrameRequest lastRequest = new FrameRequest();
+    private final VisibleArea requestArea;
+
+    // Render thread frame counter, light map image and reused shapes
+    private long nextFrameId;
+    private BufferedImage lightImage;
+    private final Rectangle2D.Double rectangle = new Rectangle2D.Double();
+    private final Line2D.Double line = new Line2D.Double();
+    private final AffineTransform transform = new AffineTransform();
+
+    public SoftwareRenderBackend(Renderer renderer, AssetManager assetManager, WorldConfig worldConfig) {
+        this.renderer = renderer;
+        this.assetManager = assetManager;
+        this.visibleArea = new VisibleArea(worldConfig);
+        this.requestArea = new VisibleArea(worldConfig);
+        this.tileSize = worldConfig.tileSize();
+        this.frames = new TripleBuffer<>(Frame::new);
+        this.requests = new TripleBuffer<>(FrameRequest::new);
+        this.running = true;
+        this.renderThread = new Thread(this::renderLoop, "software-render");
+        this.renderThread.setDaemon(true);
+        this.renderThread.start();
+
+        logger.info("Software render backend started");
+    }
+
+    @Override
+    public void render(CanvasLayers layers, FrameChangeTracker.FrameChange change,
+                       World world, Player player, Camera camera) {
+        // Lower layers keep their pixels unless the change reaches them
+        if (change == FrameChangeTracker.FrameChange.FULL) {
+            requestFrame(layers.getWidth(), layers.getHeight(), layers.getResolutionScale(), world, player, camera);
+            presentLatest(layers.getGraphicsContext(CanvasLayers.Layer.WORLD), layers.getWidth(), layers.getHeight());
+        }
+        if (change == FrameChangeTracker.FrameChange.FULL || change == FrameChangeTracker.FrameChange.OVERLAY) {
+            layers.clear(CanvasLayers.Layer.DYNAMIC);
+            renderer.drawDynamicLayer(layers.getSurface(CanvasLayers.Layer.DYNAMIC), player, camera);
+        }
+        if (change != FrameChangeTracker.FrameChange.NONE) {
+            // HUD stays on the JavaFX thread
+            RenderSurface hudSurface = layers.getSurface(CanvasLayers.Layer.HUD);
+            renderer.clearUI(hudSurface, layers.getWidth());
+            renderer.drawUI(hudSurface, layers.getWidth(), layers.getHeight(), player, camera);
+        }
+    }
+
+    private void requestFrame(double width, double height, double resolutionScale, World world, Player player, Camera camera) {
+        // Snapshot everything the render thread needs; it never touches live game objects
+
+        // Rasterize at the layer's internal resolution; the whole view scales with the zoom
+        FrameRequest request = requests.back();
+        request.width = (int) Math.ceil(width * resolutionScale);
+        request.height = (int) Math.ceil(height * resolutionScale);
+        request.cameraX = camera.getX();
+        request.cameraY = camera.getY();
+        request.zoom = camera.getZoom() * resolutionScale;
+        request.angle = camera.getMode() == Camera.CameraMode.PLAYER_PERSPECTIVE ? player.getAngle() : camera.getRotation();
+        request.gridVisible = renderer.isGridVisible() && renderer.getLodPolicy().isGridVisible(camera.getZoom());
+
+        // Chunks are loaded and assets resolved here, on the JavaFX thread, through the same
+        // visible set and level of detail as the other backend
+        request.background = assetManager.getBackgroundRaster("plains");
+        renderer.collectWorldEntities(world, camera, request.entities);
+
+        LightingSystem lighting = renderer.getLighting();
+        requestArea.update(camera);
+        int[] lightPixels = lighting.copyLightMap(requestArea, player.getX(), player.getY(), request.lightPixels);
+        request.lightVisible = lightPixels != null;
+        if (request.lightVisible) {
+            request.lightPixels = lightPixels;
+            request.lightX = lighting.getMapX();
+            request.lightY = lighting.getMapY();
+            request.lightWidth = lighting.getMapWidth();
+            request.lightHeight = lighting.getMapHeight();
+        }
+
+        // Only wake the render thread if the frame would actually differ
+        if (!request.sameFrameAs(lastRequest)) {
+            lastRequest.copyFrom(request);
+            requests.publish();
+            LockSupport.unpark(renderThread);
+        }
+    }
+
+    private void presentLatest(GraphicsContext gc, double width, double height) {
+        frames.update();
+        Frame frame = frames.front();
+        if (frame.id >= 0) {
+            present(gc, frame, width, height);
+        } else {
+            // Nothing rendered yet
+            gc.setFill(javafx.scene.paint.Color.BLACK);
+            gc.fillRect(0, 0, width, height);
+        }
+    }
+
+    @Override
+    public boolean hasPendingFrame() {
+        return frames.hasUpdate() || requests.hasUpdate() || renderer.hasPendingFrame();
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(renderThread);
+        try {
+            renderThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Software render backend stopped");
+    }
+
+    private void present(GraphicsContext gc, Frame frame, double width, double height) {
+        if (pixelBuffer == null || pixelBuffer.getWidth() != frame.width || pixelBuffer.getHeight() != frame.height) {
+            IntBuffer buffer = ByteBuffer.allocateDirect(frame.width * frame.height * 4)
+                                         .order(ByteOrder.nativeOrder())
+                                         .asIntBuffer();
+            pixelBuffer = new PixelBuffer<>(frame.width, frame.height, buffer, PixelFormat.getIntArgbPreInstance());
+            presentImage = new WritableImage(pixelBuffer);
+            presentedFrameId = -1;
+        }
+
+        if (frame.id != presentedFrameId) {
+            pixelBuffer.updateBuffer(pb -> {
+                IntBuffer buffer = pb.getBuffer();
+                buffer.rewind();
+                buffer.put(frame.pixels, 0, frame.width * frame.height);
+                buffer.rewind();
+                return null; // Whole buffer is dirty
+            });
+            presentedFrameId = frame.id;
+        }
+
+        gc.drawImage(presentImage, 0, 0, width, height);
+    }
+
+    private void renderLoop() {
+        while (running) {
+            if (!requests.update()) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            try {
+                FrameRequest request = requests.front();
+                Frame frame = frames.back();
+                frame.ensureSize(request.width, request.height);
+                rasterize(frame, frame.width, frame.height, request);
+                frame.id = nextFrameId++;
+                frames.publish();
+            } catch (Exception e) {
+                logger.error("Software render failed", e);
+            }
+        }
+    }
+
+    private void rasterize(Frame frame, int width, int height, FrameRequest request) {
+        Graphics2D g = frame.image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, width, height);
+
+            // Same camera transform as Camera.applyTransform / applyPlayerPerspectiveTransform
+            g.translate(request.width / 2.0, request.height / 2.0);
+            g.scale(request.zoom, request.zoom);
+            g.rotate(-request.angle);
+            g.translate(-request.cameraX, -request.cameraY);
+
+            visibleArea.update(request.cameraX, request.cameraY,
+                               request.width / request.zoom, request.height / request.zoom);
+
+            if (!visibleArea.isEmpty()) {
+                drawBackground(g, request.background);
+                if (request.gridVisible) {
+                    drawGrid(g);
+                }
+                drawEntities(g, request.entities);
+                if (request.lightVisible) {
+                    drawLightMap(g, request);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private void drawBackground(Graphics2D g, BufferedImage background) {
+        double renderStartX = visibleArea.getRenderStartX();
+        double renderStartY = visibleArea.getRenderStartY();
+        double renderEndX = visibleArea.getRenderEndX();
+        double renderEndY = visibleArea.getRenderEndY();
+
+        if (background == null) {
+            g.setColor(SKY_BLUE);
+            rectangle.setRect(renderStartX, renderStartY, renderEndX - renderStartX, renderEndY - renderStartY);
+            g.fill(rectangle);
+            return;
+        }
+
+        int chunkPixelSize = visibleArea.getChunkPixelSize();
+        double scale = (double) chunkPixelSize / background.getWidth();
+        for (int chunkX = visibleArea.getStartChunkX(); chunkX <= visibleArea.getEndChunkX(); chunkX++) {
+            for (int chunkY = visibleArea.getStartChunkY(); chunkY <= visibleArea.getEndChunkY(); chunkY++) {
+                transform.setToTranslation(chunkX * (double) chunkPixelSize, chunkY * (double) chunkPixelSize);
+                transform.scale(scale, scale);
+                g.drawImage(background, transform, null);
+            }
+        }
+    }
+
+    private void drawGrid(Graphics2D g) {
+        double renderStartX = visibleArea.getRenderStartX();
+        double renderStartY = visibleArea.getRenderStartY();
+        double renderEndX = visibleArea.getRenderEndX();
+        double renderEndY = visibleArea.getRenderEndY();
+        double gridStartX = Math.floor(renderStartX / tileSize) * tileSize;
+        double gridStartY = Math.floor(renderStartY / tileSize) * tileSize;
+
+        g.setColor(GRID_COLOR);
+        g.setStroke(THIN_STROKE);
+        for (double x = gridStartX; x <= renderEndX; x += tileSize) {
+            line.setLine(x, renderStartY, x, renderEndY);
+            g.draw(line);
+        }
+        for (double y = gridStartY; y <= renderEndY; y += tileSize) {
+            line.setLine(renderStartX, y, renderEndX, y);
+            g.draw(line);
+        }
+    }
+
+    private void drawEntities(Graphics2D g, EntityBatch entities) {
+        int currentColor = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            BufferedImage image = entities.raster(i);
+            if (image != null) {
+                transform.setToTranslation(entities.x(i), entities.y(i));
+                transform.scale(entities.width(i) / image.getWidth(), entities.height(i) / image.getHeight());
+                g.drawImage(image, transform, null);
+                continue;
+            }
+            // Consecutive rects mostly share a color, only switch when it changes
+            int color = entities.color(i);
+            if (color != currentColor) {
+                g.setColor(new Color(color, true));
+                currentColor = color;
+            }
+            rectangle.setRect(entities.x(i), entities.y(i), entities.width(i), entities.height(i));
+            g.fill(rectangle);
+        }
+    }
+
+    private void drawLightMap(Graphics2D g, FrameRequest request) {
+        // One texel per tile, upscaled and smoothed like LightingSystem.render
+        int mapWidth = request.lightWidth;
+        int mapHeight = request.lightHeight;
+        if (lightImage == null || lightImage.getWidth() < mapWidth || lightImage.getHeight() < mapHeight) {
+            lightImage = new BufferedImage(mapWidth + mapWidth / 4, mapHeight + mapHeight / 4, BufferedImage.TYPE_INT_ARGB);
+        }
+        int[] target = ((DataBufferInt) lightImage.getRaster().getDataBuffer()).getData();
+        int stride = lightImage.getWidth();
+        for (int row = 0; row < mapHeight; row++) {
+            System.arraycopy(request.lightPixels, row * mapWidth, target, row * stride, mapWidth);
+        }
+
+        int x = request.lightX * tileSize;
+        int y = request.lightY * tileSize;
+        g.drawImage(lightImage, x, y, x + mapWidth * tileSize, y + mapHeight * tileSize,
+                    0, 0, mapWidth, mapHeight, null);
+    }
+
+    /**
+     * One request triple-buffer slot: everything needed to rasterize one frame. Written by
+     * the JavaFX thread, then only read by the render thread until it is handed back.
+     */
+    private static final class FrameRequest {
+        private int width = -1;
+        private int height;
+        private double cameraX;
+        private double cameraY;
+        private double zoom;
+        private double angle;
+        private boolean gridVisible;
+        private BufferedImage background;
+        // Rects of the visible entities in draw order, so the render thread never reads live chunks
+        private final EntityBatch entities = new EntityBatch();
+        // Darkness overlay, one ARGB pixel per tile
+        private boolean lightVisible;
+        private int[] lightPixels = new int[0];
+        private int lightX;
+        private int lightY;
+        private int lightWidth;
+        private int lightHeight;
+
+        private boolean sameFrameAs(FrameRequest other) {
+            if (width != other.width || height != other.height || cameraX != other.cameraX
+                    || cameraY != other.cameraY || zoom != other.zoom || angle != other.angle
+                    || gridVisible != other.gridVisible || background != other.background
+                    || lightVisible != other.lightVisible || !entities.sameAs(other.entities)) {
+                return false;
+            }
+            if (!lightVisible) {
+                return true;
+            }
+            int lightSize = lightWidth * lightHeight;
+            return lightX == other.lightX && lightY == other.lightY
+                && lightWidth == other.lightWidth && lightHeight == other.lightHeight
+                && Arrays.equals(lightPixels, 0, lightSize, other.lightPixels, 0, lightSize);
+        }
+
+        private void copyFrom(FrameRequest other) {
+            width = other.width;
+            height = other.height;
+            cameraX = other.cameraX;
+            cameraY = other.cameraY;
+            zoom = other.zoom;
+            angle = other.angle;
+            gridVisible = other.gridVisible;
+            background = other.background;
+            entities.copyFrom(other.entities);
+            lightVisible = other.lightVisible;
+            lightX = other.lightX;
+            lightY = other.lightY;
+            lightWidth = other.lightWidth;
+            lightHeight = other.lightHeight;
+            if (lightVisible) {
+                int lightSize = lightWidth * lightHeight;
+                if (lightPixels.length < lightSize) {
+                    lightPixels = new int[other.lightPixels.length];
+                }
+                System.arraycopy(other.lightPixels, 0, lightPixels, 0, lightSize);
+            }
+        }
+    }
+
+    /**
+     * One triple-buffer slot: an ARGB_PRE raster and its backing pixel array
+     */
+    private static final class Frame {
+        private BufferedImage image;
+        private int[] pixels;
+        private int width;
+        private int height;
+        private long id = -1;
+
+        private void ensureSize(int requestedWidth, int requestedHeight) {
+            int newWidth = Math.max(1, requestedWidth);
+            int newHeight = Math.max(1, requestedHeight);
+            if (image == null || width != newWidth || height != newHeight) {
+                image = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+                pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+                width = newWidth;
+                height = newHeight;
+            }
+        }
+    }
+}
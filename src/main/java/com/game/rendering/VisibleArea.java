@@ -0,0 +1,133 @@
+package com.game.rendering;
+
+import com.game.core.WorldConfig;
+
+/**
+ * Visible world region for a camera, clamped to the world bounds.
+ *
+ * The region is extended to the view diagonal so it still covers the viewport
+ * when the camera is rotated. Instances are mutable and meant to be reused
+ * every frame so that all render paths share the same visible-set logic
+ * without allocating.
+ */
+public class VisibleArea {
+    private final double worldSize;
+    private final int chunkPixelSize;
+    private final int chunkCount;
+
+    // Extended view bounds (not clamped to the world)
+    private double startX, startY, endX, endY;
+
+    // View bounds clamped to the world
+    private double renderStartX, renderStartY, renderEndX, renderEndY;
+
+    // Inclusive chunk range covering the clamped bounds
+    private int startChunkX, startChunkY, endChunkX, endChunkY;
+
+    public VisibleArea(WorldConfig worldConfig) {
+        this.worldSize = worldConfig.worldSize();
+        this.chunkPixelSize = worldConfig.chunkSize() * worldConfig.tileSize();
+        this.chunkCount = worldConfig.chunkCount();
+    }
+
+    public void update(Camera camera) {
+        update(camera.getX(), camera.getY(),
+               camera.getWidth() / camera.getZoom(), camera.getHeight() / camera.getZoom());
+    }
+
+    /**
+     * Recompute the region for a view centered on the given world position
+     * @param centerX View center x in world pixels
+     * @param centerY View center y in world pixels
+     * @param viewWidth View width in world pixels (screen width / zoom)
+     * @param viewHeight View height in world pixels (screen height / zoom)
+     */
+    public void update(double centerX, double centerY, double viewWidth, double viewHeight) {
+        // Calculate diagonal length to ensure the region covers the entire rotated viewport
+        double diagonalLength = Math.sqrt(viewWidth * viewWidth + viewHeight * viewHeight);
+        double extendedSize = diagonalLength / 2;
+
+        startX = centerX - extendedSize;
+        startY = centerY - extendedSize;
+        endX = centerX + extendedSize;
+        endY = centerY + extendedSize;
+
+        // Calculate the intersection of visible area with world bounds
+        renderStartX = Math.max(startX, 0);
+        renderStartY = Math.max(startY, 0);
+        renderEndX = Math.min(endX, worldSize);
+        renderEndY = Math.min(endY, worldSize);
+
+        if (isEmpty()) {
+            startChunkX = 0;
+            startChunkY = 0;
+            endChunkX = -1;
+            endChunkY = -1;
+            return;
+        }
+
+        startChunkX = Math.max(0, (int) (renderStartX / chunkPixelSize));
+        startChunkY = Math.max(0, (int) (renderStartY / chunkPixelSize));
+        endChunkX = Math.min(chunkCount - 1, (int) (renderEndX / chunkPixelSize));
+        endChunkY = Math.min(chunkCount - 1, (int) (renderEndY / chunkPixelSize));
+    }
+
+    /**
+     * @return true if the view does not intersect the world at all
+     */
+    public boolean isEmpty() {
+        return renderStartX >= renderEndX || renderStartY >= renderEndY;
+    }
+
+    /**
+     * Collect the parts of the extended bounds that lie outside the world, as up to
+     * four non-overlapping rectangles: full-width strips above and below the world,
+     * then the left and right strips between them.
+     * @param out Receives x, y, width, height per rectangle; needs room for 16 values
+     * @return Number of rectangles written
+     */
+    public int outsideWorldRects(double[] out) {
+        if (isEmpty()) {
+            return putRect(out, 0, startX, startY, endX - startX, endY - startY);
+        }
+        int count = 0;
+        if (startY < renderStartY) {
+            count = putRect(out, count, startX, startY, endX - startX, renderStartY - startY);
+        }
+        if (endY > renderEndY) {
+            count = putRect(out, count, startX, renderEndY, endX - startX, endY - renderEndY);
+        }
+        if (startX < renderStartX) {
+            count = putRect(out, count, startX, renderStartY, renderStartX - startX, renderEndY - renderStartY);
+        }
+        if (endX > renderEndX) {
+            count = putRect(out, count, renderEndX, renderStartY, endX - renderEndX, renderEndY - renderStartY);
+        }
+        return count;
+    }
+
+    private static int putRect(double[] out, int index, double x, double y, double width, double height) {
+        int offset = index * 4;
+        out[offset] = x;
+        out[offset + 1] = y;
+        out[offset + 2] = width;
+        out[offset + 3] = height;
+        return index + 1;
+    }
+
+    // Getters
+    public double getStartX() { return startX; }
+    public double getStartY() { return startY; }
+    public double getEndX() { return endX; }
+    public double getEndY() { return endY; }
+    public double getRenderStartX() { return renderStartX; }
+    public double getRenderStartY() { return renderStartY; }
+    public double getRenderEndX() { return renderEndX; }
+    public double getRenderEndY() { return renderEndY; }
+    public int getStartChunkX() { return startChunkX; }
+    public int getStartChunkY() { return startChunkY; }
+    public int getEndChunkX() { return endChunkX; }
+    public int getEndChunkY() { return endChunkY; }
+    public int getChunkPixelSize() { return chunkPixelSize; }
+    public double getWorldSize() { return worldSize; }
+}
@@ -1,12 +1,10 @@
 package com.game.ui;
 
 import com.game.core.GameEngine;
-import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
+import com.game.rendering.CanvasLayers;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
 import javafx.scene.layout.BorderPane;
-import javafx.scene.paint.Color;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,8 +12,8 @@ public class CanvasWindow {
     private static final Logger logger = LoggerFactory.getLogger(CanvasWindow.class);
     
     private final BorderPane root;
-    private final Canvas gameCanvas;
-    private final GraphicsContext gc;
+    private final CanvasLayers canvasLayers;
+    private final javafx.scene.layout.StackPane canvasContainer;
     private final GameEngine gameEngine;
     private final MenuBar menuBar;
     private final javafx.scene.layout.VBox logWindowContainer;
@@ -30,10 +28,10 @@ public class CanvasWindow {
         menuBar = createMenuBar();
         root.setTop(menuBar);
         
-        // Create canvas
-        gameCanvas = new Canvas(1200, 800);
-        gc = gameCanvas.getGraphicsContext2D();
-        root.setCenter(gameCanvas);
+        // Create canvas layers; input is handled on their common container
+        canvasLayers = new CanvasLayers(1200, 800);
+        canvasContainer = canvasLayers.getContainer();
+        root.setCenter(canvasContainer);
         
         // Create log window container as overlay
         logWindowContainer = new javafx.scene.layout.VBox();
@@ -53,14 +51,14 @@ public class CanvasWindow {
         
         // Create a StackPane to overlay the log window on top of the canvas
         javafx.scene.layout.StackPane stackPane = new javafx.scene.layout.StackPane();
-        stackPane.getChildren().addAll(gameCanvas, logWindowContainer);
+        stackPane.getChildren().addAll(canvasContainer, logWindowContainer);
         
         // Set the stack pane as the center of the root
         root.setCenter(stackPane);
         
         // Make canvas focusable and request focus
-        gameCanvas.setFocusTraversable(true);
-        gameCanvas.requestFocus();
+        canvasContainer.setFocusTraversable(true);
+        canvasContainer.requestFocus();
         
         // Setup canvas event handling
         setupCanvasEvents();
@@ -68,8 +66,8 @@ public class CanvasWindow {
         // Setup resize handling
         setupResizeHandling();
         
-        // Connect graphics context to game engine
-        gameEngine.setGraphicsContext(gc);
+        // Connect canvas layers to game engine
+        gameEngine.setCanvasLayers(canvasLayers);
         
         logger.info("Canvas window initialized");
     }
@@ -112,37 +110,37 @@ public class CanvasWindow {
     
     private void setupCanvasEvents() {
         // Mouse events with log window awareness
-        gameCanvas.setOnMouseMoved(e -> {
+        canvasContainer.setOnMouseMoved(e -> {
             if (!isMouseOverLogWindow(e.getX(), e.getY())) {
                 gameEngine.handleMouseMoved(e.getX(), e.getY());
             }
         });
         
-        gameCanvas.setOnMousePressed(e -> {
+        canvasContainer.setOnMousePressed(e -> {
             if (!isMouseOverLogWindow(e.getX(), e.getY())) {
                 gameEngine.handleMousePressed(e.getX(), e.getY());
             }
         });
         
-        gameCanvas.setOnMouseReleased(e -> {
+        canvasContainer.setOnMouseReleased(e -> {
             if (!isMouseOverLogWindow(e.getX(), e.getY())) {
                 gameEngine.handleMouseReleased(e.getX(), e.getY());
             }
         });
         
-        gameCanvas.setOnScroll(e -> {
+        canvasContainer.setOnScroll(e -> {
             if (!isMouseOverLogWindow(e.getX(), e.getY())) {
                 gameEngine.handleMouseScroll(e.getDeltaY());
             }
         });
         
         // Keyboard events (backup to scene level)
-        gameCanvas.setOnKeyPressed(e -> {
+        canvasContainer.setOnKeyPressed(e -> {
             if (gameEngine.getInputManager() != null) {
                 gameEngine.getInputManager().handleKeyPressed(e);
             }
         });
-        gameCanvas.setOnKeyReleased(e -> {
+        canvasContainer.setOnKeyReleased(e -> {
             if (gameEngine.getInputManager() != null) {
                 gameEngine.getInputManager().handleKeyReleased(e);
             }
@@ -161,7 +159,7 @@ public class CanvasWindow {
         }
         
         // Convert mouse coordinates to scene coordinates
-        javafx.geometry.Point2D scenePoint = gameCanvas.localToScene(mouseX, mouseY);
+        javafx.geometry.Point2D scenePoint = canvasContainer.localToScene(mouseX, mouseY);
         
         // Convert scene coordinates to log window local coordinates
         javafx.geometry.Point2D logWindowPoint = logWindow.sceneToLocal(scenePoint);
@@ -173,13 +171,13 @@ public class CanvasWindow {
     private void setupResizeHandling() {
         // Handle canvas resize
         root.widthProperty().addListener((obs, oldWidth, newWidth) -> {
-            gameCanvas.setWidth(newWidth.doubleValue());
-            gameEngine.handleResize(newWidth.doubleValue(), gameCanvas.getHeight());
+            canvasLayers.resize(newWidth.doubleValue(), canvasLayers.getHeight());
+            gameEngine.handleResize(newWidth.doubleValue(), canvasLayers.getHeight());
         });
         
         root.heightProperty().addListener((obs, oldHeight, newHeight) -> {
-            gameCanvas.setHeight(newHeight.doubleValue());
-            gameEngine.handleResize(gameCanvas.getWidth(), newHeight.doubleValue());
+            canvasLayers.resize(canvasLayers.getWidth(), newHeight.doubleValue());
+            gameEngine.handleResize(canvasLayers.getWidth(), newHeight.doubleValue());
         });
     }
     
@@ -187,11 +185,7 @@ public class CanvasWindow {
         return root;
     }
     
-    public Canvas getCanvas() {
-        return gameCanvas;
-    }
-    
-    public GraphicsContext getGraphicsContext() {
-        return gc;
+    public CanvasLayers getCanvasLayers() {
+        return canvasLayers;
     }
 } 
\ No newline at end of file
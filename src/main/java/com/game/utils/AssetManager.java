@@ -4,6 +4,7 @@ import javafx.scene.image.Image;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -12,21 +13,63 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.ImageIO;
 import com.game.graphics.svg.ImageGenerator;
 import com.game.graphics.svg.EntityConfig;
 
-public class AssetManager {
+public class AssetManager implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(AssetManager.class);
     
+    /**
+     * Base resolution of generated entity images in pixels
+     */
+    public static final int BASE_ENTITY_SIZE = 32;
+    
+    /**
+     * Base resolution of generated background images in pixels
+     */
+    public static final int BASE_BACKGROUND_SIZE = 640;
+    
+    /**
+     * Number of frames in generated entity animations
+     */
+    public static final int ANIMATION_FRAMES = 8;
+    
+    // Maximum grass blade rotation of the sway animation in degrees
+    private static final double GRASS_SWAY_DEGREES = 12;
+    // Maximum horizontal tree foliage offset of the sway animation in pixels
+    private static final int TREE_SWAY_PIXELS = 2;
+    
     private final AssetDirectoryManager directoryManager;
     private final Map<String, Image> imageCache;
     private final Map<String, byte[]> imageDataCache;
+    private final Map<String, BufferedImage> rasterCache;
+    // Rasters being converted in the background or already converted
+    private final Set<String> rasterRequests;
+    private final Map<String, MipChain<Image>> mipChains;
+    private final Map<String, MipChain<SpriteSheet>> spriteSheets;
+    // Types whose image was replaced; their generated animation would hide the replacement
+    private final Set<String> staticTypes;
+    private final ExecutorService mipExecutor;
+    private final AtomicLong version;
     
     public AssetManager(AssetDirectoryManager directoryManager) {
         this.directoryManager = directoryManager;
         this.imageCache = new ConcurrentHashMap<>();
         this.imageDataCache = new ConcurrentHashMap<>();
+        this.rasterCache = new ConcurrentHashMap<>();
+        this.rasterRequests = ConcurrentHashMap.newKeySet();
+        this.mipChains = new ConcurrentHashMap<>();
+        this.spriteSheets = new ConcurrentHashMap<>();
+        this.staticTypes = ConcurrentHashMap.newKeySet();
+        this.mipExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.version = new AtomicLong();
         
         logger.info("Asset manager initialized");
     }
@@ -83,6 +126,262 @@ public class AssetManager {
         return image;
     }
     
+    /**
+     * Get the mip level of an entity image closest to the requested scale.
+     * Missing levels are generated in the background the first time they are needed;
+     * until then the nearest available level is returned.
+     * @param scale Size on screen divided by {@link #BASE_ENTITY_SIZE}
+     */
+    public Image getEntityImage(String entityType, String imageName, double scale) {
+        int level = MipChain.levelFor(scale);
+        if (level == 0) {
+            return getEntityImage(entityType, imageName);
+        }
+        
+        String cacheKey = "entity:" + entityType + ":" + imageName;
+        MipChain<Image> chain = mipChains.get(cacheKey);
+        if (chain == null) {
+            Image base = getEntityImage(entityType, imageName);
+            if (base == null) {
+                return null;
+            }
+            chain = mipChains.computeIfAbsent(cacheKey, key -> new MipChain<>(base));
+        }
+        return getMipLevel(chain, level, () -> renderEntityImage(entityType, MipChain.scaleOf(level)));
+    }
+    
+    /**
+     * Get the mip level of a background image closest to the requested scale.
+     * Missing levels are generated in the background the first time they are needed.
+     * @param scale Size on screen divided by {@link #BASE_BACKGROUND_SIZE}
+     */
+    public Image getBackgroundImage(String backgroundName, double scale) {
+        int level = MipChain.levelFor(scale);
+        if (level == 0) {
+            return getBackgroundImage(backgroundName);
+        }
+        
+        String cacheKey = "background:" + backgroundName;
+        MipChain<Image> chain = mipChains.get(cacheKey);
+        if (chain == null) {
+            Image base = getBackgroundImage(backgroundName);
+            if (base == null) {
+                return null;
+            }
+            chain = mipChains.computeIfAbsent(cacheKey, key -> new MipChain<>(base));
+        }
+        return getMipLevel(chain, level, () -> renderBackgroundImage(backgroundName, MipChain.scaleOf(level)));
+    }
+    
+    private Image getMipLevel(MipChain<Image> chain, int level, Callable<BufferedImage> generator) {
+        Image image = chain.get(level);
+        if (image != null) {
+            return image;
+        }
+        
+        // First use of this zoom band: rasterize the vector source off the render thread
+        if (!mipExecutor.isShutdown() && chain.markRequested(level)) {
+            mipExecutor.submit(() -> {
+                try {
+                    BufferedImage bufferedImage = generator.call();
+                    if (bufferedImage != null) {
+                        byte[] imageData = ImageGenerator.imageToBytes(bufferedImage);
+                        chain.set(level, new Image(new ByteArrayInputStream(imageData)));
+                        version.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    logger.error("Failed to generate mip level {}: {}", level, e.getMessage());
+                    chain.clearRequested(level);
+                }
+            });
+        }
+        return chain.nearest(level);
+    }
+    
+    /**
+     * Get the animation frames of an entity type at the mip level closest to the requested scale.
+     * Each level's sheet is generated once per type and shared by all entities of that type;
+     * instances only differ in which frame they show. Missing levels are loaded or generated in
+     * the background the first time they are needed; until then the nearest available level is
+     * returned, or null while there is none, in which case the static image stands in.
+     * @param scale Size on screen divided by {@link #BASE_ENTITY_SIZE}
+     * @return The sprite sheet, or null if the type is not animated or no level is ready yet
+     */
+    public SpriteSheet getEntitySpriteSheet(String entityType, double scale) {
+        if (!isAnimated(entityType) || staticTypes.contains(entityType)) {
+            return null;
+        }
+        
+        int level = MipChain.levelFor(scale);
+        MipChain<SpriteSheet> chain = spriteSheets.computeIfAbsent(entityType, key -> new MipChain<>());
+        SpriteSheet sheet = chain.get(level);
+        if (sheet != null) {
+            return sheet;
+        }
+        
+        // Rasterizing all frames takes far longer than a frame, never do it on the render thread
+        if (!mipExecutor.isShutdown() && chain.markRequested(level)) {
+            mipExecutor.submit(() -> {
+                try {
+                    Image image = level == 0 ? loadOrGenerateSpriteSheet(entityType)
+                                             : generateSpriteSheet(entityType, MipChain.scaleOf(level));
+                    if (image != null && !staticTypes.contains(entityType)) {
+                        chain.set(level, new SpriteSheet(image, (int) image.getWidth() / ANIMATION_FRAMES,
+                                                         (int) image.getHeight(), ANIMATION_FRAMES));
+                        version.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    logger.error("Failed to generate sprite sheet level {}: {}", level, e.getMessage());
+                    chain.clearRequested(level);
+                }
+            });
+        }
+        return chain.nearest(level);
+    }
+    
+    private boolean isAnimated(String entityType) {
+        return switch (entityType) {
+            case "tree", "grass" -> true;
+            default -> false;
+        };
+    }
+    
+    /**
+     * Base level sheets are kept on disk like the other entity images
+     */
+    private Image loadOrGenerateSpriteSheet(String entityType) {
+        String imageName = entityType + "_sheet";
+        Image image = loadFromFilesystem(entityType, imageName);
+        return image != null ? image : generateAndSaveSpriteSheet(entityType, imageName);
+    }
+    
+    private Image generateSpriteSheet(String entityType, double scale) throws Exception {
+        BufferedImage bufferedImage = renderEntitySpriteSheet(entityType, scale);
+        if (bufferedImage == null) {
+            return null;
+        }
+        return new Image(new ByteArrayInputStream(ImageGenerator.imageToBytes(bufferedImage)));
+    }
+    
+    private Image generateAndSaveSpriteSheet(String entityType, String imageName) {
+        try {
+            BufferedImage bufferedImage = renderEntitySpriteSheet(entityType, 1.0);
+            if (bufferedImage == null) {
+                return null;
+            }
+            
+            // Save to filesystem
+            Path imagePath = directoryManager.getEntityImagePath(entityType, imageName);
+            imagePath.getParent().toFile().mkdirs();
+            
+            byte[] imageData = ImageGenerator.imageToBytes(bufferedImage);
+            try (FileOutputStream fos = new FileOutputStream(imagePath.toFile())) {
+                fos.write(imageData);
+            }
+            
+            logger.info("Generated and saved sprite sheet: {}", imagePath);
+            
+            // Convert to JavaFX Image
+            return new Image(new ByteArrayInputStream(imageData));
+        } catch (Exception e) {
+            logger.error("Failed to generate sprite sheet: {}", e.getMessage());
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Rasterize all animation frames of an entity type at a scale of its base size
+     * @return The sheet, or null for types without an animation
+     */
+    private BufferedImage renderEntitySpriteSheet(String entityType, double scale) {
+        switch (entityType) {
+            case "tree" -> {
+                EntityConfig.TreeConfig config = new EntityConfig.TreeConfig();
+                config.size = BASE_ENTITY_SIZE;
+                config.swayAmplitude = TREE_SWAY_PIXELS;
+                return ImageGenerator.generateTreeSpriteSheet(config, ANIMATION_FRAMES, scale);
+            }
+            case "grass" -> {
+                EntityConfig.GrassConfig config = new EntityConfig.GrassConfig();
+                config.size = BASE_ENTITY_SIZE;
+                return ImageGenerator.generateGrassSpriteSheet(config, ANIMATION_FRAMES, GRASS_SWAY_DEGREES, scale);
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+    
+    /**
+     * @return Counter incremented whenever an asset finishes loading in the background
+     */
+    public long getVersion() {
+        return version.get();
+    }
+    
+    /**
+     * Get an entity image as a premultiplied Java2D raster for software rendering.
+     * Call on the JavaFX thread, like {@link #getEntityImage(String, String)}: the image is
+     * loaded or generated here, and a missing raster is then converted from it in the
+     * background. Until then null is returned.
+     */
+    public BufferedImage getEntityRaster(String entityType, String imageName) {
+        String cacheKey = "entity:" + entityType + ":" + imageName;
+        BufferedImage raster = rasterCache.get(cacheKey);
+        if (raster == null && getEntityImage(entityType, imageName) != null) {
+            requestRaster(cacheKey, directoryManager.getEntityImagePath(entityType, imageName));
+        }
+        return raster;
+    }
+    
+    /**
+     * Get a background image as a premultiplied Java2D raster for software rendering.
+     * Call on the JavaFX thread; like {@link #getEntityRaster}, null until it is converted.
+     */
+    public BufferedImage getBackgroundRaster(String backgroundName) {
+        String cacheKey = "background:" + backgroundName;
+        BufferedImage raster = rasterCache.get(cacheKey);
+        if (raster == null && getBackgroundImage(backgroundName) != null) {
+            requestRaster(cacheKey, directoryManager.getBackgroundImagePath(backgroundName));
+        }
+        return raster;
+    }
+    
+    private void requestRaster(String cacheKey, Path imagePath) {
+        // The image file is complete by now, it was written on the calling thread
+        if (!mipExecutor.isShutdown() && rasterRequests.add(cacheKey)) {
+            mipExecutor.submit(() -> {
+                BufferedImage raster = loadRaster(imagePath);
+                if (raster != null) {
+                    rasterCache.put(cacheKey, raster);
+                    version.incrementAndGet();
+                } else {
+                    rasterRequests.remove(cacheKey);
+                }
+            });
+        }
+    }
+    
+    private BufferedImage loadRaster(Path imagePath) {
+        try {
+            BufferedImage source = ImageIO.read(imagePath.toFile());
+            if (source == null) {
+                return null;
+            }
+            
+            // Convert once to the format the software renderer blits fastest
+            BufferedImage raster = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g2d = raster.createGraphics();
+            g2d.drawImage(source, 0, 0, null);
+            g2d.dispose();
+            return raster;
+        } catch (Exception e) {
+            logger.warn("Failed to load raster from filesystem: {}", e.getMessage());
+            return null;
+        }
+    }
+    
     private Image loadFromFilesystem(String entityType, String imageName) {
         try {
             Path imagePath = directoryManager.getEntityImagePath(entityType, imageName);
@@ -117,45 +416,24 @@ public class AssetManager {
     
     private Image generateAndSaveEntityImage(String entityType, String imageName) {
         try {
-            BufferedImage bufferedImage = null;
-            
-            switch (entityType) {
-                case "tree" -> {
-                    EntityConfig.TreeConfig config = new EntityConfig.TreeConfig();
-                    config.size = 32;
-                    bufferedImage = ImageGenerator.generateTreeImage(config);
-                }
-                case "rock" -> {
-                    EntityConfig.RockConfig config = new EntityConfig.RockConfig();
-                    config.size = 32;
-                    bufferedImage = ImageGenerator.generateRockImage(config);
-                }
-                case "grass" -> {
-                    EntityConfig.GrassConfig config = new EntityConfig.GrassConfig();
-                    config.size = 32;
-                    bufferedImage = ImageGenerator.generateGrassImage(config);
-                }
-                default -> {
-                    logger.warn("Unknown entity type for image generation: {}", entityType);
-                    return null;
-                }
+            BufferedImage bufferedImage = renderEntityImage(entityType, 1.0);
+            if (bufferedImage == null) {
+                return null;
             }
             
-            if (bufferedImage != null) {
-                // Save to filesystem
-                Path imagePath = directoryManager.getEntityImagePath(entityType, imageName);
-                imagePath.getParent().toFile().mkdirs();
-                
-                byte[] imageData = ImageGenerator.imageToBytes(bufferedImage);
-                try (FileOutputStream fos = new FileOutputStream(imagePath.toFile())) {
-                    fos.write(imageData);
-                }
-                
-                logger.info("Generated and saved entity image: {}", imagePath);
-                
-                // Convert to JavaFX Image
-                return new Image(new ByteArrayInputStream(imageData));
+            // Save to filesystem
+            Path imagePath = directoryManager.getEntityImagePath(entityType, imageName);
+            imagePath.getParent().toFile().mkdirs();
+            
+            byte[] imageData = ImageGenerator.imageToBytes(bufferedImage);
+            try (FileOutputStream fos = new FileOutputStream(imagePath.toFile())) {
+                fos.write(imageData);
             }
+            
+            logger.info("Generated and saved entity image: {}", imagePath);
+            
+            // Convert to JavaFX Image
+            return new Image(new ByteArrayInputStream(imageData));
         } catch (Exception e) {
             logger.error("Failed to generate entity image: {}", e.getMessage());
         }
@@ -163,34 +441,59 @@ public class AssetManager {
         return null;
     }
     
+    /**
+     * Rasterize an entity's vector definition at a scale of its base size
+     * @return The image, or null for unknown entity types
+     */
+    private BufferedImage renderEntityImage(String entityType, double scale) throws Exception {
+        switch (entityType) {
+            case "tree" -> {
+                EntityConfig.TreeConfig config = new EntityConfig.TreeConfig();
+                config.size = BASE_ENTITY_SIZE;
+                return ImageGenerator.generateTreeImage(config, scale);
+            }
+            case "rock" -> {
+                EntityConfig.RockConfig config = new EntityConfig.RockConfig();
+                config.size = BASE_ENTITY_SIZE;
+                return ImageGenerator.generateRockImage(config, scale);
+            }
+            case "grass" -> {
+                EntityConfig.GrassConfig config = new EntityConfig.GrassConfig();
+                config.size = BASE_ENTITY_SIZE;
+                return ImageGenerator.generateGrassImage(config, scale);
+            }
+            case "torch" -> {
+                EntityConfig.TorchConfig config = new EntityConfig.TorchConfig();
+                config.size = BASE_ENTITY_SIZE;
+                return ImageGenerator.generateTorchImage(config, scale);
+            }
+            default -> {
+                logger.warn("Unknown entity type for image generation: {}", entityType);
+                return null;
+            }
+        }
+    }
+    
     private Image generateAndSaveBackgroundImage(String backgroundName) {
         try {
-            BufferedImage bufferedImage = null;
-            
-            switch (backgroundName) {
-                case "plains" -> bufferedImage = ImageGenerator.generatePlainsBackground(640);
-                case "desert" -> bufferedImage = ImageGenerator.generateDesertBackground(640);
-                default -> {
-                    logger.warn("Unknown background type for image generation: {}", backgroundName);
-                    return null;
-                }
+            BufferedImage bufferedImage = renderBackgroundImage(backgroundName, 1.0);
+            if (bufferedImage == null) {
+                return null;
             }
             
-            if (bufferedImage != null) {
-                // Save to filesystem
-                Path imagePath = directoryManager.getBackgroundImagePath(backgroundName);
-                imagePath.getParent().toFile().mkdirs();
-                
-                byte[] imageData = ImageGenerator.imageToBytes(bufferedImage);
-                try (FileOutputStream fos = new FileOutputStream(imagePath.toFile())) {
-                    fos.write(imageData);
-                }
-                
-                logger.info("Generated and saved background image: {}", imagePath);
-                
-                // Convert to JavaFX Image
-                return new Image(new ByteArrayInputStream(imageData));
+            // Save to filesystem
+            Path imagePath = directoryManager.getBackgroundImagePath(backgroundName);
+            imagePath.getParent().toFile().mkdirs();
+            
+            byte[] imageData = ImageGenerator.imageToBytes(bufferedImage);
+            try (FileOutputStream fos = new FileOutputStream(imagePath.toFile())) {
+                fos.write(imageData);
             }
+            
+            logger.info("Generated and saved background image: {}", imagePath);
+            
+            // Convert to JavaFX Image
+            return new Image(new ByteArrayInputStream(imageData));
         } catch (Exception e) {
             logger.error("Failed to generate background image: {}", e.getMessage());
         }
@@ -198,6 +501,25 @@ public class AssetManager {
         return null;
     }
     
+    /**
+     * Rasterize a background's vector definition at a scale of its base size
+     * @return The image, or null for unknown backgrounds
+     */
+    private BufferedImage renderBackgroundImage(String backgroundName, double scale) throws Exception {
+        switch (backgroundName) {
+            case "plains" -> {
+                return ImageGenerator.generatePlainsBackground(BASE_BACKGROUND_SIZE, scale);
+            }
+            case "desert" -> {
+                return ImageGenerator.generateDesertBackground(BASE_BACKGROUND_SIZE, scale);
+            }
+            default -> {
+                logger.warn("Unknown background type for image generation: {}", backgroundName);
+                return null;
+            }
+        }
+    }
+    
     public void replaceEntityImage(String entityType, String imageName, byte[] imageData) {
         try {
             // Save to filesystem
@@ -213,6 +535,14 @@ public class AssetManager {
             Image newImage = new Image(new ByteArrayInputStream(imageData));
             imageCache.put(cacheKey, newImage);
             imageDataCache.put(cacheKey, imageData);
+            rasterCache.remove(cacheKey);
+            rasterRequests.remove(cacheKey);
+            mipChains.remove(cacheKey);
+            if (entityType.equals(imageName)) {
+                // The replacement is static, stop showing the generated animation
+                staticTypes.add(entityType);
+                spriteSheets.remove(entityType);
+            }
             
             logger.info("Replaced entity image: {}", imagePath);
         } catch (Exception e) {
@@ -223,10 +553,23 @@ public class AssetManager {
     public void clearCache() {
         imageCache.clear();
         imageDataCache.clear();
+        rasterCache.clear();
+        rasterRequests.clear();
+        mipChains.clear();
+        spriteSheets.clear();
         logger.info("Asset cache cleared");
     }
     
     public AssetDirectoryManager getDirectoryManager() {
         return directoryManager;
     }
+    
+    /**
+     * Stop generating in the background; levels still being generated are dropped
+     */
+    @Override
+    public void close() {
+        mipExecutor.shutdownNow();
+        logger.info("Asset manager closed");
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.game.utils;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Power-of-two resolution levels of one asset.
+ *
+ * Level 0 is the asset at its base resolution, level n is scaled by 2^n. Levels are
+ * filled in lazily (typically from a background thread) and readers fall back to the
+ * closest level that is already available.
+ *
+ * @param <T> Image type
+ */
+public class MipChain<T> {
+    public static final int MIN_LEVEL = -3;
+    public static final int MAX_LEVEL = 2;
+    private static final int LEVEL_COUNT = MAX_LEVEL - MIN_LEVEL + 1;
+
+    private final AtomicReferenceArray<T> levels;
+    private final AtomicIntegerArray requested;
+
+    public MipChain(T baseLevel) {
+        this();
+        this.levels.set(-MIN_LEVEL, baseLevel);
+        this.requested.set(-MIN_LEVEL, 1);
+    }
+
+    /**
+     * Create a chain without any level, not even the base one
+     */
+    public MipChain() {
+        this.levels = new AtomicReferenceArray<>(LEVEL_COUNT);
+        this.requested = new AtomicIntegerArray(LEVEL_COUNT);
+    }
+
+    /**
+     * Pick the smallest level that still has at least the requested resolution
+     * @param scale Desired size on screen divided by the base size
+     * @return Level in [MIN_LEVEL, MAX_LEVEL]
+     */
+    public static int levelFor(double scale) {
+        if (!(scale > 0)) {
+            return MIN_LEVEL;
+        }
+        int level = (int) Math.ceil(Math.log(scale) / Math.log(2) - 1e-9);
+        return Math.max(MIN_LEVEL, Math.min(MAX_LEVEL, level));
+    }
+
+    /**
+     * @return The scale factor of a level relative to the base resolution
+     */
+    public static double scaleOf(int level) {
+        return Math.scalb(1.0, level);
+    }
+
+    /**
+     * @return The image for a level, or null if it has not been generated yet
+     */
+    public T get(int level) {
+        return levels.get(level - MIN_LEVEL);
+    }
+
+    public void set(int level, T image) {
+        levels.set(level - MIN_LEVEL, image);
+    }
+
+    /**
+     * Mark a level as requested
+     * @return true only for the first caller, who is responsible for generating it
+     */
+    public boolean markRequested(int level) {
+        return requested.compareAndSet(level - MIN_LEVEL, 0, 1);
+    }
+
+    /**
+     * Allow a level to be requested again, e.g. after generation failed
+     */
+    public void clearRequested(int level) {
+        requested.set(level - MIN_LEVEL, 0);
+    }
+
+    /**
+     * @return The available level closest to the requested one, preferring higher resolution
+     */
+    public T nearest(int level) {
+        T image = get(level);
+        if (image != null) {
+            return image;
+        }
+        for (int distance = 1; distance < LEVEL_COUNT; distance++) {
+            int higher = level + distance;
+            if (higher <= MAX_LEVEL && get(higher) != null) {
+                return get(higher);
+            }
+            int lower = level - distance;
+            if (lower >= MIN_LEVEL && get(lower) != null) {
+                return get(lower);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.game.utils;
+
+import javafx.scene.image.Image;
+
+/**
+ * Animation frames of one asset laid out side by side in a single image.
+ * Frame {@code i} covers the source rectangle starting at {@code i * frameWidth}.
+ *
+ * @param image Horizontal strip of all frames
+ * @param frameWidth Width of one frame in pixels
+ * @param frameHeight Height of one frame in pixels
+ * @param frameCount Number of frames in the strip
+ */
+public record SpriteSheet(Image image, int frameWidth, int frameHeight, int frameCount) {
+
+    public SpriteSheet {
+        if (frameCount <= 0) {
+            throw new IllegalArgumentException("Frame count must be positive: " + frameCount);
+        }
+    }
+
+    /**
+     * @return Left edge of the frame in the sheet
+     */
+    public double frameX(int frame) {
+        return (double) frame * frameWidth;
+    }
+}
@@ -0,0 +1,79 @@
+package com.game.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free triple buffer for handing data from one producer thread to one consumer thread.
+ *
+ * The producer writes into {@link #back()} and calls {@link #publish()}; the consumer
+ * calls {@link #update()} and reads {@link #front()}. The producer never waits for the
+ * consumer and the consumer always sees the most recently published slot. Slots are
+ * reused, so neither side allocates after construction.
+ *
+ * @param <T> Slot type
+ */
+public class TripleBuffer<T> {
+    private static final int INDEX_MASK = 0b011;
+    private static final int DIRTY = 0b100;
+
+    private final Object[] slots;
+
+    // Index of the shared middle slot, with DIRTY set when it holds an unread publish
+    private final AtomicInteger middle;
+
+    // Owned by the producer thread
+    private int back;
+
+    // Owned by the consumer thread
+    private int front;
+
+    public TripleBuffer(Supplier<T> slotFactory) {
+        this.slots = new Object[] { slotFactory.get(), slotFactory.get(), slotFactory.get() };
+        this.back = 0;
+        this.middle = new AtomicInteger(1);
+        this.front = 2;
+    }
+
+    /**
+     * @return The slot the producer may write into
+     */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[back];
+    }
+
+    /**
+     * Publish the back slot to the consumer and take over the previous middle slot
+     */
+    public void publish() {
+        back = middle.getAndSet(back | DIRTY) & INDEX_MASK;
+    }
+
+    /**
+     * Swap in the latest published slot, if any
+     * @return true if {@link #front()} now refers to a newly published slot
+     */
+    public boolean update() {
+        if ((middle.get() & DIRTY) == 0) {
+            return false;
+        }
+        front = middle.getAndSet(front) & INDEX_MASK;
+        return true;
+    }
+
+    /**
+     * @return true if a slot was published since the last {@link #update()}
+     */
+    public boolean hasUpdate() {
+        return (middle.get() & DIRTY) != 0;
+    }
+
+    /**
+     * @return The slot the consumer may read
+     */
+    @SuppressWarnings("unchecked")
+    public T front() {
+        return (T) slots[front];
+    }
+}
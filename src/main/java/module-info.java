@@ -7,9 +7,13 @@ module com.game {
     requires com.fasterxml.jackson.databind;
     requires jdk.jsobject;
     requires java.desktop;
+    requires java.management;
     
     exports com.game;
     exports com.game.core;
+    exports com.game.ecs;
+    exports com.game.mobs;
+    exports com.game.pathfinding;
     exports com.game.persistence;
     exports com.game.rendering;
     exports com.game.ui;
@@ -0,0 +1,76 @@
+package com.game.core;
+
+import com.game.persistence.DatabaseManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkStreamerTest {
+
+    @Mock
+    private DatabaseManager databaseManager;
+
+    private World world;
+    private double chunkPixels;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        world = new World(databaseManager);
+        chunkPixels = world.getConfig().chunkSize() * world.getConfig().tileSize();
+    }
+
+    @Test
+    void testLoadsTheSquareAroundThePosition() {
+        // Arrange
+        ChunkStreamer streamer = new ChunkStreamer(world, 1);
+
+        // Act
+        int generated = streamer.loadAround(0, chunkPixels * 5.5, chunkPixels * 7.5);
+
+        // Assert
+        assertEquals(9, generated);
+        assertNotNull(world.getLoadedChunk(4, 6));
+        assertNotNull(world.getLoadedChunk(6, 8));
+        assertNull(world.getLoadedChunk(7, 7));
+    }
+
+    @Test
+    void testSameChunkIsSkippedAndNeighboursAreShared() {
+        // Arrange
+        ChunkStreamer streamer = new ChunkStreamer(world, 1);
+        streamer.loadAround(0, chunkPixels * 5.5, chunkPixels * 5.5);
+
+        // Act
+        int sameChunk = streamer.loadAround(0, chunkPixels * 5.9, chunkPixels * 5.1);
+        int nextChunk = streamer.loadAround(0, chunkPixels * 6.5, chunkPixels * 5.5);
+        int otherSlot = streamer.loadAround(3, chunkPixels * 6.5, chunkPixels * 5.5);
+
+        // Assert - Moving one chunk only generates the new column
+        assertEquals(0, sameChunk);
+        assertEquals(3, nextChunk);
+        assertEquals(0, otherSlot);
+        assertEquals(12, streamer.getLoadedCount());
+    }
+
+    @Test
+    void testSquareIsClampedToTheWorld() {
+        // Arrange
+        ChunkStreamer streamer = new ChunkStreamer(world, 2);
+
+        // Act
+        int generated = streamer.loadAround(0, 0, 0);
+
+        // Assert
+        assertEquals(9, generated);
+    }
+
+    @Test
+    void testNegativeRadius() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ChunkStreamer(world, -1));
+    }
+}
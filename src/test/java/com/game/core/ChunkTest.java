@@ -96,4 +96,23 @@ class ChunkTest {
         assertEquals(100, chunk3.getChunkX());
         assertEquals(-50, chunk3.getChunkY());
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void testVersionIncrementsOnChange() {
+        // Arrange
+        Entity tree = new Entity("tree", 100.0, 200.0);
+        int initialVersion = chunk.getVersion();
+        
+        // Act
+        chunk.addEntity(tree);
+        int afterAdd = chunk.getVersion();
+        chunk.removeEntity(tree);
+        int afterRemove = chunk.getVersion();
+        chunk.removeEntity(tree); // Not present anymore
+        
+        // Assert
+        assertEquals(initialVersion + 1, afterAdd);
+        assertEquals(initialVersion + 2, afterRemove);
+        assertEquals(afterRemove, chunk.getVersion());
+    }
+}
@@ -0,0 +1,84 @@
+package com.game.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedTimestepTest {
+
+    private static final long TICK = 10_000_000L;
+
+    private FixedTimestep timestep;
+
+    @BeforeEach
+    void setUp() {
+        // 100 ticks per second
+        timestep = new FixedTimestep(100, 5);
+    }
+
+    @Test
+    void testSlowDisplayRunsSeveralTicksPerFrame() {
+        // Act - 30 Hz display
+        int steps = timestep.advance(33_333_333L);
+
+        // Assert
+        assertEquals(3, steps);
+        assertEquals(0.333, timestep.getAlpha(), 0.001);
+        assertEquals(0.01, timestep.getStepSeconds(), 1e-12);
+    }
+
+    @Test
+    void testFastDisplayInterpolatesBetweenTicks() {
+        // Act - 400 Hz display, four frames per tick
+        int first = timestep.advance(TICK / 4);
+        double alpha = timestep.getAlpha();
+        int total = first + timestep.advance(TICK / 4) + timestep.advance(TICK / 4) + timestep.advance(TICK / 4);
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(0.25, alpha, 1e-9);
+        assertEquals(1, total);
+        assertEquals(0.0, timestep.getAlpha(), 1e-9);
+    }
+
+    @Test
+    void testSameTicksAtAnyDisplayRate() {
+        // Arrange
+        FixedTimestep at144 = new FixedTimestep(100, 5);
+        FixedTimestep at30 = new FixedTimestep(100, 5);
+        int ticksAt144 = 0;
+        int ticksAt30 = 0;
+
+        // Act - One second of frames at each rate
+        for (int i = 0; i < 144; i++) {
+            ticksAt144 += at144.advance(1_000_000_000L / 144);
+        }
+        for (int i = 0; i < 30; i++) {
+            ticksAt30 += at30.advance(1_000_000_000L / 30);
+        }
+
+        // Assert
+        assertEquals(ticksAt30, ticksAt144, 1);
+        assertEquals(100, ticksAt30, 1);
+    }
+
+    @Test
+    void testCatchUpIsCapped() {
+        // Act - A one second stall
+        int steps = timestep.advance(1_000_000_000L + TICK / 2);
+
+        // Assert - Five ticks, the rest of the backlog is dropped but the partial tick is kept
+        assertEquals(5, steps);
+        assertEquals(0.5, timestep.getAlpha(), 1e-9);
+        assertEquals(95 * TICK, timestep.getDroppedNanos());
+        assertEquals(1, timestep.advance(TICK / 2));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new FixedTimestep(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> new FixedTimestep(60, 0));
+    }
+}
@@ -2,6 +2,7 @@ package com.game.core;
 
 import com.game.logging.GameLogger;
 import com.game.persistence.DatabaseManager;
+import javafx.scene.input.KeyCode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
@@ -83,4 +84,40 @@ class GameEngineTest {
             log.level == GameLogger.LogLevel.INFO
         ));
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void testReplayedInputGivesTheSameRunEveryTime() {
+        // Arrange - Walk forward for half a second, then right, at 60 ticks per second
+        long[] tick = new long[1];
+        InputRecorder recorder = new InputRecorder(new WorldConfig().withSeed(7), 60, () -> tick[0], 0);
+        recorder.onEvent(InputEventQueue.Type.KEY_PRESSED, KeyCode.W.ordinal(), 0, 0, 0);
+        tick[0] = 30;
+        recorder.onEvent(InputEventQueue.Type.KEY_RELEASED, KeyCode.W.ordinal(), 0, 0, 500_000_000L);
+        recorder.onEvent(InputEventQueue.Type.KEY_PRESSED, KeyCode.D.ordinal(), 0, 0, 500_000_000L);
+        tick[0] = 60;
+        recorder.onEvent(InputEventQueue.Type.KEY_RELEASED, KeyCode.D.ordinal(), 0, 0, 1_000_000_000L);
+        InputRecording recording = recorder.finish(90);
+        
+        // Act
+        double[] first = replay(recording);
+        double[] second = replay(recording);
+        
+        // Assert
+        assertEquals(90, first[2]);
+        assertEquals(7, gameEngine.getWorld().getConfig().seed());
+        assertTrue(first[0] != 0 || first[1] != 0);
+        assertArrayEquals(first, second);
+    }
+    
+    private double[] replay(InputRecording recording) {
+        gameEngine = new GameEngine(databaseManager, tempDir.resolve("test-assets"));
+        gameEngine.setReplay(recording);
+        gameEngine.start(false);
+        for (int i = 0; i < 1000 && !gameEngine.isReplayFinished(); i++) {
+            gameEngine.update(1.0 / 60);
+        }
+        double[] result = { gameEngine.getPlayer().getX(), gameEngine.getPlayer().getY(), gameEngine.getSimulatedTicks() };
+        gameEngine.stop();
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package com.game.core;
+
+import com.game.persistence.DatabaseManager;
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeadlessRunnerTest {
+
+    @Mock
+    private DatabaseManager databaseManager;
+
+    @TempDir
+    Path tempDir;
+
+    private GameEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        engine = new GameEngine(databaseManager, tempDir.resolve("test-assets"), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (engine.isRunning()) {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void testWanderingPlayersCrossTheWorld() {
+        // Arrange
+        engine.start(false);
+        HeadlessRunner runner = new HeadlessRunner(engine);
+        runner.addWanderers(10, 3);
+        double[] startX = new double[10];
+        for (int i = 0; i < 10; i++) {
+            startX[i] = engine.getExtraPlayers().get(i).getX();
+        }
+        List<HeadlessRunner.Report> reports = new ArrayList<>();
+
+        // Act
+        HeadlessRunner.Report report = runner.run(600, 0, true, Long.MAX_VALUE, reports::add);
+
+        // Assert - Every player moved and loaded the chunks around it
+        assertEquals(600, report.ticks());
+        assertEquals(List.of(report), reports);
+        assertTrue(report.chunksLoaded() >= 10, "Loaded " + report.chunksLoaded());
+        assertEquals(report.chunksInMemory(), report.chunksLoaded());
+        assertTrue(report.heapUsedBytes() > 0);
+        assertTrue(report.ticksPerSecond() > 0);
+        int moved = 0;
+        for (int i = 0; i < 10; i++) {
+            if (engine.getExtraPlayers().get(i).getX() != startX[i]) {
+                moved++;
+            }
+        }
+        assertTrue(moved >= 9);
+        assertTrue(report.format().contains("600 ticks"));
+    }
+
+    @Test
+    void testRunStopsWhenReplayEnds() {
+        // Arrange
+        InputRecorder recorder = new InputRecorder(new WorldConfig(), 60, () -> 0, 0);
+        recorder.onEvent(InputEventQueue.Type.KEY_PRESSED, KeyCode.D.ordinal(), 0, 0, 0);
+        engine.setReplay(recorder.finish(120));
+        engine.start(false);
+        HeadlessRunner runner = new HeadlessRunner(engine);
+
+        // Act
+        HeadlessRunner.Report report = runner.run(0, 0, true, Long.MAX_VALUE, r -> { });
+
+        // Assert - 120 ticks of walking right at 200 pixels per second
+        assertTrue(engine.isReplayFinished());
+        assertEquals(120, report.ticks());
+        assertEquals(400, engine.getPlayer().getX(), 1);
+    }
+
+    @Test
+    void testWanderScriptRepeatsForTheSameSeed() {
+        // Arrange
+        InputManager first = new InputManager();
+        InputManager second = new InputManager();
+        WanderScript a = new WanderScript(9, 5, 20);
+        WanderScript b = new WanderScript(9, 5, 20);
+
+        // Act & Assert
+        for (long tick = 0; tick < 200; tick++) {
+            a.apply(tick, first);
+            b.apply(tick, second);
+            assertEquals(first.getMovementInput(), second.getMovementInput());
+        }
+    }
+
+    @Test
+    void testRequiresAHeadlessEngine() {
+        // Arrange
+        GameEngine windowed = new GameEngine(databaseManager, tempDir.resolve("test-assets"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new HeadlessRunner(windowed));
+        assertThrows(IllegalStateException.class, () -> new HeadlessRunner(engine));
+    }
+}
@@ -0,0 +1,162 @@
+package com.game.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputEventQueueTest {
+
+    @Test
+    void testDrainDeliversEventsInOrder() {
+        // Arrange
+        InputEventQueue queue = new InputEventQueue(8);
+        queue.offer(InputEventQueue.Type.KEY_PRESSED, 3, 0, 0, 100);
+        queue.offer(InputEventQueue.Type.MOUSE_MOVED, -1, 10, 20, 200);
+        queue.offer(InputEventQueue.Type.KEY_RELEASED, 3, 0, 0, 300);
+        List<String> seen = new ArrayList<>();
+
+        // Act
+        int drained = queue.drain((type, keyCode, x, y, nanos) ->
+            seen.add(type + " " + keyCode + " " + (int) x + " " + (int) y + " " + nanos));
+
+        // Assert
+        assertEquals(3, drained);
+        assertEquals(List.of("KEY_PRESSED 3 0 0 100", "MOUSE_MOVED -1 10 20 200", "KEY_RELEASED 3 0 0 300"), seen);
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void testFullQueueDropsNewPressesButKeepsReleases() {
+        // Arrange - Capacity is rounded up to a power of two, the last quarter is kept for releases
+        InputEventQueue queue = new InputEventQueue(7);
+        assertEquals(8, queue.capacity());
+        for (int i = 0; i < 6; i++) {
+            assertTrue(queue.offer(InputEventQueue.Type.KEY_PRESSED, i, 0, 0, i));
+        }
+
+        // Act
+        boolean pressAccepted = queue.offer(InputEventQueue.Type.KEY_PRESSED, 99, 0, 0, 99);
+        boolean scrollAccepted = queue.offer(InputEventQueue.Type.SCROLL, -1, 0, 1, 100);
+        boolean releaseAccepted = queue.offer(InputEventQueue.Type.KEY_RELEASED, 0, 0, 0, 101);
+
+        // Assert - The oldest events survive and the release still gets through
+        assertFalse(pressAccepted);
+        assertFalse(scrollAccepted);
+        assertTrue(releaseAccepted);
+        assertEquals(2, queue.getDroppedCount());
+        List<String> seen = new ArrayList<>();
+        queue.drain((type, keyCode, x, y, nanos) -> seen.add(type + " " + keyCode));
+        assertEquals(List.of("KEY_PRESSED 0", "KEY_PRESSED 1", "KEY_PRESSED 2", "KEY_PRESSED 3",
+                             "KEY_PRESSED 4", "KEY_PRESSED 5", "KEY_RELEASED 0"), seen);
+    }
+
+    @Test
+    void testMouseMovesAreCoalescedWhenHalfFull() {
+        // Arrange
+        InputEventQueue queue = new InputEventQueue(8);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(InputEventQueue.Type.MOUSE_MOVED, -1, i, i, i);
+        }
+
+        // Act - Moves past half the capacity only keep the latest position
+        boolean accepted = queue.offer(InputEventQueue.Type.MOUSE_MOVED, -1, 10, 10, 10);
+        queue.offer(InputEventQueue.Type.MOUSE_MOVED, -1, 20, 20, 20);
+        queue.offer(InputEventQueue.Type.KEY_PRESSED, 7, 0, 0, 30);
+        List<String> first = new ArrayList<>();
+        queue.drain((type, keyCode, x, y, nanos) -> first.add(type + " " + (int) x));
+        queue.offer(InputEventQueue.Type.KEY_RELEASED, 7, 0, 0, 40);
+        List<String> second = new ArrayList<>();
+        queue.drain((type, keyCode, x, y, nanos) -> second.add(type + " " + (int) x + " " + nanos));
+
+        // Assert - The held back move is queued ahead of the next event once there is room
+        assertTrue(accepted);
+        assertEquals(0, queue.getDroppedCount());
+        assertEquals(List.of("MOUSE_MOVED 0", "MOUSE_MOVED 1", "MOUSE_MOVED 2", "MOUSE_MOVED 3", "KEY_PRESSED 0"),
+                     first);
+        assertEquals(List.of("MOUSE_MOVED 20 20", "KEY_RELEASED 0 40"), second);
+    }
+
+    @Test
+    void testFlushQueuesTheCoalescedMove() {
+        // Arrange
+        InputEventQueue queue = new InputEventQueue(4);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(InputEventQueue.Type.MOUSE_MOVED, -1, i, 0, i);
+        }
+        queue.drain((type, keyCode, x, y, nanos) -> { });
+
+        // Act - No further events arrive after the last move
+        queue.flush();
+        List<Double> positions = new ArrayList<>();
+        queue.drain((type, keyCode, x, y, nanos) -> positions.add(x));
+
+        // Assert
+        assertEquals(List.of(2.0), positions);
+    }
+
+    @Test
+    void testSlotsAreReusedAfterDrain() {
+        // Arrange
+        InputEventQueue queue = new InputEventQueue(4);
+        long[] sum = new long[1];
+
+        // Act - Far more events than slots, a few at a time
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 3; i++) {
+                queue.offer(InputEventQueue.Type.KEY_PRESSED, round, 0, 0, 0);
+            }
+            queue.drain((type, keyCode, x, y, nanos) -> sum[0] += keyCode);
+        }
+
+        // Assert
+        assertEquals(3L * (99 * 100 / 2), sum[0]);
+        assertEquals(0, queue.getDroppedCount());
+    }
+
+    @Test
+    void testProducerAndConsumerThreads() throws InterruptedException {
+        // Arrange - The producer retries when full so every event must arrive, in order.
+        // Both sides yield while waiting so the test also progresses on a single core.
+        InputEventQueue queue = new InputEventQueue(64);
+        int events = 200_000;
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < events; i++) {
+                while (!queue.offer(InputEventQueue.Type.KEY_PRESSED, i, 0, 0, i)) {
+                    if (System.nanoTime() > deadline) {
+                        return;
+                    }
+                    Thread.yield();
+                }
+            }
+        });
+        int[] next = new int[1];
+        boolean[] ordered = { true };
+
+        // Act
+        producer.start();
+        while (next[0] < events && System.nanoTime() < deadline) {
+            int drained = queue.drain((type, keyCode, x, y, nanos) -> {
+                ordered[0] &= keyCode == next[0] && nanos == next[0];
+                next[0]++;
+            });
+            if (drained == 0) {
+                Thread.yield();
+            }
+        }
+        producer.join();
+
+        // Assert
+        assertEquals(events, next[0]);
+        assertTrue(ordered[0]);
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new InputEventQueue(0));
+    }
+}
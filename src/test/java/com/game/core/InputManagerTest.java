@@ -156,4 +156,141 @@ class InputManagerTest {
         // Assert - Mouse wheel delta should be reset
         assertEquals(0.0, inputManager.getMouseWheelDelta(), 0.001);
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void testQueuedEventsApplyOnlyWhenProcessed() {
+        // Arrange
+        inputManager.setQueued(true);
+        when(keyEvent.getCode()).thenReturn(KeyCode.W);
+        
+        // Act
+        inputManager.handleKeyPressed(keyEvent);
+        inputManager.handleMouseScroll(40.0);
+        
+        // Assert - Nothing changes until the simulation processes the queue
+        assertFalse(inputManager.isKeyPressed(KeyCode.W));
+        assertEquals(0.0, inputManager.getMouseWheelDelta(), 0.001);
+        
+        assertEquals(2, inputManager.processEvents());
+        assertTrue(inputManager.isKeyPressed(KeyCode.W));
+        assertTrue(inputManager.isKeyJustPressed(KeyCode.W));
+        assertEquals(40.0, inputManager.getMouseWheelDelta(), 0.001);
+    }
+    
+    @Test
+    void testQueuedEventsKeepTheirOrder() {
+        // Arrange - A tap shorter than a tick
+        inputManager.setQueued(true);
+        when(keyEvent.getCode()).thenReturn(KeyCode.P);
+        inputManager.handleKeyPressed(keyEvent);
+        inputManager.handleKeyReleased(keyEvent);
+        
+        // Act
+        inputManager.processEvents();
+        
+        // Assert - The key is released again, but the press is not lost
+        assertFalse(inputManager.isKeyPressed(KeyCode.P));
+        assertTrue(inputManager.isKeyJustPressed(KeyCode.P));
+    }
+    
+    @Test
+    void testLeavingQueuedModeAppliesPendingEvents() {
+        // Arrange
+        inputManager.setQueued(true);
+        when(mouseEvent.getX()).thenReturn(10.0);
+        when(mouseEvent.getY()).thenReturn(20.0);
+        inputManager.handleMouseMoved(mouseEvent);
+        
+        // Act
+        inputManager.setQueued(false);
+        
+        // Assert
+        assertEquals(10.0, inputManager.getMouseX(), 0.001);
+        assertEquals(20.0, inputManager.getMouseY(), 0.001);
+    }
+    
+    @Test
+    void testMovementInputIsReusedUntilKeysChange() {
+        // Arrange
+        when(keyEvent.getCode()).thenReturn(KeyCode.W);
+        inputManager.handleKeyPressed(keyEvent);
+        
+        // Act
+        var first = inputManager.getMovementInput();
+        var second = inputManager.getMovementInput();
+        inputManager.handleKeyReleased(keyEvent);
+        var released = inputManager.getMovementInput();
+        
+        // Assert - Polling twice in a tick returns the same instance
+        assertSame(first, second);
+        assertTrue(first.forward());
+        assertFalse(released.forward());
+    }
+    
+    @Test
+    void testCameraKeysOnlyMoveTheFixedAngleCamera() {
+        // Arrange
+        when(keyEvent.getCode()).thenReturn(KeyCode.LEFT);
+        inputManager.handleKeyPressed(keyEvent);
+        assertTrue(inputManager.getMovementInput().cameraLeft());
+        
+        // Act
+        inputManager.setCameraMode(Camera.CameraMode.PLAYER_PERSPECTIVE);
+        
+        // Assert
+        assertFalse(inputManager.getMovementInput().cameraLeft());
+    }
+    
+    @Test
+    void testQueuedEventsAreTimestamped() {
+        // Arrange
+        inputManager.setQueued(true);
+        when(keyEvent.getCode()).thenReturn(KeyCode.W);
+        long before = System.nanoTime();
+        inputManager.handleKeyPressed(keyEvent);
+        
+        // Act
+        inputManager.processEvents();
+        
+        // Assert
+        assertTrue(inputManager.getLastEventNanos() >= before);
+        assertTrue(inputManager.getLastEventNanos() <= System.nanoTime());
+    }
+    
+    @Test
+    void testRecorderSeesAppliedEventsAndReplayRestoresThem() {
+        // Arrange
+        InputRecorder recorder = new InputRecorder(new WorldConfig(), 60, () -> 7, 0);
+        inputManager.setRecorder(recorder);
+        when(keyEvent.getCode()).thenReturn(KeyCode.D);
+        inputManager.handleKeyPressed(keyEvent);
+        inputManager.handleMouseScroll(40);
+        InputRecording recording = recorder.finish(8);
+        InputManager replayed = new InputManager();
+        
+        // Act
+        recording.deliver(0, 7, 0, replayed::replayEvent);
+        
+        // Assert
+        assertEquals(2, recording.getEventCount());
+        assertEquals(7, recording.getEventTick(0));
+        assertTrue(replayed.isKeyPressed(KeyCode.D));
+        assertTrue(replayed.getMovementInput().right());
+        assertEquals(40, replayed.getMouseWheelDelta(), 0.001);
+    }
+    
+    @Test
+    void testLiveInputCanBeIgnored() {
+        // Arrange
+        when(keyEvent.getCode()).thenReturn(KeyCode.W);
+        inputManager.setLiveInput(false);
+        
+        // Act
+        inputManager.handleKeyPressed(keyEvent);
+        inputManager.replayEvent(InputEventQueue.Type.KEY_PRESSED, KeyCode.S.ordinal(), 0, 0, 0);
+        
+        // Assert - Only the replayed key is down
+        assertFalse(inputManager.isKeyPressed(KeyCode.W));
+        assertTrue(inputManager.isKeyPressed(KeyCode.S));
+    }
+}
@@ -0,0 +1,111 @@
+package com.game.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputRecordingTest {
+
+    private long tick;
+
+    private InputRecording record() {
+        InputRecorder recorder = new InputRecorder(new WorldConfig().withSeed(42), 30, () -> tick, 1_000);
+        tick = 0;
+        recorder.onEvent(InputEventQueue.Type.KEY_PRESSED, 22, 0, 0, 1_500);
+        recorder.onEvent(InputEventQueue.Type.MOUSE_MOVED, -1, 12.5, 7.25, 2_000);
+        tick = 3;
+        recorder.onEvent(InputEventQueue.Type.SCROLL, -1, 0, -40, 90_000);
+        tick = 200;
+        recorder.onEvent(InputEventQueue.Type.KEY_RELEASED, 22, 0, 0, 5_000_000_000L);
+        return recorder.finish(250);
+    }
+
+    @Test
+    void testRecordingSurvivesWriteAndRead() throws IOException {
+        // Arrange
+        InputRecording recording = record();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // Act
+        recording.write(bytes);
+        InputRecording read = InputRecording.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        // Assert
+        assertEquals(42, read.getConfig().seed());
+        assertEquals(new WorldConfig().withSeed(42), read.getConfig());
+        assertEquals(30, read.getTickRate(), 1e-9);
+        assertEquals(250, read.getTicks());
+        assertEquals(4, read.getEventCount());
+        List<String> events = new ArrayList<>();
+        read.deliver(0, Long.MAX_VALUE, 0, (type, keyCode, x, y, nanos) ->
+            events.add(type + " " + keyCode + " " + x + " " + y + " " + nanos));
+        assertEquals(List.of("KEY_PRESSED 22 0.0 0.0 500",
+                             "MOUSE_MOVED -1 12.5 7.25 1000",
+                             "SCROLL -1 0.0 -40.0 89000",
+                             "KEY_RELEASED 22 0.0 0.0 4999999000"), events);
+    }
+
+    @Test
+    void testEventsAreCompact() throws IOException {
+        // Arrange
+        InputRecorder recorder = new InputRecorder(new WorldConfig(), 60, () -> tick, 0);
+        for (tick = 0; tick < 1000; tick++) {
+            recorder.onEvent(InputEventQueue.Type.KEY_PRESSED, 40, 0, 0, tick * 16_000_000L);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // Act
+        recorder.finish(1000).write(bytes);
+
+        // Assert - Tick and time deltas plus type and key take a handful of bytes
+        assertTrue(bytes.size() < 1000 * 8, "Recording took " + bytes.size() + " bytes");
+    }
+
+    @Test
+    void testDeliverHandsOutOneTickAtATime() {
+        // Arrange
+        InputRecording recording = record();
+        int[] delivered = new int[1];
+        InputEventQueue.Handler counter = (type, keyCode, x, y, nanos) -> delivered[0]++;
+
+        // Act & Assert
+        int next = recording.deliver(0, 0, 0, counter);
+        assertEquals(2, next);
+        next = recording.deliver(next, 1, 0, counter);
+        assertEquals(2, next);
+        next = recording.deliver(next, 3, 0, counter);
+        assertEquals(3, next);
+        assertEquals(3, delivered[0]);
+        assertEquals(InputEventQueue.Type.KEY_RELEASED, recording.getEventType(next));
+        assertEquals(200, recording.getEventTick(next));
+    }
+
+    @Test
+    void testTimestampsNeverGoBackwards() {
+        // Arrange
+        InputRecorder recorder = new InputRecorder(new WorldConfig(), 60, () -> 0, 1_000);
+
+        // Act - Timestamps before the start or out of order are clamped
+        recorder.onEvent(InputEventQueue.Type.MOUSE_PRESSED, -1, 0, 0, 500);
+        recorder.onEvent(InputEventQueue.Type.MOUSE_RELEASED, -1, 0, 0, 3_000);
+        recorder.onEvent(InputEventQueue.Type.MOUSE_MOVED, -1, 0, 0, 2_000);
+        List<Long> times = new ArrayList<>();
+        recorder.finish(1).deliver(0, 0, 0, (type, keyCode, x, y, nanos) -> times.add(nanos));
+
+        // Assert
+        assertEquals(List.of(0L, 2_000L, 2_000L), times);
+    }
+
+    @Test
+    void testRejectsOtherFiles() {
+        // Act & Assert
+        assertThrows(IOException.class,
+                     () -> InputRecording.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6 })));
+    }
+}
@@ -2,6 +2,8 @@ package com.game.core;
 
 import com.game.rendering.Camera;
 import com.game.core.InputManager.MovementInput;
+import com.game.ecs.EntityStore;
+import com.game.ecs.MovementSystem;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
@@ -81,6 +83,27 @@ class PlayerTest {
         assertEquals(130872.0, player.getY(), 0.001);
     }
     
+    @Test
+    void testSteeredPlayerIsMovedByMovementSystem() {
+        // Arrange - A player sharing its store with the movement system
+        when(inputManager.getCameraMode()).thenReturn(Camera.CameraMode.FIXED_ANGLE);
+        when(inputManager.getMovementInput()).thenReturn(new MovementInput(false, false, false, true, false, false, false, false));
+        EntityStore store = new EntityStore();
+        Player shared = new Player(store, 100, 100, worldConfig);
+        MovementSystem movement = new MovementSystem(store, worldConfig.worldSize());
+        
+        // Act - Steering alone does not move the player
+        shared.steer(0.5, inputManager, camera);
+        double xAfterSteering = shared.getX();
+        movement.update(0.5);
+        
+        // Assert - Moved east at 200 pixels per second and facing east
+        assertEquals(100.0, xAfterSteering, 0.001);
+        assertEquals(200.0, shared.getX(), 0.001);
+        assertEquals(100.0, shared.getY(), 0.001);
+        assertEquals(Math.PI / 2, shared.getAngle(), 0.001);
+    }
+    
     @Test
     void testPlayerInteraction() {
         // Arrange - Set up interaction key press
@@ -107,4 +130,21 @@ class PlayerTest {
         assertEquals(200.0, player.getY(), 0.001);
         assertEquals(45.0, player.getAngle(), 0.001);
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void testInterpolateAcrossWorldEdge() {
+        // Arrange - One tick crossing the world edge from x = worldSize - 10 to x = 10
+        double worldSize = worldConfig.worldSize();
+        player.setX(worldSize - 10);
+        player.savePrevious();
+        player.setX(10);
+        Player view = new Player(0, 0, worldConfig);
+        
+        // Act
+        view.interpolate(player, 0.75);
+        
+        // Assert - Interpolated along the short way over the edge
+        assertEquals(5.0, view.getX(), 1e-9);
+        assertEquals(0.0, view.getY(), 1e-9);
+    }
+}
@@ -0,0 +1,167 @@
+package com.game.core;
+
+import com.game.rendering.Camera;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationThreadTest {
+
+    private static final long TICK = 10_000_000L;
+
+    private Player player;
+    private Camera camera;
+    private int updates;
+    private SimulationThread simulationThread;
+
+    @BeforeEach
+    void setUp() {
+        player = new Player(0, 0, new WorldConfig());
+        camera = new Camera(800, 600);
+        // 100 ticks per second; each tick moves the player one pixel
+        simulationThread = new SimulationThread(new SimulationThread.Simulation() {
+            @Override
+            public void update(double deltaTime) {
+                updates++;
+                player.savePrevious();
+                player.setX(player.getX() + 1);
+            }
+
+            @Override
+            public void snapshot(SimulationSnapshot into, long tick, long nanos) {
+                into.set(tick, player, camera, nanos);
+            }
+        }, new FixedTimestep(100, 5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulationThread.stop();
+    }
+
+    @Test
+    void testAdvancePublishesSnapshotAfterTicks() {
+        // Act
+        int steps = simulationThread.advance(3 * TICK + TICK / 2, 1234);
+
+        // Assert
+        SimulationSnapshot snapshot = simulationThread.getLatest();
+        assertEquals(3, steps);
+        assertEquals(3, snapshot.tick());
+        assertEquals(3, snapshot.player().getX(), 1e-9);
+        assertEquals(1234, snapshot.publishedNanos());
+    }
+
+    @Test
+    void testNoSnapshotWithoutTick() {
+        // Act
+        simulationThread.advance(TICK / 2, 0);
+
+        // Assert
+        assertNull(simulationThread.getLatest());
+    }
+
+    @Test
+    void testSnapshotIsIndependentOfLiveState() {
+        // Arrange
+        simulationThread.advance(TICK, 0);
+        SimulationSnapshot snapshot = simulationThread.getLatest();
+
+        // Act - The simulation keeps going after publishing
+        player.setX(500);
+
+        // Assert
+        assertEquals(1, snapshot.player().getX(), 1e-9);
+    }
+
+    @Test
+    void testSnapshotsReuseThreeSlots() {
+        // Arrange
+        Set<Player> players = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            simulationThread.advance(TICK, 0);
+            players.add(simulationThread.getLatest().player());
+        }
+
+        // Assert
+        assertEquals(3, players.size());
+        assertEquals(10, simulationThread.getLatest().tick());
+        assertEquals(10, simulationThread.getLatest().player().getX(), 1e-9);
+    }
+
+    @Test
+    void testSnapshotInterpolatesWithinTick() {
+        // Arrange
+        simulationThread.advance(TICK, 0);
+        Player renderPlayer = new Player(0, 0, new WorldConfig());
+
+        // Act
+        renderPlayer.interpolate(simulationThread.getLatest().player(), 0.5);
+
+        // Assert - Halfway between the state before and after the tick
+        assertEquals(0.5, renderPlayer.getX(), 1e-9);
+    }
+
+    @Test
+    void testAlphaGrowsWithTimeSincePublishing() {
+        // Arrange
+        simulationThread.advance(TICK, 1_000_000L);
+        SimulationSnapshot snapshot = simulationThread.getLatest();
+
+        // Act & Assert - Clamped to a single tick
+        assertEquals(0, simulationThread.getAlpha(snapshot, 0), 1e-9);
+        assertEquals(0.25, simulationThread.getAlpha(snapshot, 1_000_000L + TICK / 4), 1e-9);
+        assertEquals(1, simulationThread.getAlpha(snapshot, 1_000_000L + 3 * TICK), 1e-9);
+    }
+
+    @Test
+    void testFailingTickDoesNotStopSimulation() {
+        // Arrange
+        SimulationThread failing = new SimulationThread(new SimulationThread.Simulation() {
+            @Override
+            public void update(double deltaTime) {
+                throw new IllegalStateException("broken tick");
+            }
+
+            @Override
+            public void snapshot(SimulationSnapshot into, long tick, long nanos) {
+                into.set(tick, player, camera, nanos);
+            }
+        }, new FixedTimestep(100, 5));
+
+        // Act
+        int steps = failing.advance(2 * TICK, 0);
+
+        // Assert
+        assertEquals(2, steps);
+        assertEquals(2, failing.getLatest().tick());
+    }
+
+    @Test
+    void testThreadTicksUntilStopped() throws InterruptedException {
+        // Act
+        simulationThread.start();
+        assertEquals(0, simulationThread.getLatest().tick());
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (simulationThread.getLatest().tick() < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        simulationThread.stop();
+        long stoppedAt = simulationThread.getLatest().tick();
+        Thread.sleep(50);
+
+        // Assert
+        assertTrue(stoppedAt >= 5, "ticks: " + stoppedAt);
+        assertFalse(simulationThread.isRunning());
+        assertEquals(stoppedAt, simulationThread.getLatest().tick());
+        assertEquals(stoppedAt, updates);
+    }
+}
@@ -81,4 +81,33 @@ class WorldTest {
         assertEquals(64, config.chunkSize()); // Default chunk size
         assertEquals(32, config.tileSize()); // Default tile size
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void testChunkListenerNotifications() {
+        // Arrange
+        java.util.List<String> events = new java.util.ArrayList<>();
+        world.addChunkListener(new ChunkListener() {
+            @Override
+            public void onChunkLoaded(Chunk chunk) {
+                events.add("loaded " + chunk.getChunkX() + "," + chunk.getChunkY());
+            }
+            
+            @Override
+            public void onChunkChanged(Chunk chunk) {
+                events.add("changed " + chunk.getChunkX() + "," + chunk.getChunkY());
+            }
+        });
+        long initialVersion = world.getVersion();
+        
+        // Act - Load twice, then modify
+        Chunk chunk = world.loadChunk(2, 3);
+        world.loadChunk(2, 3);
+        chunk.addEntity(new Entity("rock", 10.0, 10.0));
+        
+        // Assert - Loaded once, changed once, version bumped for both
+        assertEquals(java.util.List.of("loaded 2,3", "changed 2,3"), events);
+        assertEquals(initialVersion + 2, world.getVersion());
+        assertSame(chunk, world.getLoadedChunk(2, 3));
+        assertNull(world.getLoadedChunk(4, 4));
+    }
+}
@@ -0,0 +1,120 @@
+package com.game.ecs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityStoreTest {
+
+    private EntityStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new EntityStore();
+    }
+
+    @Test
+    void testCreateStoresComponentsInArchetype() {
+        // Act
+        int entity = store.create(Component.POSITION, Component.SPRITE);
+        store.set(entity, Component.POSITION, Component.Y, 42);
+        store.setObject(entity, Component.SPRITE, Component.TYPE, "mob");
+
+        // Assert
+        assertTrue(store.isAlive(entity));
+        assertTrue(store.has(entity, Component.POSITION));
+        assertFalse(store.has(entity, Component.VELOCITY));
+        assertEquals(42, store.get(entity, Component.POSITION, Component.Y), 1e-9);
+        assertEquals("mob", store.getObject(entity, Component.SPRITE, Component.TYPE));
+        assertEquals(1, store.getArchetypes().size());
+    }
+
+    @Test
+    void testDestroyMovesLastRowAndKeepsLookups() {
+        // Arrange
+        int first = store.create(Component.POSITION);
+        int second = store.create(Component.POSITION);
+        int third = store.create(Component.POSITION);
+        store.set(third, Component.POSITION, Component.X, 3);
+
+        // Act
+        store.destroy(first);
+
+        // Assert - The last entity took the freed row and is still found by id
+        assertFalse(store.isAlive(first));
+        assertEquals(2, store.getEntityCount());
+        assertEquals(third, store.getArchetypes().get(0).entity(0));
+        assertEquals(3, store.get(third, Component.POSITION, Component.X), 1e-9);
+        assertTrue(store.isAlive(second));
+    }
+
+    @Test
+    void testDestroyedIdsAreReusedWithClearedFields() {
+        // Arrange
+        int entity = store.create(Component.POSITION);
+        store.set(entity, Component.POSITION, Component.X, 5);
+        store.destroy(entity);
+
+        // Act
+        int reused = store.create(Component.POSITION);
+
+        // Assert
+        assertEquals(entity, reused);
+        assertEquals(0, store.get(reused, Component.POSITION, Component.X), 1e-9);
+    }
+
+    @Test
+    void testAddAndRemoveComponentMoveBetweenArchetypes() {
+        // Arrange
+        int entity = store.create(Component.POSITION);
+        store.set(entity, Component.POSITION, Component.X, 7);
+
+        // Act
+        store.add(entity, Component.VELOCITY);
+        store.set(entity, Component.VELOCITY, Component.X, 2);
+        store.remove(entity, Component.POSITION);
+
+        // Assert - The velocity survived the second move, the position is gone
+        assertEquals(2, store.get(entity, Component.VELOCITY, Component.X), 1e-9);
+        assertFalse(store.has(entity, Component.POSITION));
+        assertEquals(3, store.getArchetypes().size());
+        assertEquals(0, store.getArchetypes().get(0).size());
+        assertThrows(IllegalArgumentException.class, () -> store.get(entity, Component.POSITION, Component.X));
+    }
+
+    @Test
+    void testQueryPicksUpArchetypesCreatedLater() {
+        // Arrange
+        Query query = store.query(Component.POSITION, Component.VELOCITY);
+        store.create(Component.POSITION);
+        assertEquals(0, query.count());
+
+        // Act
+        store.create(Component.POSITION, Component.VELOCITY);
+        store.create(Component.POSITION, Component.VELOCITY, Component.SPRITE);
+
+        // Assert
+        assertEquals(2, query.archetypes().size());
+        assertEquals(2, query.count());
+    }
+
+    @Test
+    void testArchetypeGrowsBeyondInitialCapacity() {
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            int entity = store.create(Component.POSITION);
+            store.set(entity, Component.POSITION, Component.X, i);
+        }
+
+        // Assert
+        assertEquals(1000, store.getEntityCount());
+        assertEquals(999, store.get(999, Component.POSITION, Component.X), 1e-9);
+    }
+
+    @Test
+    void testUnknownEntity() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> store.destroy(5));
+    }
+}
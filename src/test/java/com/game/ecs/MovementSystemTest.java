@@ -0,0 +1,128 @@
+package com.game.ecs;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovementSystemTest {
+
+    private static final double WORLD_SIZE = 1000;
+    private static final double TICK_BUDGET_MILLIS = 1000.0 / 60;
+
+    private EntityStore store;
+    private MovementSystem movement;
+
+    @BeforeEach
+    void setUp() {
+        store = new EntityStore();
+        movement = new MovementSystem(store, WORLD_SIZE);
+    }
+
+    private int spawn(double x, double y, double velocityX, double velocityY, Component... extra) {
+        Component[] components = new Component[extra.length + 2];
+        components[0] = Component.POSITION;
+        components[1] = Component.VELOCITY;
+        System.arraycopy(extra, 0, components, 2, extra.length);
+        int entity = store.create(components);
+        store.set(entity, Component.POSITION, Component.X, x);
+        store.set(entity, Component.POSITION, Component.Y, y);
+        store.set(entity, Component.VELOCITY, Component.X, velocityX);
+        store.set(entity, Component.VELOCITY, Component.Y, velocityY);
+        return entity;
+    }
+
+    @Test
+    void testMovesEntitiesOfAllMatchingArchetypes() {
+        // Arrange
+        int plain = spawn(100, 100, 10, 0);
+        int sprite = spawn(100, 100, 0, -20, Component.SPRITE);
+        int still = store.create(Component.POSITION);
+
+        // Act
+        movement.update(0.5);
+
+        // Assert
+        assertEquals(105, store.get(plain, Component.POSITION, Component.X), 1e-9);
+        assertEquals(90, store.get(sprite, Component.POSITION, Component.Y), 1e-9);
+        assertEquals(0, store.get(still, Component.POSITION, Component.X), 1e-9);
+    }
+
+    @Test
+    void testWrapsAroundWorldEdges() {
+        // Arrange
+        int entity = spawn(995, 5, 10, -10);
+
+        // Act
+        movement.update(1);
+
+        // Assert
+        assertEquals(5, store.get(entity, Component.POSITION, Component.X), 1e-9);
+        assertEquals(995, store.get(entity, Component.POSITION, Component.Y), 1e-9);
+    }
+
+    /**
+     * 100k moving entities spread over two archetypes
+     */
+    private void spawnHundredThousand() {
+        for (int i = 0; i < 100_000; i++) {
+            double angle = i * 0.001;
+            if (i % 2 == 0) {
+                spawn(i % WORLD_SIZE, (i * 7) % WORLD_SIZE, Math.cos(angle) * 50, Math.sin(angle) * 50);
+            } else {
+                spawn(i % WORLD_SIZE, (i * 7) % WORLD_SIZE, Math.cos(angle) * 50, Math.sin(angle) * 50,
+                      Component.SPRITE, Component.HEADING);
+            }
+        }
+    }
+
+    @Test
+    void testHundredThousandEntitiesPerTick() {
+        // Arrange
+        spawnHundredThousand();
+        SystemScheduler scheduler = new SystemScheduler();
+        scheduler.add(movement);
+
+        // Act
+        for (int tick = 0; tick < 10; tick++) {
+            scheduler.update(1.0 / 60);
+        }
+
+        // Assert - every entity stays in the world
+        assertEquals(100_000, store.query(Component.POSITION, Component.VELOCITY).count());
+        for (Archetype archetype : store.query(Component.POSITION).archetypes()) {
+            double[] xs = archetype.doubles(Component.POSITION, Component.X);
+            double[] ys = archetype.doubles(Component.POSITION, Component.Y);
+            for (int row = 0; row < archetype.size(); row++) {
+                assertTrue(xs[row] >= 0 && xs[row] < WORLD_SIZE && ys[row] >= 0 && ys[row] < WORLD_SIZE);
+            }
+        }
+        assertTrue(scheduler.getLastNanos(0) > 0);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testHundredThousandEntitiesFitTheTickBudget() {
+        // Arrange
+        spawnHundredThousand();
+        SystemScheduler scheduler = new SystemScheduler();
+        scheduler.add(movement);
+
+        // Warm up
+        for (int tick = 0; tick < 60; tick++) {
+            scheduler.update(1.0 / 60);
+        }
+
+        // Act
+        int ticks = 120;
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            scheduler.update(1.0 / 60);
+        }
+        double averageMillis = (System.nanoTime() - start) / 1_000_000.0 / ticks;
+
+        // Assert
+        assertTrue(averageMillis < TICK_BUDGET_MILLIS, "movement took " + averageMillis + " ms per tick");
+    }
+}
@@ -0,0 +1,148 @@
+package com.game.ecs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SystemSchedulerTest {
+
+    private ForkJoinPool pool;
+    private SystemScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        scheduler = new SystemScheduler(pool, 4096);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testAccessConflicts() {
+        // Arrange
+        SystemAccess readsVelocity = SystemAccess.none().reads(Component.VELOCITY);
+        SystemAccess writesVelocity = SystemAccess.none().writes(Component.VELOCITY);
+        SystemAccess writesCamera = SystemAccess.none().writesResource("camera");
+
+        // Act & Assert
+        assertFalse(readsVelocity.conflictsWith(readsVelocity));
+        assertTrue(readsVelocity.conflictsWith(writesVelocity));
+        assertTrue(writesVelocity.conflictsWith(readsVelocity));
+        assertFalse(writesVelocity.conflictsWith(writesCamera));
+        assertTrue(writesCamera.conflictsWith(SystemAccess.none().readsResource("camera")));
+        assertTrue(SystemAccess.EXCLUSIVE.conflictsWith(SystemAccess.none()));
+    }
+
+    @Test
+    void testConflictingSystemsRunInOrderOfAdding() {
+        // Arrange
+        List<String> order = new ArrayList<>();
+        scheduler.add("steer", SystemAccess.none().writes(Component.VELOCITY), dt -> order.add("steer"));
+        scheduler.add("move", SystemAccess.none().reads(Component.VELOCITY).writes(Component.POSITION),
+                      dt -> order.add("move"));
+        scheduler.add("follow", SystemAccess.none().reads(Component.POSITION), dt -> order.add("follow"));
+
+        // Act
+        scheduler.update(0.1);
+
+        // Assert
+        assertEquals(3, scheduler.getStageCount());
+        assertEquals(List.of("steer", "move", "follow"), order);
+    }
+
+    @Test
+    void testIndependentSystemsRunAtTheSameTime() throws InterruptedException {
+        // Arrange - Each system waits for the other, which only works if both run at once
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch bothRan = new CountDownLatch(2);
+        EntitySystem waiting = dt -> {
+            started.countDown();
+            try {
+                if (started.await(5, TimeUnit.SECONDS)) {
+                    bothRan.countDown();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        scheduler.add("sprites", SystemAccess.none().writes(Component.SPRITE), waiting);
+        scheduler.add("headings", SystemAccess.none().writes(Component.HEADING), waiting);
+
+        // Act
+        scheduler.update(0.1);
+
+        // Assert
+        assertEquals(1, scheduler.getStageCount());
+        assertTrue(bothRan.await(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExclusiveSystemRunsAlone() {
+        // Act - Lambdas added without access are exclusive
+        scheduler.add("a", SystemAccess.none().reads(Component.POSITION), dt -> { });
+        scheduler.add(dt -> { });
+        scheduler.add("b", SystemAccess.none().reads(Component.POSITION), dt -> { });
+
+        // Assert
+        assertEquals(0, scheduler.getStage(0));
+        assertEquals(1, scheduler.getStage(1));
+        assertEquals(2, scheduler.getStage(2));
+    }
+
+    @Test
+    void testChunkedSystemIsSplitIntoJobs() {
+        // Arrange - 20k entities over two archetypes
+        EntityStore store = new EntityStore();
+        for (int i = 0; i < 20_000; i++) {
+            int entity = i % 2 == 0
+                ? store.create(Component.POSITION, Component.VELOCITY)
+                : store.create(Component.POSITION, Component.VELOCITY, Component.SPRITE);
+            store.set(entity, Component.POSITION, Component.X, 10);
+            store.set(entity, Component.VELOCITY, Component.X, 1);
+        }
+        scheduler.add(new MovementSystem(store, 1000));
+
+        // Act
+        scheduler.update(1);
+
+        // Assert - Every entity moved exactly once
+        assertEquals(5, scheduler.getLastJobs(0));
+        for (int entity = 0; entity < 20_000; entity++) {
+            assertEquals(11, store.get(entity, Component.POSITION, Component.X), 1e-9);
+        }
+    }
+
+    @Test
+    void testSummaryLinesListStagesAndSystems() {
+        // Arrange
+        scheduler.add("steer", SystemAccess.none().writes(Component.VELOCITY), dt -> { });
+        scheduler.add("move", SystemAccess.none().reads(Component.VELOCITY), dt -> { });
+        scheduler.update(0.1);
+
+        // Act
+        String[] lines = scheduler.summaryLines();
+
+        // Assert
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("Stage 1:"));
+        assertTrue(lines[1].contains("steer") && lines[1].endsWith("1 job"));
+        assertTrue(lines[3].contains("move"));
+    }
+
+    @Test
+    void testInvalidChunkRows() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new SystemScheduler(pool, 0));
+    }
+}
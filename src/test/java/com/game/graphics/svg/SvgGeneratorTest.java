@@ -2,6 +2,7 @@ package com.game.graphics.svg;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -73,6 +74,54 @@ class SvgGeneratorTest {
         assertTrue(treeSvg.contains("#8B4513")); // Trunk color
     }
     
+    @Test
+    void testTreeSwayKeepsFoliageInsideImage() {
+        // Arrange
+        EntityConfig.TreeConfig config = new EntityConfig.TreeConfig();
+        config.swayAmplitude = 2;
+        config.swayPhase = Math.PI / 2;
+        
+        // Act
+        String treeSvg = SvgGenerator.generateTreeSVG(config);
+        
+        // Assert - Foliage shifted right by the amplitude and narrowed by the same amount
+        assertTrue(treeSvg.contains("cx=\"26\""));
+        assertTrue(treeSvg.contains("rx=\"22\""));
+    }
+    
+    @Test
+    void testGenerateTreeSpriteSheet() {
+        // Arrange
+        EntityConfig.TreeConfig config = new EntityConfig.TreeConfig();
+        config.swayAmplitude = 2;
+        
+        // Act
+        BufferedImage sheet = ImageGenerator.generateTreeSpriteSheet(config, 4);
+        
+        // Assert - Frames side by side, the config is left as it was
+        assertEquals(config.foliageRadius * 2 * 4, sheet.getWidth());
+        assertEquals(config.imageHeight, sheet.getHeight());
+        assertEquals(0.0, config.swayPhase);
+        int[] first = sheet.getRGB(0, 0, config.foliageRadius * 2, config.imageHeight, null, 0, config.foliageRadius * 2);
+        int[] second = sheet.getRGB(config.foliageRadius * 2, 0, config.foliageRadius * 2, config.imageHeight, null, 0,
+                                    config.foliageRadius * 2);
+        assertFalse(Arrays.equals(first, second));
+    }
+    
+    @Test
+    void testGenerateScaledGrassSpriteSheet() {
+        // Arrange
+        EntityConfig.GrassConfig config = new EntityConfig.GrassConfig();
+        config.size = 32;
+        
+        // Act
+        BufferedImage sheet = ImageGenerator.generateGrassSpriteSheet(config, 4, 12, 0.5);
+        
+        // Assert - Every frame scaled, still side by side
+        assertEquals(16 * 4, sheet.getWidth());
+        assertEquals(16, sheet.getHeight());
+    }
+    
     @Test
     void testGenerateRockSVG() {
         // Arrange
@@ -96,6 +145,23 @@ class SvgGeneratorTest {
         assertTrue(rockSvg.contains("#404040")); // Stroke color
     }
     
+    @Test
+    void testGenerateTorchSVG() {
+        // Arrange
+        EntityConfig.TorchConfig config = new EntityConfig.TorchConfig();
+        
+        // Act
+        String torchSvg = SvgGenerator.generateTorchSVG(config);
+        BufferedImage torch = SvgGenerator.svgToImage(torchSvg, config.size, config.size);
+        
+        // Assert - Pole and flame, the flame above the pole
+        assertTrue(torchSvg.contains("<rect"));
+        assertTrue(torchSvg.contains(config.flameColor));
+        assertTrue(torchSvg.contains(config.flameCoreColor));
+        assertNotEquals(0, torch.getRGB(config.size / 2, config.flameRadius * 2) >>> 24);
+        assertNotEquals(0, torch.getRGB(config.size / 2, config.size - 1) >>> 24);
+    }
+    
     @Test
     void testGenerateGrassSVG() {
         // Arrange
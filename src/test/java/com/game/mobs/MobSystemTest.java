@@ -0,0 +1,261 @@
+package com.game.mobs;
+
+import com.game.core.Biome;
+import com.game.core.Player;
+import com.game.core.WorldConfig;
+import com.game.ecs.Archetype;
+import com.game.ecs.Component;
+import com.game.ecs.EntityStore;
+import com.game.ecs.MovementSystem;
+import com.game.ecs.Query;
+import com.game.ecs.SystemScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MobSystemTest {
+
+    private static final double DT = 1.0 / 60;
+    private static final double TICK_BUDGET_MILLIS = 1000.0 / 60;
+
+    private WorldConfig config;
+    private double chunkPixels;
+    private EntityStore store;
+    private Query mobs;
+
+    @BeforeEach
+    void setUp() {
+        config = new WorldConfig();
+        chunkPixels = config.chunkSize() * config.tileSize();
+        store = new EntityStore();
+        mobs = store.query(Component.MOB);
+    }
+
+    private static SpawnTable onlyRabbits(int perChunk) {
+        MobSpecies rabbit = new MobSpecies("rabbit", 10, 140, 180, 0, false);
+        return new SpawnTable()
+            .add(Biome.PLAINS, rabbit, 1)
+            .add(Biome.FOREST, rabbit, 1)
+            .setCount(Biome.PLAINS, perChunk, perChunk)
+            .setCount(Biome.FOREST, perChunk, perChunk);
+    }
+
+    private List<double[]> positions() {
+        List<double[]> result = new ArrayList<>();
+        for (Archetype archetype : mobs.archetypes()) {
+            for (int row = 0; row < archetype.size(); row++) {
+                result.add(new double[] {
+                    archetype.doubles(Component.POSITION, Component.X)[row],
+                    archetype.doubles(Component.POSITION, Component.Y)[row],
+                    archetype.doubles(Component.MOB, Component.KIND)[row]
+                });
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void testSpawnsTheSameMobsAroundThePlayerForASeed() {
+        // Arrange
+        Player player = new Player(store, chunkPixels * 10.5, chunkPixels * 10.5, config);
+        MobSystem system = new MobSystem(store, config, SpawnTable.defaults());
+        system.addFocus(player);
+        EntityStore otherStore = new EntityStore();
+        Player otherPlayer = new Player(otherStore, chunkPixels * 10.5, chunkPixels * 10.5, config);
+        MobSystem other = new MobSystem(otherStore, config, SpawnTable.defaults());
+        other.addFocus(otherPlayer);
+
+        // Act
+        system.update(DT);
+        other.update(DT);
+
+        // Assert - 7 by 7 chunks of 3 to 10 mobs each, all inside the active radius
+        int count = system.getActiveCount();
+        assertTrue(count >= 49 * 3 && count <= 49 * 10, "Spawned " + count);
+        assertEquals(count, other.getActiveCount());
+        List<double[]> expected = positions();
+        mobs = otherStore.query(Component.MOB);
+        List<double[]> actual = positions();
+        for (int i = 0; i < count; i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+        for (double[] mob : expected) {
+            assertTrue(Math.abs(mob[0] - player.getX()) <= chunkPixels * 4);
+            assertTrue(Math.abs(mob[1] - player.getY()) <= chunkPixels * 4);
+        }
+    }
+
+    @Test
+    void testFreezesMobsFarFromPlayersAndThawsThemInTheirChunk() {
+        // Arrange
+        Player player = new Player(store, chunkPixels * 10.5, chunkPixels * 10.5, config);
+        MobSystem system = new MobSystem(store, config, onlyRabbits(5));
+        system.setRadii(0, 0);
+        system.addFocus(player);
+        system.update(DT);
+        assertEquals(5, system.getActiveCount());
+
+        // Act - walk away past the kept ring, wait, come back
+        player.setX(chunkPixels * 20.5);
+        system.update(DT);
+        int activeAway = system.getActiveCount();
+        int dormantAway = system.getDormantCount();
+        for (int tick = 0; tick < 600; tick++) {
+            system.update(DT);
+        }
+        player.setX(chunkPixels * 10.5);
+        system.update(DT);
+
+        // Assert - the chunk walked to spawned its own 5, which are frozen now
+        assertEquals(5, activeAway);
+        assertEquals(5, dormantAway);
+        assertEquals(5, system.getActiveCount());
+        assertEquals(5, system.getDormantCount());
+        assertEquals(10, system.getSpawnedCount());
+        for (double[] mob : positions()) {
+            assertTrue(mob[0] >= chunkPixels * 10 && mob[0] < chunkPixels * 11);
+            assertTrue(mob[1] >= chunkPixels * 10 && mob[1] < chunkPixels * 11);
+        }
+    }
+
+    @Test
+    void testKeepsMobsOneChunkPastTheActiveRadius() {
+        // Arrange
+        Player player = new Player(store, chunkPixels * 10.5, chunkPixels * 10.5, config);
+        MobSystem system = new MobSystem(store, config, onlyRabbits(5));
+        system.setRadii(0, 0);
+        system.addFocus(player);
+        system.update(DT);
+
+        // Act - the old chunk is now in the kept ring
+        player.setX(chunkPixels * 11.5);
+        system.update(DT);
+
+        // Assert
+        assertEquals(0, system.getDormantCount());
+        assertEquals(10, system.getActiveCount());
+    }
+
+    @Test
+    void testMobsFleeFromANearbyPlayer() {
+        // Arrange
+        Player player = new Player(store, chunkPixels * 10.5, chunkPixels * 10.5, config);
+        MobSystem system = new MobSystem(store, config, onlyRabbits(1));
+        system.addFocus(player);
+        system.update(DT);
+        Archetype archetype = mobs.archetypes().get(0);
+        double mobX = archetype.doubles(Component.POSITION, Component.X)[0];
+        double mobY = archetype.doubles(Component.POSITION, Component.Y)[0];
+
+        // Act - stand just left of a rabbit
+        player.setX(mobX - 50);
+        player.setY(mobY);
+        system.update(DT);
+
+        // Assert
+        int row = 0;
+        while (archetype.doubles(Component.POSITION, Component.X)[row] != mobX) {
+            row++;
+        }
+        assertEquals(Behavior.FLEE.ordinal(), archetype.doubles(Component.MOB, Component.BEHAVIOR)[row]);
+        assertEquals(140, archetype.doubles(Component.VELOCITY, Component.X)[row], 1e-9);
+        assertEquals(0, archetype.doubles(Component.VELOCITY, Component.Y)[row], 1e-9);
+        assertEquals(Math.PI / 2, archetype.doubles(Component.HEADING, Component.ANGLE)[row], 1e-9);
+    }
+
+    @Test
+    void testMobsOutsideTheNearChunksDecideEveryFewTicksWithinBudget() {
+        // Arrange - 3 by 3 chunks of 20, only the center one near
+        Player player = new Player(store, chunkPixels * 10.5, chunkPixels * 10.5, config);
+        MobSystem system = new MobSystem(store, config, onlyRabbits(20));
+        system.setRadii(0, 1);
+        system.setActiveRate(4, 1000);
+        system.addFocus(player);
+        system.update(DT);
+
+        // Act
+        int total = 0;
+        for (int tick = 0; tick < 40; tick++) {
+            system.update(DT);
+            total += system.getLastUpdates();
+        }
+        system.setActiveRate(4, 10);
+        system.update(DT);
+        int budgeted = system.getLastUpdates();
+
+        // Assert - 20 near ones every tick and the 160 others once every 4 ticks
+        assertEquals(180, system.getActiveCount());
+        assertEquals(40 * 20 + 10 * 160, total);
+        assertEquals(20 + 10, budgeted);
+    }
+
+    /**
+     * 11 by 11 active chunks of 50 mobs around each of two players
+     */
+    private MobSystem thousandsOfMobs(Player first, Player second) {
+        SpawnTable table = SpawnTable.defaults()
+            .setCount(Biome.PLAINS, 50, 50)
+            .setCount(Biome.FOREST, 50, 50);
+        MobSystem system = new MobSystem(store, config, table);
+        system.setRadii(1, 5);
+        system.addFocus(first);
+        system.addFocus(second);
+        return system;
+    }
+
+    @Test
+    void testThousandsOfMobsPerTick() {
+        // Arrange
+        Player first = new Player(store, chunkPixels * 10.5, chunkPixels * 10.5, config);
+        Player second = new Player(store, chunkPixels * 40.5, chunkPixels * 40.5, config);
+        MobSystem system = thousandsOfMobs(first, second);
+        SystemScheduler scheduler = new SystemScheduler();
+        scheduler.add(system);
+        scheduler.add(new MovementSystem(store, config.worldSize()));
+
+        // Act
+        for (int tick = 0; tick < 30; tick++) {
+            first.setX(first.getX() + 2);
+            scheduler.update(DT);
+        }
+
+        // Assert - every mob is kept, active around the players or frozen just past them
+        assertEquals(2 * 121 * 50, system.getActiveCount() + system.getDormantCount());
+        assertTrue(system.getActiveCount() > 0);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testThousandsOfMobsFitTheTickBudget() {
+        // Arrange
+        Player first = new Player(store, chunkPixels * 10.5, chunkPixels * 10.5, config);
+        Player second = new Player(store, chunkPixels * 40.5, chunkPixels * 40.5, config);
+        MobSystem system = thousandsOfMobs(first, second);
+        SystemScheduler scheduler = new SystemScheduler();
+        scheduler.add(system);
+        scheduler.add(new MovementSystem(store, config.worldSize()));
+
+        // Warm up
+        for (int tick = 0; tick < 120; tick++) {
+            scheduler.update(DT);
+        }
+
+        // Act
+        int ticks = 300;
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            first.setX(first.getX() + 2);
+            scheduler.update(DT);
+        }
+        double millisPerTick = (System.nanoTime() - start) / 1_000_000.0 / ticks;
+
+        // Assert
+        assertTrue(millisPerTick < TICK_BUDGET_MILLIS,
+                   String.format("%d mobs took %.3f ms per tick", system.getActiveCount(), millisPerTick));
+    }
+}
@@ -0,0 +1,106 @@
+package com.game.mobs;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialHashTest {
+
+    private static final double WORLD_SIZE = 10_000;
+
+    @Test
+    void testFindsPointsWithinRadiusOnly() {
+        // Arrange
+        SpatialHash hash = new SpatialHash(100, WORLD_SIZE);
+        double[] xs = {500, 550, 700, 500};
+        double[] ys = {500, 500, 500, 590};
+        hash.build(4, xs, ys);
+        int[] found = new int[8];
+
+        // Act
+        int count = hash.query(500, 500, 100, found);
+
+        // Assert
+        int[] sorted = Arrays.copyOf(found, count);
+        Arrays.sort(sorted);
+        assertArrayEquals(new int[] {0, 1, 3}, sorted);
+    }
+
+    @Test
+    void testFindsNeighboursAcrossTheWorldEdge() {
+        // Arrange
+        SpatialHash hash = new SpatialHash(100, WORLD_SIZE);
+        double[] xs = {WORLD_SIZE - 10, 5000};
+        double[] ys = {20, 5000};
+        hash.build(2, xs, ys);
+        int[] found = new int[8];
+
+        // Act
+        int count = hash.query(10, WORLD_SIZE - 10, 50, found);
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals(0, found[0]);
+    }
+
+    @Test
+    void testStopsWhenOutputIsFull() {
+        // Arrange
+        SpatialHash hash = new SpatialHash(100, WORLD_SIZE);
+        double[] xs = new double[20];
+        double[] ys = new double[20];
+        Arrays.fill(xs, 300);
+        Arrays.fill(ys, 300);
+        hash.build(20, xs, ys);
+        int[] found = new int[5];
+
+        // Act
+        int count = hash.query(300, 300, 10, found);
+
+        // Assert
+        assertEquals(5, count);
+    }
+
+    @Test
+    void testMatchesBruteForceAfterRebuilds() {
+        // Arrange
+        SpatialHash hash = new SpatialHash(150, WORLD_SIZE);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] found = new int[2000];
+
+        for (int round = 0; round < 3; round++) {
+            int count = 500 + round * 700;
+            double[] xs = new double[count];
+            double[] ys = new double[count];
+            for (int i = 0; i < count; i++) {
+                xs[i] = random.nextDouble(WORLD_SIZE);
+                ys[i] = random.nextDouble(WORLD_SIZE);
+            }
+
+            // Act
+            hash.build(count, xs, ys);
+
+            // Assert
+            for (int q = 0; q < 50; q++) {
+                double x = random.nextDouble(WORLD_SIZE);
+                double y = random.nextDouble(WORLD_SIZE);
+                int hits = hash.query(x, y, 600, found);
+                int expected = 0;
+                for (int i = 0; i < count; i++) {
+                    double dx = Math.abs(xs[i] - x);
+                    double dy = Math.abs(ys[i] - y);
+                    dx = Math.min(dx, WORLD_SIZE - dx);
+                    dy = Math.min(dy, WORLD_SIZE - dy);
+                    if (dx * dx + dy * dy <= 600 * 600) {
+                        expected++;
+                    }
+                }
+                assertEquals(expected, hits);
+            }
+            assertEquals(count, hash.size());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.game.pathfinding;
+
+import com.game.core.Chunk;
+import com.game.core.Entity;
+import com.game.core.World;
+import com.game.core.WorldConfig;
+import com.game.persistence.DatabaseManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridPathfinderTest {
+
+    // 4 by 4 chunks of 8 by 8 tiles: a 32 tile world
+    private static final WorldConfig CONFIG = new WorldConfig(1, 8, 32, 4, 0.5);
+    private static final int WORLD_TILES = 32;
+
+    @Mock
+    private DatabaseManager databaseManager;
+
+    private World world;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        world = new World(databaseManager, CONFIG);
+    }
+
+    /**
+     * Load every chunk except the listed ones, without the generated scenery
+     */
+    private OccupancyMap emptyWorld(int... skippedChunks) {
+        for (int chunkY = 0; chunkY < 4; chunkY++) {
+            for (int chunkX = 0; chunkX < 4; chunkX++) {
+                boolean skipped = false;
+                for (int skip : skippedChunks) {
+                    skipped |= skip == chunkY * 4 + chunkX;
+                }
+                if (!skipped) {
+                    world.loadChunk(chunkX, chunkY).getEntities().clear();
+                }
+            }
+        }
+        return new OccupancyMap(world);
+    }
+
+    private void block(int tileX, int tileY) {
+        Chunk chunk = world.getLoadedChunk(tileX / 8, tileY / 8);
+        chunk.addEntity(new Entity("rock", tileX * 32 + 16, tileY * 32 + 16));
+    }
+
+    private static void assertWalkable(OccupancyMap map, TilePath path) {
+        for (int i = 1; i < path.size(); i++) {
+            int x = path.getTileX(i);
+            int y = path.getTileY(i);
+            int dx = wrapped(x - path.getTileX(i - 1));
+            int dy = wrapped(y - path.getTileY(i - 1));
+            assertTrue(Math.abs(dx) <= 1 && Math.abs(dy) <= 1 && (dx != 0 || dy != 0), "Step " + i);
+            assertFalse(map.isBlocked(x, y), "Tile " + i + " is blocked");
+            if (dx != 0 && dy != 0) {
+                assertFalse(map.isBlocked(x - dx, y), "Step " + i + " cuts a corner");
+                assertFalse(map.isBlocked(x, y - dy), "Step " + i + " cuts a corner");
+            }
+        }
+    }
+
+    private static int wrapped(int delta) {
+        return Math.floorMod(delta + WORLD_TILES / 2, WORLD_TILES) - WORLD_TILES / 2;
+    }
+
+    @Test
+    void testFindsStraightAndDiagonalPaths() {
+        // Arrange
+        OccupancyMap map = emptyWorld();
+        GridPathfinder pathfinder = new GridPathfinder(map);
+
+        // Act
+        TilePath straight = pathfinder.find(2, 2, 10, 2);
+        TilePath diagonal = pathfinder.find(0, 0, 5, 3);
+
+        // Assert
+        assertEquals(9, straight.size());
+        assertEquals(8, straight.getLength(), 1e-9);
+        assertEquals(10, straight.getTileX(8));
+        assertEquals(6, diagonal.size());
+        assertEquals(3 * 1.4 + 2, diagonal.getLength(), 1e-9);
+        assertWalkable(map, diagonal);
+    }
+
+    @Test
+    void testGoesAroundWallsWithoutCuttingCorners() {
+        // Arrange - a wall across x = 6 from y = 0 to 10
+        OccupancyMap map = emptyWorld();
+        for (int y = 0; y <= 10; y++) {
+            block(6, y);
+        }
+        GridPathfinder pathfinder = new GridPathfinder(map);
+
+        // Act
+        TilePath path = pathfinder.find(3, 5, 9, 5);
+
+        // Assert
+        assertTrue(path.isFound());
+        assertEquals(3, path.getTileX(0));
+        assertEquals(9, path.getTileX(path.size() - 1));
+        assertTrue(path.getLength() > 6);
+        assertWalkable(map, path);
+    }
+
+    @Test
+    void testWrapsAroundTheWorldEdge() {
+        // Arrange
+        OccupancyMap map = emptyWorld();
+        GridPathfinder pathfinder = new GridPathfinder(map);
+
+        // Act
+        TilePath path = pathfinder.find(30, 5, 1, 4);
+
+        // Assert
+        assertEquals(4, path.size());
+        assertEquals(31, path.getTileX(1));
+        assertEquals(0, path.getTileX(2));
+        assertEquals(1, path.getTileX(3));
+        assertWalkable(map, path);
+    }
+
+    @Test
+    void testSmallWindowStillReachesAcrossTheEdgeButNotFurther() {
+        // Arrange
+        OccupancyMap map = emptyWorld();
+        GridPathfinder pathfinder = new GridPathfinder(map, 16);
+
+        // Act
+        TilePath acrossEdge = pathfinder.find(0, 0, 20, 0);
+        TilePath tooFar = pathfinder.find(0, 0, 16, 0);
+
+        // Assert
+        assertEquals(16, pathfinder.getWindow());
+        assertEquals(13, acrossEdge.size());
+        assertEquals(31, acrossEdge.getTileX(1));
+        assertFalse(tooFar.isFound());
+    }
+
+    @Test
+    void testFindsNothingForBlockedOrEnclosedGoals() {
+        // Arrange
+        OccupancyMap map = emptyWorld();
+        block(20, 20);
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                if (dx != 0 || dy != 0) {
+                    block(12 + dx, 12 + dy);
+                }
+            }
+        }
+        GridPathfinder pathfinder = new GridPathfinder(map);
+
+        // Act
+        TilePath blocked = pathfinder.find(2, 2, 20, 20);
+        TilePath enclosed = pathfinder.find(2, 2, 12, 12);
+
+        // Assert - every tile but the 9 blocked ones and the goal was tried
+        assertSame(TilePath.NONE, blocked);
+        assertSame(TilePath.NONE, enclosed);
+        assertEquals(WORLD_TILES * WORLD_TILES - 10, pathfinder.getLastExpanded());
+    }
+
+    @Test
+    void testDoesNotEnterChunksThatAreNotLoaded() {
+        // Arrange - chunk (1, 0) missing, so the way east along the top goes around it
+        OccupancyMap map = emptyWorld(1);
+        GridPathfinder pathfinder = new GridPathfinder(map);
+
+        // Act
+        TilePath path = pathfinder.find(4, 2, 18, 2);
+
+        // Assert
+        assertTrue(path.isFound());
+        assertTrue(path.getLength() > 14);
+        for (int i = 0; i < path.size(); i++) {
+            assertFalse(path.getTileX(i) / 8 == 1 && path.getTileY(i) / 8 == 0);
+        }
+        assertWalkable(map, path);
+    }
+}
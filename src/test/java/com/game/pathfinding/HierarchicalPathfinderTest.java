@@ -0,0 +1,252 @@
+package com.game.pathfinding;
+
+import com.game.core.Chunk;
+import com.game.core.Entity;
+import com.game.core.World;
+import com.game.core.WorldConfig;
+import com.game.persistence.DatabaseManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalPathfinderTest {
+
+    // 8 by 8 chunks of 8 by 8 tiles: a 64 tile world
+    private static final WorldConfig CONFIG = new WorldConfig(1, 8, 32, 8, 0.5);
+
+    @Mock
+    private DatabaseManager databaseManager;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Load every chunk except the listed ones, without the generated scenery
+     */
+    private static void loadEmpty(World world, int chunks, int... skippedChunks) {
+        for (int chunkY = 0; chunkY < chunks; chunkY++) {
+            for (int chunkX = 0; chunkX < chunks; chunkX++) {
+                boolean skipped = false;
+                for (int skip : skippedChunks) {
+                    skipped |= skip == chunkY * chunks + chunkX;
+                }
+                if (!skipped) {
+                    world.loadChunk(chunkX, chunkY).getEntities().clear();
+                }
+            }
+        }
+    }
+
+    private static void block(World world, int tileX, int tileY) {
+        int chunkSize = world.getConfig().chunkSize();
+        int tileSize = world.getConfig().tileSize();
+        Chunk chunk = world.getLoadedChunk(tileX / chunkSize, tileY / chunkSize);
+        chunk.addEntity(new Entity("rock", tileX * tileSize + tileSize / 2.0, tileY * tileSize + tileSize / 2.0));
+    }
+
+    private static void assertWalkable(OccupancyMap map, TilePath path) {
+        int worldTiles = map.getWorldTiles();
+        for (int i = 1; i < path.size(); i++) {
+            int x = path.getTileX(i);
+            int y = path.getTileY(i);
+            int dx = Math.floorMod(x - path.getTileX(i - 1) + worldTiles / 2, worldTiles) - worldTiles / 2;
+            int dy = Math.floorMod(y - path.getTileY(i - 1) + worldTiles / 2, worldTiles) - worldTiles / 2;
+            assertTrue(Math.abs(dx) <= 1 && Math.abs(dy) <= 1 && (dx != 0 || dy != 0), "Step " + i);
+            assertFalse(map.isBlocked(x, y), "Tile " + i + " is blocked");
+            if (dx != 0 && dy != 0) {
+                assertFalse(map.isBlocked(x - dx, y), "Step " + i + " cuts a corner");
+                assertFalse(map.isBlocked(x, y - dy), "Step " + i + " cuts a corner");
+            }
+        }
+    }
+
+    @Test
+    void testLongPathsAreCloseToTheShortest() {
+        // Arrange - a wall across x = 30 with a gap near the bottom
+        World world = new World(databaseManager, CONFIG);
+        loadEmpty(world, 8);
+        for (int y = 0; y < 56; y++) {
+            block(world, 30, y);
+        }
+        OccupancyMap map = new OccupancyMap(world);
+        HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(new PortalGraph(map));
+        GridPathfinder shortest = new GridPathfinder(map);
+
+        // Act
+        TilePath open = pathfinder.find(2, 3, 25, 40);
+        TilePath around = pathfinder.find(20, 10, 40, 12);
+
+        // Assert
+        assertEquals(2, open.getTileX(0));
+        assertEquals(3, open.getTileY(0));
+        assertEquals(25, open.getTileX(open.size() - 1));
+        assertEquals(40, open.getTileY(open.size() - 1));
+        // Paths pass through entrances at the ends of open borders, so they bend a little
+        assertTrue(open.getLength() <= shortest.find(2, 3, 25, 40).getLength() * 1.1);
+        assertWalkable(map, open);
+        assertTrue(around.isFound());
+        assertTrue(around.getLength() <= shortest.find(20, 10, 40, 12).getLength() * 1.1);
+        assertWalkable(map, around);
+    }
+
+    @Test
+    void testFindsNothingForUnreachableGoals() {
+        // Arrange - a ring of rocks around (40, 40), and chunk (5, 1) not loaded
+        World world = new World(databaseManager, CONFIG);
+        loadEmpty(world, 8, 13);
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                if (dx != 0 || dy != 0) {
+                    block(world, 40 + dx, 40 + dy);
+                }
+            }
+        }
+        OccupancyMap map = new OccupancyMap(world);
+        HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(new PortalGraph(map));
+
+        // Act
+        TilePath enclosed = pathfinder.find(2, 2, 40, 40);
+        TilePath blocked = pathfinder.find(2, 2, 41, 41);
+        TilePath unloaded = pathfinder.find(2, 2, 44, 12);
+
+        // Assert
+        assertSame(TilePath.NONE, enclosed);
+        assertSame(TilePath.NONE, blocked);
+        assertSame(TilePath.NONE, unloaded);
+    }
+
+    @Test
+    void testRoutesAroundChunksThatAreNotLoaded() {
+        // Arrange - chunks (2, 0) to (2, 6) missing, so the way east goes through row 7 or
+        // across the world edge
+        World world = new World(databaseManager, CONFIG);
+        loadEmpty(world, 8, 2, 10, 18, 26, 34, 42, 50);
+        OccupancyMap map = new OccupancyMap(world);
+        HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(new PortalGraph(map));
+
+        // Act
+        TilePath path = pathfinder.find(12, 20, 28, 20);
+
+        // Assert
+        assertTrue(path.isFound());
+        assertTrue(path.getLength() > 16);
+        for (int i = 0; i < path.size(); i++) {
+            assertFalse(path.getTileX(i) / 8 == 2 && path.getTileY(i) / 8 < 7);
+        }
+        assertWalkable(map, path);
+    }
+
+    /**
+     * 8 by 8 chunks of the default size with trees on 30% of the tiles
+     */
+    private World denseForest(SplittableRandom random) {
+        World world = new World(databaseManager, new WorldConfig());
+        loadEmpty(world, 8);
+        int span = 8 * world.getConfig().chunkSize();
+        for (int tileY = 0; tileY < span; tileY++) {
+            for (int tileX = 0; tileX < span; tileX++) {
+                if (random.nextDouble() < 0.3) {
+                    block(world, tileX, tileY);
+                }
+            }
+        }
+        return world;
+    }
+
+    /**
+     * @return Free start and goal tiles, as start x, start y, goal x, goal y
+     */
+    private static int[][] randomEnds(OccupancyMap map, SplittableRandom random, int span, int queries) {
+        int[][] ends = new int[queries][4];
+        for (int[] end : ends) {
+            for (int i = 0; i < 4; i += 2) {
+                do {
+                    end[i] = random.nextInt(span);
+                    end[i + 1] = random.nextInt(span);
+                } while (map.isBlocked(end[i], end[i + 1]));
+            }
+        }
+        return ends;
+    }
+
+    @Test
+    void testDenseForestExpandsFewerNodesThanTheGridSearch() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(42);
+        World world = denseForest(random);
+        OccupancyMap map = new OccupancyMap(world);
+        HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(new PortalGraph(map));
+        GridPathfinder grid = new GridPathfinder(map);
+        int queries = 60;
+        int[][] ends = randomEnds(map, random, 8 * world.getConfig().chunkSize(), queries);
+
+        // Act
+        TilePath[] hierarchical = new TilePath[queries];
+        TilePath[] flat = new TilePath[queries];
+        long hierarchicalExpanded = 0;
+        long flatExpanded = 0;
+        for (int q = 0; q < queries; q++) {
+            hierarchical[q] = pathfinder.find(ends[q][0], ends[q][1], ends[q][2], ends[q][3]);
+            hierarchicalExpanded += pathfinder.getLastExpanded();
+            flat[q] = grid.find(ends[q][0], ends[q][1], ends[q][2], ends[q][3]);
+            flatExpanded += grid.getLastExpanded();
+        }
+
+        // Assert - the same ends are reachable, the paths are at most a little longer, and the
+        // search over entrances closes far fewer nodes than tile by tile
+        double hierarchicalLength = 0;
+        double flatLength = 0;
+        for (int q = 0; q < queries; q++) {
+            assertEquals(flat[q].isFound(), hierarchical[q].isFound(), "Query " + q);
+            if (flat[q].isFound()) {
+                assertWalkable(map, hierarchical[q]);
+                hierarchicalLength += hierarchical[q].getLength();
+                flatLength += flat[q].getLength();
+            }
+        }
+        assertTrue(hierarchicalLength <= flatLength * 1.05, hierarchicalLength + " against " + flatLength);
+        assertTrue(hierarchicalExpanded * 4 < flatExpanded, hierarchicalExpanded + " against " + flatExpanded);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testDenseForestFasterThanTheGridSearch() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(42);
+        World world = denseForest(random);
+        OccupancyMap map = new OccupancyMap(world);
+        HierarchicalPathfinder pathfinder = new HierarchicalPathfinder(new PortalGraph(map));
+        GridPathfinder grid = new GridPathfinder(map);
+        int queries = 60;
+        int[][] ends = randomEnds(map, random, 8 * world.getConfig().chunkSize(), queries);
+        // Warm up
+        for (int q = 0; q < 10; q++) {
+            pathfinder.find(ends[q][0], ends[q][1], ends[q][2], ends[q][3]);
+            grid.find(ends[q][0], ends[q][1], ends[q][2], ends[q][3]);
+        }
+
+        // Act
+        long start = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            pathfinder.find(ends[q][0], ends[q][1], ends[q][2], ends[q][3]);
+        }
+        long hierarchicalNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            grid.find(ends[q][0], ends[q][1], ends[q][2], ends[q][3]);
+        }
+        long flatNanos = System.nanoTime() - start;
+
+        // Assert
+        assertTrue(hierarchicalNanos < flatNanos, String.format("%.3f ms against %.3f ms per query",
+                hierarchicalNanos / 1e6 / queries, flatNanos / 1e6 / queries));
+    }
+}
@@ -0,0 +1,211 @@
+package com.game.pathfinding;
+
+import com.game.core.Chunk;
+import com.game.core.Entity;
+import com.game.core.World;
+import com.game.core.WorldConfig;
+import com.game.persistence.DatabaseManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathfindingServiceTest {
+
+    private static final double FRAME_BUDGET_MILLIS = 1000.0 / 60;
+    // First chunk of the dense forest, away from the chunks the other tests use
+    private static final int FOREST_CHUNK = 10;
+
+    @Mock
+    private DatabaseManager databaseManager;
+
+    private World world;
+    private int chunkSize;
+    private int tileSize;
+    private PathfindingService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        world = new World(databaseManager, new WorldConfig());
+        chunkSize = world.getConfig().chunkSize();
+        tileSize = world.getConfig().tileSize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    /**
+     * Load a square of chunks with nothing in them
+     */
+    private void clearChunks(int fromChunk, int toChunk) {
+        for (int chunkY = fromChunk; chunkY <= toChunk; chunkY++) {
+            for (int chunkX = fromChunk; chunkX <= toChunk; chunkX++) {
+                world.loadChunk(chunkX, chunkY).getEntities().clear();
+            }
+        }
+    }
+
+    private void placeTree(int tileX, int tileY) {
+        Chunk chunk = world.getLoadedChunk(tileX / chunkSize, tileY / chunkSize);
+        chunk.addEntity(new Entity("tree", tileX * tileSize + tileSize / 2.0, tileY * tileSize + tileSize / 2.0));
+    }
+
+    @Test
+    void testFindsPathsBetweenPixelPositionsOnWorkers() {
+        // Arrange
+        clearChunks(0, 2);
+        service = new PathfindingService(world, 2);
+
+        // Act
+        TilePath path = service.findPath(10.5 * tileSize, 10.5 * tileSize, 30.2 * tileSize, 10.9 * tileSize).join();
+
+        // Assert
+        assertEquals(21, path.size());
+        assertEquals(10, path.getTileX(0));
+        assertEquals(30, path.getTileX(20));
+        assertEquals(20, path.getLength(), 1e-9);
+    }
+
+    @Test
+    void testAnswersRepeatedQueriesFromTheCache() {
+        // Arrange
+        clearChunks(0, 2);
+        service = new PathfindingService(world, 1);
+        TilePath first = service.findTilePath(5, 5, 100, 60);
+
+        // Act
+        TilePath second = service.findTilePath(5, 5, 100, 60);
+        TilePath async = service.findPath(5 * tileSize, 5 * tileSize, 100 * tileSize, 60 * tileSize).join();
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first, async);
+        assertEquals(2, service.getCacheHits());
+        assertEquals(1, service.getCacheMisses());
+        assertEquals(1, service.getCacheSize());
+    }
+
+    @Test
+    void testEditsDropOnlyCachedPathsThroughTheChangedChunk() {
+        // Arrange - one path inside chunk (0, 0), one inside chunk (2, 2)
+        clearChunks(0, 2);
+        service = new PathfindingService(world, 1);
+        TilePath near = service.findTilePath(2, 10, 40, 10);
+        TilePath far = service.findTilePath(130, 130, 180, 130);
+
+        // Act - block the first path in the middle
+        placeTree(20, 10);
+        TilePath rerouted = service.findTilePath(2, 10, 40, 10);
+        TilePath farAgain = service.findTilePath(130, 130, 180, 130);
+
+        // Assert
+        assertNotSame(near, rerouted);
+        assertSame(far, farAgain);
+        for (int i = 0; i < rerouted.size(); i++) {
+            assertFalse(rerouted.getTileX(i) == 20 && rerouted.getTileY(i) == 10);
+        }
+        assertTrue(rerouted.getLength() > near.getLength());
+    }
+
+    /**
+     * Load 8 by 8 chunks with trees on 30% of the tiles
+     * @return Span of the forest in tiles, starting at {@link #FOREST_CHUNK}
+     */
+    private int plantForest(SplittableRandom random) {
+        clearChunks(FOREST_CHUNK, FOREST_CHUNK + 7);
+        int from = FOREST_CHUNK * chunkSize;
+        int span = 8 * chunkSize;
+        for (int tileY = from; tileY < from + span; tileY++) {
+            for (int tileX = from; tileX < from + span; tileX++) {
+                if (random.nextDouble() < 0.3) {
+                    placeTree(tileX, tileY);
+                }
+            }
+        }
+        return span;
+    }
+
+    /**
+     * @return Start and goal tiles of each query, all free, inside the forest
+     */
+    private int[][] randomEnds(SplittableRandom random, OccupancyMap map, int span, int queries) {
+        int from = FOREST_CHUNK * chunkSize;
+        int[][] ends = new int[queries][4];
+        for (int[] end : ends) {
+            for (int i = 0; i < 4; i += 2) {
+                do {
+                    end[i] = from + random.nextInt(span);
+                    end[i + 1] = from + random.nextInt(span);
+                } while (map.isBlocked(end[i], end[i + 1]));
+            }
+        }
+        return ends;
+    }
+
+    private List<CompletableFuture<TilePath>> findAll(int[][] ends) {
+        List<CompletableFuture<TilePath>> results = new ArrayList<>();
+        for (int[] end : ends) {
+            results.add(service.findPath(end[0] * tileSize, end[1] * tileSize, end[2] * tileSize, end[3] * tileSize));
+        }
+        return results;
+    }
+
+    @Test
+    void testDenseForestQueriesAreMostlyReachable() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(42);
+        int span = plantForest(random);
+        service = new PathfindingService(world, 2);
+        int[][] ends = randomEnds(random, service.getOccupancy(), span, 40);
+
+        // Act
+        int found = 0;
+        for (CompletableFuture<TilePath> result : findAll(ends)) {
+            if (result.join().isFound()) {
+                found++;
+            }
+        }
+
+        // Assert - a few ends are walled in by trees, nearly all are reachable
+        assertTrue(found > ends.length * 0.9, found + " of " + ends.length + " found");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testDenseForestQueriesWithinBudget() {
+        // Arrange
+        SplittableRandom random = new SplittableRandom(42);
+        int span = plantForest(random);
+        service = new PathfindingService(world, 2);
+        int queries = 200;
+        int[][] ends = randomEnds(random, service.getOccupancy(), span, queries);
+        // Warm up
+        for (int q = 0; q < 20; q++) {
+            new GridPathfinder(service.getOccupancy()).find(ends[q][0], ends[q][1], ends[q][2], ends[q][3]);
+        }
+
+        // Act
+        long start = System.nanoTime();
+        for (CompletableFuture<TilePath> result : findAll(ends)) {
+            result.join();
+        }
+        double millisPerQuery = (System.nanoTime() - start) / 1_000_000.0 / queries;
+
+        // Assert - paths run up to 512 tiles; each search should take less than a frame even on one core
+        assertTrue(millisPerQuery < FRAME_BUDGET_MILLIS, String.format("%.3f ms per query", millisPerQuery));
+    }
+}
@@ -0,0 +1,155 @@
+package com.game.pathfinding;
+
+import com.game.core.Chunk;
+import com.game.core.Entity;
+import com.game.core.World;
+import com.game.core.WorldConfig;
+import com.game.persistence.DatabaseManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortalGraphTest {
+
+    // 4 by 4 chunks of 8 by 8 tiles
+    private static final WorldConfig CONFIG = new WorldConfig(1, 8, 32, 4, 0.5);
+
+    @Mock
+    private DatabaseManager databaseManager;
+
+    private World world;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        world = new World(databaseManager, CONFIG);
+    }
+
+    /**
+     * Load every chunk except the listed ones, without the generated scenery
+     */
+    private OccupancyMap emptyWorld(int... skippedChunks) {
+        for (int chunkY = 0; chunkY < 4; chunkY++) {
+            for (int chunkX = 0; chunkX < 4; chunkX++) {
+                boolean skipped = false;
+                for (int skip : skippedChunks) {
+                    skipped |= skip == chunkY * 4 + chunkX;
+                }
+                if (!skipped) {
+                    world.loadChunk(chunkX, chunkY).getEntities().clear();
+                }
+            }
+        }
+        return new OccupancyMap(world);
+    }
+
+    private void block(int tileX, int tileY) {
+        Chunk chunk = world.getLoadedChunk(tileX / 8, tileY / 8);
+        chunk.addEntity(new Entity("rock", tileX * 32 + 16, tileY * 32 + 16));
+    }
+
+    @Test
+    void testPlacesEntrancesAtBothEndsOfOpenBorders() {
+        // Arrange
+        PortalGraph graph = new PortalGraph(emptyWorld());
+
+        // Act
+        ChunkPortals portals = graph.get(1, 1);
+        ChunkPortals east = graph.get(2, 1);
+
+        // Assert - 8 free tiles per border is a long run, so each side has an entrance at each end
+        assertEquals(8, portals.size());
+        assertArrayEquals(new int[] {0, 7}, portals.offsets(ChunkPortals.EAST));
+        assertArrayEquals(portals.offsets(ChunkPortals.EAST), east.offsets(ChunkPortals.WEST));
+        int eastTop = portals.find(ChunkPortals.EAST, 0);
+        int westTop = portals.find(ChunkPortals.WEST, 0);
+        int westBottom = portals.find(ChunkPortals.WEST, 7);
+        int northEnd = portals.find(ChunkPortals.NORTH, 7);
+        assertEquals(7, portals.getX(eastTop));
+        assertEquals(0, portals.getY(eastTop));
+        assertEquals(70, portals.getCost(westTop, eastTop));
+        assertEquals(7 * 14, portals.getCost(westBottom, eastTop));
+        assertEquals(0, portals.getCost(northEnd, eastTop));
+        for (int from = 0; from < portals.size(); from++) {
+            for (int to = 0; to < portals.size(); to++) {
+                assertEquals(portals.getCost(from, to), portals.getCost(to, from));
+            }
+        }
+    }
+
+    @Test
+    void testBorderEditRebuildsBothChunksAndSplitsTheEntrances() {
+        // Arrange
+        PortalGraph graph = new PortalGraph(emptyWorld());
+        long rebuildsBefore = graph.getRebuildCount();
+
+        // Act - block the first column of chunk (1, 0) at y = 3
+        block(8, 3);
+
+        // Assert - the runs 0 to 2 and 4 to 7 are short, so each gets one entrance in the middle
+        assertEquals(2, graph.getRebuildCount() - rebuildsBefore);
+        assertArrayEquals(new int[] {1, 5}, graph.get(0, 0).offsets(ChunkPortals.EAST));
+        assertArrayEquals(new int[] {1, 5}, graph.get(1, 0).offsets(ChunkPortals.WEST));
+    }
+
+    @Test
+    void testInteriorEditRebuildsOnlyItsChunk() {
+        // Arrange
+        PortalGraph graph = new PortalGraph(emptyWorld());
+        long rebuildsBefore = graph.getRebuildCount();
+
+        // Act - a wall down the middle of chunk (1, 1), leaving its top and bottom rows free
+        for (int y = 9; y <= 14; y++) {
+            block(11, y);
+        }
+
+        // Assert
+        ChunkPortals portals = graph.get(1, 1);
+        int westTop = portals.find(ChunkPortals.WEST, 0);
+        int eastBottom = portals.find(ChunkPortals.EAST, 7);
+        assertEquals(6, graph.getRebuildCount() - rebuildsBefore);
+        assertTrue(portals.getCost(westTop, eastBottom) > 7 * 14);
+        assertEquals(portals.getCost(westTop, eastBottom), portals.getCost(eastBottom, westTop));
+    }
+
+    @Test
+    void testLoadingAChunkConnectsItToItsNeighbours() {
+        // Arrange - chunk (1, 1) missing
+        PortalGraph graph = new PortalGraph(emptyWorld(5));
+        int[] before = graph.get(0, 1).offsets(ChunkPortals.EAST);
+
+        // Act
+        world.loadChunk(1, 1);
+
+        // Assert
+        assertEquals(0, before.length);
+        assertNotNull(graph.get(1, 1));
+        assertArrayEquals(graph.get(1, 1).offsets(ChunkPortals.WEST), graph.get(0, 1).offsets(ChunkPortals.EAST));
+        assertArrayEquals(graph.get(1, 1).offsets(ChunkPortals.NORTH), graph.get(1, 0).offsets(ChunkPortals.SOUTH));
+    }
+
+    @Test
+    void testRebuildsOnTheGivenExecutor() {
+        // Arrange
+        List<Runnable> queued = new ArrayList<>();
+        PortalGraph graph = new PortalGraph(emptyWorld(), queued::add);
+        long rebuildsBefore = graph.getRebuildCount();
+
+        // Act
+        block(12, 12);
+        boolean currentBeforeRunning = graph.isCurrent();
+        queued.forEach(Runnable::run);
+
+        // Assert
+        assertFalse(currentBeforeRunning);
+        assertTrue(graph.isCurrent());
+        assertEquals(1, queued.size());
+        assertEquals(1, graph.getRebuildCount() - rebuildsBefore);
+    }
+}
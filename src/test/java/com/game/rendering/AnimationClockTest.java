@@ -0,0 +1,68 @@
+package com.game.rendering;
+
+import com.game.core.Entity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimationClockTest {
+
+    private AnimationClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AnimationClock(10);
+    }
+
+    @Test
+    void testTicksAtFrameRate() {
+        // Act
+        clock.update(0.05);
+        long halfFrame = clock.getTick();
+        clock.update(0.2);
+
+        // Assert
+        assertEquals(0, halfFrame);
+        assertEquals(2, clock.getTick());
+    }
+
+    @Test
+    void testEntityAdvancesOneFramePerTick() {
+        // Arrange
+        Entity entity = new Entity("tree", 100, 200);
+        int start = clock.frameFor(entity, 8);
+
+        // Act
+        clock.update(0.1);
+
+        // Assert
+        assertEquals((start + 1) % 8, clock.frameFor(entity, 8));
+    }
+
+    @Test
+    void testPhaseComesFromTheEntity() {
+        // Arrange - A row of identical trees one tile apart
+        boolean[] framesSeen = new boolean[8];
+        int distinct = 0;
+
+        // Act
+        for (int i = 0; i < 64; i++) {
+            int frame = clock.frameFor(new Entity("tree", i * 32, 0), 8);
+            if (!framesSeen[frame]) {
+                framesSeen[frame] = true;
+                distinct++;
+            }
+        }
+
+        // Assert - Equal entities share a phase, neighbours are spread over the frames
+        assertEquals(clock.frameFor(new Entity("tree", 64, 0), 8), clock.frameFor(new Entity("tree", 64, 0), 8));
+        assertTrue(distinct >= 6, "distinct frames: " + distinct);
+    }
+
+    @Test
+    void testInvalidFrameRate() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new AnimationClock(0));
+    }
+}
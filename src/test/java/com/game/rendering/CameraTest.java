@@ -1,6 +1,5 @@
 package com.game.rendering;
 
-import javafx.scene.canvas.GraphicsContext;
 import javafx.geometry.Point2D;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,7 +12,7 @@ import static org.mockito.Mockito.*;
 class CameraTest {
     
     @Mock
-    private GraphicsContext graphicsContext;
+    private RenderSurface surface;
     
     private Camera camera;
     
@@ -136,20 +135,53 @@ class CameraTest {
     @Test
     void testTransformApplication() {
         // Act - Apply transform
-        camera.applyTransform(graphicsContext);
+        camera.applyTransform(surface);
         
-        // Assert - Graphics context methods should be called
-        verify(graphicsContext).save();
-        verify(graphicsContext).translate(400.0, 300.0); // Center of 800x600
-        verify(graphicsContext).scale(1.0, 1.0); // Initial zoom
+        // Assert - Surface methods should be called
+        verify(surface).save();
+        verify(surface).translate(400.0, 300.0); // Center of 800x600
+        verify(surface).scale(1.0, 1.0); // Initial zoom
     }
     
     @Test
     void testTransformRestoration() {
         // Act - Restore transform
-        camera.restoreTransform(graphicsContext);
+        camera.restoreTransform(surface);
         
-        // Assert - Graphics context restore should be called
-        verify(graphicsContext).restore();
+        // Assert - Surface restore should be called
+        verify(surface).restore();
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void testFollowIsIndependentOfStepSize() {
+        // Arrange
+        Camera halfSteps = new Camera(800.0, 600.0);
+        
+        // Act - One 1/60 s step versus two 1/120 s steps
+        camera.follow(100.0, 0.0, 1.0 / 60.0);
+        halfSteps.follow(100.0, 0.0, 1.0 / 120.0);
+        halfSteps.follow(100.0, 0.0, 1.0 / 120.0);
+        
+        // Assert
+        assertEquals(10.0, camera.getX(), 1e-9);
+        assertEquals(camera.getX(), halfSteps.getX(), 1e-9);
+    }
+    
+    @Test
+    void testInterpolateBetweenTicks() {
+        // Arrange - One tick moving from x = 0 to x = 10 and rotating across 0
+        camera.setRotation(Math.PI * 2 - 0.1);
+        camera.savePrevious();
+        camera.follow(100.0, 0.0, 1.0 / 60.0);
+        camera.setRotation(0.1);
+        Camera view = new Camera(100.0, 100.0);
+        
+        // Act
+        view.interpolate(camera, 0.5);
+        
+        // Assert - Halfway, rotating the short way round
+        assertEquals(5.0, view.getX(), 1e-9);
+        assertEquals(0.0, Math.IEEEremainder(view.getRotation(), Math.PI * 2), 1e-9);
+        assertEquals(800.0, view.getWidth(), 0.001);
+    }
+}
@@ -0,0 +1,121 @@
+package com.game.rendering;
+
+import com.game.core.Chunk;
+import com.game.core.Entity;
+import com.game.core.WorldConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkDensityCacheTest {
+    
+    private WorldConfig worldConfig;
+    private RecordingUploader uploader;
+    private ChunkDensityCache<int[]> cache;
+    
+    @BeforeEach
+    void setUp() {
+        // 4x4 tiles of 32px per chunk
+        worldConfig = new WorldConfig(12345, 4, 32, 8, 0.5);
+        uploader = new RecordingUploader();
+        cache = new ChunkDensityCache<>(worldConfig.chunkSize(), worldConfig.tileSize(), new LodPolicy(), uploader, 2);
+    }
+
+    /**
+     * Textures are plain pixel copies; counts every create and upload
+     */
+    private static class RecordingUploader implements ChunkDensityCache.Uploader<int[]> {
+        private final List<int[]> created = new ArrayList<>();
+        private int uploads;
+
+        @Override
+        public int[] create(int size) {
+            int[] texture = new int[size * size];
+            created.add(texture);
+            return texture;
+        }
+
+        @Override
+        public void upload(int[] texture, int[] pixels, int size) {
+            System.arraycopy(pixels, 0, texture, 0, size * size);
+            uploads++;
+        }
+    }
+    
+    @Test
+    void testEntitiesMapToTilePixels() {
+        // Arrange - Chunk (1, 0) starts at world x = 128
+        Chunk chunk = new Chunk(1, 0, worldConfig);
+        chunk.addEntity(new Entity("tree", 128 + 16, 16));       // tile (0, 0)
+        chunk.addEntity(new Entity("rock", 128 + 3 * 32 + 16, 2 * 32 + 16)); // tile (3, 2)
+        int[] pixels = new int[16];
+        
+        // Act
+        cache.buildPixels(chunk, pixels);
+        
+        // Assert
+        assertEquals(ChunkDensityCache.densityColor("tree"), pixels[0]);
+        assertEquals(ChunkDensityCache.densityColor("rock"), pixels[2 * 4 + 3]);
+        assertEquals(0, pixels[1]);
+    }
+    
+    @Test
+    void testDroppedTypesAreNotAggregated() {
+        // Arrange - Grass is hidden at density zoom by the default policy
+        Chunk chunk = new Chunk(0, 0, worldConfig);
+        chunk.addEntity(new Entity("grass", 16, 16));
+        int[] pixels = new int[16];
+        pixels[0] = 123; // Stale data must be cleared
+        
+        // Act
+        cache.buildPixels(chunk, pixels);
+        
+        // Assert
+        assertEquals(0, pixels[0]);
+    }
+    
+    @Test
+    void testTexturesAreUploadedOnlyWhenTheChunkChanges() {
+        // Arrange
+        Chunk chunk = new Chunk(0, 0, worldConfig);
+        chunk.addEntity(new Entity("tree", 16, 16));
+        int[] first = cache.getTexture(chunk);
+        
+        // Act
+        int[] unchanged = cache.getTexture(chunk);
+        chunk.addEntity(new Entity("rock", 48, 16));
+        int[] changed = cache.getTexture(chunk);
+        
+        // Assert - the same texture is refilled in place
+        assertSame(first, unchanged);
+        assertSame(first, changed);
+        assertEquals(1, uploader.created.size());
+        assertEquals(2, uploader.uploads);
+        assertEquals(ChunkDensityCache.densityColor("rock"), changed[1]);
+    }
+    
+    @Test
+    void testLeastRecentlyDrawnTexturesAreEvicted() {
+        // Arrange - room for two textures
+        Chunk first = new Chunk(0, 0, worldConfig);
+        Chunk second = new Chunk(1, 0, worldConfig);
+        Chunk third = new Chunk(2, 0, worldConfig);
+        cache.getTexture(first);
+        cache.getTexture(second);
+        cache.getTexture(first);
+        
+        // Act
+        cache.getTexture(third);
+        cache.getTexture(first);
+        
+        // Assert - the second chunk went, the first stayed without a new texture
+        assertEquals(2, cache.size());
+        assertEquals(3, uploader.created.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,51 @@
+package com.game.rendering;
+
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountingRenderSurfaceTest {
+
+    @Test
+    void testCountsDrawCallsByKind() {
+        // Arrange
+        CountingRenderSurface surface = new CountingRenderSurface();
+
+        // Act
+        surface.setFill(Color.RED);
+        surface.fillRect(0, 0, 1, 1);
+        surface.fillOval(0, 0, 1, 1);
+        surface.setStroke(Color.BLUE);
+        surface.strokeLine(0, 0, 1, 1);
+        surface.fillText("text", 0, 0);
+
+        // Assert
+        assertEquals(2, surface.getFillCalls());
+        assertEquals(1, surface.getStrokeCalls());
+        assertEquals(1, surface.getTextCalls());
+        assertEquals(4, surface.getDrawCalls());
+        assertEquals(2, surface.getStateChanges());
+
+        // Act & Assert
+        surface.reset();
+        assertEquals(0, surface.getDrawCalls());
+    }
+
+    @Test
+    void testForwardsToDelegate() {
+        // Arrange
+        Java2DRenderSurface target = new Java2DRenderSurface(4, 4);
+        CountingRenderSurface surface = new CountingRenderSurface(target);
+
+        // Act
+        surface.setFill(Color.BLUE);
+        surface.fillRect(0, 0, 4, 4);
+        surface.setImageSmoothing(false);
+
+        // Assert
+        assertEquals(0xFF0000FF, target.getImage().getRGB(2, 2));
+        assertFalse(target.isImageSmoothing());
+        assertEquals(1, surface.getDrawCalls());
+    }
+}
@@ -0,0 +1,89 @@
+package com.game.rendering;
+
+import com.game.core.Chunk;
+import com.game.core.Entity;
+import com.game.core.WorldConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DepthSorterTest {
+
+    private WorldConfig worldConfig;
+    private DepthSorter sorter;
+
+    @BeforeEach
+    void setUp() {
+        // 4x4 tiles of 32px per chunk, 128px chunks
+        worldConfig = new WorldConfig(12345, 4, 32, 8, 0.5);
+        sorter = new DepthSorter(128);
+    }
+
+    @Test
+    void testChunkOrderIsSortedByY() {
+        // Arrange
+        Chunk chunk = new Chunk(0, 1, worldConfig);
+        chunk.addEntity(new Entity("tree", 16, 240));
+        chunk.addEntity(new Entity("rock", 48, 144));
+        chunk.addEntity(new Entity("grass", 80, 208));
+        chunk.addEntity(new Entity("tree", 112, 144));
+
+        // Act
+        int[] order = sorter.orderFor(chunk);
+
+        // Assert - Equal rows keep insertion order
+        assertArrayEquals(new int[] {1, 3, 2, 0}, order);
+        assertSame(order, sorter.orderFor(chunk), "Order is cached until the chunk changes");
+    }
+
+    @Test
+    void testChangedChunksAreResorted() {
+        // Arrange
+        Chunk chunk = new Chunk(0, 0, worldConfig);
+        chunk.addEntity(new Entity("tree", 16, 80));
+        sorter.orderFor(chunk);
+
+        // Act
+        chunk.addEntity(new Entity("rock", 16, 16));
+        int[] order = sorter.orderFor(chunk);
+
+        // Assert
+        assertArrayEquals(new int[] {1, 0}, order);
+    }
+
+    @Test
+    void testRowsAreMergedAcrossChunks() {
+        // Arrange - Two chunks side by side and one below
+        Chunk left = new Chunk(0, 0, worldConfig);
+        left.addEntity(new Entity("tree", 16, 100));
+        left.addEntity(new Entity("tree", 48, 20));
+        Chunk right = new Chunk(1, 0, worldConfig);
+        right.addEntity(new Entity("rock", 144, 60));
+        right.addEntity(new Entity("rock", 176, 110));
+        Chunk below = new Chunk(0, 1, worldConfig);
+        below.addEntity(new Entity("grass", 16, 130));
+
+        // Act
+        sorter.clear();
+        sorter.addChunk(left);
+        sorter.addChunk(right);
+        sorter.endRow();
+        sorter.addChunk(below);
+        sorter.endRow();
+
+        // Assert
+        assertEquals(5, sorter.size());
+        double previous = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < sorter.size(); i++) {
+            assertTrue(sorter.get(i).y() >= previous, "Entities are drawn back to front");
+            previous = sorter.get(i).y();
+        }
+
+        // Act - The next frame starts empty
+        sorter.clear();
+
+        // Assert
+        assertEquals(0, sorter.size());
+    }
+}
@@ -0,0 +1,180 @@
+package com.game.rendering;
+
+import com.game.core.Player;
+import com.game.core.WorldConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static com.game.rendering.FrameChangeTracker.FrameChange;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameChangeTrackerTest {
+    
+    private FrameChangeTracker tracker;
+    private Camera camera;
+    private Player player;
+    private GridHighlightSystem highlight;
+    
+    @BeforeEach
+    void setUp() {
+        tracker = new FrameChangeTracker();
+        camera = new Camera(800.0, 600.0);
+        player = new Player(0, 0, new WorldConfig());
+        highlight = new GridHighlightSystem();
+    }
+    
+    private FrameChange evaluate(long worldVersion) {
+        return evaluate(worldVersion, 0);
+    }
+    
+    private FrameChange evaluate(long worldVersion, long hudVersion) {
+        return tracker.evaluate(800.0, 600.0, camera, player, highlight, true, worldVersion, hudVersion);
+    }
+    
+    @Test
+    void testFirstFrameIsAlwaysDrawn() {
+        // Act & Assert
+        assertEquals(FrameChange.FULL, evaluate(0));
+        assertEquals(1, tracker.getFullFrames());
+    }
+    
+    @Test
+    void testIdleFramesAreSkipped() {
+        // Arrange
+        evaluate(0);
+        
+        // Act - Nothing changes for several frames
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FrameChange.NONE, evaluate(0));
+        }
+        
+        // Assert
+        assertEquals(5, tracker.getSkippedFrames());
+    }
+    
+    @Test
+    void testSummaryReportsFramesSinceReset() {
+        // Arrange
+        evaluate(0);
+        evaluate(0);
+        
+        // Act
+        String summary = tracker.summaryLine();
+        tracker.resetStatistics();
+        
+        // Assert
+        assertEquals("Redraws: 1 full, 0 overlay, 0 HUD only, 1 skipped", summary);
+        assertEquals(0, tracker.getFullFrames());
+        assertEquals(0, tracker.getSkippedFrames());
+    }
+    
+    @Test
+    void testCameraMovementForcesRedraw() {
+        // Arrange
+        evaluate(0);
+        
+        // Act
+        camera.follow(100.0, 100.0);
+        
+        // Assert
+        assertEquals(FrameChange.FULL, evaluate(0));
+    }
+    
+    @Test
+    void testSubPixelDriftIsIgnoredUntilVisible() {
+        // Arrange - Camera settled at the origin
+        evaluate(0);
+        
+        // Act - Follow a target very close by, moving a fraction of a pixel per frame
+        camera.follow(1.0, 0.0);
+        
+        // Assert - 0.1px drift is not visible yet
+        assertEquals(FrameChange.NONE, evaluate(0));
+        
+        // Act - Drift accumulates past the threshold
+        camera.follow(1.0, 0.0);
+        camera.follow(1.0, 0.0);
+        
+        // Assert
+        assertEquals(FrameChange.FULL, evaluate(0));
+    }
+    
+    @Test
+    void testWorldVersionForcesRedraw() {
+        // Arrange
+        evaluate(0);
+        
+        // Act & Assert - Chunk change
+        assertEquals(FrameChange.FULL, evaluate(1));
+        assertEquals(FrameChange.NONE, evaluate(1));
+    }
+    
+    @Test
+    void testMouseAndPlayerTurnOnlyRedrawOverlay() {
+        // Arrange
+        evaluate(0);
+        
+        // Act & Assert - Mouse moved the highlight
+        highlight.updateMousePosition(10, 10);
+        assertEquals(FrameChange.OVERLAY, evaluate(0));
+        
+        // Act & Assert - Player turned, the world does not rotate with a fixed camera
+        player.setAngle(1.0);
+        assertEquals(FrameChange.OVERLAY, evaluate(0));
+        assertEquals(FrameChange.NONE, evaluate(0));
+        assertEquals(2, tracker.getOverlayFrames());
+    }
+    
+    @Test
+    void testPlayerTurnRedrawsWorldInPerspectiveMode() {
+        // Arrange
+        camera.setMode(Camera.CameraMode.PLAYER_PERSPECTIVE);
+        evaluate(0);
+        
+        // Act
+        player.setAngle(1.0);
+        
+        // Assert
+        assertEquals(FrameChange.FULL, evaluate(0));
+    }
+    
+    @Test
+    void testHudOnlyChange() {
+        // Arrange
+        evaluate(0);
+        
+        // Act - HUD text refreshed while the scene stayed the same
+        player.setX(0.05);
+        
+        // Assert
+        assertEquals(FrameChange.HUD_ONLY, evaluate(0, 1));
+        assertEquals(FrameChange.NONE, evaluate(0, 1));
+        assertEquals(1, tracker.getHudFrames());
+    }
+    
+    @Test
+    void testRequestRedraw() {
+        // Arrange
+        evaluate(0);
+        
+        // Act
+        tracker.requestRedraw();
+        
+        // Assert
+        assertEquals(FrameChange.FULL, evaluate(0));
+        assertEquals(FrameChange.NONE, evaluate(0));
+    }
+    
+    @Test
+    void testRequestOverlay() {
+        // Arrange
+        evaluate(0);
+        
+        // Act
+        tracker.requestOverlay();
+        
+        // Assert - Only the overlay is redrawn, once
+        assertEquals(FrameChange.OVERLAY, evaluate(0));
+        assertEquals(FrameChange.NONE, evaluate(0));
+    }
+}
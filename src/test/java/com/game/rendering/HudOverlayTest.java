@@ -0,0 +1,107 @@
+package com.game.rendering;
+
+import com.game.core.Player;
+import com.game.core.WorldConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HudOverlayTest {
+
+    private static final long INTERVAL = 100_000_000L; // 10 Hz
+
+    private HudOverlay hud;
+    private Player player;
+    private Camera camera;
+
+    @BeforeEach
+    void setUp() {
+        hud = new HudOverlay();
+        player = new Player(12.34, 5.0, new WorldConfig());
+        camera = new Camera(800.0, 600.0);
+    }
+
+    @Test
+    void testFirstUpdateBuildsAllLines() {
+        // Act
+        boolean changed = hud.update(0, player, camera, true);
+
+        // Assert - Same text the HUD used to produce with String.format
+        assertTrue(changed);
+        assertEquals(String.format("Player: (%.1f, %.1f) Angle: %.1f°",
+            player.getX(), player.getY(), Math.toDegrees(player.getAngle())), hud.getPlayerLine());
+        assertEquals(String.format("Camera: Zoom %.2f, Mode: %s", camera.getZoom(), camera.getMode()),
+            hud.getCameraLine());
+        assertEquals("Grid: ON", hud.getGridLine());
+        assertEquals(1, hud.getVersion());
+    }
+
+    @Test
+    void testUnchangedValuesDoNotRebuild() {
+        // Arrange
+        hud.update(0, player, camera, true);
+        String playerLine = hud.getPlayerLine();
+
+        // Act
+        boolean changed = hud.update(INTERVAL * 5, player, camera, true);
+
+        // Assert
+        assertFalse(changed);
+        assertSame(playerLine, hud.getPlayerLine());
+        assertEquals(1, hud.getVersion());
+    }
+
+    @Test
+    void testRefreshIsThrottled() {
+        // Arrange
+        hud.update(0, player, camera, true);
+        player.setX(50.0);
+
+        // Act & Assert - Within the refresh interval the old text stays
+        assertFalse(hud.update(INTERVAL / 2, player, camera, true));
+        assertTrue(hud.getPlayerLine().startsWith("Player: (12.3,"));
+
+        // Act & Assert - Interval elapsed
+        assertTrue(hud.update(INTERVAL, player, camera, true));
+        assertTrue(hud.getPlayerLine().startsWith("Player: (50.0,"));
+        assertEquals(2, hud.getVersion());
+    }
+
+    @Test
+    void testGridToggleChangesContent() {
+        // Arrange
+        hud.update(0, player, camera, true);
+
+        // Act
+        boolean changed = hud.update(INTERVAL, player, camera, false);
+
+        // Assert
+        assertTrue(changed);
+        assertEquals("Grid: OFF", hud.getGridLine());
+        assertFalse(hud.isInteracting());
+    }
+
+    @Test
+    void testInvalidRefreshRate() {
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> new HudOverlay(0));
+    }
+
+    @Test
+    void testAppendFixedMatchesFormat() {
+        // Arrange
+        double[] values = {0.0, 1.25, -1.25, 0.04, -0.04, 1234.5678, 99.95, -0.0};
+        StringBuilder sb = new StringBuilder();
+
+        // Act & Assert
+        for (double value : values) {
+            for (int decimals = 0; decimals <= 2; decimals++) {
+                sb.setLength(0);
+                HudOverlay.appendFixed(sb, value, decimals);
+                assertEquals(String.format("%." + decimals + "f", value), sb.toString(),
+                    "value " + value + " decimals " + decimals);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.game.rendering;
+
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Java2DRenderSurfaceTest {
+
+    private Java2DRenderSurface surface;
+
+    @BeforeEach
+    void setUp() {
+        surface = new Java2DRenderSurface(40, 30);
+    }
+
+    @Test
+    void testFillRectUsesCurrentTransform() {
+        // Arrange
+        surface.setFill(Color.RED);
+
+        // Act - 10x10 rect drawn at (5, 5) after moving the origin by (10, 10)
+        surface.save();
+        surface.translate(10, 10);
+        surface.fillRect(5, 5, 10, 10);
+        surface.restore();
+
+        // Assert
+        BufferedImage image = surface.getImage();
+        assertEquals(0xFFFF0000, image.getRGB(20, 20));
+        assertEquals(0, image.getRGB(8, 8), "Untouched pixels stay transparent");
+    }
+
+    @Test
+    void testRestoreResetsAttributes() {
+        // Arrange
+        surface.setFill(Color.RED);
+        surface.save();
+        surface.setFill(Color.BLUE);
+        surface.setImageSmoothing(false);
+
+        // Act
+        surface.restore();
+        surface.fillRect(0, 0, 4, 4);
+
+        // Assert
+        assertEquals(0xFFFF0000, surface.getImage().getRGB(1, 1));
+        assertTrue(surface.isImageSmoothing());
+    }
+
+    @Test
+    void testClearRectMakesPixelsTransparent() {
+        // Arrange
+        surface.setFill(Color.BLUE);
+        surface.fillRect(0, 0, 40, 30);
+
+        // Act
+        surface.clearRect(0, 0, 10, 10);
+
+        // Assert
+        assertEquals(0, surface.getImage().getRGB(5, 5));
+        assertEquals(0xFF0000FF, surface.getImage().getRGB(20, 20));
+    }
+
+    @Test
+    void testDrawImageScalesJavaFxImages() {
+        // Arrange - 2x2 image with one green pixel in the top-left corner
+        WritableImage image = new WritableImage(2, 2);
+        image.getPixelWriter().setArgb(0, 0, 0xFF00FF00);
+        surface.setImageSmoothing(false);
+
+        // Act - Scaled 10x into the top-left corner
+        surface.drawImage(image, 0, 0, 20, 20);
+
+        // Assert
+        assertEquals(0xFF00FF00, surface.getImage().getRGB(5, 5));
+        assertEquals(0, surface.getImage().getRGB(15, 15));
+    }
+
+    @Test
+    void testFillPatternRepeatsTiles() {
+        // Arrange
+        WritableImage image = new WritableImage(2, 2);
+        image.getPixelWriter().setArgb(0, 0, 0xFF00FF00);
+        surface.setImageSmoothing(false);
+
+        // Act - 10px tiles anchored at the origin
+        surface.fillPattern(image, 0, 0, 10, 10, 0, 0, 40, 30);
+
+        // Assert - Top-left quarter of every tile is green
+        assertEquals(0xFF00FF00, surface.getImage().getRGB(2, 2));
+        assertEquals(0xFF00FF00, surface.getImage().getRGB(32, 22));
+        assertEquals(0, surface.getImage().getRGB(37, 27));
+    }
+}
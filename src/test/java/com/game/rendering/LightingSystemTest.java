@@ -0,0 +1,231 @@
+package com.game.rendering;
+
+import com.game.core.Chunk;
+import com.game.core.Entity;
+import com.game.core.World;
+import com.game.core.WorldConfig;
+import com.game.persistence.DatabaseManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LightingSystemTest {
+
+    @Mock
+    private DatabaseManager databaseManager;
+
+    private WorldConfig worldConfig;
+    private LightingSystem lighting;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // 4x4 tiles of 32px per chunk
+        worldConfig = new WorldConfig(12345, 4, 32, 8, 0.5);
+        lighting = new LightingSystem(worldConfig);
+        lighting.registerEmitter("torch", 100, 1.0);
+        lighting.setPlayerLight(0, 0);
+    }
+
+    private Chunk chunkWithTorch(int chunkX, int chunkY, double x, double y) {
+        Chunk chunk = new Chunk(chunkX, chunkY, worldConfig);
+        chunk.addEntity(new Entity("torch", x, y));
+        chunk.addEntity(new Entity("rock", x + 32, y));
+        lighting.onChunkLoaded(chunk);
+        return chunk;
+    }
+
+    @Test
+    void testAmbientFollowsTimeOfDay() {
+        // Assert
+        assertEquals(LightingSystem.DAY_AMBIENT, LightingSystem.ambientFor(0.5));
+        assertEquals(LightingSystem.NIGHT_AMBIENT, LightingSystem.ambientFor(0.0), 1.0 / 64);
+        assertTrue(LightingSystem.ambientFor(0.25) > LightingSystem.ambientFor(0.1));
+    }
+
+    @Test
+    void testUpdateOnlyReportsVisibleChanges() {
+        // Arrange
+        lighting.setDayLength(100.0);
+        long version = lighting.getVersion();
+
+        // Act & Assert - A tiny step around noon does not change the quantized ambient
+        assertFalse(lighting.update(0.001));
+        assertEquals(version, lighting.getVersion());
+
+        // Act & Assert - Half a day later it is night
+        assertTrue(lighting.update(50.0));
+        assertTrue(lighting.getAmbient() < 0.25);
+        assertTrue(lighting.getVersion() > version);
+    }
+
+    @Test
+    void testStaticLightsAreAccumulatedPerChunk() {
+        // Arrange - Torch at the center of tile (1, 1) of chunk (0, 0)
+        chunkWithTorch(0, 0, 48, 48);
+
+        // Act
+        float[] grid = lighting.gridFor(0, 0);
+        float[] neighbour = lighting.gridFor(1, 0);
+        float[] farAway = lighting.gridFor(5, 5);
+
+        // Assert - Full intensity at the torch, spill into the neighbouring chunk, nothing far away
+        assertEquals(1.0f, grid[1 * 4 + 1], 1e-6);
+        assertTrue(neighbour[1 * 4] > 0, "Light spills into the next chunk");
+        assertEquals(0, farAway.length);
+        assertSame(grid, lighting.gridFor(0, 0), "Grids are cached");
+    }
+
+    @Test
+    void testChangedChunksRebuildTheirNeighbourhood() {
+        // Arrange
+        Chunk chunk = chunkWithTorch(0, 0, 48, 48);
+        float[] neighbour = lighting.gridFor(1, 0);
+        lighting.setTimeOfDay(0.0);
+        lighting.composeLightMap(0, 0, 8, 4, 0, 0);
+
+        // Act - Torch removed
+        chunk.removeEntity(chunk.getEntities().get(0));
+        lighting.onChunkChanged(chunk);
+        boolean recomposed = lighting.composeLightMap(0, 0, 8, 4, 0, 0);
+
+        // Assert
+        assertTrue(recomposed);
+        assertNotSame(neighbour, lighting.gridFor(1, 0));
+        assertEquals(lighting.getAmbient(), lighting.getLight(1, 1), 1e-6);
+    }
+
+    @Test
+    void testLightSpillsAcrossTheWorldEdge() {
+        // Arrange - Torch in tile (0, 1) of chunk (0, 0), the last chunk column is 7
+        chunkWithTorch(0, 0, 16, 48);
+
+        // Act
+        float[] wrapped = lighting.gridFor(7, 0);
+        float[] beforeTheEdge = lighting.gridFor(-1, 0);
+
+        // Assert - The last tile column of chunk (7, 0) is next to the torch
+        assertTrue(wrapped[1 * 4 + 3] > 0, "Light spills across the world edge");
+        assertSame(wrapped, beforeTheEdge);
+    }
+
+    @Test
+    void testChunksAcrossTheWorldEdgeAreRebuilt() {
+        // Arrange - Dark window over the world edge, cached before the torch exists
+        lighting.setTimeOfDay(0.0);
+        lighting.composeLightMap(-4, 0, 8, 4, 0, 0);
+
+        // Act
+        chunkWithTorch(0, 0, 16, 48);
+        lighting.composeLightMap(-4, 0, 8, 4, 0, 0);
+
+        // Assert - Lit on both sides of the edge
+        assertEquals(lighting.getAmbient() + 1.0, lighting.getLight(0, 1), 1e-6);
+        assertTrue(lighting.getLight(-1, 1) > lighting.getAmbient());
+        assertTrue(lighting.gridFor(7, 0)[1 * 4 + 3] > 0);
+    }
+
+    @Test
+    void testGeneratedTorchesLightTheirChunk() {
+        // Arrange - The emitters the renderer registers, in a generated world
+        World world = new World(databaseManager, new WorldConfig());
+        LightingSystem worldLighting = new LightingSystem(world.getConfig());
+        worldLighting.registerWorldEmitters();
+        worldLighting.attach(world);
+        int tileSize = world.getConfig().tileSize();
+        int chunkSize = world.getConfig().chunkSize();
+
+        // Act
+        Chunk chunk = world.loadChunk(2, 3);
+        Entity torch = chunk.getEntities().stream()
+            .filter(entity -> entity.type().equals("torch"))
+            .findFirst()
+            .orElseThrow();
+        float[] grid = worldLighting.gridFor(2, 3);
+
+        // Assert - Full intensity at the torch's tile
+        int localX = (int) (torch.x() / tileSize) - 2 * chunkSize;
+        int localY = (int) (torch.y() / tileSize) - 3 * chunkSize;
+        assertEquals(chunkSize * chunkSize, grid.length);
+        assertTrue(grid[localY * chunkSize + localX] >= LightingSystem.TORCH_INTENSITY);
+    }
+
+    @Test
+    void testLightMapCombinesAmbientAndLights() {
+        // Arrange
+        chunkWithTorch(0, 0, 48, 48);
+        lighting.setTimeOfDay(0.0);
+
+        // Act
+        boolean composed = lighting.composeLightMap(0, 0, 8, 8, 0, 0);
+
+        // Assert
+        assertTrue(composed);
+        assertTrue(lighting.hasDarkness());
+        assertEquals(lighting.getAmbient() + 1.0, lighting.getLight(1, 1), 1e-6);
+        assertEquals(lighting.getAmbient(), lighting.getLight(7, 7), 1e-6);
+
+        // Act & Assert - Nothing changed, the previous map is reused
+        assertFalse(lighting.composeLightMap(0, 0, 8, 8, 0, 0));
+    }
+
+    @Test
+    void testPlayerLightFollowsThePlayer() {
+        // Arrange
+        lighting.setPlayerLight(64, 1.0);
+        lighting.setTimeOfDay(0.0);
+        lighting.composeLightMap(0, 0, 8, 8, 48, 48);
+
+        // Act - Player moved to tile (5, 5)
+        boolean recomposed = lighting.composeLightMap(0, 0, 8, 8, 176, 176);
+
+        // Assert
+        assertTrue(recomposed);
+        assertEquals(lighting.getAmbient(), lighting.getLight(1, 1), 1e-6);
+        assertEquals(lighting.getAmbient() + 1.0, lighting.getLight(5, 5), 1e-6);
+    }
+
+    @Test
+    void testNoDarknessAtNoon() {
+        // Arrange
+        lighting.setTimeOfDay(0.5);
+
+        // Act
+        lighting.composeLightMap(0, 0, 8, 8, 0, 0);
+
+        // Assert
+        assertFalse(lighting.hasDarkness());
+    }
+
+    @Test
+    void testCopiedLightMapCoversTheVisibleArea() {
+        // Arrange
+        chunkWithTorch(0, 0, 48, 48);
+        VisibleArea visibleArea = new VisibleArea(worldConfig);
+        visibleArea.update(128, 128, 256, 256);
+
+        // Act
+        lighting.setTimeOfDay(0.5);
+        int[] atNoon = lighting.copyLightMap(visibleArea, 0, 0, null);
+        lighting.setTimeOfDay(0.0);
+        int[] atNight = lighting.copyLightMap(visibleArea, 0, 0, null);
+
+        // Assert - Same ARGB overlay the map image gets, the torch tile less dark than the rest
+        assertNull(atNoon);
+        assertNotNull(atNight);
+        int width = lighting.getMapWidth();
+        assertTrue(atNight.length >= width * lighting.getMapHeight());
+        int torchTile = (1 - lighting.getMapY()) * width + (1 - lighting.getMapX());
+        int farTile = (7 - lighting.getMapY()) * width + (7 - lighting.getMapX());
+        assertTrue((atNight[torchTile] >>> 24) < (atNight[farTile] >>> 24));
+    }
+
+    @Test
+    void testInvalidDayLength() {
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> lighting.setDayLength(0));
+    }
+}
@@ -0,0 +1,65 @@
+package com.game.rendering;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LodPolicyTest {
+    
+    private LodPolicy policy;
+    
+    @BeforeEach
+    void setUp() {
+        policy = new LodPolicy();
+    }
+    
+    @Test
+    void testLevelsFollowThresholds() {
+        // Arrange
+        policy.setThresholds(0.5, 0.2);
+        
+        // Assert
+        assertEquals(LodPolicy.Level.SPRITE, policy.levelFor(1.0));
+        assertEquals(LodPolicy.Level.SPRITE, policy.levelFor(0.5));
+        assertEquals(LodPolicy.Level.QUAD, policy.levelFor(0.3));
+        assertEquals(LodPolicy.Level.DENSITY, policy.levelFor(0.1));
+    }
+    
+    @Test
+    void testInvalidThresholdsRejected() {
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> policy.setThresholds(0.2, 0.5));
+    }
+    
+    @Test
+    void testGrassDroppedWhenZoomedOut() {
+        // Assert - Default policy hides grass below 0.4
+        assertTrue(policy.isVisible("grass", 1.0));
+        assertFalse(policy.isVisible("grass", 0.2));
+        assertTrue(policy.isVisible("tree", 0.1));
+        assertFalse(policy.isIncludedInDensity("grass"));
+        assertTrue(policy.isIncludedInDensity("tree"));
+    }
+    
+    @Test
+    void testCustomTypeThreshold() {
+        // Act
+        policy.setMinZoom("rock", 0.8);
+        policy.clearMinZoom("grass");
+        
+        // Assert
+        assertFalse(policy.isVisible("rock", 0.5));
+        assertTrue(policy.isVisible("grass", 0.1));
+    }
+    
+    @Test
+    void testGridHiddenWhenZoomedOut() {
+        // Act
+        policy.setGridMinZoom(0.5);
+        
+        // Assert
+        assertTrue(policy.isGridVisible(1.0));
+        assertFalse(policy.isGridVisible(0.4));
+    }
+}
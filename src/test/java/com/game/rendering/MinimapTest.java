@@ -0,0 +1,92 @@
+package com.game.rendering;
+
+import com.game.core.Chunk;
+import com.game.core.Entity;
+import com.game.core.World;
+import com.game.core.WorldConfig;
+import com.game.persistence.DatabaseManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinimapTest {
+
+    @Mock
+    private DatabaseManager databaseManager;
+
+    private WorldConfig worldConfig;
+    private Minimap minimap;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // 64x64 tiles per chunk, summarized into 16x16 pixels of 4x4 tiles each
+        worldConfig = new WorldConfig();
+        minimap = new Minimap(worldConfig, new LodPolicy());
+    }
+
+    @Test
+    void testSummaryResolution() {
+        // Assert
+        assertEquals(16, minimap.getSummarySize());
+        assertEquals(4, new Minimap(new WorldConfig(12345, 4, 32, 8, 0.5), new LodPolicy()).getSummarySize());
+    }
+
+    @Test
+    void testSummaryPrefersProminentEntities() {
+        // Arrange - Chunk (1, 0) starts at world x = 2048; tiles (0, 0) and (1, 1) share a pixel
+        Chunk chunk = new Chunk(1, 0, worldConfig);
+        chunk.addEntity(new Entity("grass", 2048 + 16, 16));
+        chunk.addEntity(new Entity("tree", 2048 + 32 + 16, 32 + 16));
+        chunk.addEntity(new Entity("rock", 2048 + 8 * 32 + 16, 4 * 32 + 16)); // pixel (2, 1)
+
+        // Act
+        int[] pixels = minimap.buildSummary(chunk);
+
+        // Assert
+        assertEquals(16 * 16, pixels.length);
+        assertEquals(ChunkDensityCache.densityColor("tree"), pixels[0]);
+        assertEquals(ChunkDensityCache.densityColor("rock"), pixels[16 + 2]);
+        assertEquals(pixels[1], pixels[2], "Empty pixels share the ground color");
+    }
+
+    @Test
+    void testChunkEventsQueueSummaries() {
+        // Arrange
+        World world = new World(databaseManager);
+        world.loadChunk(0, 0);
+
+        // Act - Already loaded chunks are picked up when attaching
+        minimap.attach(world);
+
+        // Assert
+        assertEquals(1, minimap.getPendingCount());
+
+        // Act - New and changed chunks are queued as they happen
+        Chunk chunk = world.loadChunk(1, 0);
+        chunk.addEntity(new Entity("tree", 2048 + 16, 16));
+
+        // Assert
+        assertEquals(3, minimap.getPendingCount());
+        assertTrue(minimap.hasPendingUploads());
+
+        // Act - Detached minimaps no longer follow the world
+        minimap.detach(world);
+        world.loadChunk(2, 0);
+
+        // Assert
+        assertEquals(3, minimap.getPendingCount());
+    }
+
+    @Test
+    void testToggleVisible() {
+        // Act
+        minimap.toggleVisible();
+
+        // Assert
+        assertFalse(minimap.isVisible());
+    }
+}
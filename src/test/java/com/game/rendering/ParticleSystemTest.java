@@ -0,0 +1,239 @@
+package com.game.rendering;
+
+import com.game.core.Entity;
+import com.game.core.WorldConfig;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParticleSystemTest {
+
+    private static final double FRAME_BUDGET_MILLIS = 1000.0 / 60;
+
+    private ParticleSystem particles;
+    private int red;
+
+    @BeforeEach
+    void setUp() {
+        particles = new ParticleSystem(4);
+        red = particles.registerColor(Color.RED);
+    }
+
+    private VisibleArea visibleAreaAround(double x, double y) {
+        VisibleArea visibleArea = new VisibleArea(new WorldConfig());
+        visibleArea.update(x, y, 800, 600);
+        return visibleArea;
+    }
+
+    @Test
+    void testSpawnDropsParticlesWhenFull() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            particles.spawn(i, 0, 0, 0, 1, 2, red);
+        }
+
+        // Assert
+        assertEquals(4, particles.getCount());
+        assertEquals(1, particles.getDroppedCount());
+    }
+
+    @Test
+    void testDeadParticlesAreSwapRemoved() {
+        // Arrange - The first and third particle expire first
+        particles.spawn(0, 0, 0, 0, 0.1, 2, red);
+        particles.spawn(1, 0, 0, 0, 1.0, 2, red);
+        particles.spawn(2, 0, 0, 0, 0.1, 2, red);
+        particles.spawn(3, 0, 0, 0, 1.0, 2, red);
+
+        // Act
+        particles.update(0.5);
+
+        // Assert - The survivors are packed at the front
+        assertEquals(2, particles.getCount());
+        assertEquals(3, particles.getX(0), 1e-6);
+        assertEquals(1, particles.getX(1), 1e-6);
+        assertEquals(0.5, particles.getLife(0), 1e-6);
+    }
+
+    @Test
+    void testParticlesMoveAndSlowDown() {
+        // Arrange
+        particles.setDrag(0.5);
+        particles.spawn(0, 0, 10, 0, 5, 2, red);
+
+        // Act
+        particles.update(1);
+        particles.update(1);
+
+        // Assert - 10 px in the first second, half of that in the second
+        assertEquals(15, particles.getX(0), 1e-4);
+        assertEquals(0, particles.getY(0), 1e-6);
+    }
+
+    @Test
+    void testRegisterColorReusesPaletteEntries() {
+        // Act & Assert
+        assertEquals(red, particles.registerColor(Color.RED));
+        assertNotEquals(red, particles.registerColor(Color.BLUE));
+    }
+
+    @Test
+    void testBurstEmitterFinishes() {
+        // Arrange
+        ParticleEmitter emitter = ParticleEmitter.at(100, 100, red);
+        emitter.setDuration(0);
+        emitter.burst(3);
+        particles.addEmitter(emitter);
+
+        // Act
+        particles.update(0.01);
+
+        // Assert - The burst is spawned and the emitter removes itself
+        assertEquals(3, particles.getCount());
+        assertEquals(0, particles.getEmitterCount());
+    }
+
+    @Test
+    void testRateEmitterAccumulatesFractions() {
+        // Arrange
+        ParticleSystem system = new ParticleSystem(100);
+        ParticleEmitter emitter = ParticleEmitter.at(0, 0, system.registerColor(Color.RED));
+        emitter.setRate(10);
+        emitter.setLifetime(10, 0);
+        system.addEmitter(emitter);
+
+        // Act - Ten updates of a twentieth of a second
+        for (int i = 0; i < 10; i++) {
+            system.update(0.05);
+        }
+
+        // Assert
+        assertEquals(5, system.getCount());
+        assertEquals(1, system.getEmitterCount());
+    }
+
+    @Test
+    void testAttachedEmitterSpawnsAtEntity() {
+        // Arrange
+        Entity entity = new Entity("tree", 500, 700, 0);
+        ParticleEmitter emitter = ParticleEmitter.attachedTo(entity, red);
+        emitter.setSpeed(0, 0);
+        emitter.burst(1);
+        particles.addEmitter(emitter);
+
+        // Act
+        particles.update(0.01);
+
+        // Assert
+        assertEquals(500, particles.getX(0), 1e-3);
+        assertEquals(700, particles.getY(0), 1e-3);
+    }
+
+    @Test
+    void testDrawBatchesByColor() {
+        // Arrange - Colors interleaved in the pool, one particle off screen
+        int blue = particles.registerColor(Color.BLUE);
+        particles.spawn(100, 100, 0, 0, 1, 2, red);
+        particles.spawn(110, 100, 0, 0, 1, 2, blue);
+        particles.spawn(120, 100, 0, 0, 1, 2, red);
+        particles.spawn(5000, 5000, 0, 0, 1, 2, blue);
+        CountingRenderSurface surface = new CountingRenderSurface();
+
+        // Act
+        int drawn = particles.draw(surface, visibleAreaAround(100, 100));
+
+        // Assert - One fill change per color
+        assertEquals(3, drawn);
+        assertEquals(3, surface.getFillCalls());
+        assertEquals(2, surface.getStateChanges());
+    }
+
+    @Test
+    void testClearRemovesEverything() {
+        // Arrange
+        particles.spawn(0, 0, 0, 0, 1, 2, red);
+        particles.addEmitter(ParticleEmitter.at(0, 0, red));
+
+        // Act
+        particles.clear();
+
+        // Assert
+        assertFalse(particles.isActive());
+        assertEquals(0, particles.getEmitterCount());
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ParticleSystem(0));
+    }
+
+    /**
+     * 50k particles in view, kept alive by a steady emitter
+     */
+    private ParticleSystem fiftyThousandParticles() {
+        ParticleSystem system = new ParticleSystem();
+        for (int c = 0; c < 8; c++) {
+            system.registerColor(Color.rgb(c * 30, 255 - c * 30, 128));
+        }
+        ParticleEmitter emitter = ParticleEmitter.at(1000, 1000, 0);
+        emitter.setLifetime(2, 0.5);
+        emitter.setRate(25_000);
+        system.addEmitter(emitter);
+        for (int i = 0; i < 50_000; i++) {
+            system.spawn(1000 + system.nextRandom() * 400, 1000 + system.nextRandom() * 400,
+                         system.nextRandom() * 20 - 10, system.nextRandom() * 20 - 10,
+                         1 + system.nextRandom() * 2, 3, i % 8);
+        }
+        return system;
+    }
+
+    @Test
+    void testFiftyThousandParticlesStayAlive() {
+        // Arrange
+        ParticleSystem system = fiftyThousandParticles();
+        VisibleArea visibleArea = visibleAreaAround(1200, 1200);
+        CountingRenderSurface surface = new CountingRenderSurface();
+
+        // Act
+        for (int frame = 0; frame < 60; frame++) {
+            system.update(1.0 / 60);
+            system.draw(surface, visibleArea);
+        }
+
+        // Assert
+        assertTrue(system.getCount() >= 40_000, "live particles: " + system.getCount());
+        assertTrue(surface.getFillCalls() > 0);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testFiftyThousandParticlesFitTheFrameBudget() {
+        // Arrange
+        ParticleSystem system = fiftyThousandParticles();
+        VisibleArea visibleArea = visibleAreaAround(1200, 1200);
+        CountingRenderSurface surface = new CountingRenderSurface();
+
+        // Warm up
+        for (int frame = 0; frame < 60; frame++) {
+            system.update(1.0 / 60);
+            system.draw(surface, visibleArea);
+        }
+
+        // Act
+        int frames = 120;
+        long start = System.nanoTime();
+        for (int frame = 0; frame < frames; frame++) {
+            system.update(1.0 / 60);
+            system.draw(surface, visibleArea);
+        }
+        double averageMillis = (System.nanoTime() - start) / 1_000_000.0 / frames;
+
+        // Assert
+        assertTrue(averageMillis < FRAME_BUDGET_MILLIS,
+                   "update + draw took " + averageMillis + " ms per frame");
+    }
+}
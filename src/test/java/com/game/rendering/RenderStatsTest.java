@@ -0,0 +1,76 @@
+package com.game.rendering;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderStatsTest {
+
+    private RenderStats stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = new RenderStats(3);
+    }
+
+    private void recordFrame(long entities, long passNanos) {
+        stats.beginFrame();
+        stats.add(RenderStats.Counter.ENTITIES_DRAWN, entities);
+        stats.increment(RenderStats.Counter.CHUNKS_VISITED);
+        stats.addPassTime(RenderStats.Pass.ENTITIES, passNanos);
+        stats.endFrame();
+    }
+
+    @Test
+    void testFramesStartEmpty() {
+        // Arrange
+        recordFrame(10, 1_000_000);
+
+        // Act
+        stats.beginFrame();
+
+        // Assert - The frame in progress starts from zero, finished frames are kept
+        assertEquals(0, stats.current(RenderStats.Counter.ENTITIES_DRAWN));
+        assertEquals(10, stats.last(RenderStats.Counter.ENTITIES_DRAWN));
+        assertEquals(1, stats.getFrameCount());
+    }
+
+    @Test
+    void testAggregatesCoverTheWindow() {
+        // Act - Four frames through a window of three, the first one drops out
+        recordFrame(100, 9_000_000);
+        recordFrame(10, 1_000_000);
+        recordFrame(20, 2_000_000);
+        recordFrame(30, 3_000_000);
+
+        // Assert
+        assertEquals(30, stats.last(RenderStats.Counter.ENTITIES_DRAWN));
+        assertEquals(20.0, stats.average(RenderStats.Counter.ENTITIES_DRAWN), 1e-9);
+        assertEquals(30, stats.max(RenderStats.Counter.ENTITIES_DRAWN));
+        assertEquals(2.0, stats.averagePassMillis(RenderStats.Pass.ENTITIES), 1e-9);
+        assertEquals(3.0, stats.maxPassMillis(RenderStats.Pass.ENTITIES), 1e-9);
+        assertEquals(3.0, stats.lastPassMillis(RenderStats.Pass.ENTITIES), 1e-9);
+        assertEquals(1.0, stats.average(RenderStats.Counter.CHUNKS_VISITED), 1e-9);
+    }
+
+    @Test
+    void testSummaryLines() {
+        // Arrange
+        recordFrame(10, 1_500_000);
+
+        // Act
+        String[] lines = stats.summaryLines();
+
+        // Assert
+        assertEquals(4 + RenderStats.Pass.values().length, lines.length);
+        assertEquals("Entities: considered 0 / 0 culled 0 / 0 drawn 10 / 10", lines[2]);
+        assertEquals("Entities: 1.50 / 1.50 ms", lines[4 + RenderStats.Pass.ENTITIES.ordinal()]);
+    }
+
+    @Test
+    void testInvalidWindow() {
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> new RenderStats(0));
+    }
+}
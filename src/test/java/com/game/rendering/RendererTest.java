@@ -0,0 +1,125 @@
+package com.game.rendering;
+
+import com.game.core.Player;
+import com.game.core.World;
+import com.game.core.WorldConfig;
+import com.game.persistence.DatabaseManager;
+import com.game.utils.AssetManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RendererTest {
+
+    @Mock
+    private DatabaseManager databaseManager;
+
+    @Mock
+    private AssetManager assetManager;
+
+    private World world;
+    private Player player;
+    private Camera camera;
+    private Renderer renderer;
+    private CountingRenderSurface surface;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        WorldConfig worldConfig = new WorldConfig();
+        world = new World(databaseManager);
+        player = new Player(0, 0, worldConfig);
+        camera = new Camera(800, 600);
+        // No generated assets: entities fall back to shapes, the background to a flat fill
+        renderer = new Renderer(assetManager, worldConfig);
+        renderer.getMinimap().toggleVisible();
+        surface = new CountingRenderSurface();
+    }
+
+    @Test
+    void testRenderFrameDrawsWithoutCanvas() {
+        // Act
+        renderer.renderFrame(surface, world, player, camera);
+
+        // Assert - World, player and HUD all went through the surface
+        assertTrue(surface.getFillCalls() > 0);
+        assertTrue(surface.getStrokeCalls() > 0);
+        assertTrue(surface.getTextCalls() >= 4);
+    }
+
+    @Test
+    void testHiddenGridSavesStrokes() {
+        // Arrange
+        renderer.renderFrame(surface, world, player, camera);
+        long withGrid = surface.getStrokeCalls();
+        surface.reset();
+
+        // Act
+        renderer.toggleGrid();
+        renderer.renderFrame(surface, world, player, camera);
+
+        // Assert
+        assertFalse(renderer.isGridVisible());
+        assertTrue(surface.getStrokeCalls() < withGrid);
+    }
+
+    @Test
+    void testFrameStatistics() {
+        // Act
+        renderer.renderFrame(surface, world, player, camera);
+
+        // Assert - Chunks were generated on first sight, draw calls match the surface
+        RenderStats stats = renderer.getStats();
+        assertEquals(1, stats.getFrameCount());
+        assertTrue(stats.last(RenderStats.Counter.CHUNKS_VISITED) > 0);
+        assertEquals(stats.last(RenderStats.Counter.CHUNKS_VISITED), stats.last(RenderStats.Counter.CHUNKS_LOADED));
+        assertEquals(stats.last(RenderStats.Counter.ENTITIES_CONSIDERED),
+                     stats.last(RenderStats.Counter.ENTITIES_CULLED) + stats.last(RenderStats.Counter.ENTITIES_DRAWN));
+        assertEquals(surface.getStrokeCalls(), stats.last(RenderStats.Counter.STROKE_CALLS));
+
+        // Act - Chunks are cached for the next frame
+        renderer.renderFrame(surface, world, player, camera);
+
+        // Assert
+        assertEquals(0, stats.last(RenderStats.Counter.CHUNKS_LOADED));
+    }
+
+    @Test
+    void testCollectedEntitiesMatchTheWorldPass() {
+        // Arrange
+        EntityBatch batch = new EntityBatch();
+        renderer.renderFrame(surface, world, player, camera);
+
+        // Act
+        renderer.collectWorldEntities(world, camera, batch);
+
+        // Assert - Same visible entities, back to front; without rasters they are flat rects
+        assertEquals(renderer.getStats().last(RenderStats.Counter.ENTITIES_DRAWN), batch.size());
+        assertTrue(batch.size() > 0);
+        for (int i = 0; i < batch.size(); i++) {
+            assertNull(batch.raster(i));
+            assertEquals(0xFF, batch.color(i) >>> 24);
+        }
+    }
+
+    @Test
+    void testCollectedEntitiesFollowTheLevelOfDetail() {
+        // Arrange
+        EntityBatch batch = new EntityBatch();
+        renderer.getLodPolicy().setThresholds(4.0, 2.0);
+
+        // Act
+        renderer.collectWorldEntities(world, camera, batch);
+
+        // Assert - One tile-sized rect per entity at the density level
+        WorldConfig worldConfig = new WorldConfig();
+        assertTrue(batch.size() > 0);
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(worldConfig.tileSize(), batch.width(i), 1e-9);
+            assertEquals(0, batch.x(i) % worldConfig.tileSize(), 1e-9);
+        }
+    }
+}
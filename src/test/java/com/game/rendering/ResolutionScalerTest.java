@@ -0,0 +1,98 @@
+package com.game.rendering;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResolutionScalerTest {
+
+    private static final long ON_TARGET = 16_666_667L;
+    private static final long TOO_SLOW = 25_000_000L;
+
+    private ResolutionScaler scaler;
+
+    @BeforeEach
+    void setUp() {
+        scaler = new ResolutionScaler(60, 0.5);
+    }
+
+    private boolean record(long frameNanos, int frames) {
+        boolean changed = false;
+        for (int i = 0; i < frames; i++) {
+            changed |= scaler.recordFrame(frameNanos);
+        }
+        return changed;
+    }
+
+    @Test
+    void testStaysNativeOnTarget() {
+        // Act
+        boolean changed = record(ON_TARGET, 600);
+
+        // Assert
+        assertFalse(changed);
+        assertEquals(1.0, scaler.getScale());
+    }
+
+    @Test
+    void testSlowFramesLowerTheScaleDownToTheMinimum() {
+        // Act & Assert - One step per sample of slow frames
+        assertTrue(record(TOO_SLOW, 30));
+        assertEquals(0.9, scaler.getScale(), 1e-9);
+
+        record(TOO_SLOW, 600);
+        assertEquals(0.5, scaler.getScale(), 1e-9);
+    }
+
+    @Test
+    void testSingleHitchDoesNotLowerTheScale() {
+        // Act - One 200 ms frame among otherwise perfect frames
+        record(ON_TARGET, 29);
+        boolean changed = scaler.recordFrame(200_000_000L);
+
+        // Assert
+        assertFalse(changed);
+        assertEquals(1.0, scaler.getScale());
+    }
+
+    @Test
+    void testRecoversButAvoidsTheScaleThatWasTooSlow() {
+        // Arrange - 1.0 and 0.9 both missed the target
+        record(TOO_SLOW, 60);
+        assertEquals(0.8, scaler.getScale(), 1e-9);
+
+        // Act - On target for a while, but not long enough to retry 0.9
+        record(ON_TARGET, 300);
+
+        // Assert
+        assertEquals(0.8, scaler.getScale(), 1e-9);
+
+        // Act - Once the slow scales expire the scaler climbs back step by step
+        record(ON_TARGET, 1200);
+
+        // Assert
+        assertEquals(1.0, scaler.getScale(), 1e-9);
+    }
+
+    @Test
+    void testDisablingReturnsToNative() {
+        // Arrange
+        record(TOO_SLOW, 30);
+
+        // Act
+        boolean changed = scaler.setEnabled(false);
+
+        // Assert
+        assertTrue(changed);
+        assertEquals(1.0, scaler.getScale());
+        assertFalse(record(TOO_SLOW, 300));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ResolutionScaler(0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new ResolutionScaler(60, 1.5));
+    }
+}
@@ -0,0 +1,103 @@
+package com.game.rendering;
+
+import com.game.core.WorldConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VisibleAreaTest {
+    
+    private WorldConfig worldConfig;
+    private VisibleArea visibleArea;
+    
+    @BeforeEach
+    void setUp() {
+        // 4x4 chunks of 2x2 tiles of 32px -> 64px chunks, 256px world
+        worldConfig = new WorldConfig(12345, 2, 32, 4, 0.5);
+        visibleArea = new VisibleArea(worldConfig);
+    }
+    
+    @Test
+    void testRegionCoversRotatedViewport() {
+        // Act - 60x80 view centered at (128, 128): diagonal 100 -> extended by 50
+        visibleArea.update(128, 128, 60, 80);
+        
+        // Assert
+        assertEquals(78, visibleArea.getStartX(), 0.001);
+        assertEquals(178, visibleArea.getEndX(), 0.001);
+        assertEquals(1, visibleArea.getStartChunkX());
+        assertEquals(2, visibleArea.getEndChunkX());
+        assertFalse(visibleArea.isEmpty());
+    }
+    
+    @Test
+    void testRegionIsClampedToWorld() {
+        // Act - View centered on the world origin
+        visibleArea.update(0, 0, 60, 80);
+        
+        // Assert - Unclamped bounds extend past the edge, render bounds do not
+        assertEquals(-50, visibleArea.getStartX(), 0.001);
+        assertEquals(0, visibleArea.getRenderStartX(), 0.001);
+        assertEquals(0, visibleArea.getStartChunkX());
+        assertEquals(0, visibleArea.getEndChunkX());
+    }
+    
+    @Test
+    void testChunkRangeNeverExceedsChunkCount() {
+        // Act - View reaching exactly to the far world edge
+        visibleArea.update(256, 256, 60, 80);
+        
+        // Assert
+        assertEquals(worldConfig.chunkCount() - 1, visibleArea.getEndChunkX());
+        assertEquals(worldConfig.chunkCount() - 1, visibleArea.getEndChunkY());
+    }
+    
+    @Test
+    void testViewOutsideWorldIsEmpty() {
+        // Act
+        visibleArea.update(-1000, -1000, 60, 80);
+        
+        // Assert
+        assertTrue(visibleArea.isEmpty());
+        assertTrue(visibleArea.getEndChunkX() < visibleArea.getStartChunkX());
+    }
+    
+    @Test
+    void testNoOutsideRectsInsideWorld() {
+        // Arrange
+        visibleArea.update(128, 128, 60, 80);
+        double[] rects = new double[16];
+        
+        // Act & Assert
+        assertEquals(0, visibleArea.outsideWorldRects(rects));
+    }
+    
+    @Test
+    void testOutsideRectsCoverOnlyTheWorldEdge() {
+        // Arrange - View centered on the world origin: extended bounds are -50..50
+        visibleArea.update(0, 0, 60, 80);
+        double[] rects = new double[16];
+        
+        // Act
+        int count = visibleArea.outsideWorldRects(rects);
+        
+        // Assert - Strip above the world, then the strip left of it
+        assertEquals(2, count);
+        assertArrayEquals(new double[] {-50, -50, 100, 50}, Arrays.copyOfRange(rects, 0, 4), 0.001);
+        assertArrayEquals(new double[] {-50, 0, 50, 50}, Arrays.copyOfRange(rects, 4, 8), 0.001);
+    }
+    
+    @Test
+    void testOutsideRectsCoverEmptyView() {
+        // Arrange
+        visibleArea.update(-1000, -1000, 60, 80);
+        double[] rects = new double[16];
+        
+        // Act & Assert - The whole extended area
+        assertEquals(1, visibleArea.outsideWorldRects(rects));
+        assertEquals(100, rects[2], 0.001);
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -111,6 +112,82 @@ class AssetManagerTest {
         assertDoesNotThrow(() -> assetManager.replaceEntityImage("tree", "custom.png", testImageData));
     }
     
+    /**
+     * Sprite sheets are generated in the background; wait for the requested level
+     */
+    private SpriteSheet awaitSpriteSheet(String entityType, double scale) throws InterruptedException {
+        int frameWidth = (int) Math.round(AssetManager.BASE_ENTITY_SIZE * MipChain.scaleOf(MipChain.levelFor(scale)));
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        SpriteSheet sheet = assetManager.getEntitySpriteSheet(entityType, scale);
+        while ((sheet == null || sheet.frameWidth() != frameWidth) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            sheet = assetManager.getEntitySpriteSheet(entityType, scale);
+        }
+        return sheet;
+    }
+    
+    @Test
+    void testEntitySpriteSheetIsSharedPerType() throws InterruptedException {
+        // Act
+        SpriteSheet first = assetManager.getEntitySpriteSheet("grass", 1.0);
+        SpriteSheet sheet = awaitSpriteSheet("grass", 1.0);
+        
+        // Assert - Generated off the calling thread, then one strip of frames per animated type;
+        // static types have none
+        assertNull(first);
+        assertNotNull(sheet);
+        assertSame(sheet, assetManager.getEntitySpriteSheet("grass", 1.0));
+        assertEquals(AssetManager.ANIMATION_FRAMES, sheet.frameCount());
+        assertEquals(sheet.frameWidth() * sheet.frameCount(), sheet.image().getWidth(), 1e-9);
+        assertTrue(assetManager.getVersion() > 0);
+        assertNull(assetManager.getEntitySpriteSheet("rock", 1.0));
+    }
+    
+    @Test
+    void testEntitySpriteSheetPerMipLevel() throws InterruptedException {
+        // Arrange
+        SpriteSheet base = awaitSpriteSheet("grass", 1.0);
+        
+        // Act - Zoomed in to three times the base size
+        SpriteSheet nearestMeanwhile = assetManager.getEntitySpriteSheet("grass", 3.0);
+        SpriteSheet zoomed = awaitSpriteSheet("grass", 3.0);
+        
+        // Assert - The base level stands in until the level for 4 times the base size is ready
+        assertNotNull(nearestMeanwhile);
+        assertEquals(AssetManager.BASE_ENTITY_SIZE * 4, zoomed.frameWidth());
+        assertEquals(AssetManager.ANIMATION_FRAMES, zoomed.frameCount());
+        assertNotSame(base, zoomed);
+    }
+    
+    @Test
+    void testReplacedImageDisablesAnimation() {
+        // Act
+        assetManager.replaceEntityImage("grass", "grass", createTestImageData());
+        
+        // Assert
+        assertNull(assetManager.getEntitySpriteSheet("grass", 1.0));
+    }
+    
+    @Test
+    void testEntityRasterIsConvertedInBackground() throws InterruptedException {
+        // Act
+        BufferedImage first = assetManager.getEntityRaster("rock", "rock");
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        BufferedImage raster = first;
+        while (raster == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            raster = assetManager.getEntityRaster("rock", "rock");
+        }
+        
+        // Assert - The image was written on the calling thread, only the conversion ran later
+        assertNull(first);
+        assertNotNull(raster);
+        assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, raster.getType());
+        assertSame(raster, assetManager.getEntityRaster("rock", "rock"));
+        assertTrue(testDirectoryManager.getEntityImagePath("rock", "rock").toFile().exists());
+        assertTrue(assetManager.getVersion() > 0);
+    }
+    
     @Test
     void testGetDirectoryManager() {
         // Act
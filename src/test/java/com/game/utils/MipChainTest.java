@@ -0,0 +1,77 @@
+package com.game.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MipChainTest {
+
+    private MipChain<String> chain;
+
+    @BeforeEach
+    void setUp() {
+        chain = new MipChain<>("base");
+    }
+
+    @Test
+    void testLevelForPicksSmallestSufficientResolution() {
+        // Assert
+        assertEquals(0, MipChain.levelFor(1.0));
+        assertEquals(0, MipChain.levelFor(0.75));
+        assertEquals(-1, MipChain.levelFor(0.5));
+        assertEquals(-1, MipChain.levelFor(0.3));
+        assertEquals(1, MipChain.levelFor(1.5));
+        assertEquals(2, MipChain.levelFor(4.0));
+    }
+
+    @Test
+    void testLevelForClampsToRange() {
+        // Assert
+        assertEquals(MipChain.MIN_LEVEL, MipChain.levelFor(0.001));
+        assertEquals(MipChain.MIN_LEVEL, MipChain.levelFor(0.0));
+        assertEquals(MipChain.MAX_LEVEL, MipChain.levelFor(100.0));
+    }
+
+    @Test
+    void testScaleOf() {
+        // Assert
+        assertEquals(1.0, MipChain.scaleOf(0));
+        assertEquals(0.125, MipChain.scaleOf(-3));
+        assertEquals(4.0, MipChain.scaleOf(2));
+    }
+
+    @Test
+    void testBaseLevelIsAvailable() {
+        // Assert
+        assertEquals("base", chain.get(0));
+        assertNull(chain.get(-1));
+        assertFalse(chain.markRequested(0));
+    }
+
+    @Test
+    void testMarkRequestedOnlySucceedsOnce() {
+        // Act & Assert
+        assertTrue(chain.markRequested(-2));
+        assertFalse(chain.markRequested(-2));
+
+        chain.clearRequested(-2);
+        assertTrue(chain.markRequested(-2));
+    }
+
+    @Test
+    void testNearestFallsBackToAvailableLevel() {
+        // Assert - Only the base level exists
+        assertEquals("base", chain.nearest(-3));
+        assertEquals("base", chain.nearest(2));
+
+        // Arrange
+        chain.set(-1, "half");
+        chain.set(-3, "eighth");
+
+        // Assert - Exact match, then higher resolution preferred over lower
+        assertEquals("half", chain.nearest(-1));
+        assertEquals("half", chain.nearest(-2));
+        assertEquals("eighth", chain.nearest(-3));
+    }
+}
@@ -0,0 +1,87 @@
+package com.game.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TripleBufferTest {
+    
+    private TripleBuffer<int[]> buffer;
+    
+    @BeforeEach
+    void setUp() {
+        buffer = new TripleBuffer<>(() -> new int[1]);
+    }
+    
+    @Test
+    void testSlotsAreDistinct() {
+        // Assert - Producer and consumer never share a slot
+        assertNotSame(buffer.back(), buffer.front());
+        assertFalse(buffer.hasUpdate());
+        assertFalse(buffer.update());
+    }
+    
+    @Test
+    void testPublishedValueBecomesVisible() {
+        // Arrange
+        buffer.back()[0] = 42;
+        
+        // Act
+        buffer.publish();
+        
+        // Assert
+        assertTrue(buffer.hasUpdate());
+        assertTrue(buffer.update());
+        assertEquals(42, buffer.front()[0]);
+        assertFalse(buffer.update()); // Already consumed
+    }
+    
+    @Test
+    void testConsumerSeesLatestPublish() {
+        // Act - Producer publishes several times without the consumer reading
+        for (int i = 1; i <= 5; i++) {
+            buffer.back()[0] = i;
+            buffer.publish();
+        }
+        
+        // Assert - Only the latest value is observed
+        assertTrue(buffer.update());
+        assertEquals(5, buffer.front()[0]);
+        assertNotSame(buffer.back(), buffer.front());
+    }
+    
+    @Test
+    void testConcurrentHandoffIsMonotonic() throws InterruptedException {
+        // Arrange
+        int iterations = 100_000;
+        AtomicInteger failures = new AtomicInteger();
+        
+        Thread producer = new Thread(() -> {
+            for (int i = 1; i <= iterations; i++) {
+                buffer.back()[0] = i;
+                buffer.publish();
+            }
+        });
+        
+        // Act - Consumer reads while producer writes
+        producer.start();
+        int last = 0;
+        while (last < iterations) {
+            if (buffer.update()) {
+                int value = buffer.front()[0];
+                if (value < last) {
+                    failures.incrementAndGet();
+                }
+                last = value;
+            }
+        }
+        producer.join();
+        
+        // Assert - Values never go backwards and the final value is seen
+        assertEquals(0, failures.get());
+        assertEquals(iterations, last);
+    }
+}